@@ -0,0 +1,162 @@
+/**
+ * Copyright (c) 2017 Ariel Favio Carrizo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'esferixis' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.esferixis.math;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Implementación de VectorKernels con la Vector API (jdk.incubator.vector).
+ * 
+ * No forma parte del código principal: se compila aparte con un JDK 16 o
+ * posterior y "--add-modules jdk.incubator.vector", y se agrega al classpath
+ * junto con el resto de la biblioteca. Al ejecutar también hace falta
+ * "--add-modules jdk.incubator.vector", si no VectorKernels usa los bucles escalares.
+ * 
+ * Procesa bloques de la longitud de la especie preferida y termina
+ * el resto del rango con los bucles escalares.
+ * Cada operación por carril tiene redondeo IEEE y se aplican en el mismo
+ * orden que en los bucles escalares, por lo tanto los resultados son idénticos
+ * 
+ * @author Ariel Favio Carrizo
+ *
+ */
+final class VectorApiKernels extends VectorKernels.Implementation {
+	private static final VectorSpecies<Float> SPECIES = FloatVector.SPECIES_PREFERRED;
+	
+	/**
+	 * @post Crea la implementación
+	 */
+	public VectorApiKernels() {
+		
+	}
+	
+	@Override
+	public String getName() {
+		return "vector-api";
+	}
+	
+	@Override
+	public void dot(float[] ax, float[] ay, float[] az, float[] bx, float[] by, float[] bz, float[] destination, int start, int length) {
+		final int blocksEnd = start + SPECIES.loopBound(length);
+		
+		int i;
+		for ( i = start ; i < blocksEnd ; i += SPECIES.length() ) {
+			final FloatVector xx = FloatVector.fromArray(SPECIES, ax, i).mul(FloatVector.fromArray(SPECIES, bx, i));
+			final FloatVector yy = FloatVector.fromArray(SPECIES, ay, i).mul(FloatVector.fromArray(SPECIES, by, i));
+			final FloatVector zz = FloatVector.fromArray(SPECIES, az, i).mul(FloatVector.fromArray(SPECIES, bz, i));
+			
+			xx.add(yy).add(zz).intoArray(destination, i);
+		}
+		
+		VectorKernels.SCALAR.dot(ax, ay, az, bx, by, bz, destination, i, start + length - i);
+	}
+	
+	@Override
+	public void cross(float[] ax, float[] ay, float[] az, float[] bx, float[] by, float[] bz, float[] dx, float[] dy, float[] dz, int start, int length) {
+		final int blocksEnd = start + SPECIES.loopBound(length);
+		
+		int i;
+		for ( i = start ; i < blocksEnd ; i += SPECIES.length() ) {
+			final FloatVector ax_i = FloatVector.fromArray(SPECIES, ax, i), ay_i = FloatVector.fromArray(SPECIES, ay, i), az_i = FloatVector.fromArray(SPECIES, az, i);
+			final FloatVector bx_i = FloatVector.fromArray(SPECIES, bx, i), by_i = FloatVector.fromArray(SPECIES, by, i), bz_i = FloatVector.fromArray(SPECIES, bz, i);
+			
+			ay_i.mul(bz_i).sub(by_i.mul(az_i)).intoArray(dx, i);
+			bx_i.mul(az_i).sub(ax_i.mul(bz_i)).intoArray(dy, i);
+			ax_i.mul(by_i).sub(bx_i.mul(ay_i)).intoArray(dz, i);
+		}
+		
+		VectorKernels.SCALAR.cross(ax, ay, az, bx, by, bz, dx, dy, dz, i, start + length - i);
+	}
+	
+	@Override
+	public void lengthSquared(float[] x, float[] y, float[] z, float[] destination, int start, int length) {
+		final int blocksEnd = start + SPECIES.loopBound(length);
+		
+		int i;
+		for ( i = start ; i < blocksEnd ; i += SPECIES.length() ) {
+			final FloatVector x_i = FloatVector.fromArray(SPECIES, x, i), y_i = FloatVector.fromArray(SPECIES, y, i), z_i = FloatVector.fromArray(SPECIES, z, i);
+			
+			x_i.mul(x_i).add(y_i.mul(y_i)).add(z_i.mul(z_i)).intoArray(destination, i);
+		}
+		
+		VectorKernels.SCALAR.lengthSquared(x, y, z, destination, i, start + length - i);
+	}
+	
+	@Override
+	public void normalise(float[] x, float[] y, float[] z, float[] dx, float[] dy, float[] dz, int start, int length) {
+		final FloatVector one = FloatVector.broadcast(SPECIES, 1.0f);
+		final int blocksEnd = start + SPECIES.loopBound(length);
+		
+		int i;
+		for ( i = start ; i < blocksEnd ; i += SPECIES.length() ) {
+			final FloatVector x_i = FloatVector.fromArray(SPECIES, x, i), y_i = FloatVector.fromArray(SPECIES, y, i), z_i = FloatVector.fromArray(SPECIES, z, i);
+			
+			// La raíz cuadrada en float es la misma que redondear la de double a float
+			final FloatVector inverseLength = one.div( x_i.mul(x_i).add(y_i.mul(y_i)).add(z_i.mul(z_i)).sqrt() );
+			
+			x_i.mul(inverseLength).intoArray(dx, i);
+			y_i.mul(inverseLength).intoArray(dy, i);
+			z_i.mul(inverseLength).intoArray(dz, i);
+		}
+		
+		VectorKernels.SCALAR.normalise(x, y, z, dx, dy, dz, i, start + length - i);
+	}
+	
+	@Override
+	public void linearInterpolation(float[] values1, float[] values2, float factor, float[] destination, int start, int length) {
+		final float complementFactor = 1.0f - factor;
+		final int blocksEnd = start + SPECIES.loopBound(length);
+		
+		int i;
+		for ( i = start ; i < blocksEnd ; i += SPECIES.length() ) {
+			FloatVector.fromArray(SPECIES, values1, i).mul(complementFactor).add( FloatVector.fromArray(SPECIES, values2, i).mul(factor) ).intoArray(destination, i);
+		}
+		
+		VectorKernels.SCALAR.linearInterpolation(values1, values2, factor, destination, i, start + length - i);
+	}
+	
+	@Override
+	public void linearInterpolation(float[] values1, float[] values2, float[] factors, float[] destination, int start, int length) {
+		final FloatVector one = FloatVector.broadcast(SPECIES, 1.0f);
+		final int blocksEnd = start + SPECIES.loopBound(length);
+		
+		int i;
+		for ( i = start ; i < blocksEnd ; i += SPECIES.length() ) {
+			final FloatVector factor = FloatVector.fromArray(SPECIES, factors, i);
+			
+			FloatVector.fromArray(SPECIES, values1, i).mul( one.sub(factor) ).add( FloatVector.fromArray(SPECIES, values2, i).mul(factor) ).intoArray(destination, i);
+		}
+		
+		VectorKernels.SCALAR.linearInterpolation(values1, values2, factors, destination, i, start + length - i);
+	}
+}
@@ -0,0 +1,411 @@
+/**
+ * Copyright (c) 2017 Ariel Favio Carrizo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'esferixis' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.esferixis.math;
+
+import java.io.Serializable;
+import java.util.BitSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Volumen de visión (Frustum), definido por los seis planos que se extraen
+ * de una matriz de vista y proyección.
+ * 
+ * Permite determinar la visibilidad de esferas y cajas alineadas con los ejes
+ * en bloque, sobre arrays empaquetados, sin crear objetos por volumen.
+ * El resultado es un BitSet en el que el bit i indica si el volumen i del rango
+ * es potencialmente visible (Es una prueba conservadora).
+ * 
+ * Las variantes paralelas dividen el rango en bloques alineados a palabras
+ * del BitSet, y dan el mismo resultado que las secuenciales.
+ * 
+ * Sobre la vectorización ver la nota de VectorKernels.
+ * 
+ * @author Ariel Favio Carrizo
+ *
+ */
+public final class Frustum implements Serializable {
+	private static final long serialVersionUID = -4527406939712873610L;
+	
+	/**
+	 * Cantidad de volúmenes de cada bloque que se procesa secuencialmente
+	 * (Múltiplo de 64)
+	 */
+	private static final int BLOCK_SIZE = 4096;
+	
+	private static final int PACKED_SPHERES = 0;
+	private static final int PACKED_BOXES = 1;
+	private static final int SPHERE_ARRAYS = 2;
+	
+	/**
+	 * Planos normalizados (a, b, c, d), con la normal hacia adentro:
+	 * Izquierdo, derecho, inferior, superior, cercano y lejano
+	 */
+	private final float[] planes;
+	
+	/**
+	 * @pre La matriz no puede ser nula
+	 * @post Crea el volumen de visión de la matriz de vista y proyección especificada,
+	 * 		 con el volumen canónico de -w a w en las tres coordenadas
+	 */
+	public Frustum(Matrix4f viewProjection) {
+		if ( viewProjection != null ) {
+			final float[] m = viewProjection.m;
+			this.planes = new float[24];
+			
+			for ( int i = 0 ; i < 3 ; i++ ) {
+				for ( int sign = 0 ; sign < 2 ; sign++ ) {
+					final int plane = ( i * 2 + sign ) * 4;
+					final float factor = ( sign == 0 ) ? 1.0f : -1.0f;
+					
+					// Cuarta fila más o menos la fila i
+					for ( int c = 0 ; c < 4 ; c++ ) {
+						this.planes[plane + c] = m[c * 4 + 3] + factor * m[c * 4 + i];
+					}
+					
+					final float length = (float) Math.sqrt(this.planes[plane] * this.planes[plane] + this.planes[plane + 1] * this.planes[plane + 1] + this.planes[plane + 2] * this.planes[plane + 2]);
+					
+					if ( length != 0.0f ) {
+						for ( int c = 0 ; c < 4 ; c++ ) {
+							this.planes[plane + c] /= length;
+						}
+					}
+				}
+			}
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @pre El índice tiene que estar entre 0 y 5
+	 * @post Devuelve el plano especificado (a, b, c, d), normalizado y con la normal hacia adentro.
+	 * 		 En orden: Izquierdo, derecho, inferior, superior, cercano y lejano
+	 */
+	public Vector4f getPlane(int index) {
+		if ( ( index >= 0 ) && ( index < 6 ) ) {
+			return new Vector4f(this.planes[index * 4], this.planes[index * 4 + 1], this.planes[index * 4 + 2], this.planes[index * 4 + 3]);
+		}
+		else {
+			throw new IndexOutOfBoundsException("Invalid plane");
+		}
+	}
+	
+	/**
+	 * @pre El centro no puede ser nulo
+	 * @post Devuelve si la esfera especificada es potencialmente visible
+	 */
+	public boolean isVisible(Vector3f center, float radius) {
+		return this.isSphereVisible(center.getX(), center.getY(), center.getZ(), radius);
+	}
+	
+	/**
+	 * @pre Las esquinas no pueden ser nulas
+	 * @post Devuelve si la caja especificada, con las esquinas mínima y máxima especificadas,
+	 * 		 es potencialmente visible
+	 */
+	public boolean isVisible(Vector3f min, Vector3f max) {
+		return this.isBoxVisible(min.getX(), min.getY(), min.getZ(), max.getX(), max.getY(), max.getZ());
+	}
+	
+	/**
+	 * @pre El array no puede ser nulo
+	 * @post Prueba las esferas empaquetadas (4 floats cada una: Centro y radio) a partir del
+	 * 		 desplazamiento especificado (En floats), y devuelve el conjunto de las visibles
+	 */
+	public BitSet testSpheres(float[] spheres, int offset, int count) {
+		if ( spheres != null ) {
+			checkPackedRange(spheres.length, offset, 4, count);
+			return this.test(PACKED_SPHERES, spheres, offset, null, count, null);
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @pre Ni el array ni el pool pueden ser nulos
+	 * @post Prueba las esferas empaquetadas (4 floats cada una: Centro y radio) a partir del
+	 * 		 desplazamiento especificado (En floats), en paralelo con el pool especificado,
+	 * 		 y devuelve el conjunto de las visibles
+	 */
+	public BitSet testSpheres(float[] spheres, int offset, int count, ForkJoinPool pool) {
+		if ( ( spheres != null ) && ( pool != null ) ) {
+			checkPackedRange(spheres.length, offset, 4, count);
+			return this.test(PACKED_SPHERES, spheres, offset, null, count, pool);
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @pre Ni los centros ni los radios pueden ser nulos
+	 * @post Prueba las esferas con los centros y radios en el rango especificado,
+	 * 		 y devuelve el conjunto de las visibles (Relativo al comienzo del rango)
+	 */
+	public BitSet testSpheres(Vector3fArray centers, float[] radii, int start, int length) {
+		checkSphereArrays(centers, radii, start, length);
+		return this.test(SPHERE_ARRAYS, radii, start, centers, length, null);
+	}
+	
+	/**
+	 * @pre Ni los centros, ni los radios ni el pool pueden ser nulos
+	 * @post Prueba las esferas con los centros y radios en el rango especificado,
+	 * 		 en paralelo con el pool especificado, y devuelve el conjunto de las visibles
+	 * 		 (Relativo al comienzo del rango)
+	 */
+	public BitSet testSpheres(Vector3fArray centers, float[] radii, int start, int length, ForkJoinPool pool) {
+		checkSphereArrays(centers, radii, start, length);
+		if ( pool != null ) {
+			return this.test(SPHERE_ARRAYS, radii, start, centers, length, pool);
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @pre El array no puede ser nulo
+	 * @post Prueba las cajas empaquetadas (6 floats cada una: Esquina mínima y máxima) a partir del
+	 * 		 desplazamiento especificado (En floats), y devuelve el conjunto de las visibles
+	 */
+	public BitSet testBoxes(float[] boxes, int offset, int count) {
+		if ( boxes != null ) {
+			checkPackedRange(boxes.length, offset, 6, count);
+			return this.test(PACKED_BOXES, boxes, offset, null, count, null);
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @pre Ni el array ni el pool pueden ser nulos
+	 * @post Prueba las cajas empaquetadas (6 floats cada una: Esquina mínima y máxima) a partir del
+	 * 		 desplazamiento especificado (En floats), en paralelo con el pool especificado,
+	 * 		 y devuelve el conjunto de las visibles
+	 */
+	public BitSet testBoxes(float[] boxes, int offset, int count, ForkJoinPool pool) {
+		if ( ( boxes != null ) && ( pool != null ) ) {
+			checkPackedRange(boxes.length, offset, 6, count);
+			return this.test(PACKED_BOXES, boxes, offset, null, count, pool);
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @post Devuelve si la esfera especificada es potencialmente visible
+	 */
+	private boolean isSphereVisible(float x, float y, float z, float radius) {
+		final float[] p = this.planes;
+		float distance = Float.POSITIVE_INFINITY;
+		
+		// Sin saltos: Se toma la mínima distancia con signo a los seis planos
+		for ( int i = 0 ; i < 24 ; i += 4 ) {
+			distance = Math.min(distance, p[i] * x + p[i + 1] * y + p[i + 2] * z + p[i + 3]);
+		}
+		
+		return distance >= -radius;
+	}
+	
+	/**
+	 * @post Devuelve si la caja especificada es potencialmente visible
+	 */
+	private boolean isBoxVisible(float minX, float minY, float minZ, float maxX, float maxY, float maxZ) {
+		final float[] p = this.planes;
+		float distance = Float.POSITIVE_INFINITY;
+		
+		// Distancia del vértice más adentro de cada plano
+		for ( int i = 0 ; i < 24 ; i += 4 ) {
+			final float a = p[i], b = p[i + 1], c = p[i + 2];
+			distance = Math.min(distance,
+				a * ( ( a >= 0.0f ) ? maxX : minX ) +
+				b * ( ( b >= 0.0f ) ? maxY : minY ) +
+				c * ( ( c >= 0.0f ) ? maxZ : minZ ) + p[i + 3]
+			);
+		}
+		
+		return distance >= 0.0f;
+	}
+	
+	/**
+	 * @post Prueba los volúmenes del tipo especificado, secuencialmente o en paralelo
+	 * 		 si se especifica un pool
+	 */
+	private BitSet test(int kind, float[] data, int offset, Vector3fArray centers, int count, ForkJoinPool pool) {
+		final long[] words = new long[( count + 63 ) / 64];
+		
+		if ( pool != null ) {
+			pool.invoke(new TestTask(kind, data, offset, centers, words, 0, count));
+		}
+		else {
+			this.testBlock(kind, data, offset, centers, words, 0, count);
+		}
+		
+		return BitSet.valueOf(words);
+	}
+	
+	/**
+	 * @pre El comienzo tiene que ser múltiplo de 64
+	 * @post Prueba los volúmenes del tipo especificado en el rango especificado
+	 * 		 (Relativo al primer volumen) y escribe las palabras correspondientes
+	 */
+	private void testBlock(int kind, float[] data, int offset, Vector3fArray centers, long[] words, int from, int to) {
+		for ( int wordStart = from ; wordStart < to ; wordStart += 64 ) {
+			final int wordEnd = Math.min(wordStart + 64, to);
+			long word = 0L;
+			
+			switch ( kind ) {
+			case PACKED_SPHERES:
+				for ( int i = wordStart ; i < wordEnd ; i++ ) {
+					final int j = offset + i * 4;
+					if ( this.isSphereVisible(data[j], data[j + 1], data[j + 2], data[j + 3]) ) {
+						word |= 1L << ( i - wordStart );
+					}
+				}
+				break;
+			case PACKED_BOXES:
+				for ( int i = wordStart ; i < wordEnd ; i++ ) {
+					final int j = offset + i * 6;
+					if ( this.isBoxVisible(data[j], data[j + 1], data[j + 2], data[j + 3], data[j + 4], data[j + 5]) ) {
+						word |= 1L << ( i - wordStart );
+					}
+				}
+				break;
+			case SPHERE_ARRAYS:
+				final float[] x = centers.xComponents(), y = centers.yComponents(), z = centers.zComponents();
+				for ( int i = wordStart ; i < wordEnd ; i++ ) {
+					final int j = offset + i;
+					if ( this.isSphereVisible(x[j], y[j], z[j], data[j]) ) {
+						word |= 1L << ( i - wordStart );
+					}
+				}
+				break;
+			default:
+				throw new IllegalArgumentException("Invalid kind");
+			}
+			
+			words[wordStart / 64] = word;
+		}
+	}
+	
+	/**
+	 * @post Verifica que la cantidad especificada de volúmenes de la dimensión especificada
+	 * 		 entre en un array con la longitud especificada a partir del desplazamiento especificado
+	 */
+	private static void checkPackedRange(int arrayLength, int offset, int dimension, int count) {
+		if ( ( offset < 0 ) || ( count < 0 ) || ( (long) offset + (long) count * dimension > arrayLength ) ) {
+			throw new IndexOutOfBoundsException("Invalid range");
+		}
+	}
+	
+	/**
+	 * @post Verifica que los centros y los radios especificados sean válidos
+	 * 		 en el rango especificado
+	 */
+	private static void checkSphereArrays(Vector3fArray centers, float[] radii, int start, int length) {
+		if ( ( centers != null ) && ( radii != null ) ) {
+			if ( ( start < 0 ) || ( length < 0 ) || ( start + length > centers.size() ) || ( start + length > radii.length ) ) {
+				throw new IndexOutOfBoundsException("Invalid range");
+			}
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @post Devuelve un representación en cadena de carácteres
+	 */
+	@Override
+	public String toString() {
+		String result = "Frustum( ";
+		for ( int i = 0 ; i < 6 ; i++ ) {
+			result += this.getPlane(i);
+			if ( i < 5 ) {
+				result += ", ";
+			}
+		}
+		return result + " )";
+	}
+	
+	/**
+	 * Tarea de prueba paralela
+	 */
+	private final class TestTask extends RecursiveAction {
+		private static final long serialVersionUID = 2048623370119467734L;
+		
+		private final int kind;
+		private final float[] data;
+		private final int offset;
+		private final Vector3fArray centers;
+		private final long[] words;
+		private final int from, to;
+		
+		/**
+		 * @post Crea la tarea con los volúmenes y el rango especificados
+		 */
+		public TestTask(int kind, float[] data, int offset, Vector3fArray centers, long[] words, int from, int to) {
+			this.kind = kind;
+			this.data = data;
+			this.offset = offset;
+			this.centers = centers;
+			this.words = words;
+			this.from = from;
+			this.to = to;
+		}
+		
+		/* (non-Javadoc)
+		 * @see java.util.concurrent.RecursiveAction#compute()
+		 */
+		@Override
+		protected void compute() {
+			if ( this.to - this.from <= BLOCK_SIZE ) {
+				Frustum.this.testBlock(this.kind, this.data, this.offset, this.centers, this.words, this.from, this.to);
+			}
+			else {
+				// Mitad alineada a bloques, para que cada tarea escriba palabras distintas
+				final int blocks = ( this.to - this.from + BLOCK_SIZE - 1 ) / BLOCK_SIZE;
+				final int middle = this.from + ( blocks / 2 ) * BLOCK_SIZE;
+				
+				invokeAll(
+					new TestTask(this.kind, this.data, this.offset, this.centers, this.words, this.from, middle),
+					new TestTask(this.kind, this.data, this.offset, this.centers, this.words, middle, this.to)
+				);
+			}
+		}
+	}
+}
@@ -0,0 +1,392 @@
+/**
+ * Copyright (c) 2017 Ariel Favio Carrizo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'esferixis' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.esferixis.math;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Vista de acceso aleatorio sobre un archivo de vectores tridimensionales
+ * mapeado en memoria.
+ * 
+ * El formato es el mismo que el de Vector3f.store(ByteBuffer): tres floats
+ * consecutivos por vector, sin encabezado, con el orden de bytes especificado
+ * (Por defecto big-endian, el orden por defecto de ByteBuffer).
+ * 
+ * El archivo se mapea en segmentos, de manera que puede superar los 2 GB.
+ * Los accesos no crean objetos Vector3f, salvo que se los pida explícitamente
+ * 
+ * @author Ariel Favio Carrizo
+ *
+ */
+public final class MappedVector3fBuffer implements Iterable<MutableVector3f>, Closeable {
+	private static final int VECTOR_BYTES = 12;
+	
+	// Cantidad de vectores por segmento (2^26 vectores, 768 MB)
+	private static final int SEGMENT_SHIFT = 26;
+	private static final long SEGMENT_MASK = ( 1L << SEGMENT_SHIFT ) - 1L;
+	
+	private final RandomAccessFile file;
+	private final MappedByteBuffer[] segments;
+	private final long size;
+	private final boolean writable;
+	
+	/**
+	 * @post Crea la vista con el archivo, la cantidad de vectores, el orden de bytes
+	 * 		 y el modo especificados
+	 */
+	private MappedVector3fBuffer(RandomAccessFile file, long size, ByteOrder byteOrder, boolean writable) throws IOException {
+		this.file = file;
+		this.size = size;
+		this.writable = writable;
+		
+		final FileChannel channel = file.getChannel();
+		final FileChannel.MapMode mapMode = writable ? FileChannel.MapMode.READ_WRITE : FileChannel.MapMode.READ_ONLY;
+		
+		final int segmentsQuantity = (int) ( ( size + SEGMENT_MASK ) >>> SEGMENT_SHIFT );
+		this.segments = new MappedByteBuffer[segmentsQuantity];
+		
+		for ( int i = 0 ; i < segmentsQuantity ; i++ ) {
+			final long firstVector = (long) i << SEGMENT_SHIFT;
+			final long segmentVectors = Math.min(size - firstVector, 1L << SEGMENT_SHIFT);
+			
+			this.segments[i] = channel.map(mapMode, firstVector * VECTOR_BYTES, segmentVectors * VECTOR_BYTES);
+			this.segments[i].order(byteOrder);
+		}
+	}
+	
+	/**
+	 * @pre El archivo y el orden de bytes no pueden ser nulos, y el tamaño del archivo
+	 * 		tiene que ser múltiplo de 12 bytes
+	 * @post Mapea el archivo existente especificado, con el orden de bytes y el modo especificados
+	 */
+	public static MappedVector3fBuffer open(File file, ByteOrder byteOrder, boolean writable) throws IOException {
+		if ( ( file != null ) && ( byteOrder != null ) ) {
+			final RandomAccessFile randomAccessFile = new RandomAccessFile(file, writable ? "rw" : "r");
+			
+			try {
+				final long length = randomAccessFile.length();
+				
+				if ( length % VECTOR_BYTES == 0 ) {
+					return new MappedVector3fBuffer(randomAccessFile, length / VECTOR_BYTES, byteOrder, writable);
+				}
+				else {
+					throw new IOException("File length isn't a multiple of the vector size");
+				}
+			}
+			catch (IOException e) {
+				randomAccessFile.close();
+				throw e;
+			}
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @pre El archivo no puede ser nulo, y el tamaño del archivo tiene que ser
+	 * 		múltiplo de 12 bytes
+	 * @post Mapea el archivo existente especificado en orden big-endian, con el
+	 * 		 modo especificado
+	 */
+	public static MappedVector3fBuffer open(File file, boolean writable) throws IOException {
+		return open(file, ByteOrder.BIG_ENDIAN, writable);
+	}
+	
+	/**
+	 * @pre El archivo y el orden de bytes no pueden ser nulos, y la cantidad de
+	 * 		vectores no puede ser negativa
+	 * @post Crea (O trunca) el archivo especificado con la cantidad de vectores especificada,
+	 * 		 y lo mapea para lectura y escritura con el orden de bytes especificado
+	 */
+	public static MappedVector3fBuffer create(File file, long size, ByteOrder byteOrder) throws IOException {
+		if ( ( file != null ) && ( byteOrder != null ) ) {
+			if ( size >= 0 ) {
+				final RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw");
+				
+				try {
+					randomAccessFile.setLength(size * VECTOR_BYTES);
+					return new MappedVector3fBuffer(randomAccessFile, size, byteOrder, true);
+				}
+				catch (IOException e) {
+					randomAccessFile.close();
+					throw e;
+				}
+			}
+			else {
+				throw new IllegalArgumentException("Negative size");
+			}
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @pre El archivo no puede ser nulo, y la cantidad de vectores no puede ser negativa
+	 * @post Crea (O trunca) el archivo especificado con la cantidad de vectores especificada,
+	 * 		 y lo mapea para lectura y escritura en orden big-endian
+	 */
+	public static MappedVector3fBuffer create(File file, long size) throws IOException {
+		return create(file, size, ByteOrder.BIG_ENDIAN);
+	}
+	
+	/**
+	 * @post Devuelve la cantidad de vectores
+	 */
+	public long size() {
+		return this.size;
+	}
+	
+	/**
+	 * @post Devuelve si se puede escribir
+	 */
+	public boolean isWritable() {
+		return this.writable;
+	}
+	
+	/**
+	 * @post Devuelve el segmento que contiene el vector con el índice especificado
+	 */
+	private MappedByteBuffer segment(long index) {
+		if ( ( index >= 0 ) && ( index < this.size ) ) {
+			return this.segments[(int) ( index >>> SEGMENT_SHIFT )];
+		}
+		else {
+			throw new IndexOutOfBoundsException("Invalid vector index");
+		}
+	}
+	
+	/**
+	 * @post Devuelve la posición en bytes del vector con el índice especificado
+	 * 		 dentro de su segmento
+	 */
+	private static int offset(long index) {
+		return (int) ( index & SEGMENT_MASK ) * VECTOR_BYTES;
+	}
+	
+	/**
+	 * @post Devuelve la primer componente del vector con el índice especificado
+	 */
+	public float getX(long index) {
+		return this.segment(index).getFloat(offset(index));
+	}
+	
+	/**
+	 * @post Devuelve la segunda componente del vector con el índice especificado
+	 */
+	public float getY(long index) {
+		return this.segment(index).getFloat(offset(index) + 4);
+	}
+	
+	/**
+	 * @post Devuelve la tercer componente del vector con el índice especificado
+	 */
+	public float getZ(long index) {
+		return this.segment(index).getFloat(offset(index) + 8);
+	}
+	
+	/**
+	 * @post Devuelve el vector con el índice especificado
+	 */
+	public Vector3f get(long index) {
+		final MappedByteBuffer segment = this.segment(index);
+		final int offset = offset(index);
+		return new Vector3f(segment.getFloat(offset), segment.getFloat(offset + 4), segment.getFloat(offset + 8));
+	}
+	
+	/**
+	 * @pre El destino no puede ser nulo
+	 * @post Almacena el vector con el índice especificado en el destino y lo devuelve
+	 */
+	public MutableVector3f get(long index, MutableVector3f destination) {
+		final MappedByteBuffer segment = this.segment(index);
+		final int offset = offset(index);
+		return destination.set(segment.getFloat(offset), segment.getFloat(offset + 4), segment.getFloat(offset + 8));
+	}
+	
+	/**
+	 * @pre Tiene que poder escribirse
+	 * @post Especifica las componentes del vector con el índice especificado
+	 */
+	public void set(long index, float x, float y, float z) {
+		final MappedByteBuffer segment = this.segment(index);
+		final int offset = offset(index);
+		segment.putFloat(offset, x);
+		segment.putFloat(offset + 4, y);
+		segment.putFloat(offset + 8, z);
+	}
+	
+	/**
+	 * @pre Tiene que poder escribirse y el vector no puede ser nulo
+	 * @post Especifica el vector con el índice especificado
+	 */
+	public void set(long index, Vector3f vector) {
+		this.set(index, vector.getX(), vector.getY(), vector.getZ());
+	}
+	
+	/**
+	 * @post Verifica que el rango de vectores especificado sea válido
+	 */
+	private void checkRange(long index, int count) {
+		if ( ( index < 0 ) || ( count < 0 ) || ( index + count > this.size ) ) {
+			throw new IndexOutOfBoundsException("Invalid range");
+		}
+	}
+	
+	/**
+	 * @pre El destino no puede ser nulo
+	 * @post Lee la cantidad especificada de vectores a partir del índice especificado,
+	 * 		 y los almacena en el destino a partir del índice de destino especificado
+	 */
+	public void read(long index, Vector3fArray destination, int destinationStart, int count) {
+		if ( destination != null ) {
+			this.checkRange(index, count);
+			
+			final float[] x = destination.xComponents(), y = destination.yComponents(), z = destination.zComponents();
+			
+			if ( ( destinationStart >= 0 ) && ( destinationStart + count <= destination.size() ) ) {
+				for ( int i = 0 ; i < count ; i++ ) {
+					final long eachIndex = index + i;
+					final MappedByteBuffer segment = this.segments[(int) ( eachIndex >>> SEGMENT_SHIFT )];
+					final int offset = offset(eachIndex);
+					
+					x[destinationStart + i] = segment.getFloat(offset);
+					y[destinationStart + i] = segment.getFloat(offset + 4);
+					z[destinationStart + i] = segment.getFloat(offset + 8);
+				}
+			}
+			else {
+				throw new IndexOutOfBoundsException("Invalid destination range");
+			}
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @pre Tiene que poder escribirse y el origen no puede ser nulo
+	 * @post Escribe la cantidad especificada de vectores del origen a partir del índice de
+	 * 		 origen especificado, a partir del índice especificado
+	 */
+	public void write(long index, Vector3fArray source, int sourceStart, int count) {
+		if ( source != null ) {
+			this.checkRange(index, count);
+			
+			final float[] x = source.xComponents(), y = source.yComponents(), z = source.zComponents();
+			
+			if ( ( sourceStart >= 0 ) && ( sourceStart + count <= source.size() ) ) {
+				for ( int i = 0 ; i < count ; i++ ) {
+					final long eachIndex = index + i;
+					final MappedByteBuffer segment = this.segments[(int) ( eachIndex >>> SEGMENT_SHIFT )];
+					final int offset = offset(eachIndex);
+					
+					segment.putFloat(offset, x[sourceStart + i]);
+					segment.putFloat(offset + 4, y[sourceStart + i]);
+					segment.putFloat(offset + 8, z[sourceStart + i]);
+				}
+			}
+			else {
+				throw new IndexOutOfBoundsException("Invalid source range");
+			}
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @post Devuelve un iterador sobre los vectores.
+	 * 		 Por cada elemento devuelve el mismo vector mutable, con
+	 * 		 las componentes del vector actual, de manera que no crea
+	 * 		 objetos por elemento
+	 */
+	@Override
+	public Iterator<MutableVector3f> iterator() {
+		return new Iterator<MutableVector3f>() {
+			private final MutableVector3f current = new MutableVector3f();
+			private long nextIndex = 0;
+			
+			@Override
+			public boolean hasNext() {
+				return ( this.nextIndex < MappedVector3fBuffer.this.size );
+			}
+
+			@Override
+			public MutableVector3f next() {
+				if ( this.hasNext() ) {
+					return MappedVector3fBuffer.this.get(this.nextIndex++, this.current);
+				}
+				else {
+					throw new NoSuchElementException();
+				}
+			}
+
+			@Override
+			public void remove() {
+				throw new UnsupportedOperationException();
+			}
+			
+		};
+	}
+	
+	/**
+	 * @post Fuerza la escritura de los cambios al archivo
+	 */
+	public void force() {
+		if ( this.writable ) {
+			for ( MappedByteBuffer eachSegment : this.segments ) {
+				eachSegment.force();
+			}
+		}
+	}
+	
+	/**
+	 * @post Fuerza la escritura de los cambios y cierra el archivo.
+	 * 		 Los segmentos se liberan cuando son recolectados, y no
+	 * 		 tienen que usarse luego de cerrar
+	 */
+	@Override
+	public void close() throws IOException {
+		this.force();
+		this.file.close();
+	}
+}
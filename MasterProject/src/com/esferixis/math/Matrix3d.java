@@ -0,0 +1,346 @@
+/**
+ * Copyright (c) 2017 Ariel Favio Carrizo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'esferixis' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.esferixis.math;
+
+import java.io.Serializable;
+import java.nio.DoubleBuffer;
+import java.util.Arrays;
+
+/**
+ * Matriz de 3x3 de precisión doble
+ * 
+ * @author ariel
+ *
+ */
+public class Matrix3d implements Serializable {
+	private static final long serialVersionUID = 5902617731209466512L;
+
+	protected final double m[]; // Valores de cada elemento, por columnas ( m[columna * LENGTH + fila] )
+	
+	protected static final int LENGTH = 3;
+	
+	// Matriz identidad
+	public final static Matrix3d IDENTITY = new Matrix3d( new double[][]{
+			new double[]{ 1.0d, 0.0d, 0.0d },
+			new double[]{ 0.0d, 1.0d, 0.0d },
+			new double[]{ 0.0d, 0.0d, 1.0d },
+	});
+	
+	// Matriz nula
+	public final static Matrix3d ZERO = new Matrix3d( new double[][]{
+			new double[]{ 0.0d, 0.0d, 0.0d },
+			new double[]{ 0.0d, 0.0d, 0.0d },
+			new double[]{ 0.0d, 0.0d, 0.0d },
+	});
+	
+	/**
+	 * @pre Tiene que ser una matriz de 3x3
+	 * @post Crea una matriz de 3x3 con los elementos especificados
+	 */
+	public Matrix3d(double source[][]) {
+		if ( source.length == LENGTH ) {
+			this.m = new double[9];
+			for ( int i = 0 ; i < LENGTH ; i++ ) {
+				if ( source[i].length == LENGTH ) {
+					for ( int j = 0 ; j < LENGTH ; j++ ) {
+						this.m[i * LENGTH + j] = source[i][j];
+					}
+				}
+				else {
+					throw new IllegalArgumentException("Attemped to create a matrix without 3x3 size");
+				}
+			}
+		}
+		else {
+			throw new IllegalArgumentException("Attemped to create a matrix without 3x3 size");
+		}
+	}
+	
+	/**
+	 * @pre El array tiene que tener 9 elementos, ordenados por columnas,
+	 * 		y no puede ser modificado después
+	 * @post Crea una matriz con el array especificado, sin copiarlo
+	 */
+	Matrix3d(double[] m) {
+		this.m = m;
+	}
+	
+	/**
+	 * @pre La matriz no puede ser nula
+	 * @post Crea una matriz a partir de la matriz de precisión simple especificada
+	 */
+	public Matrix3d(Matrix3f matrix) {
+		this.m = new double[9];
+		for ( int i = 0 ; i < 9 ; i++ ) {
+			this.m[i] = matrix.m[i];
+		}
+	}
+	
+	/**
+	 * @post Crea una matriz de transformación para dos dimensiones
+	 * 		 con los vectores especificados
+	 */
+	public Matrix3d(Vector3d localX, Vector3d localY) {
+		this(new double[][]{
+				{ localX.getX(), localY.getX(), 0.0d },
+				{ localX.getY(), localY.getY(), 0.0d },
+				{ 0.0d,	0.0d, 1.0d }
+		} );
+	}
+	
+	/**
+	 * @post Devuelve el resultado de sumar la matriz con otra
+	 */
+	public Matrix3d add(Matrix3d other) {
+		final double[] result = new double[9];
+		for ( int i = 0 ; i < 9 ; i++ ) {
+			result[i] = this.m[i] + other.m[i];
+		}
+		return new Matrix3d(result);
+	}
+	
+	/**
+	 * @post Devuelve el resultado de la multiplicación de la matriz con otra
+	 */
+	public Matrix3d mul(Matrix3d other) {
+		final double[] result = new double[9];
+		for ( int i = 0 ; i < LENGTH ; i++ ) {
+			for ( int j = 0 ; j < LENGTH ; j++ ) {
+				double element = 0.0d;
+				for ( int k = 0 ; k < LENGTH ; k++ ) {
+					element += this.m[k * LENGTH + i] * other.m[j * LENGTH + k];
+				}
+				result[j * LENGTH + i] = element;
+			}
+		}
+		return new Matrix3d(result);
+	}
+	
+	/**
+	 * @post Devuelve el resultado de la translación con el vector especificado
+	 */
+	public Matrix3d translate(Vector2d vector) {
+		return
+			new Matrix3d( new double[][]{
+						new double[]{ 1.0d, 0.0d, 0.0d },
+						new double[]{ 0.0d, 1.0d, 0.0d },
+						new double[]{ vector.getX(), vector.getY(), 1.0d }
+			} ).mul(this);
+	}
+	
+	/**
+	 * @post Devuelve la matriz rotada con el ángulo especificado
+	 */
+	public Matrix3d rotate(double angle) {
+		final double sinProduct = Math.sin(angle);
+		final double cosProduct = Math.cos(angle);
+		return 
+			new Matrix3d( new double[][]{
+						new double[]{ cosProduct, sinProduct, 0.0d },
+						new double[]{ -sinProduct, cosProduct, 0.0d },
+						new double[]{ 0.0d, 0.0d, 1.0d }
+			} ).mul(this);
+	}
+	
+	/**
+	 * @post Devuelve la matriz escalada con el vector especificado
+	 */
+	public Matrix3d scale(Vector2d vector) {
+		return new Matrix3d(new double[][]{
+			new double[]{ vector.getX(), 0.0d, 0.0d },
+			new double[]{ 0.0d, vector.getY(), 0.0d },
+			new double[]{ 0.0d, 0.0d, 1.0d }
+		}).mul(this);
+	}
+	
+	/**
+	 * @post Devuelve la matriz multiplicada con el escalar especificado
+	 */
+	public Matrix3d scale(double scalar) {
+		return this.scale(new Vector2d(scalar, scalar));
+	}
+	
+	/**
+	 * @post Devuelve la matriz transpuesta
+	 */
+	public Matrix3d transpose() {
+		final double[] result = new double[9];
+		for ( int j = 0 ; j < LENGTH ; j++ ) {
+			for ( int i = 0; i < LENGTH ; i++ ) {
+				result[j * LENGTH + i] = this.m[i * LENGTH + j];
+			}
+		}
+		return new Matrix3d(result);
+	}
+	
+	/**
+	 * @post Devuelve el determinante de la matriz
+	 */
+	public double determinant() {
+		return this.m[0]*this.m[4]*this.m[8]+this.m[3]*this.m[7]*this.m[2]+this.m[6]*this.m[1]*this.m[5]-this.m[6]*this.m[4]*this.m[2]-this.m[3]*this.m[1]*this.m[8]-this.m[0]*this.m[7]*this.m[5];
+	}
+	
+	/**
+	 * @post Devuelve la inversa de la matriz
+	 */
+	public Matrix3d invert() {
+		// aCF es el elemento de la columna C y la fila F
+		final double a00 = this.m[0], a01 = this.m[1], a02 = this.m[2];
+		final double a10 = this.m[3], a11 = this.m[4], a12 = this.m[5];
+		final double a20 = this.m[6], a21 = this.m[7], a22 = this.m[8];
+		
+		final double c0 = a11 * a22 - a21 * a12;
+		final double c1 = a21 * a02 - a01 * a22;
+		final double c2 = a01 * a12 - a11 * a02;
+		
+		final double determinant = a00 * c0 + a10 * c1 + a20 * c2;
+		
+		if ( determinant != 0.0d ) {
+			// Se divide cada cofactor, incluyendo la última fila
+			final double inverseDeterminant = 1.0d / determinant;
+			
+			return new Matrix3d( new double[]{
+				c0 * inverseDeterminant,
+				c1 * inverseDeterminant,
+				c2 * inverseDeterminant,
+				
+				( a20 * a12 - a10 * a22 ) * inverseDeterminant,
+				( a00 * a22 - a20 * a02 ) * inverseDeterminant,
+				( a10 * a02 - a00 * a12 ) * inverseDeterminant,
+				
+				( a10 * a21 - a20 * a11 ) * inverseDeterminant,
+				( a20 * a01 - a00 * a21 ) * inverseDeterminant,
+				( a00 * a11 - a10 * a01 ) * inverseDeterminant
+			} );
+		}
+		else {
+			throw new ArithmeticException("The inverse doesn't exists");
+		}
+	}
+	
+	/**
+	 * @post Devuelve el punto especificado transformado por la matriz
+	 */
+	public Vector2d transformPoint(Vector2d vector) {
+		return new Vector2d(
+				this.m[0] * vector.getX() + this.m[3] * vector.getY() + this.m[6],
+				this.m[1] * vector.getX() + this.m[4] * vector.getY() + this.m[7]
+		);
+	}
+	
+	/**
+	 * @post Devuelve la dirección especificada transformada por la matriz
+	 */
+	public Vector2d transformDirection(Vector2d vector) {
+		return new Vector2d(
+				this.m[0] * vector.getX() + this.m[3] * vector.getY(),
+				this.m[1] * vector.getX() + this.m[4] * vector.getY()
+		);
+	}
+	
+	/**
+	 * @post Devuelve la componente en la ubicación especificada
+	 */
+	public double get(int i, int j) {
+		if ( ( i >= 0 ) && ( i < LENGTH ) && ( j >= 0 ) && ( j < LENGTH ) ) {
+			return this.m[i * LENGTH + j];
+		}
+		else {
+			throw new IllegalArgumentException("Invalid component position");
+		}
+	}
+	
+	/**
+	 * @post Devuelve el hash de la matriz
+	 */
+	public int hashCode() {
+		return Arrays.hashCode(this.m);
+	}
+	
+	/**
+	 * @post Almacena la matriz en la posición actual del buffer especificado
+	 */
+	public void store(DoubleBuffer buffer) {
+		buffer.put(this.m);
+	}
+	
+	/**
+	 * @post Devuelve la matriz convertida a precisión simple
+	 */
+	public Matrix3f toMatrix3f() {
+		final float[] result = new float[9];
+		for ( int i = 0 ; i < 9 ; i++ ) {
+			result[i] = (float) this.m[i];
+		}
+		return new Matrix3f(result);
+	}
+	
+	/**
+	 * @post Devuelve si la matriz al objeto especificado
+	 */
+	public boolean equals(Object other) {
+		if ( other != null ) {
+			if ( other instanceof Matrix3d ) {
+				return Arrays.equals( ((Matrix3d) other).m, this.m);
+			}
+			else {
+				return false;
+			}
+		}
+		else {
+			return false;
+		}
+	}
+	
+	/**
+	 * @post Realiza una conversión a cadena de texto
+	 */
+	public String toString() {
+		String result = "Matrix3d( [";
+		for ( int i = 0; i<LENGTH ; i++ ) {
+			result += "[";
+			for ( int j = 0; j<LENGTH ; j++ ) {
+				result += Double.toString(this.m[i * LENGTH + j]);
+				if ( j < LENGTH-1 ) {
+					result += ", ";
+				}
+			}
+			result += "]";
+			
+			if ( i < LENGTH-1 ) {
+				result += ", ";
+			}
+		}
+		result += "] )";
+		return result;
+	}
+}
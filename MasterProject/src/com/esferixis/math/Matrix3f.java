@@ -34,23 +34,17 @@ package com.esferixis.math;
 import java.io.Serializable;
 import java.nio.FloatBuffer;
 import java.util.Arrays;
-import java.util.List;
 
 import com.esferixis.misc.nio.BufferUtils;
-import com.esferixis.misc.strings.parser.ConstantFunctionParser;
-import com.esferixis.misc.strings.parser.ExpressionParser;
-import com.esferixis.misc.strings.parser.FunctionParser;
-import com.esferixis.misc.strings.parser.ParametrizedFunctionParser;
-import com.esferixis.misc.strings.parser.ParseException;
 
 /**
  * @author ariel
  *
  */
 public class Matrix3f implements Serializable {
-	private static final long serialVersionUID = -3319823569631840145L;
+	private static final long serialVersionUID = 3845730116315546784L;
 
-	protected final float m[][]; // Valores de cada elemento
+	protected final float m[]; // Valores de cada elemento, por columnas ( m[columna * LENGTH + fila] )
 	
 	protected static final int LENGTH = 3;
 	
@@ -68,74 +62,13 @@ public class Matrix3f implements Serializable {
 			new float[]{ 0.0f, 0.0f, 0.0f },
 	});
 	
-	private static final ExpressionParser<Matrix3f> PARSER = new ExpressionParser<Matrix3f>(
-		new ConstantFunctionParser<Matrix3f>("IDENTITY", Matrix3f.IDENTITY),
-		new ConstantFunctionParser<Matrix3f>("ZERO", Matrix3f.ZERO),
-		new ParametrizedFunctionParser<Matrix3f>("add") {
-
-			@Override
-			public Matrix3f parse(List<String> parameters) throws ParseException {
-				ExpressionParser.checkParametersQuantity(parameters, 2);
-				return Matrix3f.parse(parameters.get(0)).add(Matrix3f.parse(parameters.get(1)));
-			}
-			
-		},
-		new ParametrizedFunctionParser<Matrix3f>("mul") {
-
-			@Override
-			public Matrix3f parse(List<String> parameters) throws ParseException {
-				ExpressionParser.checkParametersQuantity(parameters, 2);
-				return Matrix3f.parse(parameters.get(0)).mul(Matrix3f.parse(parameters.get(1)));
-			}
-			
-		},
-		new ParametrizedFunctionParser<Matrix3f>("translate") {
-
-			@Override
-			public Matrix3f parse(List<String> parameters) throws ParseException {
-				ExpressionParser.checkParametersQuantity(parameters, 2);
-				return Matrix3f.parse(parameters.get(0)).translate(Vector2f.parse(parameters.get(1)));
-			}
-			
-		},
-		new ParametrizedFunctionParser<Matrix3f>("rotate") {
-
-			@Override
-			public Matrix3f parse(List<String> parameters) throws ParseException {
-				ExpressionParser.checkParametersQuantity(parameters, 2);
-				return Matrix3f.parse(parameters.get(0)).rotate(Float.parseFloat(parameters.get(1)));
-			}
-			
-		},
-		new ParametrizedFunctionParser<Matrix3f>("scale") {
-
-			@Override
-			public Matrix3f parse(List<String> parameters) throws ParseException {
-				ExpressionParser.checkParametersQuantity(parameters, 2);
-				return Matrix3f.parse(parameters.get(0)).scale(Vector2f.parse(parameters.get(1)));
-			}
-			
-		},
-		new FunctionParser<Matrix3f>("transpose") {
-
-			@Override
-			public Matrix3f parse(String string) throws ParseException {
-				return Matrix3f.parse(string).transpose();
-			}
-			
-		},
-		new FunctionParser<Matrix3f>("invert") {
-
-			@Override
-			public Matrix3f parse(String string) throws ParseException {
-				return Matrix3f.parse(string).invert();
-			}
-			
-		}
-	);
-	
+	/**
+	 * @pre La cadena no puede ser nula, y no puede tener variables
+	 * @post Parsea la expresión especificada.
+	 * 		 Las expresiones compiladas se guardan en caché (Ver Matrix3fExpression)
+	 */
 	public static Matrix3f parse(String string) {
-		return PARSER.parse(string, Matrix3f.class);
+		return Matrix3fExpression.compile(string).evaluate();
 	}
 	
 	/**
@@ -145,12 +78,11 @@ public class Matrix3f implements Serializable {
 	 */
 	public Matrix3f(float source[][]) {
 		if ( source.length == LENGTH ) {
-			this.m = new float[LENGTH][LENGTH];
+			this.m = new float[9];
 			for ( int i = 0 ; i < LENGTH ; i++ ) {
 				if ( source[i].length == LENGTH ) {
-					this.m[i] = new float[LENGTH];
 					for ( int j = 0 ; j < LENGTH ; j++ ) {
-						this.m[i][j] = source[i][j];
+						this.m[i * LENGTH + j] = source[i][j];
 					}
 				}
 				else {
@@ -163,6 +95,35 @@ public class Matrix3f implements Serializable {
 		}
 	}
 	
+	/**
+	 * @pre El array tiene que tener 9 elementos, ordenados por columnas,
+	 * 		y no puede ser modificado después
+	 * @post Crea una matriz con el array especificado, sin copiarlo
+	 */
+	Matrix3f(float[] m) {
+		this.m = m;
+	}
+	
+	/**
+	 * @pre El array no puede ser nulo, y tiene que tener 9 elementos a partir
+	 * 		del desplazamiento especificado
+	 * @post Crea una matriz con los elementos especificados, ordenados por columnas
+	 * 		 (El mismo orden que store())
+	 */
+	public static Matrix3f fromArray(float[] elements, int offset) {
+		if ( elements != null ) {
+			if ( ( offset >= 0 ) && ( offset + 9 <= elements.length ) ) {
+				return new Matrix3f( Arrays.copyOfRange(elements, offset, offset + 9) );
+			}
+			else {
+				throw new IndexOutOfBoundsException("Invalid offset");
+			}
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
 	/**
 	 * @post Crea una matriz de transformación para dos dimensiones
 	 * 		 con los vectores especificados
@@ -179,33 +140,28 @@ public class Matrix3f implements Serializable {
 	 * @post Devuelve el resultado de sumar la matriz con otra
 	 */
 	public Matrix3f add(Matrix3f other) {
-		final float resultarray[][] = new float[LENGTH][];
-		for ( int i = 0 ; i < LENGTH; i++ ) {
-			resultarray[i] = new float[LENGTH];
-			for ( int j = 0 ; j < LENGTH ; j++ ) {
-				resultarray[i][j] = this.m[i][j] + other.m[i][j];
-			}
+		final float[] result = new float[9];
+		for ( int i = 0 ; i < 9 ; i++ ) {
+			result[i] = this.m[i] + other.m[i];
 		}
-		return new Matrix3f(resultarray);
+		return new Matrix3f(result);
 	}
 	
 	/**
 	 * @post Devuelve el resultado de la multiplicación de la matriz con otra
 	 */
 	public Matrix3f mul(Matrix3f other) {
-		final float resultarray[][] = new float[LENGTH][];
-		for ( int i = 0 ; i < LENGTH ; i++ ) {
-			resultarray[i] = new float[LENGTH];
-		}
+		final float[] result = new float[9];
 		for ( int i = 0 ; i < LENGTH ; i++ ) {
 			for ( int j = 0 ; j < LENGTH ; j++ ) {
-				resultarray[j][i] = 0.0f;
+				float element = 0.0f;
 				for ( int k = 0 ; k < LENGTH ; k++ ) {
-					resultarray[j][i] += this.m[k][i] * other.m[j][k];
+					element += this.m[k * LENGTH + i] * other.m[j * LENGTH + k];
 				}
+				result[j * LENGTH + i] = element;
 			}
 		}
-		return new Matrix3f(resultarray);
+		return new Matrix3f(result);
 	}
 	
 	/**
@@ -256,59 +212,111 @@ public class Matrix3f implements Serializable {
 	 * @post Devuelve la matriz transpuesta
 	 */
 	public Matrix3f transpose() {
-		final float[][] matrixArray = new float[LENGTH][];
+		final float[] result = new float[9];
 		for ( int j = 0 ; j < LENGTH ; j++ ) {
-			matrixArray[j] = new float[LENGTH];
 			for ( int i = 0; i < LENGTH ; i++ ) {
-				matrixArray[j][i] = this.m[i][j];
+				result[j * LENGTH + i] = this.m[i * LENGTH + j];
 			}
 		}
-		return new Matrix3f(matrixArray);
+		return new Matrix3f(result);
 	}
 	
 	/**
 	 * @post Devuelve el determinante de la matriz
 	 */
 	public float determinant() {
-		return this.m[0][0]*this.m[1][1]*this.m[2][2]+this.m[1][0]*this.m[2][1]*this.m[0][2]+this.m[2][0]*this.m[0][1]*this.m[1][2]-this.m[2][0]*this.m[1][1]*this.m[0][2]-this.m[1][0]*this.m[0][1]*this.m[2][2]-this.m[0][0]*this.m[2][1]*this.m[1][2];
+		return this.m[0]*this.m[4]*this.m[8]+this.m[3]*this.m[7]*this.m[2]+this.m[6]*this.m[1]*this.m[5]-this.m[6]*this.m[4]*this.m[2]-this.m[3]*this.m[1]*this.m[8]-this.m[0]*this.m[7]*this.m[5];
 	}
 	
 	/**
 	 * @post Devuelve la inversa de la matriz
 	 */
 	public Matrix3f invert() {
-		final float determinant = this.determinant();
-		if ( determinant != 0.0f) {
-			return ( new Matrix3f( new float[][]{
-				new float[]{
-					this.m[1][1] * this.m[2][2] - this.m[2][1] * this.m[1][2],
-					this.m[2][1] * this.m[0][2] - this.m[0][1] * this.m[2][2],
-					this.m[0][1] * this.m[1][2] - this.m[1][1] * this.m[0][2]
-				},
-				new float[]{
-					this.m[2][0] * this.m[1][2] - this.m[1][0] * this.m[2][2],
-					this.m[0][0] * this.m[2][2] - this.m[2][0] * this.m[0][2],
-					this.m[1][0] * this.m[0][2] - this.m[0][0] * this.m[1][2]
-				},
-				new float[]{
-					this.m[1][0] * this.m[2][1] - this.m[2][0] * this.m[1][1],
-					this.m[2][0] * this.m[0][1] - this.m[0][0] * this.m[2][1],
-					this.m[0][0] * this.m[1][1] - this.m[1][0] * this.m[0][1]
-				}
-			} ) ).scale(1.0f/determinant);
+		final float[] result = new float[9];
+		if ( invert(this.m, 0, result, 0) != 0.0f ) {
+			return new Matrix3f(result);
 		}
 		else {
 			throw new ArithmeticException("The inverse doesn't exists");
 		}
 	}
 	
+	/**
+	 * @pre Los arrays no pueden ser nulos, excepto el de determinantes
+	 * @post Invierte las matrices empaquetadas (9 floats cada una, en el mismo orden que store())
+	 * 		 del array de entrada, a partir del desplazamiento especificado (En floats), y almacena
+	 * 		 el resultado en el array de salida en la misma posición.
+	 * 		 Si se especifica el array de determinantes, almacena en la posición i el determinante
+	 * 		 de la matriz i del rango.
+	 * 		 Las matrices singulares (Determinante nulo) no se escriben en la salida.
+	 * 		 Los arrays de entrada y de salida pueden ser el mismo
+	 */
+	public static void invertAll(float[] in, float[] out, float[] determinants, int offset, int count) {
+		if ( ( in != null ) && ( out != null ) ) {
+			checkPackedRange(in.length, offset, 9, count);
+			checkPackedRange(out.length, offset, 9, count);
+			if ( determinants != null ) {
+				checkPackedRange(determinants.length, 0, 1, count);
+			}
+			
+			for ( int i = 0 ; i < count ; i++ ) {
+				final float determinant = invert(in, offset + i * 9, out, offset + i * 9);
+				
+				if ( determinants != null ) {
+					determinants[i] = determinant;
+				}
+			}
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @post Calcula la inversa de la matriz especificada, la almacena en el destino
+	 * 		 y devuelve el determinante.
+	 * 		 Los cofactores de la primer columna se calculan una sola vez y se comparten
+	 * 		 entre el determinante y la adjunta.
+	 * 		 Si el determinante es nulo no escribe el destino. El destino puede coincidir con el origen
+	 */
+	private static float invert(float[] m, int mOffset, float[] result, int resultOffset) {
+		// aCF es el elemento de la columna C y la fila F
+		final float a00 = m[mOffset], a01 = m[mOffset + 1], a02 = m[mOffset + 2];
+		final float a10 = m[mOffset + 3], a11 = m[mOffset + 4], a12 = m[mOffset + 5];
+		final float a20 = m[mOffset + 6], a21 = m[mOffset + 7], a22 = m[mOffset + 8];
+		
+		final float c0 = a11 * a22 - a21 * a12;
+		final float c1 = a21 * a02 - a01 * a22;
+		final float c2 = a01 * a12 - a11 * a02;
+		
+		final float determinant = a00 * c0 + a10 * c1 + a20 * c2;
+		
+		if ( determinant != 0.0f ) {
+			final float inverseDeterminant = 1.0f / determinant;
+			
+			result[resultOffset] = c0 * inverseDeterminant;
+			result[resultOffset + 1] = c1 * inverseDeterminant;
+			result[resultOffset + 2] = c2 * inverseDeterminant;
+			
+			result[resultOffset + 3] = ( a20 * a12 - a10 * a22 ) * inverseDeterminant;
+			result[resultOffset + 4] = ( a00 * a22 - a20 * a02 ) * inverseDeterminant;
+			result[resultOffset + 5] = ( a10 * a02 - a00 * a12 ) * inverseDeterminant;
+			
+			result[resultOffset + 6] = ( a10 * a21 - a20 * a11 ) * inverseDeterminant;
+			result[resultOffset + 7] = ( a20 * a01 - a00 * a21 ) * inverseDeterminant;
+			result[resultOffset + 8] = ( a00 * a11 - a10 * a01 ) * inverseDeterminant;
+		}
+		
+		return determinant;
+	}
+	
 	/**
 	 * @post Devuelve el punto especificado transformado por la matriz
 	 */
 	public Vector2f transformPoint(Vector2f vector) {
 		return new Vector2f(
-				this.m[0][0] * vector.getX() + this.m[1][0] * vector.getY() + this.m[2][0],
-				this.m[0][1] * vector.getX() + this.m[1][1] * vector.getY() + this.m[2][1]
+				this.m[0] * vector.getX() + this.m[3] * vector.getY() + this.m[6],
+				this.m[1] * vector.getX() + this.m[4] * vector.getY() + this.m[7]
 		);
 	}
 	
@@ -317,24 +325,265 @@ public class Matrix3f implements Serializable {
 	 */
 	public Vector2f transformDirection(Vector2f vector) {
 		return new Vector2f(
-				this.m[0][0] * vector.getX() + this.m[1][0] * vector.getY(),
-				this.m[0][1] * vector.getX() + this.m[1][1] * vector.getY()
+				this.m[0] * vector.getX() + this.m[3] * vector.getY(),
+				this.m[1] * vector.getX() + this.m[4] * vector.getY()
 		);
 	}
 	
 	/**
-	 * @post Devuelve la componente en la ubicación especificada
+	 * @post Almacena el punto especificado transformado por la matriz en el destino y lo devuelve
 	 */
-	public float get(int i, int j) {
-		Float value = null;
-		if ( ( i >= 0 ) && ( i < LENGTH ) ) {
-			if ( ( j >= 0 ) && ( j < LENGTH ) ) {
-				value = this.m[i][j];
+	public MutableVector2f transformPoint(Vector2f vector, MutableVector2f destination) {
+		return destination.set(
+				this.m[0] * vector.getX() + this.m[3] * vector.getY() + this.m[6],
+				this.m[1] * vector.getX() + this.m[4] * vector.getY() + this.m[7]
+		);
+	}
+	
+	/**
+	 * @post Almacena la dirección especificada transformada por la matriz en el destino y lo devuelve
+	 */
+	public MutableVector2f transformDirection(Vector2f vector, MutableVector2f destination) {
+		return destination.set(
+				this.m[0] * vector.getX() + this.m[3] * vector.getY(),
+				this.m[1] * vector.getX() + this.m[4] * vector.getY()
+		);
+	}
+	
+	/**
+	 * @pre Los arrays no pueden ser nulos
+	 * @post Transforma los puntos empaquetados (2 floats cada uno) del array de entrada, a partir
+	 * 		 del desplazamiento especificado (En floats), y almacena el resultado en el array de salida
+	 * 		 en la misma posición.
+	 * 		 Los arrays pueden ser el mismo
+	 */
+	public void transformPoints(float[] in, float[] out, int offset, int count) {
+		if ( ( in != null ) && ( out != null ) ) {
+			checkPackedRange(in.length, offset, 2, count);
+			checkPackedRange(out.length, offset, 2, count);
+			
+			final float m00 = this.m[0], m01 = this.m[1],
+				m10 = this.m[3], m11 = this.m[4],
+				m20 = this.m[6], m21 = this.m[7];
+			
+			final int end = offset + count * 2;
+			for ( int i = offset ; i < end ; i += 2 ) {
+				final float x = in[i], y = in[i + 1];
+				
+				out[i] = m00 * x + m10 * y + m20;
+				out[i + 1] = m01 * x + m11 * y + m21;
+			}
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @pre Los buffers no pueden ser nulos y el paso tiene que ser mayor o igual a 2
+	 * @post Transforma los puntos del buffer de entrada, a partir del desplazamiento especificado
+	 * 		 y con el paso especificado (Ambos en floats), y almacena el resultado en el buffer de salida
+	 * 		 en la misma posición. Permite procesar vértices intercalados con otros atributos.
+	 * 		 No altera la posición de los buffers, que pueden ser el mismo
+	 */
+	public void transformPoints(FloatBuffer in, FloatBuffer out, int offset, int stride, int count) {
+		if ( ( in != null ) && ( out != null ) ) {
+			checkInterleavedRange(in.limit(), offset, stride, 2, count);
+			checkInterleavedRange(out.limit(), offset, stride, 2, count);
+			
+			final float m00 = this.m[0], m01 = this.m[1],
+				m10 = this.m[3], m11 = this.m[4],
+				m20 = this.m[6], m21 = this.m[7];
+			
+			int index = offset;
+			for ( int i = 0 ; i < count ; i++ ) {
+				final float x = in.get(index), y = in.get(index + 1);
+				
+				out.put(index, m00 * x + m10 * y + m20);
+				out.put(index + 1, m01 * x + m11 * y + m21);
+				
+				index += stride;
+			}
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @pre Los buffers no pueden ser nulos
+	 * @post Transforma los puntos empaquetados (2 floats cada uno) del buffer de entrada, a partir
+	 * 		 del desplazamiento especificado (En floats), y almacena el resultado en el buffer de salida
+	 * 		 en la misma posición.
+	 * 		 No altera la posición de los buffers, que pueden ser el mismo
+	 */
+	public void transformPoints(FloatBuffer in, FloatBuffer out, int offset, int count) {
+		this.transformPoints(in, out, offset, 2, count);
+	}
+	
+	/**
+	 * @pre Los arrays no pueden ser nulos
+	 * @post Transforma los puntos en el rango especificado del array de entrada, y almacena
+	 * 		 el resultado en el array de salida.
+	 * 		 Los arrays pueden ser el mismo
+	 */
+	public void transformPoints(Vector2fArray in, Vector2fArray out, int start, int length) {
+		if ( ( in != null ) && ( out != null ) ) {
+			if ( ( start < 0 ) || ( length < 0 ) || ( start + length > in.size() ) || ( start + length > out.size() ) ) {
+				throw new IndexOutOfBoundsException("Invalid range");
+			}
+			
+			final float[] xIn = in.xComponents(), yIn = in.yComponents();
+			final float[] xOut = out.xComponents(), yOut = out.yComponents();
+			
+			final float m00 = this.m[0], m01 = this.m[1],
+				m10 = this.m[3], m11 = this.m[4],
+				m20 = this.m[6], m21 = this.m[7];
+			
+			final int end = start + length;
+			for ( int i = start ; i < end ; i++ ) {
+				final float x = xIn[i], y = yIn[i];
+				
+				xOut[i] = m00 * x + m10 * y + m20;
+				yOut[i] = m01 * x + m11 * y + m21;
+			}
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @pre Los arrays no pueden ser nulos
+	 * @post Transforma las direcciones empaquetados (2 floats cada uno) del array de entrada, a partir
+	 * 		 del desplazamiento especificado (En floats), y almacena el resultado en el array de salida
+	 * 		 en la misma posición.
+	 * 		 Los arrays pueden ser el mismo
+	 */
+	public void transformDirections(float[] in, float[] out, int offset, int count) {
+		if ( ( in != null ) && ( out != null ) ) {
+			checkPackedRange(in.length, offset, 2, count);
+			checkPackedRange(out.length, offset, 2, count);
+			
+			final float m00 = this.m[0], m01 = this.m[1],
+				m10 = this.m[3], m11 = this.m[4];
+			
+			final int end = offset + count * 2;
+			for ( int i = offset ; i < end ; i += 2 ) {
+				final float x = in[i], y = in[i + 1];
+				
+				out[i] = m00 * x + m10 * y;
+				out[i + 1] = m01 * x + m11 * y;
+			}
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @pre Los buffers no pueden ser nulos y el paso tiene que ser mayor o igual a 2
+	 * @post Transforma las direcciones del buffer de entrada, a partir del desplazamiento especificado
+	 * 		 y con el paso especificado (Ambos en floats), y almacena el resultado en el buffer de salida
+	 * 		 en la misma posición. Permite procesar vértices intercalados con otros atributos.
+	 * 		 No altera la posición de los buffers, que pueden ser el mismo
+	 */
+	public void transformDirections(FloatBuffer in, FloatBuffer out, int offset, int stride, int count) {
+		if ( ( in != null ) && ( out != null ) ) {
+			checkInterleavedRange(in.limit(), offset, stride, 2, count);
+			checkInterleavedRange(out.limit(), offset, stride, 2, count);
+			
+			final float m00 = this.m[0], m01 = this.m[1],
+				m10 = this.m[3], m11 = this.m[4];
+			
+			int index = offset;
+			for ( int i = 0 ; i < count ; i++ ) {
+				final float x = in.get(index), y = in.get(index + 1);
+				
+				out.put(index, m00 * x + m10 * y);
+				out.put(index + 1, m01 * x + m11 * y);
+				
+				index += stride;
+			}
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @pre Los buffers no pueden ser nulos
+	 * @post Transforma las direcciones empaquetados (2 floats cada uno) del buffer de entrada, a partir
+	 * 		 del desplazamiento especificado (En floats), y almacena el resultado en el buffer de salida
+	 * 		 en la misma posición.
+	 * 		 No altera la posición de los buffers, que pueden ser el mismo
+	 */
+	public void transformDirections(FloatBuffer in, FloatBuffer out, int offset, int count) {
+		this.transformDirections(in, out, offset, 2, count);
+	}
+	
+	/**
+	 * @pre Los arrays no pueden ser nulos
+	 * @post Transforma las direcciones en el rango especificado del array de entrada, y almacena
+	 * 		 el resultado en el array de salida.
+	 * 		 Los arrays pueden ser el mismo
+	 */
+	public void transformDirections(Vector2fArray in, Vector2fArray out, int start, int length) {
+		if ( ( in != null ) && ( out != null ) ) {
+			if ( ( start < 0 ) || ( length < 0 ) || ( start + length > in.size() ) || ( start + length > out.size() ) ) {
+				throw new IndexOutOfBoundsException("Invalid range");
+			}
+			
+			final float[] xIn = in.xComponents(), yIn = in.yComponents();
+			final float[] xOut = out.xComponents(), yOut = out.yComponents();
+			
+			final float m00 = this.m[0], m01 = this.m[1],
+				m10 = this.m[3], m11 = this.m[4];
+			
+			final int end = start + length;
+			for ( int i = start ; i < end ; i++ ) {
+				final float x = xIn[i], y = yIn[i];
+				
+				xOut[i] = m00 * x + m10 * y;
+				yOut[i] = m01 * x + m11 * y;
 			}
 		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @post Verifica que la cantidad especificada de vectores empaquetados de la dimensión
+	 * 		 especificada entre en un array del tamaño especificado a partir del desplazamiento especificado
+	 */
+	private static void checkPackedRange(int arrayLength, int offset, int dimension, int count) {
+		if ( ( offset < 0 ) || ( count < 0 ) || ( (long) offset + (long) count * dimension > arrayLength ) ) {
+			throw new IndexOutOfBoundsException("Invalid range");
+		}
+	}
+	
+	/**
+	 * @post Verifica que la cantidad especificada de vectores de la dimensión especificada, intercalados
+	 * 		 con el paso especificado, entre en un buffer con el límite especificado a partir
+	 * 		 del desplazamiento especificado
+	 */
+	private static void checkInterleavedRange(int bufferLimit, int offset, int stride, int dimension, int count) {
+		if ( ( offset < 0 ) || ( stride < dimension ) || ( count < 0 ) ) {
+			throw new IllegalArgumentException("Invalid offset, stride or count");
+		}
 		
-		if ( value != null ) {
-			return value;
+		if ( ( count != 0 ) && ( (long) offset + (long) stride * (long) (count - 1) + dimension > bufferLimit ) ) {
+			throw new IndexOutOfBoundsException("Invalid range");
+		}
+	}
+	
+	/**
+	 * @post Devuelve la componente en la ubicación especificada
+	 */
+	public float get(int i, int j) {
+		if ( ( i >= 0 ) && ( i < LENGTH ) && ( j >= 0 ) && ( j < LENGTH ) ) {
+			return this.m[i * LENGTH + j];
 		}
 		else {
 			throw new IllegalArgumentException("Invalid component position");
@@ -345,32 +594,43 @@ public class Matrix3f implements Serializable {
 	 * @post Devuelve el hash de la matriz
 	 */
 	public int hashCode() {
-		return Arrays.deepHashCode(this.m);
+		return Arrays.hashCode(this.m);
 	}
 	
 	/**
 	 * @post Devuelve la matriz en un buffer
 	 */
 	public FloatBuffer store() {
-		float[] unionArray = new float[9];
 		FloatBuffer buffer = BufferUtils.createFloatBuffer(9);
-		for ( int i=0 ; i < LENGTH ; i++ ) {
-			for ( int j=0 ; j < LENGTH ; j++ ) {
-				unionArray[i*LENGTH+j] = this.m[i][j];
-			}
-		}
-		buffer.put(unionArray);
+		buffer.put(this.m);
 		buffer.flip();
 		return buffer;
 	}
 	
+	/**
+	 * @post Almacena la matriz en la posición actual del buffer especificado,
+	 * 		 sin crear buffers intermedios
+	 */
+	public void store(FloatBuffer buffer) {
+		buffer.put(this.m);
+	}
+	
+	/**
+	 * @pre El array no puede ser nulo y la matriz tiene que entrar a partir del desplazamiento especificado
+	 * @post Almacena la matriz en el array especificado a partir del desplazamiento especificado,
+	 * 		 en el mismo orden que store()
+	 */
+	public void store(float[] destination, int offset) {
+		System.arraycopy(this.m, 0, destination, offset, 9);
+	}
+	
 	/**
 	 * @post Devuelve si la matriz al objeto especificado
 	 */
 	public boolean equals(Object other) {
 		if ( other != null ) {
 			if ( other instanceof Matrix3f ) {
-				return Arrays.deepEquals( ((Matrix3f) other).m, this.m);
+				return Arrays.equals( ((Matrix3f) other).m, this.m);
 			}
 			else {
 				return false;
@@ -389,7 +649,7 @@ public class Matrix3f implements Serializable {
 		for ( int i = 0; i<LENGTH ; i++ ) {
 			result += "[";
 			for ( int j = 0; j<LENGTH ; j++ ) {
-				result += Float.toString(this.m[i][j]);
+				result += Float.toString(this.m[i * LENGTH + j]);
 				if ( j < LENGTH-1 ) {
 					result += ", ";
 				}
@@ -0,0 +1,182 @@
+/**
+ * Copyright (c) 2017 Ariel Favio Carrizo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'esferixis' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.esferixis.math;
+
+/**
+ * Descomposición de una matriz de transformación bidimensional (Afín, de 3x3)
+ * en translación, rotación y estiramiento, tal que M = T * R * S.
+ * 
+ * La parte lineal de 2x2 se descompone con la descomposición polar (L = R * S,
+ * con R una rotación y S simétrica), que en dos dimensiones tiene forma cerrada:
+ * El ángulo es atan2(l10 - l01, l00 + l11).
+ * Si no hay cizallamiento S es diagonal, y su diagonal es la escala no uniforme.
+ * Si la matriz invierte la orientación S no es definida positiva, y alguna de las
+ * componentes de la escala resulta negativa.
+ * 
+ * @author Ariel Favio Carrizo
+ *
+ */
+public final class Matrix3fDecomposition {
+	/**
+	 * Cantidad de floats de cada descomposición empaquetada
+	 * (Translación, ángulo, escala y cizallamiento)
+	 */
+	public static final int PACKED_SIZE = 6;
+	
+	private final Vector2f translation;
+	private final float angle;
+	private final Vector2f scale;
+	private final float shear;
+	
+	/**
+	 * @post Crea la descomposición con la translación, el ángulo, la escala y el
+	 * 		 cizallamiento (Elemento fuera de la diagonal del estiramiento) empaquetados
+	 */
+	private Matrix3fDecomposition(float[] trs) {
+		this.translation = new Vector2f(trs[0], trs[1]);
+		this.angle = trs[2];
+		this.scale = new Vector2f(trs[3], trs[4]);
+		this.shear = trs[5];
+	}
+	
+	/**
+	 * @pre La matriz no puede ser nula, y tiene que ser afín
+	 * @post Descompone la matriz especificada
+	 */
+	public static Matrix3fDecomposition of(Matrix3f matrix) {
+		if ( matrix != null ) {
+			if ( ( matrix.m[2] == 0.0f ) && ( matrix.m[5] == 0.0f ) && ( matrix.m[8] == 1.0f ) ) {
+				final float[] trs = new float[PACKED_SIZE];
+				decompose(matrix.m, 0, trs, 0);
+				return new Matrix3fDecomposition(trs);
+			}
+			else {
+				throw new IllegalArgumentException("Expected affine matrix");
+			}
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @pre Los arrays no pueden ser nulos, y las matrices tienen que ser afines
+	 * @post Descompone las matrices empaquetadas (9 floats cada una, en el mismo orden que
+	 * 		 Matrix3f.store()) del primer array, a partir del desplazamiento especificado,
+	 * 		 y almacena las descomposiciones empaquetadas (6 floats cada una: Translación x, y,
+	 * 		 ángulo, escala x, y, y cizallamiento) en el segundo array a partir del
+	 * 		 desplazamiento especificado
+	 */
+	public static void decomposeAll(float[] matrices, int matricesOffset, float[] decompositions, int decompositionsOffset, int count) {
+		if ( ( matrices != null ) && ( decompositions != null ) ) {
+			if ( ( matricesOffset < 0 ) || ( decompositionsOffset < 0 ) || ( count < 0 ) ||
+					( (long) matricesOffset + (long) count * 9 > matrices.length ) ||
+					( (long) decompositionsOffset + (long) count * PACKED_SIZE > decompositions.length ) ) {
+				throw new IndexOutOfBoundsException("Invalid range");
+			}
+			
+			for ( int i = 0 ; i < count ; i++ ) {
+				decompose(matrices, matricesOffset + i * 9, decompositions, decompositionsOffset + i * PACKED_SIZE);
+			}
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @post Devuelve la translación
+	 */
+	public Vector2f getTranslation() {
+		return this.translation;
+	}
+	
+	/**
+	 * @post Devuelve el ángulo de rotación, entre -pi y pi
+	 */
+	public float getAngle() {
+		return this.angle;
+	}
+	
+	/**
+	 * @post Devuelve la escala (La diagonal del estiramiento)
+	 */
+	public Vector2f getScale() {
+		return this.scale;
+	}
+	
+	/**
+	 * @post Devuelve el cizallamiento (El elemento fuera de la diagonal del estiramiento).
+	 * 		 Es nulo si la matriz no tiene cizallamiento
+	 */
+	public float getShear() {
+		return this.shear;
+	}
+	
+	/**
+	 * @post Devuelve la matriz T * R * S, incluyendo el cizallamiento
+	 */
+	public Matrix3f toMatrix3f() {
+		return new Matrix3f( new float[][]{
+			new float[]{ this.scale.getX(), this.shear, 0.0f },
+			new float[]{ this.shear, this.scale.getY(), 0.0f },
+			new float[]{ 0.0f, 0.0f, 1.0f }
+		}).rotate(this.angle).translate(this.translation);
+	}
+	
+	/**
+	 * @post Descompone la matriz afín especificada, y almacena la translación, el ángulo,
+	 * 		 la escala y el cizallamiento en el destino
+	 */
+	private static void decompose(float[] m, int mOffset, float[] trs, int trsOffset) {
+		final float l00 = m[mOffset], l10 = m[mOffset + 1];
+		final float l01 = m[mOffset + 3], l11 = m[mOffset + 4];
+		
+		final double angle = Math.atan2(l10 - l01, l00 + l11);
+		final float cos = (float) Math.cos(angle), sin = (float) Math.sin(angle);
+		
+		trs[trsOffset] = m[mOffset + 6];
+		trs[trsOffset + 1] = m[mOffset + 7];
+		trs[trsOffset + 2] = (float) angle;
+		trs[trsOffset + 3] = cos * l00 + sin * l10;
+		trs[trsOffset + 4] = -sin * l01 + cos * l11;
+		trs[trsOffset + 5] = 0.5f * ( ( cos * l01 + sin * l11 ) + ( -sin * l00 + cos * l10 ) );
+	}
+	
+	/**
+	 * @post Devuelve un representación en cadena de carácteres
+	 */
+	@Override
+	public String toString() {
+		return "Matrix3fDecomposition( translation: " + this.translation + ", angle: " + this.angle + ", scale: " + this.scale + ", shear: " + this.shear + " )";
+	}
+}
@@ -0,0 +1,673 @@
+/**
+ * Copyright (c) 2017 Ariel Favio Carrizo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'esferixis' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.esferixis.math;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Expresión de transformación de 3x3 compilada.
+ * 
+ * Acepta la misma sintaxis que Matrix3f.parse y ProportionalMatrix3f.parse
+ * (Por ejemplo "mul(translate(IDENTITY, (1, 2)), rotate(IDENTITY, 0.5))"),
+ * y además variables de tipo float, con la forma "$nombre", en lugar de cualquier
+ * escalar o componente de vector.
+ * 
+ * Se compila una sola vez a un plan (Un programa de pila), en el que los
+ * subárboles sin variables se evalúan durante la compilación. Por lo tanto
+ * una expresión sin variables se reduce a una constante.
+ * 
+ * Las expresiones compiladas se guardan en un caché LRU compartido, por eso
+ * las cadenas repetidas sólo se interpretan una vez.
+ * 
+ * Los escalares se interpretan con Float.parseFloat (Por lo tanto se aceptan
+ * "NaN", "Infinity" y sufijos como "1.5f"), y un número inválido lanza
+ * NumberFormatException, como el parser anterior.
+ * 
+ * Es inmutable y puede usarse desde varios threads
+ * 
+ * @author Ariel Favio Carrizo
+ *
+ */
+public final class Matrix3fExpression<T extends Matrix3f> {
+	/**
+	 * Receptor de los valores leídos por parseAll
+	 */
+	public static interface Handler<T extends Matrix3f, E extends Throwable> {
+		/**
+		 * @post Recibe el valor de la expresión leída
+		 */
+		public void handle(T value) throws E;
+	}
+	
+	/**
+	 * Cantidad máxima de expresiones en cada caché
+	 */
+	private static final int CACHE_CAPACITY = 4096;
+	
+	private static final int CONSTANT = 0;
+	private static final int ADD = 1;
+	private static final int MUL = 2;
+	private static final int TRANSLATE = 3;
+	private static final int ROTATE = 4;
+	private static final int SCALE_VECTOR = 5;
+	private static final int SCALE_SCALAR = 6;
+	private static final int TRANSPOSE = 7;
+	private static final int INVERT = 8;
+	
+	/**
+	 * Operaciones disponibles según el tipo de matriz
+	 */
+	private static abstract class Algebra<T extends Matrix3f> {
+		private final Map<String, Matrix3fExpression<T>> cache;
+		
+		/**
+		 * @post Crea el álgebra
+		 */
+		public Algebra() {
+			this.cache = new LinkedHashMap<String, Matrix3fExpression<T>>(16, 0.75f, true) {
+				private static final long serialVersionUID = 5130282434358851215L;
+
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<String, Matrix3fExpression<T>> eldest) {
+					return this.size() > CACHE_CAPACITY;
+				}
+			};
+		}
+		
+		/**
+		 * @post Devuelve la constante con el nombre especificado, o null si no existe
+		 */
+		public abstract T constant(String name);
+		
+		/**
+		 * @post Devuelve la instrucción de la función con el nombre especificado, o -1 si no existe
+		 */
+		public abstract int function(String name);
+		
+		/**
+		 * @post Ejecuta la instrucción especificada
+		 */
+		public abstract T apply(int instruction, T first, T second, float x, float y);
+		
+		/**
+		 * @post Devuelve la expresión compilada de la cadena especificada, usando el caché
+		 */
+		public Matrix3fExpression<T> compile(String string) {
+			if ( string != null ) {
+				Matrix3fExpression<T> expression;
+				synchronized ( this.cache ) {
+					expression = this.cache.get(string);
+				}
+				
+				if ( expression == null ) {
+					expression = new Compiler<T>(this, string).compile();
+					
+					synchronized ( this.cache ) {
+						this.cache.put(string, expression);
+					}
+				}
+				
+				return expression;
+			}
+			else {
+				throw new NullPointerException();
+			}
+		}
+		
+		/**
+		 * @pre El lector y el receptor no pueden ser nulos
+		 * @post Lee las expresiones sin variables del lector especificado, una por línea
+		 * 		 (Ignorando las líneas vacías), y entrega cada valor al receptor
+		 * 		 a medida que se lee
+		 */
+		public <E extends Throwable> void parseAll(Reader reader, Handler<? super T, E> handler) throws IOException, E {
+			if ( ( reader != null ) && ( handler != null ) ) {
+				final BufferedReader bufferedReader = ( reader instanceof BufferedReader ) ? (BufferedReader) reader : new BufferedReader(reader);
+				
+				String line;
+				while ( ( line = bufferedReader.readLine() ) != null ) {
+					line = line.trim();
+					
+					if ( !line.isEmpty() ) {
+						handler.handle(this.compile(line).evaluate());
+					}
+				}
+			}
+			else {
+				throw new NullPointerException();
+			}
+		}
+	}
+	
+	private static final Algebra<Matrix3f> GENERAL = new Algebra<Matrix3f>() {
+
+		@Override
+		public Matrix3f constant(String name) {
+			if ( name.equals("IDENTITY") ) {
+				return Matrix3f.IDENTITY;
+			}
+			else if ( name.equals("ZERO") ) {
+				return Matrix3f.ZERO;
+			}
+			else {
+				return null;
+			}
+		}
+
+		@Override
+		public int function(String name) {
+			if ( name.equals("add") ) {
+				return ADD;
+			}
+			else if ( name.equals("mul") ) {
+				return MUL;
+			}
+			else if ( name.equals("translate") ) {
+				return TRANSLATE;
+			}
+			else if ( name.equals("rotate") ) {
+				return ROTATE;
+			}
+			else if ( name.equals("scale") ) {
+				return SCALE_VECTOR;
+			}
+			else if ( name.equals("transpose") ) {
+				return TRANSPOSE;
+			}
+			else if ( name.equals("invert") ) {
+				return INVERT;
+			}
+			else {
+				return -1;
+			}
+		}
+
+		@Override
+		public Matrix3f apply(int instruction, Matrix3f first, Matrix3f second, float x, float y) {
+			switch ( instruction ) {
+			case ADD:
+				return first.add(second);
+			case MUL:
+				return first.mul(second);
+			case TRANSLATE:
+				return first.translate(new Vector2f(x, y));
+			case ROTATE:
+				return first.rotate(x);
+			case SCALE_VECTOR:
+				return first.scale(new Vector2f(x, y));
+			case TRANSPOSE:
+				return first.transpose();
+			case INVERT:
+				return first.invert();
+			default:
+				throw new IllegalStateException("Invalid instruction");
+			}
+		}
+		
+	};
+	
+	private static final Algebra<ProportionalMatrix3f> PROPORTIONAL = new Algebra<ProportionalMatrix3f>() {
+
+		@Override
+		public ProportionalMatrix3f constant(String name) {
+			if ( name.equals("IDENTITY") ) {
+				return Matrix3f.IDENTITY;
+			}
+			else if ( name.equals("ZERO") ) {
+				return Matrix3f.ZERO;
+			}
+			else {
+				return null;
+			}
+		}
+
+		@Override
+		public int function(String name) {
+			if ( name.equals("mul") ) {
+				return MUL;
+			}
+			else if ( name.equals("translate") ) {
+				return TRANSLATE;
+			}
+			else if ( name.equals("rotate") ) {
+				return ROTATE;
+			}
+			else if ( name.equals("scale") ) {
+				return SCALE_SCALAR;
+			}
+			else if ( name.equals("invert") ) {
+				return INVERT;
+			}
+			else {
+				return -1;
+			}
+		}
+
+		@Override
+		public ProportionalMatrix3f apply(int instruction, ProportionalMatrix3f first, ProportionalMatrix3f second, float x, float y) {
+			switch ( instruction ) {
+			case MUL:
+				return first.mul(second);
+			case TRANSLATE:
+				return first.translate(new Vector2f(x, y));
+			case ROTATE:
+				return first.rotate(x);
+			case SCALE_SCALAR:
+				return first.scale(x);
+			case INVERT:
+				return first.invert();
+			default:
+				throw new IllegalStateException("Invalid instruction");
+			}
+		}
+		
+	};
+	
+	private final Algebra<T> algebra;
+	
+	/**
+	 * Programa: Código de instrucción seguido de sus operandos escalares.
+	 * Un operando escalar no negativo es un índice de la tabla de escalares,
+	 * uno negativo es la variable -( operando + 1 )
+	 */
+	private final int[] code;
+	private final float[] scalars;
+	private final List<T> constants;
+	private final List<String> variables;
+	private final int maxStackSize;
+	
+	/**
+	 * @post Crea la expresión con el programa especificado
+	 */
+	private Matrix3fExpression(Algebra<T> algebra, int[] code, float[] scalars, List<T> constants, List<String> variables, int maxStackSize) {
+		this.algebra = algebra;
+		this.code = code;
+		this.scalars = scalars;
+		this.constants = constants;
+		this.variables = Collections.unmodifiableList(variables);
+		this.maxStackSize = maxStackSize;
+	}
+	
+	/**
+	 * @pre La cadena no puede ser nula
+	 * @post Compila la expresión de Matrix3f especificada, usando el caché
+	 */
+	public static Matrix3fExpression<Matrix3f> compile(String string) {
+		return GENERAL.compile(string);
+	}
+	
+	/**
+	 * @pre La cadena no puede ser nula
+	 * @post Compila la expresión de ProportionalMatrix3f especificada, usando el caché
+	 */
+	public static Matrix3fExpression<ProportionalMatrix3f> compileProportional(String string) {
+		return PROPORTIONAL.compile(string);
+	}
+	
+	/**
+	 * @pre El lector y el receptor no pueden ser nulos
+	 * @post Lee las expresiones de Matrix3f sin variables del lector especificado,
+	 * 		 una por línea (Ignorando las líneas vacías), y entrega cada valor al
+	 * 		 receptor a medida que se lee, sin acumular los resultados.
+	 * 		 Las líneas repetidas se resuelven con el caché
+	 */
+	public static <E extends Throwable> void parseAll(Reader reader, Handler<? super Matrix3f, E> handler) throws IOException, E {
+		GENERAL.parseAll(reader, handler);
+	}
+	
+	/**
+	 * @pre El lector y el receptor no pueden ser nulos
+	 * @post Lee las expresiones de ProportionalMatrix3f sin variables del lector especificado,
+	 * 		 una por línea (Ignorando las líneas vacías), y entrega cada valor al
+	 * 		 receptor a medida que se lee, sin acumular los resultados.
+	 * 		 Las líneas repetidas se resuelven con el caché
+	 */
+	public static <E extends Throwable> void parseAllProportional(Reader reader, Handler<? super ProportionalMatrix3f, E> handler) throws IOException, E {
+		PROPORTIONAL.parseAll(reader, handler);
+	}
+	
+	/**
+	 * @post Devuelve los nombres de las variables (Sin '$'), en el orden de los valores de evaluate
+	 */
+	public List<String> getVariables() {
+		return this.variables;
+	}
+	
+	/**
+	 * @post Devuelve si la expresión es constante (No tiene variables)
+	 */
+	public boolean isConstant() {
+		return this.variables.isEmpty();
+	}
+	
+	/**
+	 * @pre Tiene que haber un valor por variable, en el orden de getVariables()
+	 * @post Evalúa la expresión con los valores especificados
+	 */
+	@SuppressWarnings("unchecked")
+	public T evaluate(float... values) {
+		if ( values != null ) {
+			if ( values.length == this.variables.size() ) {
+				final Matrix3f[] stack = new Matrix3f[this.maxStackSize];
+				int stackSize = 0;
+				
+				int i = 0;
+				while ( i < this.code.length ) {
+					final int instruction = this.code[i++];
+					
+					switch ( instruction ) {
+					case CONSTANT:
+						stack[stackSize++] = this.constants.get(this.code[i++]);
+						break;
+					case ADD:
+					case MUL:
+						stackSize--;
+						stack[stackSize - 1] = this.algebra.apply(instruction, (T) stack[stackSize - 1], (T) stack[stackSize], 0.0f, 0.0f);
+						stack[stackSize] = null;
+						break;
+					case TRANSLATE:
+					case SCALE_VECTOR:
+						stack[stackSize - 1] = this.algebra.apply(instruction, (T) stack[stackSize - 1], null, this.scalar(this.code[i], values), this.scalar(this.code[i + 1], values));
+						i += 2;
+						break;
+					case ROTATE:
+					case SCALE_SCALAR:
+						stack[stackSize - 1] = this.algebra.apply(instruction, (T) stack[stackSize - 1], null, this.scalar(this.code[i++], values), 0.0f);
+						break;
+					default:
+						stack[stackSize - 1] = this.algebra.apply(instruction, (T) stack[stackSize - 1], null, 0.0f, 0.0f);
+					}
+				}
+				
+				return (T) stack[0];
+			}
+			else {
+				throw new IllegalArgumentException("Expected " + this.variables.size() + " values");
+			}
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @post Devuelve el valor del operando escalar especificado
+	 */
+	private float scalar(int operand, float[] values) {
+		return ( operand >= 0 ) ? this.scalars[operand] : values[-( operand + 1 )];
+	}
+	
+	/**
+	 * Compilador de expresiones (Descenso recursivo)
+	 */
+	private static final class Compiler<T extends Matrix3f> {
+		private final Algebra<T> algebra;
+		private final String string;
+		private int position;
+		
+		private int[] code;
+		private int codeSize;
+		private float[] scalars;
+		private int scalarsCount;
+		private final List<T> constants;
+		private final List<String> variables;
+		private int maxStackSize;
+		
+		/**
+		 * @post Crea el compilador con el álgebra y la cadena especificadas
+		 */
+		public Compiler(Algebra<T> algebra, String string) {
+			this.algebra = algebra;
+			this.string = string;
+			this.position = 0;
+			
+			this.code = new int[16];
+			this.codeSize = 0;
+			this.scalars = new float[8];
+			this.scalarsCount = 0;
+			this.constants = new ArrayList<T>();
+			this.variables = new ArrayList<String>();
+			this.maxStackSize = 0;
+		}
+		
+		/**
+		 * @post Compila la expresión
+		 */
+		public Matrix3fExpression<T> compile() {
+			this.compileMatrix(0);
+			this.skipWhitespace();
+			
+			if ( this.position != this.string.length() ) {
+				throw this.error("Unexpected characters");
+			}
+			
+			return new Matrix3fExpression<T>(this.algebra, Arrays.copyOf(this.code, this.codeSize), Arrays.copyOf(this.scalars, this.scalarsCount), this.constants, this.variables, Math.max(this.maxStackSize, 1));
+		}
+		
+		/**
+		 * @post Compila una expresión matricial, que deja un elemento en la pila
+		 * 		 a partir de la profundidad especificada.
+		 * 		 Si no tiene variables, la reemplaza por su valor
+		 */
+		private void compileMatrix(int depth) {
+			final int start = this.codeSize;
+			final int constantsCount = this.constants.size();
+			final int scalarsCount = this.scalarsCount;
+			final int variablesCount = this.variables.size();
+			final String name = this.identifier();
+			
+			this.maxStackSize = Math.max(this.maxStackSize, depth + 1);
+			
+			if ( this.peek() == '(' ) {
+				final int instruction = this.algebra.function(name);
+				
+				if ( instruction == -1 ) {
+					throw this.error("Unknown function '" + name + "'");
+				}
+				
+				this.expect('(');
+				this.compileMatrix(depth);
+				
+				switch ( instruction ) {
+				case ADD:
+				case MUL:
+					this.expect(',');
+					this.compileMatrix(depth + 1);
+					this.emit(instruction);
+					break;
+				case TRANSLATE:
+				case SCALE_VECTOR:
+					this.expect(',');
+					this.expect('(');
+					this.emit(instruction);
+					this.emit(this.scalarOperand());
+					this.expect(',');
+					this.emit(this.scalarOperand());
+					this.expect(')');
+					break;
+				case ROTATE:
+				case SCALE_SCALAR:
+					this.expect(',');
+					this.emit(instruction);
+					this.emit(this.scalarOperand());
+					break;
+				default:
+					this.emit(instruction);
+				}
+				
+				this.expect(')');
+				
+				if ( this.variables.size() == variablesCount ) {
+					// Plegado de constantes
+					final Matrix3fExpression<T> subexpression = new Matrix3fExpression<T>(this.algebra, Arrays.copyOfRange(this.code, start, this.codeSize), this.scalars, this.constants, new ArrayList<String>(), this.maxStackSize);
+					final T value = subexpression.evaluate();
+					this.codeSize = start;
+					this.constants.subList(constantsCount, this.constants.size()).clear();
+					this.scalarsCount = scalarsCount;
+					this.emitConstant(value);
+				}
+			}
+			else {
+				final T value = this.algebra.constant(name);
+				
+				if ( value == null ) {
+					throw this.error("Unknown constant '" + name + "'");
+				}
+				
+				this.emitConstant(value);
+			}
+		}
+		
+		/**
+		 * @post Compila un escalar (Número o variable) y devuelve el operando correspondiente
+		 */
+		private int scalarOperand() {
+			this.skipWhitespace();
+			
+			if ( this.peek() == '$' ) {
+				this.position++;
+				final String name = this.identifier();
+				
+				int index = this.variables.indexOf(name);
+				if ( index == -1 ) {
+					index = this.variables.size();
+					this.variables.add(name);
+				}
+				
+				return -( index + 1 );
+			}
+			else {
+				// Toma todo el token hasta el próximo delimitador, como el parser anterior
+				final int start = this.position;
+				while ( ( this.position < this.string.length() ) && ( ",()".indexOf(this.string.charAt(this.position)) == -1 ) ) {
+					this.position++;
+				}
+				
+				final float value;
+				try {
+					value = Float.parseFloat(this.string.substring(start, this.position));
+				}
+				catch (NumberFormatException e) {
+					throw new NumberFormatException(e.getMessage() + " at position " + start + " in \"" + this.string + "\"");
+				}
+				
+				if ( this.scalarsCount == this.scalars.length ) {
+					this.scalars = Arrays.copyOf(this.scalars, this.scalarsCount * 2);
+				}
+				this.scalars[this.scalarsCount] = value;
+				
+				return this.scalarsCount++;
+			}
+		}
+		
+		/**
+		 * @post Lee un identificador
+		 */
+		private String identifier() {
+			this.skipWhitespace();
+			
+			final int start = this.position;
+			while ( ( this.position < this.string.length() ) && Character.isJavaIdentifierPart(this.string.charAt(this.position)) ) {
+				this.position++;
+			}
+			
+			if ( this.position == start ) {
+				throw this.error("Expected identifier");
+			}
+			
+			return this.string.substring(start, this.position);
+		}
+		
+		/**
+		 * @post Devuelve el próximo carácter que no es un espacio, o '\0' si no hay más
+		 */
+		private char peek() {
+			this.skipWhitespace();
+			return ( this.position < this.string.length() ) ? this.string.charAt(this.position) : '\0';
+		}
+		
+		/**
+		 * @post Consume el carácter especificado
+		 */
+		private void expect(char character) {
+			if ( this.peek() == character ) {
+				this.position++;
+			}
+			else {
+				throw this.error("Expected '" + character + "'");
+			}
+		}
+		
+		/**
+		 * @post Saltea los espacios
+		 */
+		private void skipWhitespace() {
+			while ( ( this.position < this.string.length() ) && Character.isWhitespace(this.string.charAt(this.position)) ) {
+				this.position++;
+			}
+		}
+		
+		/**
+		 * @post Agrega una instrucción para apilar la constante especificada
+		 */
+		private void emitConstant(T value) {
+			this.emit(CONSTANT);
+			this.emit(this.constants.size());
+			this.constants.add(value);
+		}
+		
+		/**
+		 * @post Agrega el entero especificado al programa
+		 */
+		private void emit(int value) {
+			if ( this.codeSize == this.code.length ) {
+				this.code = Arrays.copyOf(this.code, this.codeSize * 2);
+			}
+			this.code[this.codeSize++] = value;
+		}
+		
+		/**
+		 * @post Crea una excepción de error de sintaxis en la posición actual
+		 */
+		private IllegalArgumentException error(String message) {
+			return new IllegalArgumentException(message + " at position " + this.position + " in \"" + this.string + "\"");
+		}
+	}
+}
@@ -0,0 +1,502 @@
+/**
+ * Copyright (c) 2017 Ariel Favio Carrizo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'esferixis' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.esferixis.math;
+
+
+import java.io.Serializable;
+import java.nio.BufferOverflowException;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.util.Arrays;
+
+
+/**
+ * Matriz de 4x4 de precisión doble.
+ * 
+ * Tiene la misma disposición que Matrix4f, y se convierte a ésta
+ * (Opcionalmente relativa a un origen) para enviarla a la GPU
+ * 
+ * @author Ariel Favio Carrizo
+ *
+ */
+public class Matrix4d implements Serializable {
+	private static final long serialVersionUID = -3138524420437650917L;
+
+	protected final double m[]; // Valores de cada elemento, por columnas ( m[columna * LENGTH + fila] )
+	
+	protected static final int LENGTH = 4;
+	
+	// Matriz identidad
+	public final static Matrix4d IDENTITY = new Matrix4d( new double[][]{
+			new double[]{ 1.0d, 0.0d, 0.0d, 0.0d },
+			new double[]{ 0.0d, 1.0d, 0.0d, 0.0d },
+			new double[]{ 0.0d, 0.0d, 1.0d, 0.0d },
+			new double[]{ 0.0d, 0.0d, 0.0d, 1.0d }
+	});
+	
+	// Matriz nula
+	public final static Matrix4d ZERO = new Matrix4d( new double[][]{
+			new double[]{ 0.0d, 0.0d, 0.0d, 0.0d },
+			new double[]{ 0.0d, 0.0d, 0.0d, 0.0d },
+			new double[]{ 0.0d, 0.0d, 0.0d, 0.0d },
+			new double[]{ 0.0d, 0.0d, 0.0d, 0.0d }
+	});
+	
+	/**
+	 * @pre Tiene que ser una matriz de 4x4
+	 * @post Crea una matriz de 4x4 con los elementos especificados, indicando si
+	 * 		 tiene escalado proporcional
+	 */
+	public Matrix4d(double source[][]) {
+		if ( source.length == 4 ) {
+			this.m = new double[16];
+			for ( int i = 0 ; i < 4 ; i++ ) {
+				if ( source[i].length == 4 ) {
+					for ( int j = 0 ; j < 4 ; j++ ) {
+						this.m[i * 4 + j] = source[i][j];
+					}
+				}
+				else {
+					throw new IllegalArgumentException("Attemped to use a matrix without 4x4 size");
+				}
+			}
+		}
+		else {
+			throw new IllegalArgumentException("Attemped to use a matrix without 4x4 size");
+		}
+	}
+	
+	/**
+	 * @pre El array tiene que tener 16 elementos, ordenados por columnas,
+	 * 		y no puede ser modificado después
+	 * @post Crea una matriz con el array especificado, sin copiarlo
+	 */
+	Matrix4d(double[] m) {
+		this.m = m;
+	}
+	
+	/**
+	 * @pre La matriz no puede ser nula
+	 * @post Crea una matriz a partir de la matriz de precisión simple especificada
+	 */
+	public Matrix4d(Matrix4f matrix) {
+		this.m = new double[16];
+		for ( int i = 0 ; i < 16 ; i++ ) {
+			this.m[i] = matrix.m[i];
+		}
+	}
+	
+	/**
+	 * @post Crea una matriz de transformación para dos dimensiones
+	 * 		 con los vectores especificados
+	 */
+	public Matrix4d(Vector3d localX, Vector3d localY) {
+		this(new double[][]{
+				{ localX.getX(), localY.getX(), 0.0d, 0.0d },
+				{ localX.getY(), localY.getY(), 0.0d, 0.0d },
+				{ localX.getZ(), localY.getZ(), 0.0d, 0.0d },
+				{ 0.0d,	0.0d, 0.0d, 1.0d }
+		} );
+	}
+	
+	/**
+	 * @post Devuelve el resultado de sumar la matriz con otra
+	 */
+	public Matrix4d add(Matrix4d other) {
+		final double[] result = new double[16];
+		for ( int i = 0 ; i < 16 ; i++ ) {
+			result[i] = this.m[i] + other.m[i];
+		}
+		return new Matrix4d(result);
+	}
+	
+	/**
+	 * @post Devuelve el resultado de la multiplicación de la matriz con otra
+	 */
+	public Matrix4d mul(Matrix4d other) {
+		final double[] result = new double[16];
+		for ( int i = 0 ; i < 4 ; i++ ) {
+			for ( int j = 0 ; j < 4 ; j++ ) {
+				double element = 0.0d;
+				for ( int k = 0 ; k < 4 ; k++ ) {
+					element += this.m[k * 4 + i] * other.m[j * 4 + k];
+				}
+				result[j * 4 + i] = element;
+			}
+		}
+		return new Matrix4d(result);
+	}
+	
+	/**
+	 * @post Devuelve el resultado de la translación con el vector especificado
+	 */
+	public Matrix4d translate(Vector3d vector) {
+		return
+				new Matrix4d( new double[][]{
+						new double[]{ 1.0d, 0.0d, 0.0d, 0.0d },
+						new double[]{ 0.0d, 1.0d, 0.0d, 0.0d },
+						new double[]{ 0.0d, 0.0d, 1.0d, 0.0d },
+						new double[]{ vector.getX(), vector.getY(), vector.getZ(), 1.0d }
+				} ).mul(this);
+	}
+	
+	/**
+	 * @post Devuelve la matriz rotada con el ángulo y el eje especificado
+	 */
+	public Matrix4d rotate(double angle, Vector3d unitAxis) {
+		final double sinProduct = Math.sin(angle);
+		final double cosProduct = Math.cos(angle);
+		return
+			new Matrix4d( new double[][]{
+						new double[]{ cosProduct + unitAxis.getX() * unitAxis.getX() * ( 1 - cosProduct), unitAxis.getX() * unitAxis.getY() * ( 1 - cosProduct) - unitAxis.getZ() * sinProduct, unitAxis.getX() * unitAxis.getZ() * cosProduct + unitAxis.getY() * sinProduct, 0.0d },
+						new double[]{ unitAxis.getY() * unitAxis.getX() * ( 1 - cosProduct) + unitAxis.getZ() * sinProduct , cosProduct + unitAxis.getY() * unitAxis.getY() * ( 1 - cosProduct), unitAxis.getY() * unitAxis.getZ() * cosProduct - unitAxis.getX() * sinProduct, 0.0d },
+						new double[]{ unitAxis.getZ() * unitAxis.getX() * ( 1 - cosProduct) - unitAxis.getY() * sinProduct, unitAxis.getZ() * unitAxis.getY() * ( 1 - cosProduct ) + unitAxis.getX() * sinProduct, cosProduct + unitAxis.getZ() * unitAxis.getZ() * (1 - cosProduct ), 0.0d },
+						new double[]{ 0.0d, 0.0d, 0.0d, 1.0d }
+			} ).mul(this);	
+	}
+	
+	/**
+	 * @post Devuelve la matriz escalada con el vector especificado
+	 */
+	public Matrix4d scale(Vector3d vector) {
+		return new Matrix4d(new double[][]{
+			new double[]{ vector.getX(), 0.0d, 0.0d, 0.0d },
+			new double[]{ 0.0d, vector.getY(), 0.0d, 0.0d },
+			new double[]{ 0.0d, 0.0d, vector.getZ(), 0.0d },
+			new double[]{ 0.0d, 0.0d, 0.0d, 1.0d }
+		}).mul(this);
+	}
+	
+	/**
+	 * @post Devuelve la matriz multiplicada con el escalar especificado
+	 */
+	public Matrix4d scale(double scalar) {
+		return this.scale(new Vector3d(scalar, scalar, scalar));
+	}
+	
+	/**
+	 * @post Devuelve la matriz transpuesta
+	 */
+	public Matrix4d transpose() {
+		final double[] result = new double[16];
+		for ( int j = 0 ; j < 4 ; j++ ) {
+			for ( int i = 0; i < 4 ; i++ ) {
+				result[j * 4 + i] = this.m[i * 4 + j];
+			}
+		}
+		return new Matrix4d(result);
+	}
+	
+	/**
+	 * @post Devuelve el determinante de la matriz
+	 */
+	public double determinant() {
+		return this.m[3]*this.m[6]*this.m[9]*this.m[12] - this.m[2]*this.m[7]*this.m[9]*this.m[12] - this.m[3]*this.m[5]*this.m[10]*this.m[12] + this.m[1]*this.m[7]*this.m[10]*this.m[12]+
+		this.m[2]*this.m[5]*this.m[11]*this.m[12] - this.m[1]*this.m[6]*this.m[11]*this.m[12] - this.m[3]*this.m[6]*this.m[8]*this.m[13] + this.m[2]*this.m[7]*this.m[8]*this.m[13]+
+		this.m[3]*this.m[4]*this.m[10]*this.m[13] - this.m[0]*this.m[7]*this.m[10]*this.m[13] - this.m[2]*this.m[4]*this.m[11]*this.m[13] + this.m[0]*this.m[6]*this.m[11]*this.m[13]+
+		this.m[3]*this.m[5]*this.m[8]*this.m[14] - this.m[1]*this.m[7]*this.m[8]*this.m[14] - this.m[3]*this.m[4]*this.m[9]*this.m[14] + this.m[0]*this.m[7]*this.m[9]*this.m[14]+
+		this.m[1]*this.m[4]*this.m[11]*this.m[14] - this.m[0]*this.m[5]*this.m[11]*this.m[14] - this.m[2]*this.m[5]*this.m[8]*this.m[15] + this.m[1]*this.m[6]*this.m[8]*this.m[15]+
+		this.m[2]*this.m[4]*this.m[9]*this.m[15] - this.m[0]*this.m[6]*this.m[9]*this.m[15] - this.m[1]*this.m[4]*this.m[10]*this.m[15] + this.m[0]*this.m[5]*this.m[10]*this.m[15];
+	}
+	
+	/**
+	 * @post Devuelve la inversa de la matriz
+	 */
+	public Matrix4d invert() {
+		// aCF es el elemento de la columna C y la fila F
+		final double a00 = this.m[0], a01 = this.m[1], a02 = this.m[2], a03 = this.m[3];
+		final double a10 = this.m[4], a11 = this.m[5], a12 = this.m[6], a13 = this.m[7];
+		final double a20 = this.m[8], a21 = this.m[9], a22 = this.m[10], a23 = this.m[11];
+		final double a30 = this.m[12], a31 = this.m[13], a32 = this.m[14], a33 = this.m[15];
+		
+		final double s0 = a00 * a11 - a10 * a01;
+		final double s1 = a00 * a12 - a10 * a02;
+		final double s2 = a00 * a13 - a10 * a03;
+		final double s3 = a01 * a12 - a11 * a02;
+		final double s4 = a01 * a13 - a11 * a03;
+		final double s5 = a02 * a13 - a12 * a03;
+		
+		final double c5 = a22 * a33 - a32 * a23;
+		final double c4 = a21 * a33 - a31 * a23;
+		final double c3 = a21 * a32 - a31 * a22;
+		final double c2 = a20 * a33 - a30 * a23;
+		final double c1 = a20 * a32 - a30 * a22;
+		final double c0 = a20 * a31 - a30 * a21;
+		
+		final double determinant = s0 * c5 - s1 * c4 + s2 * c3 + s3 * c2 - s4 * c1 + s5 * c0;
+		
+		if ( determinant != 0.0d ) {
+			// Se divide cada cofactor, incluyendo la última fila
+			final double inverseDeterminant = 1.0d / determinant;
+			
+			return new Matrix4d( new double[]{
+				( a11 * c5 - a12 * c4 + a13 * c3 ) * inverseDeterminant,
+				( -a01 * c5 + a02 * c4 - a03 * c3 ) * inverseDeterminant,
+				( a31 * s5 - a32 * s4 + a33 * s3 ) * inverseDeterminant,
+				( -a21 * s5 + a22 * s4 - a23 * s3 ) * inverseDeterminant,
+				
+				( -a10 * c5 + a12 * c2 - a13 * c1 ) * inverseDeterminant,
+				( a00 * c5 - a02 * c2 + a03 * c1 ) * inverseDeterminant,
+				( -a30 * s5 + a32 * s2 - a33 * s1 ) * inverseDeterminant,
+				( a20 * s5 - a22 * s2 + a23 * s1 ) * inverseDeterminant,
+				
+				( a10 * c4 - a11 * c2 + a13 * c0 ) * inverseDeterminant,
+				( -a00 * c4 + a01 * c2 - a03 * c0 ) * inverseDeterminant,
+				( a30 * s4 - a31 * s2 + a33 * s0 ) * inverseDeterminant,
+				( -a20 * s4 + a21 * s2 - a23 * s0 ) * inverseDeterminant,
+				
+				( -a10 * c3 + a11 * c1 - a12 * c0 ) * inverseDeterminant,
+				( a00 * c3 - a01 * c1 + a02 * c0 ) * inverseDeterminant,
+				( -a30 * s3 + a31 * s1 - a32 * s0 ) * inverseDeterminant,
+				( a20 * s3 - a21 * s1 + a22 * s0 ) * inverseDeterminant
+			} );
+		}
+		else {
+			throw new ArithmeticException("The inverse doesn't exists");
+		}
+	}
+	
+	/**
+	 * @post Devuelve el punto especificado transformado por la matriz
+	 */
+	public Vector3d transformPoint(Vector3d vector) {
+		return new Vector3d(
+				this.m[0] * vector.getX() + this.m[4] * vector.getY() + this.m[8] * vector.getZ() + this.m[12],
+				this.m[1] * vector.getX() + this.m[5] * vector.getY() + this.m[9] * vector.getZ() + this.m[13],
+				this.m[2] * vector.getX() + this.m[6] * vector.getY() + this.m[10] * vector.getZ() + this.m[14]
+		);
+	}
+	
+	/**
+	 * @post Devuelve la dirección especificada transformada por la matriz
+	 */
+	public Vector3d transformDirection(Vector3d vector) {
+		return new Vector3d(
+				this.m[0] * vector.getX() + this.m[4] * vector.getY() + this.m[8] * vector.getZ(),
+				this.m[1] * vector.getX() + this.m[5] * vector.getY() + this.m[9] * vector.getZ(),
+				this.m[2] * vector.getX() + this.m[6] * vector.getY() + this.m[10] * vector.getZ()
+		);
+	}
+	
+	/**
+	 * @post Devuelve el punto especificado transformado por la matriz
+	 */
+	public Vector3d transformPoint(Vector2d vector) {
+		return new Vector3d(
+				this.m[0] * vector.getX() + this.m[4] * vector.getY() + this.m[12],
+				this.m[1] * vector.getX() + this.m[5] * vector.getY() + this.m[13],
+				this.m[2] * vector.getX() + this.m[6] * vector.getY() + this.m[14]
+		);
+	}
+	
+	/**
+	 * @post Devuelve la dirección especificada transformada por la matriz
+	 */
+	public Vector3d transformDirection(Vector2d vector) {
+		return new Vector3d(
+				this.m[0] * vector.getX() + this.m[4] * vector.getY(),
+				this.m[1] * vector.getX() + this.m[5] * vector.getY(),
+				this.m[2] * vector.getX() + this.m[6] * vector.getY()
+		);
+	}
+	
+	/**
+	 * @post Devuelve la componente en la ubicación especificada
+	 */
+	public double get(int i, int j) {
+		if ( ( i >= 0 ) && ( i < LENGTH ) && ( j >= 0 ) && ( j < LENGTH ) ) {
+			return this.m[i * LENGTH + j];
+		}
+		else {
+			throw new IllegalArgumentException("Invalid component position");
+		}
+	}
+	
+	/**
+	 * @post Devuelve el hash de la matriz
+	 */
+	public int hashCode() {
+		return Arrays.hashCode(this.m);
+	}
+	
+	/**
+	 * @post Almacena la matriz en la posición actual del buffer especificado
+	 */
+	public void store(DoubleBuffer buffer) {
+		buffer.put(this.m);
+	}
+	
+	/**
+	 * @post Devuelve la matriz convertida a precisión simple
+	 */
+	public Matrix4f toMatrix4f() {
+		final float[] result = new float[16];
+		for ( int i = 0 ; i < 16 ; i++ ) {
+			result[i] = (float) this.m[i];
+		}
+		return new Matrix4f(result);
+	}
+	
+	/**
+	 * @pre El origen no puede ser nulo
+	 * @post Devuelve la matriz, compuesta con la translación al origen especificado,
+	 * 		 convertida a precisión simple.
+	 * 		 Es decir, la matriz que transforma al espacio relativo al origen.
+	 * 		 La translación se efectúa en precisión doble, antes de la conversión
+	 */
+	public Matrix4f toMatrix4f(Vector3d origin) {
+		final float[] result = new float[16];
+		toFloatArray(this, origin, result, 0);
+		return new Matrix4f(result);
+	}
+	
+	/**
+	 * @post Escribe la matriz especificada rebasada al origen especificado, en el array
+	 * 		 especificado a partir del desplazamiento especificado.
+	 * 		 Usa el mismo orden que store()
+	 */
+	private static void toFloatArray(Matrix4d matrix, Vector3d origin, float[] destination, int offset) {
+		final double ox = origin.getX(), oy = origin.getY(), oz = origin.getZ();
+		
+		for ( int i = 0 ; i < 4 ; i++ ) {
+			final int column = i * 4;
+			final double w = matrix.m[column + 3];
+			final int index = offset + column;
+			destination[index] = (float) ( matrix.m[column] - ox * w );
+			destination[index + 1] = (float) ( matrix.m[column + 1] - oy * w );
+			destination[index + 2] = (float) ( matrix.m[column + 2] - oz * w );
+			destination[index + 3] = (float) w;
+		}
+	}
+	
+	/**
+	 * @pre Ni las matrices, ni el origen, ni el destino pueden ser nulos,
+	 * 		y las matrices tienen que entrar en el destino a partir del desplazamiento especificado
+	 * @post Convierte las matrices especificadas a precisión simple, compuestas con la translación
+	 * 		 al origen especificado (Ver toMatrix4f(Vector3d)), y las escribe en el destino a partir
+	 * 		 del desplazamiento especificado, a razón de 16 floats por matriz y en el mismo orden
+	 * 		 que store()
+	 */
+	public static void toFloatArray(Matrix4d[] matrices, Vector3d origin, float[] destination, int offset) {
+		if ( ( matrices != null ) && ( origin != null ) && ( destination != null ) ) {
+			if ( ( offset >= 0 ) && ( (long) offset + (long) matrices.length * 16L <= destination.length ) ) {
+				for ( int k = 0 ; k < matrices.length ; k++ ) {
+					toFloatArray(matrices[k], origin, destination, offset + k * 16);
+				}
+			}
+			else {
+				throw new IndexOutOfBoundsException("Invalid destination range");
+			}
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @pre Ni las matrices, ni el origen, ni el buffer pueden ser nulos,
+	 * 		y las matrices tienen que entrar en el buffer a partir del desplazamiento especificado
+	 * @post Convierte las matrices especificadas a precisión simple, compuestas con la translación
+	 * 		 al origen especificado (Ver toMatrix4f(Vector3d)), y las escribe en el buffer a partir
+	 * 		 del desplazamiento especificado (En floats), a razón de 16 floats por matriz y en el mismo orden
+	 * 		 que store().
+	 * 		 No altera la posición del buffer ni crea buffers intermedios
+	 */
+	public static void writeAll(Matrix4d[] matrices, Vector3d origin, FloatBuffer buffer, int offset) {
+		if ( ( matrices != null ) && ( origin != null ) && ( buffer != null ) ) {
+			if ( offset >= 0 ) {
+				if ( (long) offset + (long) matrices.length * 16L <= buffer.limit() ) {
+					final float[] matrixArray = new float[16];
+					
+					for ( int k = 0 ; k < matrices.length ; k++ ) {
+						toFloatArray(matrices[k], origin, matrixArray, 0);
+						
+						final int index = offset + k * 16;
+						for ( int l = 0 ; l < 16 ; l++ ) {
+							buffer.put(index + l, matrixArray[l]);
+						}
+					}
+				}
+				else {
+					throw new BufferOverflowException();
+				}
+			}
+			else {
+				throw new IllegalArgumentException("Invalid offset");
+			}
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @post Devuelve si la matriz al objeto especificado
+	 */
+	public boolean equals(Object other) {
+		if ( other != null ) {
+			if ( other instanceof Matrix4d ) {
+				return Arrays.equals( ((Matrix4d) other).m, this.m);
+			}
+			else {
+				return false;
+			}
+		}
+		else {
+			return false;
+		}
+	}
+	
+	/**
+	 * @post Realiza una conversión a cadena de texto
+	 */
+	public String toString() {
+		String result = "Matrix4d( [";
+		for ( int i = 0; i<LENGTH ; i++ ) {
+			result += "[";
+			for ( int j = 0; j<LENGTH ; j++ ) {
+				result += Double.toString(this.m[i * LENGTH + j]);
+				if ( j < LENGTH-1 ) {
+					result += ", ";
+				}
+			}
+			result += "]";
+			
+			if ( i < LENGTH-1 ) {
+				result += ", ";
+			}
+		}
+		result += "] )";
+		return result;
+	}
+}
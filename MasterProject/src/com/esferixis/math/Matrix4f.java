@@ -40,9 +40,9 @@ import java.util.Arrays;
 import com.esferixis.misc.nio.BufferUtils;
 
 public class Matrix4f implements Serializable {
-	private static final long serialVersionUID = 6775149439126783724L;
+	private static final long serialVersionUID = -6855706583643907734L;
 
-	protected final float m[][]; // Valores de cada elemento
+	protected final float m[]; // Valores de cada elemento, por columnas ( m[columna * 4 + fila] )
 	
 	protected static final int LENGTH = 4;
 	
@@ -69,12 +69,11 @@ public class Matrix4f implements Serializable {
 	 */
 	public Matrix4f(float source[][]) {
 		if ( source.length == 4 ) {
-			this.m = new float[4][];
+			this.m = new float[16];
 			for ( int i = 0 ; i < 4 ; i++ ) {
 				if ( source[i].length == 4 ) {
-					this.m[i] = new float[4];
 					for ( int j = 0 ; j < 4 ; j++ ) {
-						this.m[i][j] = source[i][j];
+						this.m[i * 4 + j] = source[i][j];
 					}
 				}
 				else {
@@ -87,6 +86,35 @@ public class Matrix4f implements Serializable {
 		}
 	}
 	
+	/**
+	 * @pre El array tiene que tener 16 elementos, ordenados por columnas,
+	 * 		y no puede ser modificado después
+	 * @post Crea una matriz con el array especificado, sin copiarlo
+	 */
+	Matrix4f(float[] m) {
+		this.m = m;
+	}
+	
+	/**
+	 * @pre El array no puede ser nulo, y tiene que tener 16 elementos a partir
+	 * 		del desplazamiento especificado
+	 * @post Crea una matriz con los elementos especificados, ordenados por columnas
+	 * 		 (El mismo orden que store())
+	 */
+	public static Matrix4f fromArray(float[] elements, int offset) {
+		if ( elements != null ) {
+			if ( ( offset >= 0 ) && ( offset + 16 <= elements.length ) ) {
+				return new Matrix4f( Arrays.copyOfRange(elements, offset, offset + 16) );
+			}
+			else {
+				throw new IndexOutOfBoundsException("Invalid offset");
+			}
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
 	/**
 	 * @post Crea una matriz de transformación para dos dimensiones
 	 * 		 con los vectores especificados
@@ -100,161 +128,282 @@ public class Matrix4f implements Serializable {
 		} );
 	}
 	
+	/**
+	 * @pre Ninguno de los parámetros puede ser nulo, y el cuaternión tiene que ser unitario
+	 * @post Crea la matriz afín que escala, rota y translada (En ese orden) con los
+	 * 		 parámetros especificados, sin pasar por multiplicaciones de matrices.
+	 * 		 Equivale a IDENTITY.scale(scale).rotate(rotation).translate(translation)
+	 */
+	public static Matrix4f fromTRS(Vector3f translation, Quaternionf rotation, Vector3f scale) {
+		final float[] result = new float[16];
+		Matrix4fKernels.trs(translation.getX(), translation.getY(), translation.getZ(),
+				rotation.getX(), rotation.getY(), rotation.getZ(), rotation.getW(),
+				scale.getX(), scale.getY(), scale.getZ(), result, 0);
+		return new Matrix4f(result);
+	}
+	
 	/**
 	 * @post Devuelve el resultado de sumar la matriz con otra
 	 */
 	public Matrix4f add(Matrix4f other) {
-		final float resultarray[][] = new float[4][];
-		for ( int i = 0 ; i < 4; i++ ) {
-			resultarray[i] = new float[4];
-			for ( int j = 0 ; j < 4 ; j++ ) {
-				resultarray[i][j] = this.m[i][j] + other.m[i][j];
-			}
+		final float[] result = new float[16];
+		for ( int i = 0 ; i < 16 ; i++ ) {
+			result[i] = this.m[i] + other.m[i];
 		}
-		return new Matrix4f(resultarray);
+		return new Matrix4f(result);
 	}
 	
 	/**
 	 * @post Devuelve el resultado de la multiplicación de la matriz con otra
 	 */
 	public Matrix4f mul(Matrix4f other) {
-		final float resultarray[][] = new float[4][];
-		for ( int i = 0 ; i < 4 ; i++ ) {
-			resultarray[i] = new float[4];
-		}
-		for ( int i = 0 ; i < 4 ; i++ ) {
-			for ( int j = 0 ; j < 4 ; j++ ) {
-				resultarray[j][i] = 0.0f;
-				for ( int k = 0 ; k < 4 ; k++ ) {
-					resultarray[j][i] += this.m[k][i] * other.m[j][k];
+		final float[] result = new float[16];
+		Matrix4fKernels.mul(this.m, 0, other.m, 0, result, 0);
+		return new Matrix4f(result);
+	}
+	
+	/**
+	 * @pre Los arrays no pueden ser nulos y tienen que tener la misma longitud
+	 * @post Multiplica cada matriz del primer array por la matriz en la misma posición
+	 * 		 del segundo, y almacena el resultado en la misma posición del destino.
+	 * 		 El destino puede ser uno de los operandos
+	 */
+	public static void mulAll(Matrix4f[] a, Matrix4f[] b, Matrix4f[] out) {
+		if ( ( a != null ) && ( b != null ) && ( out != null ) ) {
+			if ( ( a.length == b.length ) && ( a.length == out.length ) ) {
+				for ( int i = 0 ; i < a.length ; i++ ) {
+					final float[] result = new float[16];
+					Matrix4fKernels.mul(a[i].m, 0, b[i].m, 0, result, 0);
+					out[i] = new Matrix4f(result);
 				}
 			}
+			else {
+				throw new IllegalArgumentException("Length mismatch");
+			}
+		}
+		else {
+			throw new NullPointerException();
 		}
-		return new Matrix4f(resultarray);
 	}
 	
 	/**
-	 * @post Devuelve el resultado de la translación con el vector especificado
+	 * @pre Los arrays no pueden ser nulos
+	 * @post Multiplica las matrices empaquetadas (16 floats cada una, en el mismo orden que store())
+	 * 		 del primer array por las del segundo, una a una, a partir del desplazamiento especificado
+	 * 		 (En floats), y almacena el resultado en el array de salida en la misma posición.
+	 * 		 El array de salida puede ser uno de los operandos
+	 */
+	public static void mulAll(float[] a, float[] b, float[] out, int offset, int count) {
+		if ( ( a != null ) && ( b != null ) && ( out != null ) ) {
+			checkPackedRange(a.length, offset, 16, count);
+			checkPackedRange(b.length, offset, 16, count);
+			checkPackedRange(out.length, offset, 16, count);
+			
+			Matrix4fKernels.mulAll(a, offset, b, offset, out, offset, count);
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @pre Los arrays no pueden ser nulos
+	 * @post Multiplica la matriz por cada una de las matrices empaquetadas (16 floats cada una)
+	 * 		 del array de entrada, a partir del desplazamiento especificado (En floats), y
+	 * 		 almacena el resultado en el array de salida en la misma posición.
+	 * 		 Sirve para calcular las matrices de todas las instancias con una matriz de vista y
+	 * 		 proyección común. Los arrays pueden ser el mismo
+	 */
+	public void mulAll(float[] in, float[] out, int offset, int count) {
+		if ( ( in != null ) && ( out != null ) ) {
+			checkPackedRange(in.length, offset, 16, count);
+			checkPackedRange(out.length, offset, 16, count);
+			
+			for ( int i = offset ; i < offset + count * 16 ; i += 16 ) {
+				Matrix4fKernels.mul(this.m, 0, in, i, out, i);
+			}
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @post Devuelve el resultado de la translación con el vector especificado.
+	 * 		 Omite los productos por cero de la matriz de transformación: con elementos
+	 * 		 infinitos o NaN puede diferir de la multiplicación completa (Ver Matrix4fKernels)
 	 */
 	public Matrix4f translate(Vector3f vector) {
-		return
-				new Matrix4f( new float[][]{
-						new float[]{ 1.0f, 0.0f, 0.0f, 0.0f },
-						new float[]{ 0.0f, 1.0f, 0.0f, 0.0f },
-						new float[]{ 0.0f, 0.0f, 1.0f, 0.0f },
-						new float[]{ vector.getX(), vector.getY(), vector.getZ(), 1.0f }
-				} ).mul(this);
+		final float[] result = new float[16];
+		Matrix4fKernels.translate(this.m, 0, vector.getX(), vector.getY(), vector.getZ(), result, 0);
+		return new Matrix4f(result);
 	}
 	
 	/**
-	 * @post Devuelve la matriz rotada con el ángulo y el eje especificado
+	 * @post Devuelve la matriz rotada con el ángulo y el eje especificado.
+	 * 		 Omite los productos por cero de la matriz de transformación: con elementos
+	 * 		 infinitos o NaN puede diferir de la multiplicación completa (Ver Matrix4fKernels)
 	 */
 	public Matrix4f rotate(float angle, Vector3f unitAxis) {
-		final float sinProduct = (float) Math.sin(angle);
-		final float cosProduct = (float) Math.cos(angle);
-		return
-			new Matrix4f( new float[][]{
-						new float[]{ cosProduct + unitAxis.getX() * unitAxis.getX() * ( 1 - cosProduct), unitAxis.getX() * unitAxis.getY() * ( 1 - cosProduct) - unitAxis.getZ() * sinProduct, unitAxis.getX() * unitAxis.getZ() * cosProduct + unitAxis.getY() * sinProduct, 0.0f },
-						new float[]{ unitAxis.getY() * unitAxis.getX() * ( 1 - cosProduct) + unitAxis.getZ() * sinProduct , cosProduct + unitAxis.getY() * unitAxis.getY() * ( 1 - cosProduct), unitAxis.getY() * unitAxis.getZ() * cosProduct - unitAxis.getX() * sinProduct, 0.0f },
-						new float[]{ unitAxis.getZ() * unitAxis.getX() * ( 1 - cosProduct) - unitAxis.getY() * sinProduct, unitAxis.getZ() * unitAxis.getY() * ( 1 - cosProduct ) + unitAxis.getX() * sinProduct, cosProduct + unitAxis.getZ() * unitAxis.getZ() * (1 - cosProduct ), 0.0f },
-						new float[]{ 0.0f, 0.0f, 0.0f, 1.0f }
-			} ).mul(this);	
+		final float[] result = new float[16];
+		Matrix4fKernels.rotate(this.m, 0, angle, unitAxis.getX(), unitAxis.getY(), unitAxis.getZ(), result, 0);
+		return new Matrix4f(result);
 	}
 	
 	/**
-	 * @post Devuelve la matriz escalada con el vector especificado
+	 * @pre El cuaternión no puede ser nulo y tiene que ser unitario
+	 * @post Devuelve la matriz rotada con el cuaternión especificado.
+	 * 		 Omite los productos por cero de la matriz de transformación: con elementos
+	 * 		 infinitos o NaN puede diferir de la multiplicación completa (Ver Matrix4fKernels)
+	 */
+	public Matrix4f rotate(Quaternionf rotation) {
+		final float[] result = new float[16];
+		Matrix4fKernels.rotateQuaternion(this.m, 0, rotation.getX(), rotation.getY(), rotation.getZ(), rotation.getW(), result, 0);
+		return new Matrix4f(result);
+	}
+	
+	/**
+	 * @post Devuelve la matriz escalada con el vector especificado.
+	 * 		 Omite los productos por cero de la matriz de transformación: con elementos
+	 * 		 infinitos o NaN puede diferir de la multiplicación completa (Ver Matrix4fKernels)
 	 */
 	public Matrix4f scale(Vector3f vector) {
-		return new Matrix4f(new float[][]{
-			new float[]{ vector.getX(), 0.0f, 0.0f, 0.0f },
-			new float[]{ 0.0f, vector.getY(), 0.0f, 0.0f },
-			new float[]{ 0.0f, 0.0f, vector.getZ(), 0.0f },
-			new float[]{ 0.0f, 0.0f, 0.0f, 1.0f }
-		}).mul(this);
+		final float[] result = new float[16];
+		Matrix4fKernels.scale(this.m, 0, vector.getX(), vector.getY(), vector.getZ(), result, 0);
+		return new Matrix4f(result);
 	}
 	
 	/**
-	 * @post Devuelve la matriz multiplicada con el escalar especificado
+	 * @post Devuelve la matriz multiplicada con el escalar especificado.
+	 * 		 Omite los productos por cero de la matriz de transformación: con elementos
+	 * 		 infinitos o NaN puede diferir de la multiplicación completa (Ver Matrix4fKernels)
 	 */
 	public Matrix4f scale(float scalar) {
-		return this.scale(new Vector3f(scalar, scalar, scalar));
+		final float[] result = new float[16];
+		Matrix4fKernels.scale(this.m, 0, scalar, scalar, scalar, result, 0);
+		return new Matrix4f(result);
 	}
 	
 	/**
 	 * @post Devuelve la matriz transpuesta
 	 */
 	public Matrix4f transpose() {
-		final float[][] matrixArray = new float[4][];
+		final float[] result = new float[16];
 		for ( int j = 0 ; j < 4 ; j++ ) {
-			matrixArray[j] = new float[4];
 			for ( int i = 0; i < 4 ; i++ ) {
-				matrixArray[j][i] = this.m[i][j];
+				result[j * 4 + i] = this.m[i * 4 + j];
 			}
 		}
-		return new Matrix4f(matrixArray);
+		return new Matrix4f(result);
 	}
 	
 	/**
 	 * @post Devuelve el determinante de la matriz
 	 */
 	public float determinant() {
-		return this.m[0][3]*this.m[1][2]*this.m[2][1]*this.m[3][0] - this.m[0][2]*this.m[1][3]*this.m[2][1]*this.m[3][0] - this.m[0][3]*this.m[1][1]*this.m[2][2]*this.m[3][0] + this.m[0][1]*this.m[1][3]*this.m[2][2]*this.m[3][0]+
-		this.m[0][2]*this.m[1][1]*this.m[2][3]*this.m[3][0] - this.m[0][1]*this.m[1][2]*this.m[2][3]*this.m[3][0] - this.m[0][3]*this.m[1][2]*this.m[2][0]*this.m[3][1] + this.m[0][2]*this.m[1][3]*this.m[2][0]*this.m[3][1]+
-		this.m[0][3]*this.m[1][0]*this.m[2][2]*this.m[3][1] - this.m[0][0]*this.m[1][3]*this.m[2][2]*this.m[3][1] - this.m[0][2]*this.m[1][0]*this.m[2][3]*this.m[3][1] + this.m[0][0]*this.m[1][2]*this.m[2][3]*this.m[3][1]+
-		this.m[0][3]*this.m[1][1]*this.m[2][0]*this.m[3][2] - this.m[0][1]*this.m[1][3]*this.m[2][0]*this.m[3][2] - this.m[0][3]*this.m[1][0]*this.m[2][1]*this.m[3][2] + this.m[0][0]*this.m[1][3]*this.m[2][1]*this.m[3][2]+
-		this.m[0][1]*this.m[1][0]*this.m[2][3]*this.m[3][2] - this.m[0][0]*this.m[1][1]*this.m[2][3]*this.m[3][2] - this.m[0][2]*this.m[1][1]*this.m[2][0]*this.m[3][3] + this.m[0][1]*this.m[1][2]*this.m[2][0]*this.m[3][3]+
-		this.m[0][2]*this.m[1][0]*this.m[2][1]*this.m[3][3] - this.m[0][0]*this.m[1][2]*this.m[2][1]*this.m[3][3] - this.m[0][1]*this.m[1][0]*this.m[2][2]*this.m[3][3] + this.m[0][0]*this.m[1][1]*this.m[2][2]*this.m[3][3];
+		return this.m[3]*this.m[6]*this.m[9]*this.m[12] - this.m[2]*this.m[7]*this.m[9]*this.m[12] - this.m[3]*this.m[5]*this.m[10]*this.m[12] + this.m[1]*this.m[7]*this.m[10]*this.m[12]+
+		this.m[2]*this.m[5]*this.m[11]*this.m[12] - this.m[1]*this.m[6]*this.m[11]*this.m[12] - this.m[3]*this.m[6]*this.m[8]*this.m[13] + this.m[2]*this.m[7]*this.m[8]*this.m[13]+
+		this.m[3]*this.m[4]*this.m[10]*this.m[13] - this.m[0]*this.m[7]*this.m[10]*this.m[13] - this.m[2]*this.m[4]*this.m[11]*this.m[13] + this.m[0]*this.m[6]*this.m[11]*this.m[13]+
+		this.m[3]*this.m[5]*this.m[8]*this.m[14] - this.m[1]*this.m[7]*this.m[8]*this.m[14] - this.m[3]*this.m[4]*this.m[9]*this.m[14] + this.m[0]*this.m[7]*this.m[9]*this.m[14]+
+		this.m[1]*this.m[4]*this.m[11]*this.m[14] - this.m[0]*this.m[5]*this.m[11]*this.m[14] - this.m[2]*this.m[5]*this.m[8]*this.m[15] + this.m[1]*this.m[6]*this.m[8]*this.m[15]+
+		this.m[2]*this.m[4]*this.m[9]*this.m[15] - this.m[0]*this.m[6]*this.m[9]*this.m[15] - this.m[1]*this.m[4]*this.m[10]*this.m[15] + this.m[0]*this.m[5]*this.m[10]*this.m[15];
 	}
 	
 	/**
 	 * @post Devuelve la inversa de la matriz
 	 */
 	public Matrix4f invert() {
-		final float determinant = this.determinant();
-		if ( determinant != 0.0f) {
-			return ( new Matrix4f( new float[][]{
-			new float[]{
-				this.m[1][2]*this.m[2][3]*this.m[3][1] - this.m[1][3]*this.m[2][2]*this.m[3][1] + this.m[1][3]*this.m[2][1]*this.m[3][2] - this.m[1][1]*this.m[2][3]*this.m[3][2] - this.m[1][2]*this.m[2][1]*this.m[3][3] + this.m[1][1]*this.m[2][2]*this.m[3][3], 
-				this.m[0][3]*this.m[2][2]*this.m[3][1] - this.m[0][2]*this.m[2][3]*this.m[3][1] - this.m[0][3]*this.m[2][1]*this.m[3][2] + this.m[0][1]*this.m[2][3]*this.m[3][2] + this.m[0][2]*this.m[2][1]*this.m[3][3] - this.m[0][1]*this.m[2][2]*this.m[3][3],
-				this.m[0][2]*this.m[1][3]*this.m[3][1] - this.m[0][3]*this.m[1][2]*this.m[3][1] + this.m[0][3]*this.m[1][1]*this.m[3][2] - this.m[0][1]*this.m[1][3]*this.m[3][2] - this.m[0][2]*this.m[1][1]*this.m[3][3] + this.m[0][1]*this.m[1][2]*this.m[3][3],
-				this.m[0][3]*this.m[1][2]*this.m[2][1] - this.m[0][2]*this.m[1][3]*this.m[2][1] - this.m[0][3]*this.m[1][1]*this.m[2][2] + this.m[0][1]*this.m[1][3]*this.m[2][2] + this.m[0][2]*this.m[1][1]*this.m[2][3] - this.m[0][1]*this.m[1][2]*this.m[2][3]
-				}
-				,
-				new float[]{
-				this.m[1][3]*this.m[2][2]*this.m[3][0] - this.m[1][2]*this.m[2][3]*this.m[3][0] - this.m[1][3]*this.m[2][0]*this.m[3][2] + this.m[1][0]*this.m[2][3]*this.m[3][2] + this.m[1][2]*this.m[2][0]*this.m[3][3] - this.m[1][0]*this.m[2][2]*this.m[3][3],
-				this.m[0][2]*this.m[2][3]*this.m[3][0] - this.m[0][3]*this.m[2][2]*this.m[3][0] + this.m[0][3]*this.m[2][0]*this.m[3][2] - this.m[0][0]*this.m[2][3]*this.m[3][2] - this.m[0][2]*this.m[2][0]*this.m[3][3] + this.m[0][0]*this.m[2][2]*this.m[3][3],
-				this.m[0][3]*this.m[1][2]*this.m[3][0] - this.m[0][2]*this.m[1][3]*this.m[3][0] - this.m[0][3]*this.m[1][0]*this.m[3][2] + this.m[0][0]*this.m[1][3]*this.m[3][2] + this.m[0][2]*this.m[1][0]*this.m[3][3] - this.m[0][0]*this.m[1][2]*this.m[3][3],
-				this.m[0][2]*this.m[1][3]*this.m[2][0] - this.m[0][3]*this.m[1][2]*this.m[2][0] + this.m[0][3]*this.m[1][0]*this.m[2][2] - this.m[0][0]*this.m[1][3]*this.m[2][2] - this.m[0][2]*this.m[1][0]*this.m[2][3] + this.m[0][0]*this.m[1][2]*this.m[2][3]
-				}
-				,
-				new float[]{
-				this.m[1][1]*this.m[2][3]*this.m[3][0] - this.m[1][3]*this.m[2][1]*this.m[3][0] + this.m[1][3]*this.m[2][0]*this.m[3][1] - this.m[1][0]*this.m[2][3]*this.m[3][1] - this.m[1][1]*this.m[2][0]*this.m[3][3] + this.m[1][0]*this.m[2][1]*this.m[3][3],
-				this.m[0][3]*this.m[2][1]*this.m[3][0] - this.m[0][1]*this.m[2][3]*this.m[3][0] - this.m[0][3]*this.m[2][0]*this.m[3][1] + this.m[0][0]*this.m[2][3]*this.m[3][1] + this.m[0][1]*this.m[2][0]*this.m[3][3] - this.m[0][0]*this.m[2][1]*this.m[3][3],
-				this.m[0][1]*this.m[1][3]*this.m[3][0] - this.m[0][3]*this.m[1][1]*this.m[3][0] + this.m[0][3]*this.m[1][0]*this.m[3][1] - this.m[0][0]*this.m[1][3]*this.m[3][1] - this.m[0][1]*this.m[1][0]*this.m[3][3] + this.m[0][0]*this.m[1][1]*this.m[3][3],
-				this.m[0][3]*this.m[1][1]*this.m[2][0] - this.m[0][1]*this.m[1][3]*this.m[2][0] - this.m[0][3]*this.m[1][0]*this.m[2][1] + this.m[0][0]*this.m[1][3]*this.m[2][1] + this.m[0][1]*this.m[1][0]*this.m[2][3] - this.m[0][0]*this.m[1][1]*this.m[2][3]
-				}
-				,
-				new float[]{
-				this.m[1][2]*this.m[2][1]*this.m[3][0] - this.m[1][1]*this.m[2][2]*this.m[3][0] - this.m[1][2]*this.m[2][0]*this.m[3][1] + this.m[1][0]*this.m[2][2]*this.m[3][1] + this.m[1][1]*this.m[2][0]*this.m[3][2] - this.m[1][0]*this.m[2][1]*this.m[3][2],
-				this.m[0][1]*this.m[2][2]*this.m[3][0] - this.m[0][2]*this.m[2][1]*this.m[3][0] + this.m[0][2]*this.m[2][0]*this.m[3][1] - this.m[0][0]*this.m[2][2]*this.m[3][1] - this.m[0][1]*this.m[2][0]*this.m[3][2] + this.m[0][0]*this.m[2][1]*this.m[3][2],
-				this.m[0][2]*this.m[1][1]*this.m[3][0] - this.m[0][1]*this.m[1][2]*this.m[3][0] - this.m[0][2]*this.m[1][0]*this.m[3][1] + this.m[0][0]*this.m[1][2]*this.m[3][1] + this.m[0][1]*this.m[1][0]*this.m[3][2] - this.m[0][0]*this.m[1][1]*this.m[3][2],
-				this.m[0][1]*this.m[1][2]*this.m[2][0] - this.m[0][2]*this.m[1][1]*this.m[2][0] + this.m[0][2]*this.m[1][0]*this.m[2][1] - this.m[0][0]*this.m[1][2]*this.m[2][1] - this.m[0][1]*this.m[1][0]*this.m[2][2] + this.m[0][0]*this.m[1][1]*this.m[2][2]
+		final float[] result = new float[16];
+		if ( Matrix4fKernels.invert(this.m, 0, result, 0) != 0.0f ) {
+			return new Matrix4f(result);
+		}
+		else {
+			throw new ArithmeticException("The inverse doesn't exists");
+		}
+	}
+	
+	/**
+	 * @pre Los arrays no pueden ser nulos, excepto el de determinantes
+	 * @post Invierte las matrices empaquetadas (16 floats cada una, en el mismo orden que store())
+	 * 		 del array de entrada, a partir del desplazamiento especificado (En floats), y almacena
+	 * 		 el resultado en el array de salida en la misma posición.
+	 * 		 Si se especifica el array de determinantes, almacena en la posición i el determinante
+	 * 		 de la matriz i del rango.
+	 * 		 Las matrices singulares (Determinante nulo) no se escriben en la salida.
+	 * 		 Los arrays de entrada y de salida pueden ser el mismo
+	 */
+	public static void invertAll(float[] in, float[] out, float[] determinants, int offset, int count) {
+		if ( ( in != null ) && ( out != null ) ) {
+			checkPackedRange(in.length, offset, 16, count);
+			checkPackedRange(out.length, offset, 16, count);
+			if ( determinants != null ) {
+				checkPackedRange(determinants.length, 0, 1, count);
+			}
+			
+			for ( int i = 0 ; i < count ; i++ ) {
+				final float determinant = Matrix4fKernels.invert(in, offset + i * 16, out, offset + i * 16);
+				
+				if ( determinants != null ) {
+					determinants[i] = determinant;
 				}
-			} ) ).scale(1.0f/determinant);
+			}
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @pre Los arrays no pueden ser nulos
+	 * @post Calcula la matriz de normales (Ver inverseTranspose()) de cada una de las matrices
+	 * 		 empaquetadas del array de entrada, a partir del desplazamiento especificado (En floats),
+	 * 		 y almacena el resultado en el array de salida en la misma posición.
+	 * 		 Las matrices con la parte lineal singular no se escriben en la salida.
+	 * 		 Los arrays pueden ser el mismo
+	 */
+	public static void inverseTransposeAll(float[] in, float[] out, int offset, int count) {
+		if ( ( in != null ) && ( out != null ) ) {
+			checkPackedRange(in.length, offset, 16, count);
+			checkPackedRange(out.length, offset, 16, count);
+			
+			for ( int i = offset ; i < offset + count * 16 ; i += 16 ) {
+				Matrix4fKernels.inverseTransposeLinear(in, i, out, i);
+			}
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @post Devuelve la transpuesta de la inversa de la parte lineal de 3x3, sin translación.
+	 * 		 Es la matriz que transforma las normales (Con transformDirection)
+	 */
+	public Matrix4f inverseTranspose() {
+		final float[] result = new float[16];
+		if ( Matrix4fKernels.inverseTransposeLinear(this.m, 0, result, 0) != 0.0f ) {
+			return new Matrix4f(result);
 		}
 		else {
 			throw new ArithmeticException("The inverse doesn't exists");
 		}
 	}
 	
+	/**
+	 * @post Devuelve si la matriz es afín (La última fila es (0, 0, 0, 1))
+	 */
+	public boolean isAffine() {
+		return Matrix4fKernels.isAffine(this.m, 0);
+	}
+	
 	/**
 	 * @post Devuelve el punto especificado transformado por la matriz
 	 */
 	public Vector3f transformPoint(Vector3f vector) {
 		return new Vector3f(
-				this.m[0][0] * vector.getX() + this.m[1][0] * vector.getY() + this.m[2][0] * vector.getZ() + this.m[3][0],
-				this.m[0][1] * vector.getX() + this.m[1][1] * vector.getY() + this.m[2][1] * vector.getZ() + this.m[3][1],
-				this.m[0][2] * vector.getX() + this.m[1][2] * vector.getY() + this.m[2][2] * vector.getZ() + this.m[3][2]
+				this.m[0] * vector.getX() + this.m[4] * vector.getY() + this.m[8] * vector.getZ() + this.m[12],
+				this.m[1] * vector.getX() + this.m[5] * vector.getY() + this.m[9] * vector.getZ() + this.m[13],
+				this.m[2] * vector.getX() + this.m[6] * vector.getY() + this.m[10] * vector.getZ() + this.m[14]
 		);
 	}
 	
@@ -263,9 +412,9 @@ public class Matrix4f implements Serializable {
 	 */
 	public Vector3f transformDirection(Vector3f vector) {
 		return new Vector3f(
-				this.m[0][0] * vector.getX() + this.m[1][0] * vector.getY() + this.m[2][0] * vector.getZ(),
-				this.m[0][1] * vector.getX() + this.m[1][1] * vector.getY() + this.m[2][1] * vector.getZ(),
-				this.m[0][2] * vector.getX() + this.m[1][2] * vector.getY() + this.m[2][2] * vector.getZ()
+				this.m[0] * vector.getX() + this.m[4] * vector.getY() + this.m[8] * vector.getZ(),
+				this.m[1] * vector.getX() + this.m[5] * vector.getY() + this.m[9] * vector.getZ(),
+				this.m[2] * vector.getX() + this.m[6] * vector.getY() + this.m[10] * vector.getZ()
 		);
 	}
 	
@@ -274,9 +423,9 @@ public class Matrix4f implements Serializable {
 	 */
 	public Vector3f transformPoint(Vector2f vector) {
 		return new Vector3f(
-				this.m[0][0] * vector.getX() + this.m[1][0] * vector.getY() + this.m[3][0],
-				this.m[0][1] * vector.getX() + this.m[1][1] * vector.getY() + this.m[3][1],
-				this.m[0][2] * vector.getX() + this.m[1][2] * vector.getY() + this.m[3][2]
+				this.m[0] * vector.getX() + this.m[4] * vector.getY() + this.m[12],
+				this.m[1] * vector.getX() + this.m[5] * vector.getY() + this.m[13],
+				this.m[2] * vector.getX() + this.m[6] * vector.getY() + this.m[14]
 		);
 	}
 	
@@ -285,25 +434,307 @@ public class Matrix4f implements Serializable {
 	 */
 	public Vector3f transformDirection(Vector2f vector) {
 		return new Vector3f(
-				this.m[0][0] * vector.getX() + this.m[1][0] * vector.getY(),
-				this.m[0][1] * vector.getX() + this.m[1][1] * vector.getY(),
-				this.m[0][2] * vector.getX() + this.m[1][2] * vector.getY()
+				this.m[0] * vector.getX() + this.m[4] * vector.getY(),
+				this.m[1] * vector.getX() + this.m[5] * vector.getY(),
+				this.m[2] * vector.getX() + this.m[6] * vector.getY()
 		);
 	}
 	
 	/**
-	 * @post Devuelve la componente en la ubicación especificada
+	 * @post Devuelve el vector homogéneo especificado transformado por la matriz
 	 */
-	public float get(int i, int j) {
-		Float value = null;
-		if ( ( i >= 0 ) && ( i < LENGTH ) ) {
-			if ( ( j >= 0 ) && ( j < LENGTH ) ) {
-				value = this.m[i][j];
+	public Vector4f transform(Vector4f vector) {
+		return new Vector4f(
+				this.m[0] * vector.getX() + this.m[4] * vector.getY() + this.m[8] * vector.getZ() + this.m[12] * vector.getW(),
+				this.m[1] * vector.getX() + this.m[5] * vector.getY() + this.m[9] * vector.getZ() + this.m[13] * vector.getW(),
+				this.m[2] * vector.getX() + this.m[6] * vector.getY() + this.m[10] * vector.getZ() + this.m[14] * vector.getW(),
+				this.m[3] * vector.getX() + this.m[7] * vector.getY() + this.m[11] * vector.getZ() + this.m[15] * vector.getW()
+		);
+	}
+	
+	/**
+	 * @post Almacena el vector homogéneo especificado transformado por la matriz
+	 * 		 en el destino y lo devuelve.
+	 * 		 El destino puede ser el mismo vector
+	 */
+	public MutableVector4f transform(MutableVector4f vector, MutableVector4f destination) {
+		final float x = vector.getX(), y = vector.getY(), z = vector.getZ(), w = vector.getW();
+		return destination.set(
+				this.m[0] * x + this.m[4] * y + this.m[8] * z + this.m[12] * w,
+				this.m[1] * x + this.m[5] * y + this.m[9] * z + this.m[13] * w,
+				this.m[2] * x + this.m[6] * y + this.m[10] * z + this.m[14] * w,
+				this.m[3] * x + this.m[7] * y + this.m[11] * z + this.m[15] * w
+		);
+	}
+	
+	/**
+	 * @post Almacena el punto especificado transformado por la matriz en el destino y lo devuelve
+	 */
+	public MutableVector3f transformPoint(Vector3f vector, MutableVector3f destination) {
+		return destination.set(
+				this.m[0] * vector.getX() + this.m[4] * vector.getY() + this.m[8] * vector.getZ() + this.m[12],
+				this.m[1] * vector.getX() + this.m[5] * vector.getY() + this.m[9] * vector.getZ() + this.m[13],
+				this.m[2] * vector.getX() + this.m[6] * vector.getY() + this.m[10] * vector.getZ() + this.m[14]
+		);
+	}
+	
+	/**
+	 * @post Almacena la dirección especificada transformada por la matriz en el destino y lo devuelve
+	 */
+	public MutableVector3f transformDirection(Vector3f vector, MutableVector3f destination) {
+		return destination.set(
+				this.m[0] * vector.getX() + this.m[4] * vector.getY() + this.m[8] * vector.getZ(),
+				this.m[1] * vector.getX() + this.m[5] * vector.getY() + this.m[9] * vector.getZ(),
+				this.m[2] * vector.getX() + this.m[6] * vector.getY() + this.m[10] * vector.getZ()
+		);
+	}
+	
+	/**
+	 * @pre Los arrays no pueden ser nulos
+	 * @post Transforma los puntos empaquetados (3 floats cada uno) del array de entrada, a partir
+	 * 		 del desplazamiento especificado (En floats), y almacena el resultado en el array de salida
+	 * 		 en la misma posición.
+	 * 		 Los arrays pueden ser el mismo
+	 */
+	public void transformPoints(float[] in, float[] out, int offset, int count) {
+		if ( ( in != null ) && ( out != null ) ) {
+			checkPackedRange(in.length, offset, 3, count);
+			checkPackedRange(out.length, offset, 3, count);
+			
+			final float m00 = this.m[0], m01 = this.m[1], m02 = this.m[2],
+				m10 = this.m[4], m11 = this.m[5], m12 = this.m[6],
+				m20 = this.m[8], m21 = this.m[9], m22 = this.m[10],
+				m30 = this.m[12], m31 = this.m[13], m32 = this.m[14];
+			
+			final int end = offset + count * 3;
+			for ( int i = offset ; i < end ; i += 3 ) {
+				final float x = in[i], y = in[i + 1], z = in[i + 2];
+				
+				out[i] = m00 * x + m10 * y + m20 * z + m30;
+				out[i + 1] = m01 * x + m11 * y + m21 * z + m31;
+				out[i + 2] = m02 * x + m12 * y + m22 * z + m32;
+			}
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @pre Los buffers no pueden ser nulos y el paso tiene que ser mayor o igual a 3
+	 * @post Transforma los puntos del buffer de entrada, a partir del desplazamiento especificado
+	 * 		 y con el paso especificado (Ambos en floats), y almacena el resultado en el buffer de salida
+	 * 		 en la misma posición. Permite procesar vértices intercalados con otros atributos.
+	 * 		 No altera la posición de los buffers, que pueden ser el mismo
+	 */
+	public void transformPoints(FloatBuffer in, FloatBuffer out, int offset, int stride, int count) {
+		if ( ( in != null ) && ( out != null ) ) {
+			checkInterleavedRange(in.limit(), offset, stride, 3, count);
+			checkInterleavedRange(out.limit(), offset, stride, 3, count);
+			
+			final float m00 = this.m[0], m01 = this.m[1], m02 = this.m[2],
+				m10 = this.m[4], m11 = this.m[5], m12 = this.m[6],
+				m20 = this.m[8], m21 = this.m[9], m22 = this.m[10],
+				m30 = this.m[12], m31 = this.m[13], m32 = this.m[14];
+			
+			int index = offset;
+			for ( int i = 0 ; i < count ; i++ ) {
+				final float x = in.get(index), y = in.get(index + 1), z = in.get(index + 2);
+				
+				out.put(index, m00 * x + m10 * y + m20 * z + m30);
+				out.put(index + 1, m01 * x + m11 * y + m21 * z + m31);
+				out.put(index + 2, m02 * x + m12 * y + m22 * z + m32);
+				
+				index += stride;
+			}
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @pre Los buffers no pueden ser nulos
+	 * @post Transforma los puntos empaquetados (3 floats cada uno) del buffer de entrada, a partir
+	 * 		 del desplazamiento especificado (En floats), y almacena el resultado en el buffer de salida
+	 * 		 en la misma posición.
+	 * 		 No altera la posición de los buffers, que pueden ser el mismo
+	 */
+	public void transformPoints(FloatBuffer in, FloatBuffer out, int offset, int count) {
+		this.transformPoints(in, out, offset, 3, count);
+	}
+	
+	/**
+	 * @pre Los arrays no pueden ser nulos
+	 * @post Transforma los puntos en el rango especificado del array de entrada, y almacena
+	 * 		 el resultado en el array de salida.
+	 * 		 Los arrays pueden ser el mismo
+	 */
+	public void transformPoints(Vector3fArray in, Vector3fArray out, int start, int length) {
+		if ( ( in != null ) && ( out != null ) ) {
+			if ( ( start < 0 ) || ( length < 0 ) || ( start + length > in.size() ) || ( start + length > out.size() ) ) {
+				throw new IndexOutOfBoundsException("Invalid range");
 			}
+			
+			final float[] xIn = in.xComponents(), yIn = in.yComponents(), zIn = in.zComponents();
+			final float[] xOut = out.xComponents(), yOut = out.yComponents(), zOut = out.zComponents();
+			
+			final float m00 = this.m[0], m01 = this.m[1], m02 = this.m[2],
+				m10 = this.m[4], m11 = this.m[5], m12 = this.m[6],
+				m20 = this.m[8], m21 = this.m[9], m22 = this.m[10],
+				m30 = this.m[12], m31 = this.m[13], m32 = this.m[14];
+			
+			final int end = start + length;
+			for ( int i = start ; i < end ; i++ ) {
+				final float x = xIn[i], y = yIn[i], z = zIn[i];
+				
+				xOut[i] = m00 * x + m10 * y + m20 * z + m30;
+				yOut[i] = m01 * x + m11 * y + m21 * z + m31;
+				zOut[i] = m02 * x + m12 * y + m22 * z + m32;
+			}
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @pre Los arrays no pueden ser nulos
+	 * @post Transforma las direcciones empaquetados (3 floats cada uno) del array de entrada, a partir
+	 * 		 del desplazamiento especificado (En floats), y almacena el resultado en el array de salida
+	 * 		 en la misma posición.
+	 * 		 Los arrays pueden ser el mismo
+	 */
+	public void transformDirections(float[] in, float[] out, int offset, int count) {
+		if ( ( in != null ) && ( out != null ) ) {
+			checkPackedRange(in.length, offset, 3, count);
+			checkPackedRange(out.length, offset, 3, count);
+			
+			final float m00 = this.m[0], m01 = this.m[1], m02 = this.m[2],
+				m10 = this.m[4], m11 = this.m[5], m12 = this.m[6],
+				m20 = this.m[8], m21 = this.m[9], m22 = this.m[10];
+			
+			final int end = offset + count * 3;
+			for ( int i = offset ; i < end ; i += 3 ) {
+				final float x = in[i], y = in[i + 1], z = in[i + 2];
+				
+				out[i] = m00 * x + m10 * y + m20 * z;
+				out[i + 1] = m01 * x + m11 * y + m21 * z;
+				out[i + 2] = m02 * x + m12 * y + m22 * z;
+			}
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @pre Los buffers no pueden ser nulos y el paso tiene que ser mayor o igual a 3
+	 * @post Transforma las direcciones del buffer de entrada, a partir del desplazamiento especificado
+	 * 		 y con el paso especificado (Ambos en floats), y almacena el resultado en el buffer de salida
+	 * 		 en la misma posición. Permite procesar vértices intercalados con otros atributos.
+	 * 		 No altera la posición de los buffers, que pueden ser el mismo
+	 */
+	public void transformDirections(FloatBuffer in, FloatBuffer out, int offset, int stride, int count) {
+		if ( ( in != null ) && ( out != null ) ) {
+			checkInterleavedRange(in.limit(), offset, stride, 3, count);
+			checkInterleavedRange(out.limit(), offset, stride, 3, count);
+			
+			final float m00 = this.m[0], m01 = this.m[1], m02 = this.m[2],
+				m10 = this.m[4], m11 = this.m[5], m12 = this.m[6],
+				m20 = this.m[8], m21 = this.m[9], m22 = this.m[10];
+			
+			int index = offset;
+			for ( int i = 0 ; i < count ; i++ ) {
+				final float x = in.get(index), y = in.get(index + 1), z = in.get(index + 2);
+				
+				out.put(index, m00 * x + m10 * y + m20 * z);
+				out.put(index + 1, m01 * x + m11 * y + m21 * z);
+				out.put(index + 2, m02 * x + m12 * y + m22 * z);
+				
+				index += stride;
+			}
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @pre Los buffers no pueden ser nulos
+	 * @post Transforma las direcciones empaquetados (3 floats cada uno) del buffer de entrada, a partir
+	 * 		 del desplazamiento especificado (En floats), y almacena el resultado en el buffer de salida
+	 * 		 en la misma posición.
+	 * 		 No altera la posición de los buffers, que pueden ser el mismo
+	 */
+	public void transformDirections(FloatBuffer in, FloatBuffer out, int offset, int count) {
+		this.transformDirections(in, out, offset, 3, count);
+	}
+	
+	/**
+	 * @pre Los arrays no pueden ser nulos
+	 * @post Transforma las direcciones en el rango especificado del array de entrada, y almacena
+	 * 		 el resultado en el array de salida.
+	 * 		 Los arrays pueden ser el mismo
+	 */
+	public void transformDirections(Vector3fArray in, Vector3fArray out, int start, int length) {
+		if ( ( in != null ) && ( out != null ) ) {
+			if ( ( start < 0 ) || ( length < 0 ) || ( start + length > in.size() ) || ( start + length > out.size() ) ) {
+				throw new IndexOutOfBoundsException("Invalid range");
+			}
+			
+			final float[] xIn = in.xComponents(), yIn = in.yComponents(), zIn = in.zComponents();
+			final float[] xOut = out.xComponents(), yOut = out.yComponents(), zOut = out.zComponents();
+			
+			final float m00 = this.m[0], m01 = this.m[1], m02 = this.m[2],
+				m10 = this.m[4], m11 = this.m[5], m12 = this.m[6],
+				m20 = this.m[8], m21 = this.m[9], m22 = this.m[10];
+			
+			final int end = start + length;
+			for ( int i = start ; i < end ; i++ ) {
+				final float x = xIn[i], y = yIn[i], z = zIn[i];
+				
+				xOut[i] = m00 * x + m10 * y + m20 * z;
+				yOut[i] = m01 * x + m11 * y + m21 * z;
+				zOut[i] = m02 * x + m12 * y + m22 * z;
+			}
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @post Verifica que la cantidad especificada de vectores empaquetados de la dimensión
+	 * 		 especificada entre en un array del tamaño especificado a partir del desplazamiento especificado
+	 */
+	private static void checkPackedRange(int arrayLength, int offset, int dimension, int count) {
+		if ( ( offset < 0 ) || ( count < 0 ) || ( (long) offset + (long) count * dimension > arrayLength ) ) {
+			throw new IndexOutOfBoundsException("Invalid range");
+		}
+	}
+	
+	/**
+	 * @post Verifica que la cantidad especificada de vectores de la dimensión especificada, intercalados
+	 * 		 con el paso especificado, entre en un buffer con el límite especificado a partir
+	 * 		 del desplazamiento especificado
+	 */
+	private static void checkInterleavedRange(int bufferLimit, int offset, int stride, int dimension, int count) {
+		if ( ( offset < 0 ) || ( stride < dimension ) || ( count < 0 ) ) {
+			throw new IllegalArgumentException("Invalid offset, stride or count");
 		}
 		
-		if ( value != null ) {
-			return value;
+		if ( ( count != 0 ) && ( (long) offset + (long) stride * (long) (count - 1) + dimension > bufferLimit ) ) {
+			throw new IndexOutOfBoundsException("Invalid range");
+		}
+	}
+	
+	/**
+	 * @post Devuelve la componente en la ubicación especificada
+	 */
+	public float get(int i, int j) {
+		if ( ( i >= 0 ) && ( i < LENGTH ) && ( j >= 0 ) && ( j < LENGTH ) ) {
+			return this.m[i * LENGTH + j];
 		}
 		else {
 			throw new IllegalArgumentException("Invalid component position");
@@ -314,32 +745,43 @@ public class Matrix4f implements Serializable {
 	 * @post Devuelve el hash de la matriz
 	 */
 	public int hashCode() {
-		return Arrays.deepHashCode(this.m);
+		return Arrays.hashCode(this.m);
 	}
 	
 	/**
 	 * @post Devuelve la matriz en un buffer
 	 */
 	public FloatBuffer store() {
-		float[] unionArray = new float[16];
 		FloatBuffer buffer = BufferUtils.createFloatBuffer(16);
-		for ( int i=0 ; i < this.m.length ; i++ ) {
-			for ( int j=0 ; j < this.m.length ; j++ ) {
-				unionArray[i*4+j] = this.m[i][j];
-			}
-		}
-		buffer.put(unionArray);
+		buffer.put(this.m);
 		buffer.flip();
 		return buffer;
 	}
 	
+	/**
+	 * @post Almacena la matriz en la posición actual del buffer especificado,
+	 * 		 sin crear buffers intermedios
+	 */
+	public void store(FloatBuffer buffer) {
+		buffer.put(this.m);
+	}
+	
+	/**
+	 * @pre El array no puede ser nulo y la matriz tiene que entrar a partir del desplazamiento especificado
+	 * @post Almacena la matriz en el array especificado a partir del desplazamiento especificado,
+	 * 		 en el mismo orden que store()
+	 */
+	public void store(float[] destination, int offset) {
+		System.arraycopy(this.m, 0, destination, offset, 16);
+	}
+	
 	/**
 	 * @post Devuelve si la matriz al objeto especificado
 	 */
 	public boolean equals(Object other) {
 		if ( other != null ) {
 			if ( other instanceof Matrix4f ) {
-				return Arrays.deepEquals( ((Matrix4f) other).m, this.m);
+				return Arrays.equals( ((Matrix4f) other).m, this.m);
 			}
 			else {
 				return false;
@@ -355,17 +797,17 @@ public class Matrix4f implements Serializable {
 	 */
 	public String toString() {
 		String result = "Matrix4f( [";
-		for ( int i = 0; i<this.m.length ; i++ ) {
+		for ( int i = 0; i<LENGTH ; i++ ) {
 			result += "[";
-			for ( int j = 0; j<this.m.length ; j++ ) {
-				result += Float.toString(this.m[i][j]);
-				if ( j < this.m.length-1 ) {
+			for ( int j = 0; j<LENGTH ; j++ ) {
+				result += Float.toString(this.m[i * LENGTH + j]);
+				if ( j < LENGTH-1 ) {
 					result += ", ";
 				}
 			}
 			result += "]";
 			
-			if ( i < this.m.length-1 ) {
+			if ( i < LENGTH-1 ) {
 				result += ", ";
 			}
 		}
@@ -0,0 +1,272 @@
+/**
+ * Copyright (c) 2017 Ariel Favio Carrizo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'esferixis' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.esferixis.math;
+
+import java.nio.FloatBuffer;
+
+/**
+ * Matriz de 4x4 mutable, para construir cadenas de transformaciones
+ * sin crear matrices intermedias.
+ * 
+ * Las operaciones modifican la matriz del constructor y lo devuelven,
+ * para poder encadenarlas.
+ * Usan los mismos núcleos de cálculo que Matrix4f, por lo tanto
+ * m.translate(p).rotate(a, axis).scale(s) da exactamente el mismo
+ * resultado con Matrix4f y con Matrix4fBuilder.
+ * 
+ * No es seguro para ser usado desde varios threads
+ * 
+ * @author Ariel Favio Carrizo
+ *
+ */
+public final class Matrix4fBuilder {
+	private final float[] m;
+	private final float[] temporal;
+	
+	/**
+	 * @post Crea el constructor con la matriz identidad
+	 */
+	public Matrix4fBuilder() {
+		this.m = new float[16];
+		this.temporal = new float[16];
+		this.identity();
+	}
+	
+	/**
+	 * @pre La matriz no puede ser nula
+	 * @post Crea el constructor con la matriz especificada
+	 */
+	public Matrix4fBuilder(Matrix4f matrix) {
+		this.m = new float[16];
+		this.temporal = new float[16];
+		this.set(matrix);
+	}
+	
+	/**
+	 * @post Reemplaza la matriz por la identidad
+	 */
+	public Matrix4fBuilder identity() {
+		Matrix4f.IDENTITY.store(this.m, 0);
+		return this;
+	}
+	
+	/**
+	 * @pre La matriz no puede ser nula
+	 * @post Reemplaza la matriz por la especificada
+	 */
+	public Matrix4fBuilder set(Matrix4f matrix) {
+		if ( matrix != null ) {
+			matrix.store(this.m, 0);
+			return this;
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @pre El array no puede ser nulo, y tiene que tener 16 elementos (Por columnas)
+	 * 		a partir del desplazamiento especificado
+	 * @post Reemplaza la matriz por la especificada
+	 */
+	public Matrix4fBuilder set(float[] elements, int offset) {
+		if ( elements != null ) {
+			if ( ( offset >= 0 ) && ( offset + 16 <= elements.length ) ) {
+				System.arraycopy(elements, offset, this.m, 0, 16);
+				return this;
+			}
+			else {
+				throw new IndexOutOfBoundsException("Invalid offset");
+			}
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @pre Ninguno de los parámetros puede ser nulo, y el cuaternión tiene que ser unitario
+	 * @post Reemplaza la matriz por la que escala, rota y translada (En ese orden)
+	 * 		 con los parámetros especificados, como Matrix4f.fromTRS
+	 */
+	public Matrix4fBuilder setTRS(Vector3f translation, Quaternionf rotation, Vector3f scale) {
+		Matrix4fKernels.trs(translation.getX(), translation.getY(), translation.getZ(),
+				rotation.getX(), rotation.getY(), rotation.getZ(), rotation.getW(),
+				scale.getX(), scale.getY(), scale.getZ(), this.m, 0);
+		return this;
+	}
+	
+	/**
+	 * @pre La matriz no puede ser nula
+	 * @post Multiplica la matriz por la especificada (Por derecha), como Matrix4f.mul
+	 */
+	public Matrix4fBuilder mul(Matrix4f other) {
+		other.store(this.temporal, 0);
+		// El destino puede coincidir con el segundo operando
+		Matrix4fKernels.mul(this.m, 0, this.temporal, 0, this.temporal, 0);
+		System.arraycopy(this.temporal, 0, this.m, 0, 16);
+		return this;
+	}
+	
+	/**
+	 * @post Translada con el vector especificado, como Matrix4f.translate
+	 */
+	public Matrix4fBuilder translate(float x, float y, float z) {
+		Matrix4fKernels.translate(this.m, 0, x, y, z, this.m, 0);
+		return this;
+	}
+	
+	/**
+	 * @pre El vector no puede ser nulo
+	 * @post Translada con el vector especificado, como Matrix4f.translate
+	 */
+	public Matrix4fBuilder translate(Vector3f vector) {
+		return this.translate(vector.getX(), vector.getY(), vector.getZ());
+	}
+	
+	/**
+	 * @pre El eje tiene que ser unitario
+	 * @post Rota con el ángulo y el eje especificados, como Matrix4f.rotate
+	 */
+	public Matrix4fBuilder rotate(float angle, float axisX, float axisY, float axisZ) {
+		Matrix4fKernels.rotate(this.m, 0, angle, axisX, axisY, axisZ, this.m, 0);
+		return this;
+	}
+	
+	/**
+	 * @pre El eje no puede ser nulo y tiene que ser unitario
+	 * @post Rota con el ángulo y el eje especificados, como Matrix4f.rotate
+	 */
+	public Matrix4fBuilder rotate(float angle, Vector3f unitAxis) {
+		return this.rotate(angle, unitAxis.getX(), unitAxis.getY(), unitAxis.getZ());
+	}
+	
+	/**
+	 * @pre El cuaternión no puede ser nulo y tiene que ser unitario
+	 * @post Rota con el cuaternión especificado, como Matrix4f.rotate
+	 */
+	public Matrix4fBuilder rotate(Quaternionf rotation) {
+		Matrix4fKernels.rotateQuaternion(this.m, 0, rotation.getX(), rotation.getY(), rotation.getZ(), rotation.getW(), this.m, 0);
+		return this;
+	}
+	
+	/**
+	 * @post Escala con los factores especificados, como Matrix4f.scale
+	 */
+	public Matrix4fBuilder scale(float x, float y, float z) {
+		Matrix4fKernels.scale(this.m, 0, x, y, z, this.m, 0);
+		return this;
+	}
+	
+	/**
+	 * @pre El vector no puede ser nulo
+	 * @post Escala con el vector especificado, como Matrix4f.scale
+	 */
+	public Matrix4fBuilder scale(Vector3f vector) {
+		return this.scale(vector.getX(), vector.getY(), vector.getZ());
+	}
+	
+	/**
+	 * @post Multiplica por el escalar especificado, como Matrix4f.scale
+	 */
+	public Matrix4fBuilder scale(float scalar) {
+		return this.scale(scalar, scalar, scalar);
+	}
+	
+	/**
+	 * @post Transpone la matriz
+	 */
+	public Matrix4fBuilder transpose() {
+		for ( int j = 0 ; j < 4 ; j++ ) {
+			for ( int i = j + 1 ; i < 4 ; i++ ) {
+				final float value = this.m[j * 4 + i];
+				this.m[j * 4 + i] = this.m[i * 4 + j];
+				this.m[i * 4 + j] = value;
+			}
+		}
+		return this;
+	}
+	
+	/**
+	 * @post Invierte la matriz, como Matrix4f.invert
+	 */
+	public Matrix4fBuilder invert() {
+		if ( Matrix4fKernels.invert(this.m, 0, this.m, 0) == 0.0f ) {
+			throw new ArithmeticException("The inverse doesn't exists");
+		}
+		return this;
+	}
+	
+	/**
+	 * @post Devuelve la componente en la ubicación especificada, como Matrix4f.get
+	 */
+	public float get(int i, int j) {
+		if ( ( i >= 0 ) && ( i < 4 ) && ( j >= 0 ) && ( j < 4 ) ) {
+			return this.m[i * 4 + j];
+		}
+		else {
+			throw new IllegalArgumentException("Invalid component position");
+		}
+	}
+	
+	/**
+	 * @post Crea una matriz inmutable con el valor actual
+	 */
+	public Matrix4f build() {
+		return new Matrix4f(this.m.clone());
+	}
+	
+	/**
+	 * @pre El buffer no puede ser nulo
+	 * @post Almacena la matriz en la posición actual del buffer especificado,
+	 * 		 en el mismo orden que Matrix4f.store()
+	 */
+	public void store(FloatBuffer buffer) {
+		buffer.put(this.m);
+	}
+	
+	/**
+	 * @pre El array no puede ser nulo y la matriz tiene que entrar a partir del desplazamiento especificado
+	 * @post Almacena la matriz en el array especificado a partir del desplazamiento especificado,
+	 * 		 en el mismo orden que Matrix4f.store()
+	 */
+	public void store(float[] destination, int offset) {
+		System.arraycopy(this.m, 0, destination, offset, 16);
+	}
+	
+	/**
+	 * @post Realiza una conversión a cadena de texto
+	 */
+	public String toString() {
+		return "Matrix4fBuilder( " + this.build() + " )";
+	}
+}
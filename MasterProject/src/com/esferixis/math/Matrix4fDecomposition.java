@@ -0,0 +1,414 @@
+/**
+ * Copyright (c) 2017 Ariel Favio Carrizo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'esferixis' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.esferixis.math;
+
+/**
+ * Descomposición de una matriz afín de 4x4 en translación, rotación y
+ * estiramiento, tal que M = T * R * S.
+ * 
+ * La parte lineal se descompone con la descomposición polar (L = R * S, con R
+ * ortogonal y S simétrica), por lo tanto también funciona con matrices con
+ * cizallamiento. Si no hay cizallamiento S es diagonal, y su diagonal es la
+ * escala no uniforme.
+ * Si la matriz invierte la orientación, se toma la rotación propia más cercana,
+ * que niega sólo el eje de menor estiramiento: R' = R * ( I - 2 * v * v^T ) y
+ * S' = ( I - 2 * v * v^T ) * S, con v el autovector unitario del menor autovalor de S.
+ * De ésta manera una sola componente de la escala resulta negativa, igual que en
+ * Matrix3fDecomposition (Por ejemplo diag(2, 1.5, -3) tiene escala (2, -1.5, 3)
+ * y una rotación de 180 grados alrededor del eje x).
+ * 
+ * La descomposición polar se calcula en precisión doble con la iteración de
+ * Newton escalada (X = ( g * X + X^-T / g ) / 2), que converge cuadráticamente.
+ * 
+ * @author Ariel Favio Carrizo
+ *
+ */
+public final class Matrix4fDecomposition {
+	/**
+	 * Cantidad de floats de cada descomposición empaquetada
+	 * (Translación, rotación y escala)
+	 */
+	public static final int PACKED_SIZE = 10;
+	
+	private static final int MAX_ITERATIONS = 32;
+	private static final double TOLERANCE = 1e-12d;
+	private static final int WORK_SIZE = 36;
+	
+	private final Vector3f translation;
+	private final Quaternionf rotation;
+	private final Vector3f scale;
+	private final float[] stretch; // Por columnas
+	
+	/**
+	 * @post Crea la descomposición con la translación, la rotación, la escala y el estiramiento
+	 * 		 empaquetados
+	 */
+	private Matrix4fDecomposition(float[] trs, float[] stretch) {
+		this.translation = new Vector3f(trs[0], trs[1], trs[2]);
+		this.rotation = new Quaternionf(trs[3], trs[4], trs[5], trs[6]);
+		this.scale = new Vector3f(trs[7], trs[8], trs[9]);
+		this.stretch = stretch;
+	}
+	
+	/**
+	 * @pre La matriz no puede ser nula, y tiene que ser afín y no singular
+	 * @post Descompone la matriz especificada
+	 */
+	public static Matrix4fDecomposition of(Matrix4f matrix) {
+		if ( matrix != null ) {
+			if ( matrix.isAffine() ) {
+				final float[] trs = new float[PACKED_SIZE];
+				final float[] stretch = new float[9];
+				
+				if ( !decompose(matrix.m, 0, trs, 0, stretch, new double[WORK_SIZE]) ) {
+					throw new ArithmeticException("Singular matrix");
+				}
+				
+				return new Matrix4fDecomposition(trs, stretch);
+			}
+			else {
+				throw new IllegalArgumentException("Expected affine matrix");
+			}
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @pre Los arrays no pueden ser nulos, y las matrices tienen que ser afines
+	 * @post Descompone las matrices empaquetadas (16 floats cada una, en el mismo orden que
+	 * 		 Matrix4f.store()) del primer array, a partir del desplazamiento especificado,
+	 * 		 y almacena las descomposiciones empaquetadas (10 floats cada una: Translación,
+	 * 		 rotación (x, y, z, w) y escala) en el segundo array a partir del desplazamiento
+	 * 		 especificado.
+	 * 		 Devuelve la cantidad de matrices singulares, cuya descomposición no se escribe
+	 */
+	public static int decomposeAll(float[] matrices, int matricesOffset, float[] decompositions, int decompositionsOffset, int count) {
+		if ( ( matrices != null ) && ( decompositions != null ) ) {
+			if ( ( matricesOffset < 0 ) || ( decompositionsOffset < 0 ) || ( count < 0 ) ||
+					( (long) matricesOffset + (long) count * 16 > matrices.length ) ||
+					( (long) decompositionsOffset + (long) count * PACKED_SIZE > decompositions.length ) ) {
+				throw new IndexOutOfBoundsException("Invalid range");
+			}
+			
+			final double[] work = new double[WORK_SIZE];
+			int singulars = 0;
+			
+			for ( int i = 0 ; i < count ; i++ ) {
+				if ( !decompose(matrices, matricesOffset + i * 16, decompositions, decompositionsOffset + i * PACKED_SIZE, null, work) ) {
+					singulars++;
+				}
+			}
+			
+			return singulars;
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @post Devuelve la translación
+	 */
+	public Vector3f getTranslation() {
+		return this.translation;
+	}
+	
+	/**
+	 * @post Devuelve la rotación
+	 */
+	public Quaternionf getRotation() {
+		return this.rotation;
+	}
+	
+	/**
+	 * @post Devuelve la escala (La diagonal del estiramiento)
+	 */
+	public Vector3f getScale() {
+		return this.scale;
+	}
+	
+	/**
+	 * @post Devuelve el estiramiento (Matriz simétrica de 3x3).
+	 * 		 Si no hay cizallamiento es la matriz diagonal con la escala
+	 */
+	public Matrix3f getStretch() {
+		return new Matrix3f(this.stretch.clone());
+	}
+	
+	/**
+	 * @post Devuelve la matriz T * R * S, incluyendo el cizallamiento
+	 */
+	public Matrix4f toMatrix4f() {
+		final float[] rotation = new float[16];
+		Matrix4fKernels.trs(this.translation.getX(), this.translation.getY(), this.translation.getZ(),
+				this.rotation.getX(), this.rotation.getY(), this.rotation.getZ(), this.rotation.getW(),
+				1.0f, 1.0f, 1.0f, rotation, 0);
+		
+		final float[] stretch = new float[16];
+		for ( int c = 0 ; c < 3 ; c++ ) {
+			for ( int r = 0 ; r < 3 ; r++ ) {
+				stretch[c * 4 + r] = this.stretch[c * 3 + r];
+			}
+		}
+		stretch[15] = 1.0f;
+		
+		Matrix4fKernels.mul(rotation, 0, stretch, 0, stretch, 0);
+		return new Matrix4f(stretch);
+	}
+	
+	/**
+	 * @post Descompone la matriz afín especificada, almacena la translación, la rotación y
+	 * 		 la escala en el destino, y el estiramiento (Por columnas) si no es nulo.
+	 * 		 Devuelve false, sin escribir nada, si la matriz es singular
+	 */
+	private static boolean decompose(float[] m, int mOffset, float[] trs, int trsOffset, float[] stretch, double[] work) {
+		// x[c * 3 + r] es el elemento de la fila r y la columna c
+		final double[] x = work;
+		for ( int c = 0 ; c < 3 ; c++ ) {
+			for ( int r = 0 ; r < 3 ; r++ ) {
+				x[c * 3 + r] = m[mOffset + c * 4 + r];
+			}
+		}
+		
+		final double determinant = polarRotation(x);
+		
+		if ( ( determinant == 0.0d ) || Double.isNaN(determinant) ) {
+			return false;
+		}
+		
+		// S = R^T * L, en el lugar de los cofactores
+		for ( int c = 0 ; c < 3 ; c++ ) {
+			for ( int r = 0 ; r < 3 ; r++ ) {
+				double value = 0.0d;
+				for ( int k = 0 ; k < 3 ; k++ ) {
+					value += x[r * 3 + k] * m[mOffset + c * 4 + k];
+				}
+				x[9 + c * 3 + r] = value;
+			}
+		}
+		
+		if ( determinant < 0.0d ) {
+			// Rotación propia más cercana, negando el eje de menor estiramiento
+			final int v = smallestEigenvector(x);
+			final double vx = x[v], vy = x[v + 1], vz = x[v + 2];
+			
+			for ( int c = 0 ; c < 3 ; c++ ) {
+				// R' = R - 2 * ( R * v ) * v^T
+				final double rv = x[c] * vx + x[3 + c] * vy + x[6 + c] * vz;
+				
+				// S' = S - 2 * v * ( v^T * S )
+				final double vs = x[9 + c * 3] * vx + x[9 + c * 3 + 1] * vy + x[9 + c * 3 + 2] * vz;
+				
+				x[c] -= 2.0d * rv * vx;
+				x[3 + c] -= 2.0d * rv * vy;
+				x[6 + c] -= 2.0d * rv * vz;
+				
+				x[9 + c * 3] -= 2.0d * vx * vs;
+				x[9 + c * 3 + 1] -= 2.0d * vy * vs;
+				x[9 + c * 3 + 2] -= 2.0d * vz * vs;
+			}
+		}
+		
+		Quaternionf.fromRotationMatrix(
+				(float) x[0], (float) x[3], (float) x[6],
+				(float) x[1], (float) x[4], (float) x[7],
+				(float) x[2], (float) x[5], (float) x[8],
+				trs, trsOffset + 3
+		);
+		
+		// Normalización en el lugar
+		final float qx = trs[trsOffset + 3], qy = trs[trsOffset + 4], qz = trs[trsOffset + 5], qw = trs[trsOffset + 6];
+		final float inverseLength = 1.0f / (float) Math.sqrt( qx * qx + qy * qy + qz * qz + qw * qw );
+		
+		trs[trsOffset] = m[mOffset + 12];
+		trs[trsOffset + 1] = m[mOffset + 13];
+		trs[trsOffset + 2] = m[mOffset + 14];
+		trs[trsOffset + 3] = qx * inverseLength;
+		trs[trsOffset + 4] = qy * inverseLength;
+		trs[trsOffset + 5] = qz * inverseLength;
+		trs[trsOffset + 6] = qw * inverseLength;
+		trs[trsOffset + 7] = (float) x[9];
+		trs[trsOffset + 8] = (float) x[13];
+		trs[trsOffset + 9] = (float) x[17];
+		
+		if ( stretch != null ) {
+			for ( int c = 0 ; c < 3 ; c++ ) {
+				for ( int r = 0 ; r < 3 ; r++ ) {
+					stretch[c * 3 + r] = (float) ( 0.5d * ( x[9 + c * 3 + r] + x[9 + r * 3 + c] ) );
+				}
+			}
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * @pre El array de trabajo tiene que tener 18 elementos, con la matriz
+	 * 		(Por columnas) en los primeros 9
+	 * @post Reemplaza la matriz por el factor ortogonal de su descomposición polar,
+	 * 		 y devuelve el determinante original (Nulo si es singular)
+	 */
+	private static double polarRotation(double[] x) {
+		final double originalDeterminant = cofactors(x);
+		
+		if ( originalDeterminant != 0.0d ) {
+			double determinant = originalDeterminant;
+			
+			for ( int iteration = 0 ; iteration < MAX_ITERATIONS ; iteration++ ) {
+				// En x[9..17] están los cofactores: X^-T = C / det
+				double norm = 0.0d, inverseNorm = 0.0d;
+				for ( int i = 0 ; i < 9 ; i++ ) {
+					norm += x[i] * x[i];
+					inverseNorm += x[9 + i] * x[9 + i];
+				}
+				inverseNorm /= determinant * determinant;
+				
+				final double gamma = Math.sqrt( Math.sqrt(inverseNorm / norm) );
+				final double a = 0.5d * gamma, b = 0.5d / ( gamma * determinant );
+				
+				double difference = 0.0d;
+				for ( int i = 0 ; i < 9 ; i++ ) {
+					final double next = a * x[i] + b * x[9 + i];
+					difference += Math.abs(next - x[i]);
+					x[i] = next;
+				}
+				
+				if ( difference <= TOLERANCE ) {
+					break;
+				}
+				
+				determinant = cofactors(x);
+			}
+		}
+		
+		return originalDeterminant;
+	}
+	
+	/**
+	 * @pre El array de trabajo tiene que tener 36 elementos, con la matriz
+	 * 		casi simétrica (Por columnas) en x[9..17]
+	 * @post Calcula los autovectores de la parte simétrica de la matriz con el método
+	 * 		 de Jacobi, usando x[18..26] para la matriz y x[27..35] para los autovectores,
+	 * 		 y devuelve el índice en x del autovector unitario del menor autovalor
+	 */
+	private static int smallestEigenvector(double[] x) {
+		final int a = 18, v = 27;
+		
+		double norm = 0.0d;
+		for ( int c = 0 ; c < 3 ; c++ ) {
+			for ( int r = 0 ; r < 3 ; r++ ) {
+				x[a + c * 3 + r] = 0.5d * ( x[9 + c * 3 + r] + x[9 + r * 3 + c] );
+				x[v + c * 3 + r] = ( c == r ) ? 1.0d : 0.0d;
+				norm += x[a + c * 3 + r] * x[a + c * 3 + r];
+			}
+		}
+		
+		for ( int sweep = 0 ; sweep < MAX_ITERATIONS ; sweep++ ) {
+			final double offDiagonal = x[a + 3] * x[a + 3] + x[a + 6] * x[a + 6] + x[a + 7] * x[a + 7];
+			if ( offDiagonal <= TOLERANCE * TOLERANCE * norm ) {
+				break;
+			}
+			
+			for ( int p = 0 ; p < 2 ; p++ ) {
+				for ( int q = p + 1 ; q < 3 ; q++ ) {
+					final double apq = x[a + q * 3 + p];
+					
+					if ( apq != 0.0d ) {
+						// Rotación que anula el elemento (p, q)
+						final double theta = ( x[a + q * 3 + q] - x[a + p * 3 + p] ) / ( 2.0d * apq );
+						final double t = ( ( theta >= 0.0d ) ? 1.0d : -1.0d ) / ( Math.abs(theta) + Math.sqrt(theta * theta + 1.0d) );
+						final double cos = 1.0d / Math.sqrt(t * t + 1.0d), sin = t * cos;
+						
+						for ( int k = 0 ; k < 3 ; k++ ) {
+							// Columnas p y q de A y de V
+							final double akp = x[a + p * 3 + k], akq = x[a + q * 3 + k];
+							x[a + p * 3 + k] = cos * akp - sin * akq;
+							x[a + q * 3 + k] = sin * akp + cos * akq;
+							
+							final double vkp = x[v + p * 3 + k], vkq = x[v + q * 3 + k];
+							x[v + p * 3 + k] = cos * vkp - sin * vkq;
+							x[v + q * 3 + k] = sin * vkp + cos * vkq;
+						}
+						
+						for ( int k = 0 ; k < 3 ; k++ ) {
+							// Filas p y q de A
+							final double apk = x[a + k * 3 + p], aqk = x[a + k * 3 + q];
+							x[a + k * 3 + p] = cos * apk - sin * aqk;
+							x[a + k * 3 + q] = sin * apk + cos * aqk;
+						}
+					}
+				}
+			}
+		}
+		
+		int smallest = 0;
+		for ( int k = 1 ; k < 3 ; k++ ) {
+			if ( x[a + k * 3 + k] < x[a + smallest * 3 + smallest] ) {
+				smallest = k;
+			}
+		}
+		
+		return v + smallest * 3;
+	}
+	
+	/**
+	 * @post Almacena la matriz de cofactores de la matriz en x[0..8] en x[9..17],
+	 * 		 y devuelve el determinante
+	 */
+	private static double cofactors(double[] x) {
+		final double a00 = x[0], a10 = x[1], a20 = x[2];
+		final double a01 = x[3], a11 = x[4], a21 = x[5];
+		final double a02 = x[6], a12 = x[7], a22 = x[8];
+		
+		x[9] = a11 * a22 - a12 * a21;
+		x[10] = a02 * a21 - a01 * a22;
+		x[11] = a01 * a12 - a02 * a11;
+		x[12] = a12 * a20 - a10 * a22;
+		x[13] = a00 * a22 - a02 * a20;
+		x[14] = a02 * a10 - a00 * a12;
+		x[15] = a10 * a21 - a11 * a20;
+		x[16] = a01 * a20 - a00 * a21;
+		x[17] = a00 * a11 - a01 * a10;
+		
+		return a00 * x[9] + a01 * x[12] + a02 * x[15];
+	}
+	
+	/**
+	 * @post Devuelve un representación en cadena de carácteres
+	 */
+	@Override
+	public String toString() {
+		return "Matrix4fDecomposition( translation: " + this.translation + ", rotation: " + this.rotation + ", scale: " + this.scale + " )";
+	}
+}
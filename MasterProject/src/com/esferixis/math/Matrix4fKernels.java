@@ -0,0 +1,385 @@
+/**
+ * Copyright (c) 2017 Ariel Favio Carrizo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'esferixis' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.esferixis.math;
+
+/**
+ * Núcleos de cálculo sobre matrices de 4x4 almacenadas en arrays planos
+ * por columnas ( m[offset + columna * 4 + fila] ), como en Matrix4f.
+ * 
+ * Trabajan con desplazamientos para poder operar tanto sobre la matriz de
+ * una instancia como sobre arrays empaquetados de muchas matrices, sin
+ * crear objetos intermedios. El resultado puede coincidir con el operando.
+ * 
+ * Las operaciones afines (translate, scale, premultiplyLinear, y por lo tanto
+ * rotate y rotateQuaternion) sólo calculan los términos no triviales: omiten
+ * los productos por los ceros y los unos de la matriz de transformación.
+ * Si todos los elementos son finitos suman los mismos productos distintos de cero
+ * en el mismo orden que la multiplicación completa, así que el resultado es el
+ * mismo salvo por el signo de los ceros (La multiplicación completa puede convertir
+ * -0 en +0 al sumar 0 * x).
+ * Con infinitos o NaN el resultado puede diferir: la multiplicación completa
+ * calcula 0 * Inf = NaN y lo propaga a todo el elemento, y estas operaciones
+ * no. No se verifica que los elementos sean finitos, porque costaría más que
+ * la operación.
+ * 
+ * Sobre la vectorización ver la nota de VectorKernels.
+ * 
+ * Los rangos no se validan, es responsabilidad del llamador
+ * 
+ * @author Ariel Favio Carrizo
+ *
+ */
+final class Matrix4fKernels {
+	private Matrix4fKernels() {}
+	
+	/**
+	 * @post Devuelve si la matriz especificada es afín
+	 * 		 (La última fila es (0, 0, 0, 1))
+	 */
+	public static boolean isAffine(float[] m, int mOffset) {
+		return ( m[mOffset + 3] == 0.0f ) && ( m[mOffset + 7] == 0.0f ) && ( m[mOffset + 11] == 0.0f ) && ( m[mOffset + 15] == 1.0f );
+	}
+	
+	/**
+	 * @post Multiplica la primer matriz por la segunda y almacena el resultado en el destino.
+	 * 		 El destino puede coincidir con cualquiera de los operandos.
+	 * 		 Está desenrollado y con la primer matriz en variables locales, para que el
+	 * 		 compilador JIT no tenga que volver a leerla de memoria en cada columna
+	 */
+	public static void mul(float[] a, int aOffset, float[] b, int bOffset, float[] result, int resultOffset) {
+		final float a00 = a[aOffset], a10 = a[aOffset + 1], a20 = a[aOffset + 2], a30 = a[aOffset + 3];
+		final float a01 = a[aOffset + 4], a11 = a[aOffset + 5], a21 = a[aOffset + 6], a31 = a[aOffset + 7];
+		final float a02 = a[aOffset + 8], a12 = a[aOffset + 9], a22 = a[aOffset + 10], a32 = a[aOffset + 11];
+		final float a03 = a[aOffset + 12], a13 = a[aOffset + 13], a23 = a[aOffset + 14], a33 = a[aOffset + 15];
+		
+		for ( int c = 0 ; c < 16 ; c += 4 ) {
+			final float b0 = b[bOffset + c], b1 = b[bOffset + c + 1], b2 = b[bOffset + c + 2], b3 = b[bOffset + c + 3];
+			
+			result[resultOffset + c] = a00 * b0 + a01 * b1 + a02 * b2 + a03 * b3;
+			result[resultOffset + c + 1] = a10 * b0 + a11 * b1 + a12 * b2 + a13 * b3;
+			result[resultOffset + c + 2] = a20 * b0 + a21 * b1 + a22 * b2 + a23 * b3;
+			result[resultOffset + c + 3] = a30 * b0 + a31 * b1 + a32 * b2 + a33 * b3;
+		}
+	}
+	
+	/**
+	 * @post Multiplica las matrices empaquetadas (16 floats cada una) de la primer secuencia
+	 * 		 por las de la segunda, una a una, y almacena los resultados en el destino.
+	 * 		 El destino puede coincidir con cualquiera de los operandos
+	 */
+	public static void mulAll(float[] a, int aOffset, float[] b, int bOffset, float[] result, int resultOffset, int count) {
+		for ( int i = 0 ; i < count * 16 ; i += 16 ) {
+			mul(a, aOffset + i, b, bOffset + i, result, resultOffset + i);
+		}
+	}
+	
+	/**
+	 * @post Premultiplica la matriz especificada por la translación especificada,
+	 * 		 y almacena el resultado en el destino
+	 */
+	public static void translate(float[] m, int mOffset, float tx, float ty, float tz, float[] result, int resultOffset) {
+		for ( int c = 0 ; c < 16 ; c += 4 ) {
+			final float w = m[mOffset + c + 3];
+			result[resultOffset + c] = m[mOffset + c] + tx * w;
+			result[resultOffset + c + 1] = m[mOffset + c + 1] + ty * w;
+			result[resultOffset + c + 2] = m[mOffset + c + 2] + tz * w;
+			result[resultOffset + c + 3] = w;
+		}
+	}
+	
+	/**
+	 * @post Premultiplica la matriz especificada por el escalado especificado,
+	 * 		 y almacena el resultado en el destino
+	 */
+	public static void scale(float[] m, int mOffset, float sx, float sy, float sz, float[] result, int resultOffset) {
+		for ( int c = 0 ; c < 16 ; c += 4 ) {
+			result[resultOffset + c] = sx * m[mOffset + c];
+			result[resultOffset + c + 1] = sy * m[mOffset + c + 1];
+			result[resultOffset + c + 2] = sz * m[mOffset + c + 2];
+			result[resultOffset + c + 3] = m[mOffset + c + 3];
+		}
+	}
+	
+	/**
+	 * @post Premultiplica la matriz especificada por la transformación lineal especificada
+	 * 		 (aFC es el elemento de la fila F y la columna C), y almacena el resultado en el destino
+	 */
+	public static void premultiplyLinear(float[] m, int mOffset,
+			float a00, float a01, float a02,
+			float a10, float a11, float a12,
+			float a20, float a21, float a22,
+			float[] result, int resultOffset) {
+		for ( int c = 0 ; c < 16 ; c += 4 ) {
+			final float x = m[mOffset + c], y = m[mOffset + c + 1], z = m[mOffset + c + 2];
+			result[resultOffset + c] = a00 * x + a01 * y + a02 * z;
+			result[resultOffset + c + 1] = a10 * x + a11 * y + a12 * z;
+			result[resultOffset + c + 2] = a20 * x + a21 * y + a22 * z;
+			result[resultOffset + c + 3] = m[mOffset + c + 3];
+		}
+	}
+	
+	/**
+	 * @pre El eje tiene que ser unitario
+	 * @post Premultiplica la matriz especificada por la rotación con el ángulo y el eje
+	 * 		 especificados, con la misma convención que Matrix4f.rotate(float, Vector3f),
+	 * 		 y almacena el resultado en el destino
+	 */
+	public static void rotate(float[] m, int mOffset, float angle, float x, float y, float z, float[] result, int resultOffset) {
+		final float sinProduct = (float) Math.sin(angle);
+		final float cosProduct = (float) Math.cos(angle);
+		
+		premultiplyLinear(m, mOffset,
+				cosProduct + x * x * ( 1 - cosProduct), y * x * ( 1 - cosProduct) + z * sinProduct, z * x * ( 1 - cosProduct) - y * sinProduct,
+				x * y * ( 1 - cosProduct) - z * sinProduct, cosProduct + y * y * ( 1 - cosProduct), z * y * ( 1 - cosProduct ) + x * sinProduct,
+				x * z * cosProduct + y * sinProduct, y * z * cosProduct - x * sinProduct, cosProduct + z * z * (1 - cosProduct ),
+				result, resultOffset);
+	}
+	
+	/**
+	 * @pre El cuaternión tiene que ser unitario
+	 * @post Premultiplica la matriz especificada por la rotación del cuaternión especificado,
+	 * 		 y almacena el resultado en el destino
+	 */
+	public static void rotateQuaternion(float[] m, int mOffset, float qx, float qy, float qz, float qw, float[] result, int resultOffset) {
+		final float xx = qx * qx, yy = qy * qy, zz = qz * qz;
+		final float xy = qx * qy, xz = qx * qz, yz = qy * qz;
+		final float wx = qw * qx, wy = qw * qy, wz = qw * qz;
+		
+		premultiplyLinear(m, mOffset,
+				1.0f - 2.0f * ( yy + zz ), 2.0f * ( xy - wz ), 2.0f * ( xz + wy ),
+				2.0f * ( xy + wz ), 1.0f - 2.0f * ( xx + zz ), 2.0f * ( yz - wx ),
+				2.0f * ( xz - wy ), 2.0f * ( yz + wx ), 1.0f - 2.0f * ( xx + yy ),
+				result, resultOffset);
+	}
+	
+	/**
+	 * @pre El cuaternión tiene que ser unitario
+	 * @post Almacena en el destino la matriz afín que escala, rota y translada
+	 * 		 (En ese orden) con los parámetros especificados
+	 */
+	public static void trs(float tx, float ty, float tz, float qx, float qy, float qz, float qw, float sx, float sy, float sz, float[] result, int resultOffset) {
+		final float xx = qx * qx, yy = qy * qy, zz = qz * qz;
+		final float xy = qx * qy, xz = qx * qz, yz = qy * qz;
+		final float wx = qw * qx, wy = qw * qy, wz = qw * qz;
+		
+		result[resultOffset] = ( 1.0f - 2.0f * ( yy + zz ) ) * sx;
+		result[resultOffset + 1] = ( 2.0f * ( xy + wz ) ) * sx;
+		result[resultOffset + 2] = ( 2.0f * ( xz - wy ) ) * sx;
+		result[resultOffset + 3] = 0.0f;
+		
+		result[resultOffset + 4] = ( 2.0f * ( xy - wz ) ) * sy;
+		result[resultOffset + 5] = ( 1.0f - 2.0f * ( xx + zz ) ) * sy;
+		result[resultOffset + 6] = ( 2.0f * ( yz + wx ) ) * sy;
+		result[resultOffset + 7] = 0.0f;
+		
+		result[resultOffset + 8] = ( 2.0f * ( xz + wy ) ) * sz;
+		result[resultOffset + 9] = ( 2.0f * ( yz - wx ) ) * sz;
+		result[resultOffset + 10] = ( 1.0f - 2.0f * ( xx + yy ) ) * sz;
+		result[resultOffset + 11] = 0.0f;
+		
+		result[resultOffset + 12] = tx;
+		result[resultOffset + 13] = ty;
+		result[resultOffset + 14] = tz;
+		result[resultOffset + 15] = 1.0f;
+	}
+	
+	/**
+	 * @pre La matriz tiene que ser afín
+	 * @post Calcula la inversa de la matriz afín especificada, a partir de la inversa
+	 * 		 de la parte lineal de 3x3, la almacena en el destino y devuelve el determinante.
+	 * 		 Si el determinante es nulo no escribe el destino
+	 */
+	public static float invertAffine(float[] m, int mOffset, float[] result, int resultOffset) {
+		final float a00 = m[mOffset], a10 = m[mOffset + 1], a20 = m[mOffset + 2];
+		final float a01 = m[mOffset + 4], a11 = m[mOffset + 5], a21 = m[mOffset + 6];
+		final float a02 = m[mOffset + 8], a12 = m[mOffset + 9], a22 = m[mOffset + 10];
+		final float tx = m[mOffset + 12], ty = m[mOffset + 13], tz = m[mOffset + 14];
+		
+		final float c00 = a11 * a22 - a12 * a21;
+		final float c01 = a12 * a20 - a10 * a22;
+		final float c02 = a10 * a21 - a11 * a20;
+		
+		final float determinant = a00 * c00 + a01 * c01 + a02 * c02;
+		
+		if ( determinant != 0.0f ) {
+			final float inverseDeterminant = 1.0f / determinant;
+			
+			final float i00 = c00 * inverseDeterminant;
+			final float i10 = c01 * inverseDeterminant;
+			final float i20 = c02 * inverseDeterminant;
+			final float i01 = ( a02 * a21 - a01 * a22 ) * inverseDeterminant;
+			final float i11 = ( a00 * a22 - a02 * a20 ) * inverseDeterminant;
+			final float i21 = ( a01 * a20 - a00 * a21 ) * inverseDeterminant;
+			final float i02 = ( a01 * a12 - a02 * a11 ) * inverseDeterminant;
+			final float i12 = ( a02 * a10 - a00 * a12 ) * inverseDeterminant;
+			final float i22 = ( a00 * a11 - a01 * a10 ) * inverseDeterminant;
+			
+			result[resultOffset] = i00;
+			result[resultOffset + 1] = i10;
+			result[resultOffset + 2] = i20;
+			result[resultOffset + 3] = 0.0f;
+			
+			result[resultOffset + 4] = i01;
+			result[resultOffset + 5] = i11;
+			result[resultOffset + 6] = i21;
+			result[resultOffset + 7] = 0.0f;
+			
+			result[resultOffset + 8] = i02;
+			result[resultOffset + 9] = i12;
+			result[resultOffset + 10] = i22;
+			result[resultOffset + 11] = 0.0f;
+			
+			result[resultOffset + 12] = -( i00 * tx + i01 * ty + i02 * tz );
+			result[resultOffset + 13] = -( i10 * tx + i11 * ty + i12 * tz );
+			result[resultOffset + 14] = -( i20 * tx + i21 * ty + i22 * tz );
+			result[resultOffset + 15] = 1.0f;
+		}
+		
+		return determinant;
+	}
+	
+	/**
+	 * @post Calcula la inversa de la matriz especificada por el camino general (Proyectivo),
+	 * 		 la almacena en el destino y devuelve el determinante.
+	 * 		 Los determinantes de 2x2 de las dos primeras y de las dos últimas columnas se
+	 * 		 calculan una sola vez y se comparten entre el determinante y todos los cofactores.
+	 * 		 Si el determinante es nulo no escribe el destino
+	 */
+	public static float invertGeneral(float[] m, int mOffset, float[] result, int resultOffset) {
+		// aCF es el elemento de la columna C y la fila F
+		final float a00 = m[mOffset], a01 = m[mOffset + 1], a02 = m[mOffset + 2], a03 = m[mOffset + 3];
+		final float a10 = m[mOffset + 4], a11 = m[mOffset + 5], a12 = m[mOffset + 6], a13 = m[mOffset + 7];
+		final float a20 = m[mOffset + 8], a21 = m[mOffset + 9], a22 = m[mOffset + 10], a23 = m[mOffset + 11];
+		final float a30 = m[mOffset + 12], a31 = m[mOffset + 13], a32 = m[mOffset + 14], a33 = m[mOffset + 15];
+		
+		final float s0 = a00 * a11 - a10 * a01;
+		final float s1 = a00 * a12 - a10 * a02;
+		final float s2 = a00 * a13 - a10 * a03;
+		final float s3 = a01 * a12 - a11 * a02;
+		final float s4 = a01 * a13 - a11 * a03;
+		final float s5 = a02 * a13 - a12 * a03;
+		
+		final float c5 = a22 * a33 - a32 * a23;
+		final float c4 = a21 * a33 - a31 * a23;
+		final float c3 = a21 * a32 - a31 * a22;
+		final float c2 = a20 * a33 - a30 * a23;
+		final float c1 = a20 * a32 - a30 * a22;
+		final float c0 = a20 * a31 - a30 * a21;
+		
+		final float determinant = s0 * c5 - s1 * c4 + s2 * c3 + s3 * c2 - s4 * c1 + s5 * c0;
+		
+		if ( determinant != 0.0f ) {
+			final float inverseDeterminant = 1.0f / determinant;
+			
+			result[resultOffset] = ( a11 * c5 - a12 * c4 + a13 * c3 ) * inverseDeterminant;
+			result[resultOffset + 1] = ( -a01 * c5 + a02 * c4 - a03 * c3 ) * inverseDeterminant;
+			result[resultOffset + 2] = ( a31 * s5 - a32 * s4 + a33 * s3 ) * inverseDeterminant;
+			result[resultOffset + 3] = ( -a21 * s5 + a22 * s4 - a23 * s3 ) * inverseDeterminant;
+			
+			result[resultOffset + 4] = ( -a10 * c5 + a12 * c2 - a13 * c1 ) * inverseDeterminant;
+			result[resultOffset + 5] = ( a00 * c5 - a02 * c2 + a03 * c1 ) * inverseDeterminant;
+			result[resultOffset + 6] = ( -a30 * s5 + a32 * s2 - a33 * s1 ) * inverseDeterminant;
+			result[resultOffset + 7] = ( a20 * s5 - a22 * s2 + a23 * s1 ) * inverseDeterminant;
+			
+			result[resultOffset + 8] = ( a10 * c4 - a11 * c2 + a13 * c0 ) * inverseDeterminant;
+			result[resultOffset + 9] = ( -a00 * c4 + a01 * c2 - a03 * c0 ) * inverseDeterminant;
+			result[resultOffset + 10] = ( a30 * s4 - a31 * s2 + a33 * s0 ) * inverseDeterminant;
+			result[resultOffset + 11] = ( -a20 * s4 + a21 * s2 - a23 * s0 ) * inverseDeterminant;
+			
+			result[resultOffset + 12] = ( -a10 * c3 + a11 * c1 - a12 * c0 ) * inverseDeterminant;
+			result[resultOffset + 13] = ( a00 * c3 - a01 * c1 + a02 * c0 ) * inverseDeterminant;
+			result[resultOffset + 14] = ( -a30 * s3 + a31 * s1 - a32 * s0 ) * inverseDeterminant;
+			result[resultOffset + 15] = ( a20 * s3 - a21 * s1 + a22 * s0 ) * inverseDeterminant;
+		}
+		
+		return determinant;
+	}
+	
+	/**
+	 * @post Calcula la inversa de la matriz especificada, por el camino afín si es afín
+	 * 		 y por el general si no, la almacena en el destino y devuelve el determinante.
+	 * 		 Si el determinante es nulo no escribe el destino
+	 */
+	public static float invert(float[] m, int mOffset, float[] result, int resultOffset) {
+		if ( isAffine(m, mOffset) ) {
+			return invertAffine(m, mOffset, result, resultOffset);
+		}
+		else {
+			return invertGeneral(m, mOffset, result, resultOffset);
+		}
+	}
+	
+	/**
+	 * @post Calcula la transpuesta de la inversa de la parte lineal de 3x3 de la matriz
+	 * 		 especificada, y la almacena en el destino como matriz afín sin translación
+	 * 		 (Para transformar normales).
+	 * 		 Devuelve el determinante de la parte lineal. Si es nulo no escribe el destino
+	 */
+	public static float inverseTransposeLinear(float[] m, int mOffset, float[] result, int resultOffset) {
+		final float a00 = m[mOffset], a10 = m[mOffset + 1], a20 = m[mOffset + 2];
+		final float a01 = m[mOffset + 4], a11 = m[mOffset + 5], a21 = m[mOffset + 6];
+		final float a02 = m[mOffset + 8], a12 = m[mOffset + 9], a22 = m[mOffset + 10];
+		
+		final float c00 = a11 * a22 - a12 * a21;
+		final float c01 = a12 * a20 - a10 * a22;
+		final float c02 = a10 * a21 - a11 * a20;
+		
+		final float determinant = a00 * c00 + a01 * c01 + a02 * c02;
+		
+		if ( determinant != 0.0f ) {
+			final float inverseDeterminant = 1.0f / determinant;
+			
+			// La transpuesta de la inversa es la matriz de cofactores dividida por el determinante
+			result[resultOffset] = c00 * inverseDeterminant;
+			result[resultOffset + 1] = ( a02 * a21 - a01 * a22 ) * inverseDeterminant;
+			result[resultOffset + 2] = ( a01 * a12 - a02 * a11 ) * inverseDeterminant;
+			result[resultOffset + 3] = 0.0f;
+			
+			result[resultOffset + 4] = c01 * inverseDeterminant;
+			result[resultOffset + 5] = ( a00 * a22 - a02 * a20 ) * inverseDeterminant;
+			result[resultOffset + 6] = ( a02 * a10 - a00 * a12 ) * inverseDeterminant;
+			result[resultOffset + 7] = 0.0f;
+			
+			result[resultOffset + 8] = c02 * inverseDeterminant;
+			result[resultOffset + 9] = ( a01 * a20 - a00 * a21 ) * inverseDeterminant;
+			result[resultOffset + 10] = ( a00 * a11 - a01 * a10 ) * inverseDeterminant;
+			result[resultOffset + 11] = 0.0f;
+			
+			result[resultOffset + 12] = 0.0f;
+			result[resultOffset + 13] = 0.0f;
+			result[resultOffset + 14] = 0.0f;
+			result[resultOffset + 15] = 1.0f;
+		}
+		
+		return determinant;
+	}
+}
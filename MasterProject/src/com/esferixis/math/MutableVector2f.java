@@ -0,0 +1,294 @@
+/**
+ * Copyright (c) 2017 Ariel Favio Carrizo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'esferixis' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.esferixis.math;
+
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+
+/**
+ * Vector bidimensional mutable, compañero de Vector2f.
+ * 
+ * Las operaciones sin destino modifican el vector y lo devuelven,
+ * las operaciones con destino escriben el resultado en el destino
+ * especificado (Que puede ser el mismo vector) y lo devuelven.
+ * Ninguna operación crea objetos temporales
+ * 
+ * @author Ariel Favio Carrizo
+ *
+ */
+public final class MutableVector2f implements Serializable {
+	private static final long serialVersionUID = -1837301947703544165L;
+	
+	private float x, y;
+	
+	/**
+	 * @post Crea un vector nulo
+	 */
+	public MutableVector2f() {
+		this(0.0f, 0.0f);
+	}
+	
+	/**
+	 * @post Crea un vector con los valores de componente especificados
+	 */
+	public MutableVector2f(float x, float y) {
+		this.x = x;
+		this.y = y;
+	}
+	
+	/**
+	 * @pre El vector no puede ser nulo
+	 * @post Crea un vector con las componentes del vector especificado
+	 */
+	public MutableVector2f(Vector2f vector) {
+		this(vector.getX(), vector.getY());
+	}
+	
+	/**
+	 * @post Devuelve la primer componente
+	 */
+	public float getX() {
+		return this.x;
+	}
+	
+	/**
+	 * @post Devuelve la segunda componente
+	 */
+	public float getY() {
+		return this.y;
+	}
+	
+	/**
+	 * @post Especifica la primer componente
+	 */
+	public void setX(float x) {
+		this.x = x;
+	}
+	
+	/**
+	 * @post Especifica la segunda componente
+	 */
+	public void setY(float y) {
+		this.y = y;
+	}
+	
+	/**
+	 * @post Especifica las componentes y devuelve el vector
+	 */
+	public MutableVector2f set(float x, float y) {
+		this.x = x;
+		this.y = y;
+		return this;
+	}
+	
+	/**
+	 * @pre El vector no puede ser nulo
+	 * @post Copia las componentes del vector especificado y devuelve el vector
+	 */
+	public MutableVector2f set(Vector2f vector) {
+		return this.set(vector.getX(), vector.getY());
+	}
+	
+	/**
+	 * @pre El vector no puede ser nulo
+	 * @post Copia las componentes del vector especificado y devuelve el vector
+	 */
+	public MutableVector2f set(MutableVector2f vector) {
+		return this.set(vector.x, vector.y);
+	}
+	
+	/**
+	 * @post Cambia el sentido del vector y lo devuelve
+	 */
+	public MutableVector2f opposite() {
+		return this.opposite(this);
+	}
+	
+	/**
+	 * @post Almacena el vector con sentido opuesto en el destino y lo devuelve
+	 */
+	public MutableVector2f opposite(MutableVector2f destination) {
+		return destination.set(-this.x, -this.y);
+	}
+	
+	/**
+	 * @post Suma el vector especificado y devuelve el vector
+	 */
+	public MutableVector2f add(MutableVector2f other) {
+		return this.add(other, this);
+	}
+	
+	/**
+	 * @post Suma el vector especificado y devuelve el vector
+	 */
+	public MutableVector2f add(Vector2f other) {
+		return this.set(this.x + other.getX(), this.y + other.getY());
+	}
+	
+	/**
+	 * @post Almacena la suma con el vector especificado en el destino y lo devuelve
+	 */
+	public MutableVector2f add(MutableVector2f other, MutableVector2f destination) {
+		return destination.set(this.x + other.x, this.y + other.y);
+	}
+	
+	/**
+	 * @post Resta el vector especificado y devuelve el vector
+	 */
+	public MutableVector2f sub(MutableVector2f other) {
+		return this.sub(other, this);
+	}
+	
+	/**
+	 * @post Resta el vector especificado y devuelve el vector
+	 */
+	public MutableVector2f sub(Vector2f other) {
+		return this.set(this.x - other.getX(), this.y - other.getY());
+	}
+	
+	/**
+	 * @post Almacena la resta con el vector especificado en el destino y lo devuelve
+	 */
+	public MutableVector2f sub(MutableVector2f other, MutableVector2f destination) {
+		return destination.set(this.x - other.x, this.y - other.y);
+	}
+	
+	/**
+	 * @post Multiplica el vector por el escalar especificado y lo devuelve
+	 */
+	public MutableVector2f scale(float b) {
+		return this.scale(b, this);
+	}
+	
+	/**
+	 * @post Almacena el producto con el escalar especificado en el destino y lo devuelve
+	 */
+	public MutableVector2f scale(float b, MutableVector2f destination) {
+		return destination.set(this.x * b, this.y * b);
+	}
+	
+	/**
+	 * @post Suma el vector especificado multiplicado por el escalar especificado
+	 * 		 y devuelve el vector
+	 */
+	public MutableVector2f addScaled(MutableVector2f other, float b) {
+		return this.set(this.x + other.x * b, this.y + other.y * b);
+	}
+	
+	/**
+	 * @post Devuelve el producto escalar con el otro vector
+	 */
+	public float dot(MutableVector2f other) {
+		return this.x * other.x + this.y * other.y;
+	}
+	
+	/**
+	 * @post Devuelve el producto escalar con el otro vector
+	 */
+	public float dot(Vector2f other) {
+		return this.x * other.getX() + this.y * other.getY();
+	}
+	
+	/**
+	 * @post Rota el vector 90° en sentido antihorario y lo devuelve
+	 */
+	public MutableVector2f rotate90AnticlockWise() {
+		return this.set(-this.y, this.x);
+	}
+	
+	/**
+	 * @post Rota el vector 90° en sentido horario y lo devuelve
+	 */
+	public MutableVector2f rotate90ClockWise() {
+		return this.set(this.y, -this.x);
+	}
+	
+	/**
+	 * @post Devuelve la longitud elevada al cuadrado
+	 */
+	public float lengthSquared() {
+		return this.x * this.x + this.y * this.y;
+	}
+	
+	/**
+	 * @post Devuelve la longitud
+	 */
+	public float length() {
+		return (float) Math.sqrt( this.lengthSquared() );
+	}
+	
+	/**
+	 * @post Normaliza el vector y lo devuelve
+	 */
+	public MutableVector2f normalise() {
+		return this.normalise(this);
+	}
+	
+	/**
+	 * @post Almacena el vector normalizado en el destino y lo devuelve
+	 */
+	public MutableVector2f normalise(MutableVector2f destination) {
+		return this.scale( 1.0f / (float) Math.sqrt( this.lengthSquared()), destination );
+	}
+	
+	/**
+	 * @post Devuelve el vector inmutable equivalente
+	 */
+	public Vector2f toVector2f() {
+		return new Vector2f(this.x, this.y);
+	}
+	
+	/**
+	 * @post Almacena el vector en la posición actual del buffer especificado
+	 */
+	public void store(ByteBuffer byteBuffer) {
+		byteBuffer.putFloat(this.x);
+		byteBuffer.putFloat(this.y);
+	}
+	
+	/**
+	 * @post Almacena el vector en la posición actual del buffer especificado
+	 */
+	public void store(FloatBuffer floatBuffer) {
+		floatBuffer.put(this.x);
+		floatBuffer.put(this.y);
+	}
+	
+	/**
+	 * @post Devuelve un representación en cadena de carácteres
+	 */
+	@Override
+	public String toString() {
+		return "(" + this.x + ", " + this.y + ")";
+	}
+}
@@ -0,0 +1,314 @@
+/**
+ * Copyright (c) 2017 Ariel Favio Carrizo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'esferixis' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.esferixis.math;
+
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+
+/**
+ * Vector tridimensional mutable, compañero de Vector3f.
+ * 
+ * Las operaciones sin destino modifican el vector y lo devuelven,
+ * las operaciones con destino escriben el resultado en el destino
+ * especificado (Que puede ser el mismo vector) y lo devuelven.
+ * Ninguna operación crea objetos temporales
+ * 
+ * @author Ariel Favio Carrizo
+ *
+ */
+public final class MutableVector3f implements Serializable {
+	private static final long serialVersionUID = 3906129648017336962L;
+	
+	private float x, y, z;
+	
+	/**
+	 * @post Crea un vector nulo
+	 */
+	public MutableVector3f() {
+		this(0.0f, 0.0f, 0.0f);
+	}
+	
+	/**
+	 * @post Crea un vector con los valores de componente especificados
+	 */
+	public MutableVector3f(float x, float y, float z) {
+		this.x = x;
+		this.y = y;
+		this.z = z;
+	}
+	
+	/**
+	 * @pre El vector no puede ser nulo
+	 * @post Crea un vector con las componentes del vector especificado
+	 */
+	public MutableVector3f(Vector3f vector) {
+		this(vector.getX(), vector.getY(), vector.getZ());
+	}
+	
+	/**
+	 * @post Devuelve la primer componente
+	 */
+	public float getX() {
+		return this.x;
+	}
+	
+	/**
+	 * @post Devuelve la segunda componente
+	 */
+	public float getY() {
+		return this.y;
+	}
+	
+	/**
+	 * @post Devuelve la tercer componente
+	 */
+	public float getZ() {
+		return this.z;
+	}
+	
+	/**
+	 * @post Especifica la primer componente
+	 */
+	public void setX(float x) {
+		this.x = x;
+	}
+	
+	/**
+	 * @post Especifica la segunda componente
+	 */
+	public void setY(float y) {
+		this.y = y;
+	}
+	
+	/**
+	 * @post Especifica la tercer componente
+	 */
+	public void setZ(float z) {
+		this.z = z;
+	}
+	
+	/**
+	 * @post Especifica las componentes y devuelve el vector
+	 */
+	public MutableVector3f set(float x, float y, float z) {
+		this.x = x;
+		this.y = y;
+		this.z = z;
+		return this;
+	}
+	
+	/**
+	 * @pre El vector no puede ser nulo
+	 * @post Copia las componentes del vector especificado y devuelve el vector
+	 */
+	public MutableVector3f set(Vector3f vector) {
+		return this.set(vector.getX(), vector.getY(), vector.getZ());
+	}
+	
+	/**
+	 * @pre El vector no puede ser nulo
+	 * @post Copia las componentes del vector especificado y devuelve el vector
+	 */
+	public MutableVector3f set(MutableVector3f vector) {
+		return this.set(vector.x, vector.y, vector.z);
+	}
+	
+	/**
+	 * @post Cambia el sentido del vector y lo devuelve
+	 */
+	public MutableVector3f opposite() {
+		return this.opposite(this);
+	}
+	
+	/**
+	 * @post Almacena el vector con sentido opuesto en el destino y lo devuelve
+	 */
+	public MutableVector3f opposite(MutableVector3f destination) {
+		return destination.set(-this.x, -this.y, -this.z);
+	}
+	
+	/**
+	 * @post Suma el vector especificado y devuelve el vector
+	 */
+	public MutableVector3f add(MutableVector3f other) {
+		return this.add(other, this);
+	}
+	
+	/**
+	 * @post Suma el vector especificado y devuelve el vector
+	 */
+	public MutableVector3f add(Vector3f other) {
+		return this.set(this.x + other.getX(), this.y + other.getY(), this.z + other.getZ());
+	}
+	
+	/**
+	 * @post Almacena la suma con el vector especificado en el destino y lo devuelve
+	 */
+	public MutableVector3f add(MutableVector3f other, MutableVector3f destination) {
+		return destination.set(this.x + other.x, this.y + other.y, this.z + other.z);
+	}
+	
+	/**
+	 * @post Resta el vector especificado y devuelve el vector
+	 */
+	public MutableVector3f sub(MutableVector3f other) {
+		return this.sub(other, this);
+	}
+	
+	/**
+	 * @post Resta el vector especificado y devuelve el vector
+	 */
+	public MutableVector3f sub(Vector3f other) {
+		return this.set(this.x - other.getX(), this.y - other.getY(), this.z - other.getZ());
+	}
+	
+	/**
+	 * @post Almacena la resta con el vector especificado en el destino y lo devuelve
+	 */
+	public MutableVector3f sub(MutableVector3f other, MutableVector3f destination) {
+		return destination.set(this.x - other.x, this.y - other.y, this.z - other.z);
+	}
+	
+	/**
+	 * @post Multiplica el vector por el escalar especificado y lo devuelve
+	 */
+	public MutableVector3f scale(float b) {
+		return this.scale(b, this);
+	}
+	
+	/**
+	 * @post Almacena el producto con el escalar especificado en el destino y lo devuelve
+	 */
+	public MutableVector3f scale(float b, MutableVector3f destination) {
+		return destination.set(this.x * b, this.y * b, this.z * b);
+	}
+	
+	/**
+	 * @post Suma el vector especificado multiplicado por el escalar especificado
+	 * 		 y devuelve el vector
+	 */
+	public MutableVector3f addScaled(MutableVector3f other, float b) {
+		return this.set(this.x + other.x * b, this.y + other.y * b, this.z + other.z * b);
+	}
+	
+	/**
+	 * @post Devuelve el producto escalar con el otro vector
+	 */
+	public float dot(MutableVector3f other) {
+		return this.x * other.x + this.y * other.y + this.z * other.z;
+	}
+	
+	/**
+	 * @post Devuelve el producto escalar con el otro vector
+	 */
+	public float dot(Vector3f other) {
+		return this.x * other.getX() + this.y * other.getY() + this.z * other.getZ();
+	}
+	
+	/**
+	 * @post Reemplaza el vector por el producto vectorial con el otro vector
+	 * 		 y lo devuelve
+	 */
+	public MutableVector3f cross(MutableVector3f other) {
+		return this.cross(other, this);
+	}
+	
+	/**
+	 * @post Almacena el producto vectorial con el otro vector en el destino
+	 * 		 y lo devuelve
+	 */
+	public MutableVector3f cross(MutableVector3f other, MutableVector3f destination) {
+		return destination.set(this.y * other.z - other.y * this.z, other.x * this.z - this.x * other.z, this.x * other.y - other.x * this.y);
+	}
+	
+	/**
+	 * @post Devuelve la longitud elevada al cuadrado
+	 */
+	public float lengthSquared() {
+		return this.x * this.x + this.y * this.y + this.z * this.z;
+	}
+	
+	/**
+	 * @post Devuelve la longitud
+	 */
+	public float length() {
+		return (float) Math.sqrt( this.lengthSquared() );
+	}
+	
+	/**
+	 * @post Normaliza el vector y lo devuelve
+	 */
+	public MutableVector3f normalise() {
+		return this.normalise(this);
+	}
+	
+	/**
+	 * @post Almacena el vector normalizado en el destino y lo devuelve
+	 */
+	public MutableVector3f normalise(MutableVector3f destination) {
+		return this.scale( 1.0f / (float) Math.sqrt( this.lengthSquared()), destination );
+	}
+	
+	/**
+	 * @post Devuelve el vector inmutable equivalente
+	 */
+	public Vector3f toVector3f() {
+		return new Vector3f(this.x, this.y, this.z);
+	}
+	
+	/**
+	 * @post Almacena el vector en la posición actual del buffer especificado
+	 */
+	public void store(ByteBuffer byteBuffer) {
+		byteBuffer.putFloat(this.x);
+		byteBuffer.putFloat(this.y);
+		byteBuffer.putFloat(this.z);
+	}
+	
+	/**
+	 * @post Almacena el vector en la posición actual del buffer especificado
+	 */
+	public void store(FloatBuffer floatBuffer) {
+		floatBuffer.put(this.x);
+		floatBuffer.put(this.y);
+		floatBuffer.put(this.z);
+	}
+	
+	/**
+	 * @post Devuelve un representación en cadena de carácteres
+	 */
+	@Override
+	public String toString() {
+		return "(" + this.x + ", " + this.y + ", " + this.z + ")";
+	}
+}
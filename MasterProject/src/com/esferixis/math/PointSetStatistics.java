@@ -0,0 +1,417 @@
+/**
+ * Copyright (c) 2017 Ariel Favio Carrizo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'esferixis' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.esferixis.math;
+
+import java.io.Serializable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Estadísticas de un conjunto de puntos tridimensionales: Cantidad, centroide,
+ * caja contenedora alineada con los ejes y matriz de covarianza.
+ * 
+ * Se calculan en una sola pasada sobre un Vector3fArray. El rango se divide
+ * en bloques de tamaño fijo que se acumulan en precisión doble, y los
+ * resultados parciales se combinan en un árbol binario cuya forma sólo
+ * depende de la longitud del rango.
+ * Por eso el resultado secuencial y el paralelo son idénticos bit a bit,
+ * independientemente de la cantidad de hilos.
+ * 
+ * @author Ariel Favio Carrizo
+ *
+ */
+public final class PointSetStatistics implements Serializable {
+	private static final long serialVersionUID = -6021546281703374429L;
+	
+	/**
+	 * Cantidad de puntos de cada bloque que se acumula secuencialmente
+	 */
+	private static final int BLOCK_SIZE = 4096;
+	
+	private final int count;
+	private final Vector3f centroid;
+	private final Vector3f min, max;
+	private final Matrix3f covariance;
+	
+	/**
+	 * @post Crea las estadísticas con la acumulación especificada
+	 */
+	private PointSetStatistics(Accumulation accumulation) {
+		this.count = accumulation.count;
+		
+		if ( this.count != 0 ) {
+			this.centroid = new Vector3f( (float) accumulation.meanX, (float) accumulation.meanY, (float) accumulation.meanZ);
+			this.min = new Vector3f(accumulation.minX, accumulation.minY, accumulation.minZ);
+			this.max = new Vector3f(accumulation.maxX, accumulation.maxY, accumulation.maxZ);
+			
+			final double n = accumulation.count;
+			final float xx = (float) ( accumulation.cXX / n ), xy = (float) ( accumulation.cXY / n ), xz = (float) ( accumulation.cXZ / n );
+			final float yy = (float) ( accumulation.cYY / n ), yz = (float) ( accumulation.cYZ / n ), zz = (float) ( accumulation.cZZ / n );
+			
+			this.covariance = new Matrix3f( new float[][]{
+				new float[]{ xx, xy, xz },
+				new float[]{ xy, yy, yz },
+				new float[]{ xz, yz, zz }
+			});
+		}
+		else {
+			this.centroid = null;
+			this.min = null;
+			this.max = null;
+			this.covariance = null;
+		}
+	}
+	
+	/**
+	 * @pre Los puntos no pueden ser nulos
+	 * @post Calcula las estadísticas de los puntos en el rango especificado
+	 */
+	public static PointSetStatistics compute(Vector3fArray points, int start, int length) {
+		checkRange(points, start, length);
+		
+		return new PointSetStatistics( accumulate(points, start, length) );
+	}
+	
+	/**
+	 * @pre Los puntos no pueden ser nulos
+	 * @post Calcula las estadísticas de todos los puntos
+	 */
+	public static PointSetStatistics compute(Vector3fArray points) {
+		if ( points != null ) {
+			return compute(points, 0, points.size());
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @pre Ni los puntos ni el pool pueden ser nulos
+	 * @post Calcula las estadísticas de los puntos en el rango especificado, en paralelo
+	 * 		 con el pool especificado.
+	 * 		 El resultado es idéntico al de compute
+	 */
+	public static PointSetStatistics computeParallel(Vector3fArray points, int start, int length, ForkJoinPool pool) {
+		checkRange(points, start, length);
+		
+		if ( pool != null ) {
+			return new PointSetStatistics( pool.invoke(new AccumulationTask(points, start, length)) );
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @pre Ni los puntos ni el pool pueden ser nulos
+	 * @post Calcula las estadísticas de todos los puntos, en paralelo
+	 * 		 con el pool especificado.
+	 * 		 El resultado es idéntico al de compute
+	 */
+	public static PointSetStatistics computeParallel(Vector3fArray points, ForkJoinPool pool) {
+		if ( points != null ) {
+			return computeParallel(points, 0, points.size(), pool);
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @post Devuelve la cantidad de puntos
+	 */
+	public int getCount() {
+		return this.count;
+	}
+	
+	/**
+	 * @pre Tiene que haber al menos un punto
+	 * @post Devuelve el centroide
+	 */
+	public Vector3f getCentroid() {
+		this.checkNonEmpty();
+		return this.centroid;
+	}
+	
+	/**
+	 * @pre Tiene que haber al menos un punto
+	 * @post Devuelve la esquina mínima de la caja contenedora
+	 */
+	public Vector3f getMin() {
+		this.checkNonEmpty();
+		return this.min;
+	}
+	
+	/**
+	 * @pre Tiene que haber al menos un punto
+	 * @post Devuelve la esquina máxima de la caja contenedora
+	 */
+	public Vector3f getMax() {
+		this.checkNonEmpty();
+		return this.max;
+	}
+	
+	/**
+	 * @pre Tiene que haber al menos un punto
+	 * @post Devuelve la matriz de covarianza (Poblacional), que es simétrica
+	 */
+	public Matrix3f getCovariance() {
+		this.checkNonEmpty();
+		return this.covariance;
+	}
+	
+	/**
+	 * @post Verifica que haya al menos un punto
+	 */
+	private void checkNonEmpty() {
+		if ( this.count == 0 ) {
+			throw new IllegalStateException("Empty point set");
+		}
+	}
+	
+	/**
+	 * @post Devuelve un representación en cadena de carácteres
+	 */
+	@Override
+	public String toString() {
+		return "PointSetStatistics( count: " + this.count + ", centroid: " + this.centroid + ", min: " + this.min + ", max: " + this.max + ", covariance: " + this.covariance + " )";
+	}
+	
+	/**
+	 * @post Verifica que el rango especificado sea válido para los puntos especificados
+	 */
+	private static void checkRange(Vector3fArray points, int start, int length) {
+		if ( points != null ) {
+			if ( ( start < 0 ) || ( length < 0 ) || ( start + length > points.size() ) ) {
+				throw new IndexOutOfBoundsException("Invalid range");
+			}
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @post Acumula secuencialmente los puntos en el rango especificado,
+	 * 		 con el mismo árbol de combinación que la versión paralela
+	 */
+	private static Accumulation accumulate(Vector3fArray points, int start, int length) {
+		if ( length <= BLOCK_SIZE ) {
+			return Accumulation.ofBlock(points, start, length);
+		}
+		else {
+			final int half = splitPoint(length);
+			return Accumulation.combine(accumulate(points, start, half), accumulate(points, start + half, length - half));
+		}
+	}
+	
+	/**
+	 * @post Devuelve la longitud de la primer mitad de un rango de la longitud
+	 * 		 especificada, alineada a bloques
+	 */
+	private static int splitPoint(int length) {
+		final int blocks = ( length + BLOCK_SIZE - 1 ) / BLOCK_SIZE;
+		return ( blocks / 2 ) * BLOCK_SIZE;
+	}
+	
+	/**
+	 * Tarea de acumulación paralela
+	 */
+	private static final class AccumulationTask extends RecursiveTask<Accumulation> {
+		private static final long serialVersionUID = 4311716185418419035L;
+		
+		private final Vector3fArray points;
+		private final int start, length;
+		
+		/**
+		 * @post Crea la tarea con los puntos y el rango especificados
+		 */
+		public AccumulationTask(Vector3fArray points, int start, int length) {
+			this.points = points;
+			this.start = start;
+			this.length = length;
+		}
+		
+		/* (non-Javadoc)
+		 * @see java.util.concurrent.RecursiveTask#compute()
+		 */
+		@Override
+		protected Accumulation compute() {
+			if ( this.length <= BLOCK_SIZE ) {
+				return Accumulation.ofBlock(this.points, this.start, this.length);
+			}
+			else {
+				final int half = splitPoint(this.length);
+				
+				final AccumulationTask first = new AccumulationTask(this.points, this.start, half);
+				final AccumulationTask second = new AccumulationTask(this.points, this.start + half, this.length - half);
+				
+				first.fork();
+				final Accumulation secondAccumulation = second.compute();
+				
+				return Accumulation.combine(first.join(), secondAccumulation);
+			}
+		}
+	}
+	
+	/**
+	 * Acumulación parcial: Cantidad, media y co-momentos centrados
+	 * (Suma de productos de desvíos) en precisión doble, y extremos
+	 */
+	private static final class Accumulation {
+		private int count;
+		private double meanX, meanY, meanZ;
+		private double cXX, cXY, cXZ, cYY, cYZ, cZZ;
+		private float minX, minY, minZ;
+		private float maxX, maxY, maxZ;
+		
+		/**
+		 * @post Crea una acumulación vacía
+		 */
+		private Accumulation() {
+			this.minX = this.minY = this.minZ = Float.POSITIVE_INFINITY;
+			this.maxX = this.maxY = this.maxZ = Float.NEGATIVE_INFINITY;
+		}
+		
+		/**
+		 * @post Acumula secuencialmente el bloque especificado, con el algoritmo de Welford
+		 */
+		public static Accumulation ofBlock(Vector3fArray points, int start, int length) {
+			final float[] x = points.xComponents(), y = points.yComponents(), z = points.zComponents();
+			
+			final Accumulation accumulation = new Accumulation();
+			
+			double meanX = 0.0d, meanY = 0.0d, meanZ = 0.0d;
+			double cXX = 0.0d, cXY = 0.0d, cXZ = 0.0d, cYY = 0.0d, cYZ = 0.0d, cZZ = 0.0d;
+			float minX = accumulation.minX, minY = accumulation.minY, minZ = accumulation.minZ;
+			float maxX = accumulation.maxX, maxY = accumulation.maxY, maxZ = accumulation.maxZ;
+			
+			final int end = start + length;
+			for ( int i = start ; i < end ; i++ ) {
+				final double n = i - start + 1;
+				
+				final double dx = x[i] - meanX, dy = y[i] - meanY, dz = z[i] - meanZ;
+				meanX += dx / n;
+				meanY += dy / n;
+				meanZ += dz / n;
+				
+				final double ex = x[i] - meanX, ey = y[i] - meanY, ez = z[i] - meanZ;
+				cXX += dx * ex;
+				cXY += dx * ey;
+				cXZ += dx * ez;
+				cYY += dy * ey;
+				cYZ += dy * ez;
+				cZZ += dz * ez;
+				
+				if ( x[i] < minX ) {
+					minX = x[i];
+				}
+				if ( y[i] < minY ) {
+					minY = y[i];
+				}
+				if ( z[i] < minZ ) {
+					minZ = z[i];
+				}
+				if ( x[i] > maxX ) {
+					maxX = x[i];
+				}
+				if ( y[i] > maxY ) {
+					maxY = y[i];
+				}
+				if ( z[i] > maxZ ) {
+					maxZ = z[i];
+				}
+			}
+			
+			accumulation.count = length;
+			accumulation.meanX = meanX;
+			accumulation.meanY = meanY;
+			accumulation.meanZ = meanZ;
+			accumulation.cXX = cXX;
+			accumulation.cXY = cXY;
+			accumulation.cXZ = cXZ;
+			accumulation.cYY = cYY;
+			accumulation.cYZ = cYZ;
+			accumulation.cZZ = cZZ;
+			accumulation.minX = minX;
+			accumulation.minY = minY;
+			accumulation.minZ = minZ;
+			accumulation.maxX = maxX;
+			accumulation.maxY = maxY;
+			accumulation.maxZ = maxZ;
+			
+			return accumulation;
+		}
+		
+		/**
+		 * @post Combina las dos acumulaciones especificadas (Chan et al.)
+		 */
+		public static Accumulation combine(Accumulation a, Accumulation b) {
+			if ( a.count == 0 ) {
+				return b;
+			}
+			else if ( b.count == 0 ) {
+				return a;
+			}
+			else {
+				final Accumulation result = new Accumulation();
+				
+				final double n = (double) a.count + (double) b.count;
+				final double bWeight = b.count / n;
+				final double productWeight = ( (double) a.count * (double) b.count ) / n;
+				
+				final double dx = b.meanX - a.meanX, dy = b.meanY - a.meanY, dz = b.meanZ - a.meanZ;
+				
+				result.count = a.count + b.count;
+				result.meanX = a.meanX + dx * bWeight;
+				result.meanY = a.meanY + dy * bWeight;
+				result.meanZ = a.meanZ + dz * bWeight;
+				
+				result.cXX = a.cXX + b.cXX + dx * dx * productWeight;
+				result.cXY = a.cXY + b.cXY + dx * dy * productWeight;
+				result.cXZ = a.cXZ + b.cXZ + dx * dz * productWeight;
+				result.cYY = a.cYY + b.cYY + dy * dy * productWeight;
+				result.cYZ = a.cYZ + b.cYZ + dy * dz * productWeight;
+				result.cZZ = a.cZZ + b.cZZ + dz * dz * productWeight;
+				
+				result.minX = Math.min(a.minX, b.minX);
+				result.minY = Math.min(a.minY, b.minY);
+				result.minZ = Math.min(a.minZ, b.minZ);
+				result.maxX = Math.max(a.maxX, b.maxX);
+				result.maxY = Math.max(a.maxY, b.maxY);
+				result.maxZ = Math.max(a.maxZ, b.maxZ);
+				
+				return result;
+			}
+		}
+	}
+}
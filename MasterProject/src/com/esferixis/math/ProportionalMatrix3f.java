@@ -31,13 +31,6 @@
  */
 package com.esferixis.math;
 
-import java.util.List;
-
-import com.esferixis.misc.strings.parser.ConstantFunctionParser;
-import com.esferixis.misc.strings.parser.ExpressionParser;
-import com.esferixis.misc.strings.parser.ParametrizedFunctionParser;
-import com.esferixis.misc.strings.parser.ParseException;
-
 /**
  * Matriz de transformación proporcional
  * 
@@ -47,58 +40,13 @@ import com.esferixis.misc.strings.parser.ParseException;
 public class ProportionalMatrix3f extends Matrix3f {
 	private static final long serialVersionUID = -6747037748255322311L;
 
-	private static final ExpressionParser<ProportionalMatrix3f> PARSER = new ExpressionParser<ProportionalMatrix3f>(
-		new ConstantFunctionParser<ProportionalMatrix3f>("IDENTITY", Matrix3f.IDENTITY),
-		new ConstantFunctionParser<ProportionalMatrix3f>("ZERO", Matrix3f.ZERO),
-		new ParametrizedFunctionParser<Matrix3f>("mul") {
-
-			@Override
-			public ProportionalMatrix3f parse(List<String> parameters) throws ParseException {
-				ExpressionParser.checkParametersQuantity(parameters, 2);
-				return ProportionalMatrix3f.parse(parameters.get(0)).mul(ProportionalMatrix3f.parse(parameters.get(1)));
-			}
-			
-		},
-		new ParametrizedFunctionParser<ProportionalMatrix3f>("translate") {
-
-			@Override
-			public ProportionalMatrix3f parse(List<String> parameters) throws ParseException {
-				ExpressionParser.checkParametersQuantity(parameters, 2);
-				return ProportionalMatrix3f.parse(parameters.get(0)).translate(Vector2f.parse(parameters.get(1)));
-			}
-			
-		},
-		new ParametrizedFunctionParser<ProportionalMatrix3f>("rotate") {
-
-			@Override
-			public ProportionalMatrix3f parse(List<String> parameters) throws ParseException {
-				ExpressionParser.checkParametersQuantity(parameters, 2);
-				return ProportionalMatrix3f.parse(parameters.get(0)).rotate(Float.parseFloat(parameters.get(1)));
-			}
-			
-		},
-		new ParametrizedFunctionParser<ProportionalMatrix3f>("scale") {
-
-			@Override
-			public ProportionalMatrix3f parse(List<String> parameters) throws ParseException {
-				ExpressionParser.checkParametersQuantity(parameters, 2);
-				return ProportionalMatrix3f.parse(parameters.get(0)).scale(Float.parseFloat(parameters.get(1)));
-			}
-			
-		},
-		new ParametrizedFunctionParser<ProportionalMatrix3f>("invert") {
-
-			@Override
-			public ProportionalMatrix3f parse(List<String> parameters) throws ParseException {
-				ExpressionParser.checkParametersQuantity(parameters, 1);
-				return ProportionalMatrix3f.parse(parameters.get(0)).invert();
-			}
-			
-		}
-	);
-	
+	/**
+	 * @pre La cadena no puede ser nula, y no puede tener variables
+	 * @post Parsea la expresión especificada.
+	 * 		 Las expresiones compiladas se guardan en caché (Ver Matrix3fExpression)
+	 */
 	public static ProportionalMatrix3f parse(String string) {
-		return PARSER.parse(string, ProportionalMatrix3f.class);
+		return Matrix3fExpression.compileProportional(string).evaluate();
 	}
 	
 	/**
@@ -112,14 +60,21 @@ public class ProportionalMatrix3f extends Matrix3f {
 	 * @param source
 	 */
 	ProportionalMatrix3f(Matrix3f source) {
-		this(source.m);
+		super(source.m);
+	}
+	
+	/**
+	 * @param m
+	 */
+	ProportionalMatrix3f(float[] m) {
+		super(m);
 	}
 
 	/**
 	 * @post Devuelve la transformación del escalar especificado
 	 */
 	public float transformScalar(float scalar) {
-		return (float) Math.sqrt( this.m[0][0] * this.m[0][0] + this.m[0][1] * this.m[0][1] ) * scalar;
+		return (float) Math.sqrt( this.m[0] * this.m[0] + this.m[1] * this.m[1] ) * scalar;
 	}
 	
 	/**
@@ -51,14 +51,42 @@ public final class ProportionalMatrix4f extends Matrix4f {
 	 * @param source
 	 */
 	ProportionalMatrix4f(Matrix4f source) {
-		this(source.m);
+		super(source.m);
+	}
+	
+	/**
+	 * @param m
+	 */
+	ProportionalMatrix4f(float[] m) {
+		super(m);
 	}
 
+	/**
+	 * @pre Ninguno de los parámetros puede ser nulo, y el cuaternión tiene que ser unitario
+	 * @post Crea la matriz que escala uniformemente, rota y translada (En ese orden)
+	 * 		 con los parámetros especificados
+	 */
+	public static ProportionalMatrix4f fromTRS(Vector3f translation, Quaternionf rotation, float scale) {
+		final float[] result = new float[16];
+		Matrix4fKernels.trs(translation.getX(), translation.getY(), translation.getZ(),
+				rotation.getX(), rotation.getY(), rotation.getZ(), rotation.getW(),
+				scale, scale, scale, result, 0);
+		return new ProportionalMatrix4f(result);
+	}
+	
 	/**
 	 * @post Devuelve la transformación del escalar especificado
 	 */
 	public float transformScalar(float scalar) {
-		return this.m[0][0] * scalar + this.m[0][1] * scalar + this.m[0][2] * scalar;
+		return (float) Math.sqrt( this.m[0] * this.m[0] + this.m[1] * this.m[1] + this.m[2] * this.m[2] ) * scalar;
+	}
+	
+	/**
+	 * @pre La matriz tiene que ser no singular
+	 * @post Devuelve la representación compacta de la transformación
+	 */
+	public SimilarityTransform toSimilarityTransform() {
+		return SimilarityTransform.fromMatrix(this);
 	}
 	
 	/**
@@ -84,6 +112,14 @@ public final class ProportionalMatrix4f extends Matrix4f {
 		return new ProportionalMatrix4f(super.rotate(angle, unitAxis));
 	}
 	
+	/**
+	 * @post Devuelve la matriz rotada con el cuaternión especificado
+	 */
+	@Override
+	public ProportionalMatrix4f rotate(Quaternionf rotation) {
+		return new ProportionalMatrix4f(super.rotate(rotation));
+	}
+	
 	/**
 	 * @post Devuelve la matriz multiplicada con el escalar especificado
 	 */
@@ -99,4 +135,12 @@ public final class ProportionalMatrix4f extends Matrix4f {
 	public ProportionalMatrix4f invert() {
 		return new ProportionalMatrix4f(super.invert());
 	}
+	
+	/**
+	 * @post Devuelve la transpuesta de la inversa de la parte lineal
+	 */
+	@Override
+	public ProportionalMatrix4f inverseTranspose() {
+		return new ProportionalMatrix4f(super.inverseTranspose());
+	}
 }
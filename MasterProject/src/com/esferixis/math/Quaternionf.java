@@ -0,0 +1,594 @@
+/**
+ * Copyright (c) 2017 Ariel Favio Carrizo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'esferixis' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.esferixis.math;
+
+import java.io.Serializable;
+
+/**
+ * Cuaternión de precisión simple, pensado para representar rotaciones
+ * en tres dimensiones.
+ * 
+ * Sigue la convención de la regla de la mano derecha (Sentido antihorario
+ * mirando desde la punta del eje hacia el origen), al igual que Matrix3f.rotate.
+ * 
+ * Las operaciones en lote trabajan sobre arrays de vectores de 4 dimensiones,
+ * con las componentes (x, y, z, w)
+ * 
+ * @author Ariel Favio Carrizo
+ *
+ */
+public final class Quaternionf implements Serializable {
+	private static final long serialVersionUID = 2389563061418497205L;
+	
+	/**
+	 * Umbral del coseno a partir del cual slerp se aproxima con nlerp,
+	 * para evitar la división por un seno muy chico
+	 */
+	private static final float SLERP_THRESHOLD = 0.9995f;
+	
+	private final float x, y, z, w;
+	
+	// Cuaternión identidad
+	public static final Quaternionf IDENTITY = new Quaternionf(0.0f, 0.0f, 0.0f, 1.0f);
+	
+	/**
+	 * @post Crea un cuaternión con las componentes especificadas
+	 */
+	public Quaternionf(float x, float y, float z, float w) {
+		this.x = x;
+		this.y = y;
+		this.z = z;
+		this.w = w;
+	}
+	
+	/**
+	 * @pre El vector no puede ser nulo
+	 * @post Crea un cuaternión con las componentes (x, y, z, w) del vector especificado
+	 */
+	public Quaternionf(Vector4f vector) {
+		this(vector.getX(), vector.getY(), vector.getZ(), vector.getW());
+	}
+	
+	/**
+	 * @pre El eje no puede ser nulo y tiene que ser unitario
+	 * @post Crea el cuaternión unitario que representa la rotación con el ángulo
+	 * 		 y el eje especificados
+	 */
+	public static Quaternionf rotation(float angle, Vector3f unitAxis) {
+		if ( unitAxis != null ) {
+			final float halfAngle = angle * 0.5f;
+			final float sin = (float) Math.sin(halfAngle);
+			
+			return new Quaternionf(unitAxis.getX() * sin, unitAxis.getY() * sin, unitAxis.getZ() * sin, (float) Math.cos(halfAngle));
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @pre La matriz no puede ser nula, y la submatriz de 3x3 superior izquierda
+	 * 		tiene que ser una rotación
+	 * @post Crea el cuaternión unitario que representa la rotación de la matriz especificada
+	 */
+	public static Quaternionf fromRotationMatrix(Matrix4f matrix) {
+		if ( matrix != null ) {
+			return fromRotationMatrix(
+					matrix.get(0, 0), matrix.get(1, 0), matrix.get(2, 0),
+					matrix.get(0, 1), matrix.get(1, 1), matrix.get(2, 1),
+					matrix.get(0, 2), matrix.get(1, 2), matrix.get(2, 2)
+			);
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @pre La matriz no puede ser nula, y tiene que ser una rotación
+	 * @post Crea el cuaternión unitario que representa la rotación de la matriz especificada
+	 */
+	public static Quaternionf fromRotationMatrix(Matrix3f matrix) {
+		if ( matrix != null ) {
+			return fromRotationMatrix(
+					matrix.get(0, 0), matrix.get(1, 0), matrix.get(2, 0),
+					matrix.get(0, 1), matrix.get(1, 1), matrix.get(2, 1),
+					matrix.get(0, 2), matrix.get(1, 2), matrix.get(2, 2)
+			);
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @post Crea el cuaternión unitario a partir de la matriz de rotación
+	 * 		 especificada por filas (rfc es el elemento de la fila f y la columna c).
+	 * 		 Elige la diagonal más grande para evitar la cancelación
+	 */
+	static Quaternionf fromRotationMatrix(float r00, float r01, float r02, float r10, float r11, float r12, float r20, float r21, float r22) {
+		final float[] components = new float[4];
+		fromRotationMatrix(r00, r01, r02, r10, r11, r12, r20, r21, r22, components, 0);
+		return new Quaternionf(components[0], components[1], components[2], components[3]);
+	}
+	
+	/**
+	 * @post Calcula el cuaternión unitario a partir de la matriz de rotación
+	 * 		 especificada por filas (rfc es el elemento de la fila f y la columna c),
+	 * 		 y almacena sus componentes (x, y, z, w) en el array especificado a partir
+	 * 		 del desplazamiento especificado, sin crear objetos intermedios.
+	 * 		 Elige la diagonal más grande para evitar la cancelación
+	 */
+	static void fromRotationMatrix(float r00, float r01, float r02, float r10, float r11, float r12, float r20, float r21, float r22, float[] destination, int offset) {
+		final float trace = r00 + r11 + r22;
+		
+		if ( trace > 0.0f ) {
+			final float s = (float) Math.sqrt(trace + 1.0f) * 2.0f;
+			destination[offset] = (r21 - r12) / s;
+			destination[offset + 1] = (r02 - r20) / s;
+			destination[offset + 2] = (r10 - r01) / s;
+			destination[offset + 3] = 0.25f * s;
+		}
+		else if ( ( r00 > r11 ) && ( r00 > r22 ) ) {
+			final float s = (float) Math.sqrt(1.0f + r00 - r11 - r22) * 2.0f;
+			destination[offset] = 0.25f * s;
+			destination[offset + 1] = (r01 + r10) / s;
+			destination[offset + 2] = (r02 + r20) / s;
+			destination[offset + 3] = (r21 - r12) / s;
+		}
+		else if ( r11 > r22 ) {
+			final float s = (float) Math.sqrt(1.0f + r11 - r00 - r22) * 2.0f;
+			destination[offset] = (r01 + r10) / s;
+			destination[offset + 1] = 0.25f * s;
+			destination[offset + 2] = (r12 + r21) / s;
+			destination[offset + 3] = (r02 - r20) / s;
+		}
+		else {
+			final float s = (float) Math.sqrt(1.0f + r22 - r00 - r11) * 2.0f;
+			destination[offset] = (r02 + r20) / s;
+			destination[offset + 1] = (r12 + r21) / s;
+			destination[offset + 2] = 0.25f * s;
+			destination[offset + 3] = (r10 - r01) / s;
+		}
+	}
+	
+	/**
+	 * @post Devuelve la componente x
+	 */
+	public float getX() {
+		return this.x;
+	}
+	
+	/**
+	 * @post Devuelve la componente y
+	 */
+	public float getY() {
+		return this.y;
+	}
+	
+	/**
+	 * @post Devuelve la componente z
+	 */
+	public float getZ() {
+		return this.z;
+	}
+	
+	/**
+	 * @post Devuelve la componente w (Parte real)
+	 */
+	public float getW() {
+		return this.w;
+	}
+	
+	/**
+	 * @pre El cuaternión especificado no puede ser nulo
+	 * @post Devuelve el producto de Hamilton con el cuaternión especificado.
+	 * 		 Como rotación, equivale a aplicar primero el cuaternión especificado
+	 * 		 y después éste
+	 */
+	public Quaternionf mul(Quaternionf other) {
+		return new Quaternionf(
+				this.w * other.x + this.x * other.w + this.y * other.z - this.z * other.y,
+				this.w * other.y - this.x * other.z + this.y * other.w + this.z * other.x,
+				this.w * other.z + this.x * other.y - this.y * other.x + this.z * other.w,
+				this.w * other.w - this.x * other.x - this.y * other.y - this.z * other.z
+		);
+	}
+	
+	/**
+	 * @post Devuelve el conjugado
+	 */
+	public Quaternionf conjugate() {
+		return new Quaternionf(-this.x, -this.y, -this.z, this.w);
+	}
+	
+	/**
+	 * @post Devuelve el inverso
+	 */
+	public Quaternionf invert() {
+		final float lengthSquared = this.lengthSquared();
+		
+		if ( lengthSquared != 0.0f ) {
+			final float inverseLengthSquared = 1.0f / lengthSquared;
+			return new Quaternionf(-this.x * inverseLengthSquared, -this.y * inverseLengthSquared, -this.z * inverseLengthSquared, this.w * inverseLengthSquared);
+		}
+		else {
+			throw new ArithmeticException("The inverse doesn't exists");
+		}
+	}
+	
+	/**
+	 * @post Devuelve el producto escalar con el cuaternión especificado
+	 */
+	public float dot(Quaternionf other) {
+		return this.x * other.x + this.y * other.y + this.z * other.z + this.w * other.w;
+	}
+	
+	/**
+	 * @post Devuelve la norma elevada al cuadrado
+	 */
+	public float lengthSquared() {
+		return this.x * this.x + this.y * this.y + this.z * this.z + this.w * this.w;
+	}
+	
+	/**
+	 * @post Devuelve la norma
+	 */
+	public float length() {
+		return (float) Math.sqrt( this.lengthSquared() );
+	}
+	
+	/**
+	 * @post Devuelve el cuaternión normalizado
+	 */
+	public Quaternionf normalise() {
+		final float inverseLength = 1.0f / (float) Math.sqrt( this.lengthSquared() );
+		return new Quaternionf(this.x * inverseLength, this.y * inverseLength, this.z * inverseLength, this.w * inverseLength);
+	}
+	
+	/**
+	 * @pre El cuaternión tiene que ser unitario y el vector no puede ser nulo
+	 * @post Devuelve el vector especificado rotado
+	 */
+	public Vector3f rotate(Vector3f vector) {
+		return this.rotate(vector.getX(), vector.getY(), vector.getZ(), new MutableVector3f()).toVector3f();
+	}
+	
+	/**
+	 * @pre El cuaternión tiene que ser unitario, y ni el vector ni el destino pueden ser nulos
+	 * @post Almacena el vector especificado rotado en el destino y lo devuelve
+	 */
+	public MutableVector3f rotate(Vector3f vector, MutableVector3f destination) {
+		return this.rotate(vector.getX(), vector.getY(), vector.getZ(), destination);
+	}
+	
+	/**
+	 * @pre El cuaternión tiene que ser unitario, y ni el vector ni el destino pueden ser nulos
+	 * @post Almacena el vector especificado rotado en el destino y lo devuelve
+	 */
+	public MutableVector3f rotate(MutableVector3f vector, MutableVector3f destination) {
+		return this.rotate(vector.getX(), vector.getY(), vector.getZ(), destination);
+	}
+	
+	/**
+	 * @post Almacena el vector con las componentes especificadas rotado en el destino y lo devuelve.
+	 * 		 Usa v' = v + w * t + q x t, con t = 2 * (q x v), que evita construir la matriz
+	 */
+	private MutableVector3f rotate(float vx, float vy, float vz, MutableVector3f destination) {
+		final float tx = 2.0f * ( this.y * vz - this.z * vy );
+		final float ty = 2.0f * ( this.z * vx - this.x * vz );
+		final float tz = 2.0f * ( this.x * vy - this.y * vx );
+		
+		return destination.set(
+				vx + this.w * tx + ( this.y * tz - this.z * ty ),
+				vy + this.w * ty + ( this.z * tx - this.x * tz ),
+				vz + this.w * tz + ( this.x * ty - this.y * tx )
+		);
+	}
+	
+	/**
+	 * @pre El cuaternión especificado no puede ser nulo
+	 * @post Devuelve la interpolación lineal normalizada con el cuaternión especificado,
+	 * 		 por el camino más corto
+	 */
+	public Quaternionf nlerp(Quaternionf other, float factor) {
+		final float otherFactor = ( this.dot(other) < 0.0f ) ? -factor : factor;
+		final float thisFactor = 1.0f - factor;
+		
+		return new Quaternionf(
+				this.x * thisFactor + other.x * otherFactor,
+				this.y * thisFactor + other.y * otherFactor,
+				this.z * thisFactor + other.z * otherFactor,
+				this.w * thisFactor + other.w * otherFactor
+		).normalise();
+	}
+	
+	/**
+	 * @pre Ambos cuaterniones tienen que ser unitarios, y el especificado no puede ser nulo
+	 * @post Devuelve la interpolación esférica con el cuaternión especificado,
+	 * 		 por el camino más corto.
+	 * 		 Da exactamente el mismo resultado que la versión en lote
+	 */
+	public Quaternionf slerp(Quaternionf other, float factor) {
+		float cos = this.dot(other);
+		final float sign;
+		
+		if ( cos < 0.0f ) {
+			cos = -cos;
+			sign = -1.0f;
+		}
+		else {
+			sign = 1.0f;
+		}
+		
+		final float thisFactor, otherFactor;
+		if ( cos > SLERP_THRESHOLD ) {
+			thisFactor = 1.0f - factor;
+			otherFactor = factor * sign;
+		}
+		else {
+			final float angle = (float) Math.acos(cos);
+			final float inverseSin = 1.0f / (float) Math.sin(angle);
+			thisFactor = (float) Math.sin( ( 1.0f - factor ) * angle ) * inverseSin;
+			otherFactor = (float) Math.sin( factor * angle ) * inverseSin * sign;
+		}
+		
+		return new Quaternionf(
+				this.x * thisFactor + other.x * otherFactor,
+				this.y * thisFactor + other.y * otherFactor,
+				this.z * thisFactor + other.z * otherFactor,
+				this.w * thisFactor + other.w * otherFactor
+		).normalise();
+	}
+	
+	/**
+	 * @pre Ninguno de los arrays puede ser nulo, y los cuaterniones tienen que ser unitarios
+	 * @post Interpola esféricamente los cuaterniones del primer array con los del segundo,
+	 * 		 en el rango especificado, con el factor especificado, y almacena el resultado en el destino.
+	 * 		 El destino puede ser uno de los arrays de origen
+	 */
+	public static void slerp(Vector4fArray quaternions1, Vector4fArray quaternions2, float factor, Vector4fArray destination, int start, int length) {
+		checkRange(quaternions1, quaternions2, destination, start, length);
+		
+		slerp(quaternions1, quaternions2, null, factor, destination, start, length);
+	}
+	
+	/**
+	 * @pre Ninguno de los arrays puede ser nulo, y los cuaterniones tienen que ser unitarios
+	 * @post Interpola esféricamente los cuaterniones del primer array con los del segundo,
+	 * 		 en el rango especificado, con el factor correspondiente de cada uno, y almacena
+	 * 		 el resultado en el destino.
+	 * 		 El destino puede ser uno de los arrays de origen
+	 */
+	public static void slerp(Vector4fArray quaternions1, Vector4fArray quaternions2, float[] factors, Vector4fArray destination, int start, int length) {
+		checkRange(quaternions1, quaternions2, destination, start, length);
+		checkRange(factors, start, length);
+		
+		slerp(quaternions1, quaternions2, factors, 0.0f, destination, start, length);
+	}
+	
+	/**
+	 * @post Interpola esféricamente los cuaterniones, con los factores especificados,
+	 * 		 o el factor especificado si no hay array de factores
+	 */
+	private static void slerp(Vector4fArray quaternions1, Vector4fArray quaternions2, float[] factors, float uniqueFactor, Vector4fArray destination, int start, int length) {
+		final float[] x1 = quaternions1.xComponents(), y1 = quaternions1.yComponents(), z1 = quaternions1.zComponents(), w1 = quaternions1.wComponents();
+		final float[] x2 = quaternions2.xComponents(), y2 = quaternions2.yComponents(), z2 = quaternions2.zComponents(), w2 = quaternions2.wComponents();
+		final float[] dx = destination.xComponents(), dy = destination.yComponents(), dz = destination.zComponents(), dw = destination.wComponents();
+		
+		final int end = start + length;
+		for ( int i = start ; i < end ; i++ ) {
+			final float factor = ( factors != null ) ? factors[i] : uniqueFactor;
+			
+			float cos = x1[i] * x2[i] + y1[i] * y2[i] + z1[i] * z2[i] + w1[i] * w2[i];
+			final float sign;
+			
+			if ( cos < 0.0f ) {
+				cos = -cos;
+				sign = -1.0f;
+			}
+			else {
+				sign = 1.0f;
+			}
+			
+			final float factor1, factor2;
+			if ( cos > SLERP_THRESHOLD ) {
+				factor1 = 1.0f - factor;
+				factor2 = factor * sign;
+			}
+			else {
+				final float angle = (float) Math.acos(cos);
+				final float inverseSin = 1.0f / (float) Math.sin(angle);
+				factor1 = (float) Math.sin( ( 1.0f - factor ) * angle ) * inverseSin;
+				factor2 = (float) Math.sin( factor * angle ) * inverseSin * sign;
+			}
+			
+			final float x = x1[i] * factor1 + x2[i] * factor2;
+			final float y = y1[i] * factor1 + y2[i] * factor2;
+			final float z = z1[i] * factor1 + z2[i] * factor2;
+			final float w = w1[i] * factor1 + w2[i] * factor2;
+			
+			final float inverseLength = 1.0f / (float) Math.sqrt( x * x + y * y + z * z + w * w );
+			
+			dx[i] = x * inverseLength;
+			dy[i] = y * inverseLength;
+			dz[i] = z * inverseLength;
+			dw[i] = w * inverseLength;
+		}
+	}
+	
+	/**
+	 * @pre Ninguno de los arrays puede ser nulo
+	 * @post Interpola linealmente los cuaterniones del primer array con los del segundo,
+	 * 		 en el rango especificado, con el factor especificado, por el camino más corto,
+	 * 		 normaliza y almacena el resultado en el destino.
+	 * 		 El destino puede ser uno de los arrays de origen
+	 */
+	public static void nlerp(Vector4fArray quaternions1, Vector4fArray quaternions2, float factor, Vector4fArray destination, int start, int length) {
+		checkRange(quaternions1, quaternions2, destination, start, length);
+		
+		final float[] x1 = quaternions1.xComponents(), y1 = quaternions1.yComponents(), z1 = quaternions1.zComponents(), w1 = quaternions1.wComponents();
+		final float[] x2 = quaternions2.xComponents(), y2 = quaternions2.yComponents(), z2 = quaternions2.zComponents(), w2 = quaternions2.wComponents();
+		final float[] dx = destination.xComponents(), dy = destination.yComponents(), dz = destination.zComponents(), dw = destination.wComponents();
+		
+		final float factor1 = 1.0f - factor;
+		
+		final int end = start + length;
+		for ( int i = start ; i < end ; i++ ) {
+			final float factor2 = ( x1[i] * x2[i] + y1[i] * y2[i] + z1[i] * z2[i] + w1[i] * w2[i] < 0.0f ) ? -factor : factor;
+			
+			final float x = x1[i] * factor1 + x2[i] * factor2;
+			final float y = y1[i] * factor1 + y2[i] * factor2;
+			final float z = z1[i] * factor1 + z2[i] * factor2;
+			final float w = w1[i] * factor1 + w2[i] * factor2;
+			
+			final float inverseLength = 1.0f / (float) Math.sqrt( x * x + y * y + z * z + w * w );
+			
+			dx[i] = x * inverseLength;
+			dy[i] = y * inverseLength;
+			dz[i] = z * inverseLength;
+			dw[i] = w * inverseLength;
+		}
+	}
+	
+	/**
+	 * @post Verifica que el rango especificado sea válido para los arrays especificados
+	 */
+	private static void checkRange(Vector4fArray quaternions1, Vector4fArray quaternions2, Vector4fArray destination, int start, int length) {
+		if ( ( quaternions1 != null ) && ( quaternions2 != null ) && ( destination != null ) ) {
+			if ( ( start < 0 ) || ( length < 0 ) || ( start + length > quaternions1.size() ) || ( start + length > quaternions2.size() ) || ( start + length > destination.size() ) ) {
+				throw new IndexOutOfBoundsException("Invalid range");
+			}
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @post Verifica que el rango especificado sea válido para el array
+	 * 		 de escalares especificado
+	 */
+	private static void checkRange(float[] scalars, int start, int length) {
+		if ( scalars != null ) {
+			if ( start + length > scalars.length ) {
+				throw new IndexOutOfBoundsException("Invalid range");
+			}
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @post Devuelve la matriz de rotación de 3x3 correspondiente.
+	 * 		 El cuaternión tiene que ser unitario
+	 */
+	public Matrix3f toMatrix3f() {
+		final float xx = this.x * this.x, yy = this.y * this.y, zz = this.z * this.z;
+		final float xy = this.x * this.y, xz = this.x * this.z, yz = this.y * this.z;
+		final float wx = this.w * this.x, wy = this.w * this.y, wz = this.w * this.z;
+		
+		return new Matrix3f( new float[][]{
+			new float[]{ 1.0f - 2.0f * ( yy + zz ), 2.0f * ( xy + wz ), 2.0f * ( xz - wy ) },
+			new float[]{ 2.0f * ( xy - wz ), 1.0f - 2.0f * ( xx + zz ), 2.0f * ( yz + wx ) },
+			new float[]{ 2.0f * ( xz + wy ), 2.0f * ( yz - wx ), 1.0f - 2.0f * ( xx + yy ) }
+		});
+	}
+	
+	/**
+	 * @post Devuelve la matriz de rotación de 4x4 correspondiente.
+	 * 		 El cuaternión tiene que ser unitario
+	 */
+	public Matrix4f toMatrix4f() {
+		final float xx = this.x * this.x, yy = this.y * this.y, zz = this.z * this.z;
+		final float xy = this.x * this.y, xz = this.x * this.z, yz = this.y * this.z;
+		final float wx = this.w * this.x, wy = this.w * this.y, wz = this.w * this.z;
+		
+		return new Matrix4f( new float[][]{
+			new float[]{ 1.0f - 2.0f * ( yy + zz ), 2.0f * ( xy + wz ), 2.0f * ( xz - wy ), 0.0f },
+			new float[]{ 2.0f * ( xy - wz ), 1.0f - 2.0f * ( xx + zz ), 2.0f * ( yz + wx ), 0.0f },
+			new float[]{ 2.0f * ( xz + wy ), 2.0f * ( yz - wx ), 1.0f - 2.0f * ( xx + yy ), 0.0f },
+			new float[]{ 0.0f, 0.0f, 0.0f, 1.0f }
+		});
+	}
+	
+	/**
+	 * @post Devuelve las componentes (x, y, z, w) en un vector
+	 */
+	public Vector4f toVector4f() {
+		return new Vector4f(this.x, this.y, this.z, this.w);
+	}
+	
+	/**
+	 * @post Devuelve el hash
+	 */
+	@Override
+	public int hashCode() {
+		return floatHash(this.x) + 31 * ( floatHash(this.y) + 31 * ( floatHash(this.z) + 31 * floatHash(this.w) ) );
+	}
+	
+	/**
+	 * @post Devuelve el hash de la componente especificada, sin boxing
+	 * 		 y coherente con la igualdad (0.0f y -0.0f tienen el mismo hash)
+	 */
+	private static int floatHash(float value) {
+		return ( value == 0.0f ) ? 0 : Float.floatToIntBits(value);
+	}
+	
+	/**
+	 * @post Devuelve si es igual al otro objeto
+	 */
+	@Override
+	public boolean equals(Object other) {
+		if ( other != null ) {
+			if ( other instanceof Quaternionf ) {
+				Quaternionf otherQuaternion = (Quaternionf) other;
+				return ( this.x == otherQuaternion.x ) && ( this.y == otherQuaternion.y ) && ( this.z == otherQuaternion.z ) && ( this.w == otherQuaternion.w );
+			}
+			else {
+				return false;
+			}
+		}
+		else {
+			return false;
+		}
+	}
+	
+	/**
+	 * @post Devuelve un representación en cadena de carácteres
+	 */
+	@Override
+	public String toString() {
+		return "Quaternionf(" + this.x + ", " + this.y + ", " + this.z + ", " + this.w + ")";
+	}
+}
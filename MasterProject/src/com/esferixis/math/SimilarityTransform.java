@@ -0,0 +1,395 @@
+/**
+ * Copyright (c) 2017 Ariel Favio Carrizo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'esferixis' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.esferixis.math;
+
+import java.io.Serializable;
+
+/**
+ * Transformación de semejanza: Escalado uniforme, rotación y translación
+ * (Aplicados en ese orden).
+ * 
+ * Representa lo mismo que ProportionalMatrix4f con 8 floats (Cuaternión unitario,
+ * translación y escala) en lugar de 16, y permite componer, invertir e interpolar
+ * sin pasar por la matriz. Sólo se convierte a matriz cuando hace falta
+ * (Por ejemplo para enviarla a la GPU).
+ * 
+ * Es inmutable
+ * 
+ * @author Ariel Favio Carrizo
+ *
+ */
+public final class SimilarityTransform implements Serializable {
+	private static final long serialVersionUID = -1405957870224339410L;
+	
+	/**
+	 * Cantidad de floats de cada transformación empaquetada
+	 */
+	public static final int PACKED_SIZE = 8;
+	
+	public static final SimilarityTransform IDENTITY = new SimilarityTransform(0.0f, 0.0f, 0.0f, 1.0f, 0.0f, 0.0f, 0.0f, 1.0f);
+	
+	private final float qx, qy, qz, qw;
+	private final float tx, ty, tz;
+	private final float scale;
+	
+	/**
+	 * @post Crea la transformación con las componentes especificadas
+	 */
+	private SimilarityTransform(float qx, float qy, float qz, float qw, float tx, float ty, float tz, float scale) {
+		this.qx = qx;
+		this.qy = qy;
+		this.qz = qz;
+		this.qw = qw;
+		this.tx = tx;
+		this.ty = ty;
+		this.tz = tz;
+		this.scale = scale;
+	}
+	
+	/**
+	 * @pre Ni la translación ni la rotación pueden ser nulas, la rotación tiene que ser
+	 * 		unitaria y la escala no puede ser nula
+	 * @post Crea la transformación que escala, rota y translada (En ese orden)
+	 * 		 con los parámetros especificados
+	 */
+	public SimilarityTransform(Vector3f translation, Quaternionf rotation, float scale) {
+		this(rotation.getX(), rotation.getY(), rotation.getZ(), rotation.getW(), translation.getX(), translation.getY(), translation.getZ(), scale);
+		
+		if ( scale == 0.0f ) {
+			throw new IllegalArgumentException("Zero scale");
+		}
+	}
+	
+	/**
+	 * @pre La matriz no puede ser nula y tiene que ser no singular
+	 * @post Crea la transformación equivalente a la matriz especificada.
+	 * 		 Si la matriz invierte la orientación la escala es negativa
+	 */
+	public static SimilarityTransform fromMatrix(ProportionalMatrix4f matrix) {
+		if ( matrix != null ) {
+			final float[] m = matrix.m;
+			
+			float scale = (float) Math.sqrt(m[0] * m[0] + m[1] * m[1] + m[2] * m[2]);
+			
+			// Signo del determinante de la parte lineal
+			if ( m[0] * ( m[5] * m[10] - m[6] * m[9] ) - m[4] * ( m[1] * m[10] - m[2] * m[9] ) + m[8] * ( m[1] * m[6] - m[2] * m[5] ) < 0.0f ) {
+				scale = -scale;
+			}
+			
+			if ( scale != 0.0f ) {
+				final float inverseScale = 1.0f / scale;
+				final Quaternionf rotation = Quaternionf.fromRotationMatrix( new Matrix3f( new float[][]{
+					new float[]{ m[0] * inverseScale, m[1] * inverseScale, m[2] * inverseScale },
+					new float[]{ m[4] * inverseScale, m[5] * inverseScale, m[6] * inverseScale },
+					new float[]{ m[8] * inverseScale, m[9] * inverseScale, m[10] * inverseScale }
+				}) ).normalise();
+				
+				return new SimilarityTransform(rotation.getX(), rotation.getY(), rotation.getZ(), rotation.getW(), m[12], m[13], m[14], scale);
+			}
+			else {
+				throw new ArithmeticException("Singular matrix");
+			}
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @pre El array no puede ser nulo, y tiene que tener 8 elementos a partir del desplazamiento
+	 * 		especificado
+	 * @post Crea la transformación con los elementos especificados, en el mismo orden que store
+	 */
+	public static SimilarityTransform fromArray(float[] elements, int offset) {
+		if ( elements != null ) {
+			if ( ( offset >= 0 ) && ( offset + PACKED_SIZE <= elements.length ) ) {
+				return new SimilarityTransform(elements[offset], elements[offset + 1], elements[offset + 2], elements[offset + 3],
+						elements[offset + 4], elements[offset + 5], elements[offset + 6], elements[offset + 7]);
+			}
+			else {
+				throw new IndexOutOfBoundsException("Invalid offset");
+			}
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @post Devuelve la rotación
+	 */
+	public Quaternionf getRotation() {
+		return new Quaternionf(this.qx, this.qy, this.qz, this.qw);
+	}
+	
+	/**
+	 * @post Devuelve la translación
+	 */
+	public Vector3f getTranslation() {
+		return new Vector3f(this.tx, this.ty, this.tz);
+	}
+	
+	/**
+	 * @post Devuelve la escala
+	 */
+	public float getScale() {
+		return this.scale;
+	}
+	
+	/**
+	 * @pre La transformación especificada no puede ser nula
+	 * @post Devuelve la composición con la transformación especificada.
+	 * 		 Equivale a aplicar primero la especificada y después ésta,
+	 * 		 como el producto de las matrices correspondientes
+	 */
+	public SimilarityTransform mul(SimilarityTransform other) {
+		// Translación: s * R(t') + t
+		final float rx = 2.0f * ( this.qy * other.tz - this.qz * other.ty );
+		final float ry = 2.0f * ( this.qz * other.tx - this.qx * other.tz );
+		final float rz = 2.0f * ( this.qx * other.ty - this.qy * other.tx );
+		
+		return new SimilarityTransform(
+				this.qw * other.qx + this.qx * other.qw + this.qy * other.qz - this.qz * other.qy,
+				this.qw * other.qy - this.qx * other.qz + this.qy * other.qw + this.qz * other.qx,
+				this.qw * other.qz + this.qx * other.qy - this.qy * other.qx + this.qz * other.qw,
+				this.qw * other.qw - this.qx * other.qx - this.qy * other.qy - this.qz * other.qz,
+				this.scale * ( other.tx + this.qw * rx + ( this.qy * rz - this.qz * ry ) ) + this.tx,
+				this.scale * ( other.ty + this.qw * ry + ( this.qz * rx - this.qx * rz ) ) + this.ty,
+				this.scale * ( other.tz + this.qw * rz + ( this.qx * ry - this.qy * rx ) ) + this.tz,
+				this.scale * other.scale
+		);
+	}
+	
+	/**
+	 * @post Devuelve la inversa, calculada en forma exacta sin pasar por la matriz
+	 * 		 (Rotación conjugada, escala recíproca y translación -R^-1(t) / s)
+	 */
+	public SimilarityTransform invert() {
+		final float inverseScale = 1.0f / this.scale;
+		
+		// Rotación de -t por el conjugado
+		final float vx = -this.tx, vy = -this.ty, vz = -this.tz;
+		final float x = -this.qx, y = -this.qy, z = -this.qz;
+		final float rx = 2.0f * ( y * vz - z * vy );
+		final float ry = 2.0f * ( z * vx - x * vz );
+		final float rz = 2.0f * ( x * vy - y * vx );
+		
+		return new SimilarityTransform(x, y, z, this.qw,
+				( vx + this.qw * rx + ( y * rz - z * ry ) ) * inverseScale,
+				( vy + this.qw * ry + ( z * rx - x * rz ) ) * inverseScale,
+				( vz + this.qw * rz + ( x * ry - y * rx ) ) * inverseScale,
+				inverseScale
+		);
+	}
+	
+	/**
+	 * @pre El vector no puede ser nulo
+	 * @post Devuelve el punto especificado transformado
+	 */
+	public Vector3f transformPoint(Vector3f vector) {
+		return this.transformPoint(vector, new MutableVector3f()).toVector3f();
+	}
+	
+	/**
+	 * @pre Ni el vector ni el destino pueden ser nulos
+	 * @post Almacena el punto especificado transformado en el destino y lo devuelve
+	 */
+	public MutableVector3f transformPoint(Vector3f vector, MutableVector3f destination) {
+		this.transformDirection(vector, destination);
+		return destination.set(destination.getX() + this.tx, destination.getY() + this.ty, destination.getZ() + this.tz);
+	}
+	
+	/**
+	 * @pre El vector no puede ser nulo
+	 * @post Devuelve la dirección especificada transformada (Sin translación)
+	 */
+	public Vector3f transformDirection(Vector3f vector) {
+		return this.transformDirection(vector, new MutableVector3f()).toVector3f();
+	}
+	
+	/**
+	 * @pre Ni el vector ni el destino pueden ser nulos
+	 * @post Almacena la dirección especificada transformada (Sin translación) en el destino y lo devuelve
+	 */
+	public MutableVector3f transformDirection(Vector3f vector, MutableVector3f destination) {
+		final float vx = vector.getX(), vy = vector.getY(), vz = vector.getZ();
+		final float rx = 2.0f * ( this.qy * vz - this.qz * vy );
+		final float ry = 2.0f * ( this.qz * vx - this.qx * vz );
+		final float rz = 2.0f * ( this.qx * vy - this.qy * vx );
+		
+		return destination.set(
+				this.scale * ( vx + this.qw * rx + ( this.qy * rz - this.qz * ry ) ),
+				this.scale * ( vy + this.qw * ry + ( this.qz * rx - this.qx * rz ) ),
+				this.scale * ( vz + this.qw * rz + ( this.qx * ry - this.qy * rx ) )
+		);
+	}
+	
+	/**
+	 * @post Devuelve la transformación del escalar especificado (Por ejemplo un radio).
+	 * 		 No requiere calcular raíces cuadradas
+	 */
+	public float transformScalar(float scalar) {
+		return Math.abs(this.scale) * scalar;
+	}
+	
+	/**
+	 * @pre La transformación especificada no puede ser nula
+	 * @post Devuelve la interpolación con la transformación especificada:
+	 * 		 Esférica para la rotación y lineal para la translación y la escala
+	 */
+	public SimilarityTransform interpolate(SimilarityTransform other, float factor) {
+		final Quaternionf rotation = this.getRotation().slerp(other.getRotation(), factor);
+		
+		return new SimilarityTransform(rotation.getX(), rotation.getY(), rotation.getZ(), rotation.getW(),
+				ExtraMath.linearInterpolation(this.tx, other.tx, factor),
+				ExtraMath.linearInterpolation(this.ty, other.ty, factor),
+				ExtraMath.linearInterpolation(this.tz, other.tz, factor),
+				ExtraMath.linearInterpolation(this.scale, other.scale, factor)
+		);
+	}
+	
+	/**
+	 * @post Devuelve la matriz equivalente
+	 */
+	public ProportionalMatrix4f toMatrix4f() {
+		final float[] result = new float[16];
+		Matrix4fKernels.trs(this.tx, this.ty, this.tz, this.qx, this.qy, this.qz, this.qw, this.scale, this.scale, this.scale, result, 0);
+		return new ProportionalMatrix4f(result);
+	}
+	
+	/**
+	 * @pre El array no puede ser nulo y la transformación tiene que entrar a partir
+	 * 		del desplazamiento especificado
+	 * @post Almacena la transformación empaquetada (Rotación, translación y escala)
+	 * 		 en el array especificado a partir del desplazamiento especificado
+	 */
+	public void store(float[] destination, int offset) {
+		if ( destination != null ) {
+			if ( ( offset >= 0 ) && ( offset + PACKED_SIZE <= destination.length ) ) {
+				destination[offset] = this.qx;
+				destination[offset + 1] = this.qy;
+				destination[offset + 2] = this.qz;
+				destination[offset + 3] = this.qw;
+				destination[offset + 4] = this.tx;
+				destination[offset + 5] = this.ty;
+				destination[offset + 6] = this.tz;
+				destination[offset + 7] = this.scale;
+			}
+			else {
+				throw new IndexOutOfBoundsException("Invalid offset");
+			}
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @pre Los arrays no pueden ser nulos
+	 * @post Convierte las transformaciones empaquetadas (8 floats cada una) del primer array,
+	 * 		 a partir del desplazamiento especificado, en matrices (16 floats cada una, en el mismo
+	 * 		 orden que Matrix4f.store()) en el segundo array, a partir del desplazamiento especificado.
+	 * 		 Sirve para convertir recién al enviar a la GPU
+	 */
+	public static void toMatrices(float[] transforms, int transformsOffset, float[] matrices, int matricesOffset, int count) {
+		if ( ( transforms != null ) && ( matrices != null ) ) {
+			if ( ( transformsOffset < 0 ) || ( matricesOffset < 0 ) || ( count < 0 ) ||
+					( (long) transformsOffset + (long) count * PACKED_SIZE > transforms.length ) ||
+					( (long) matricesOffset + (long) count * 16 > matrices.length ) ) {
+				throw new IndexOutOfBoundsException("Invalid range");
+			}
+			
+			for ( int i = 0 ; i < count ; i++ ) {
+				final int t = transformsOffset + i * PACKED_SIZE;
+				final float scale = transforms[t + 7];
+				
+				Matrix4fKernels.trs(transforms[t + 4], transforms[t + 5], transforms[t + 6],
+						transforms[t], transforms[t + 1], transforms[t + 2], transforms[t + 3],
+						scale, scale, scale, matrices, matricesOffset + i * 16);
+			}
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @post Devuelve el hash
+	 */
+	@Override
+	public int hashCode() {
+		int hash = floatHash(this.qx);
+		hash = 31 * hash + floatHash(this.qy);
+		hash = 31 * hash + floatHash(this.qz);
+		hash = 31 * hash + floatHash(this.qw);
+		hash = 31 * hash + floatHash(this.tx);
+		hash = 31 * hash + floatHash(this.ty);
+		hash = 31 * hash + floatHash(this.tz);
+		return 31 * hash + floatHash(this.scale);
+	}
+	
+	/**
+	 * @post Devuelve el hash de la componente especificada, sin boxing
+	 * 		 y coherente con la igualdad (0.0f y -0.0f tienen el mismo hash)
+	 */
+	private static int floatHash(float value) {
+		return ( value == 0.0f ) ? 0 : Float.floatToIntBits(value);
+	}
+	
+	/**
+	 * @post Devuelve si es igual al otro objeto
+	 */
+	@Override
+	public boolean equals(Object other) {
+		if ( other != null ) {
+			if ( other instanceof SimilarityTransform ) {
+				final SimilarityTransform otherTransform = (SimilarityTransform) other;
+				return ( this.qx == otherTransform.qx ) && ( this.qy == otherTransform.qy ) && ( this.qz == otherTransform.qz ) && ( this.qw == otherTransform.qw ) &&
+						( this.tx == otherTransform.tx ) && ( this.ty == otherTransform.ty ) && ( this.tz == otherTransform.tz ) && ( this.scale == otherTransform.scale );
+			}
+			else {
+				return false;
+			}
+		}
+		else {
+			return false;
+		}
+	}
+	
+	/**
+	 * @post Devuelve un representación en cadena de carácteres
+	 */
+	@Override
+	public String toString() {
+		return "SimilarityTransform( rotation: " + this.getRotation() + ", translation: " + this.getTranslation() + ", scale: " + this.scale + " )";
+	}
+}
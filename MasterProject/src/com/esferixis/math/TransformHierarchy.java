@@ -0,0 +1,481 @@
+/**
+ * Copyright (c) 2017 Ariel Favio Carrizo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'esferixis' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.esferixis.math;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Jerarquía de transformaciones (Grafo de escena).
+ * 
+ * Cada nodo tiene una transformación local relativa a su padre, y una
+ * transformación de mundo que es el producto de la del padre por la local.
+ * Ambas se almacenan empaquetadas en arrays planos de 16 floats por nodo,
+ * por columnas, en el mismo orden que Matrix4f.store().
+ * 
+ * Al modificar la transformación local de un nodo se lo marca como sucio,
+ * y update() sólo recalcula las transformaciones de mundo de los subárboles
+ * con raíz en nodos sucios. Los subárboles independientes pueden recalcularse
+ * en paralelo.
+ * 
+ * No es seguro modificar la jerarquía mientras se actualiza
+ * 
+ * @author Ariel Favio Carrizo
+ *
+ */
+public final class TransformHierarchy {
+	/**
+	 * Tamaño mínimo de subárbol para recalcularlo en una tarea aparte
+	 */
+	private static final int PARALLEL_SUBTREE_SIZE = 2048;
+	
+	private static final int NONE = -1;
+	
+	private int size;
+	
+	private int[] parent;
+	private int[] firstChild;
+	private int[] nextSibling;
+	private int[] subtreeSize;
+	
+	private float[] local;
+	private float[] world;
+	
+	private boolean[] dirty;
+	private int[] dirtyNodes;
+	private int dirtyCount;
+	
+	/**
+	 * @pre La capacidad inicial no puede ser negativa
+	 * @post Crea una jerarquía vacía con la capacidad inicial especificada
+	 */
+	public TransformHierarchy(int initialCapacity) {
+		if ( initialCapacity >= 0 ) {
+			this.size = 0;
+			
+			this.parent = new int[initialCapacity];
+			this.firstChild = new int[initialCapacity];
+			this.nextSibling = new int[initialCapacity];
+			this.subtreeSize = new int[initialCapacity];
+			
+			this.local = new float[initialCapacity * 16];
+			this.world = new float[initialCapacity * 16];
+			
+			this.dirty = new boolean[initialCapacity];
+			this.dirtyNodes = new int[initialCapacity];
+			this.dirtyCount = 0;
+		}
+		else {
+			throw new IllegalArgumentException("Negative capacity");
+		}
+	}
+	
+	/**
+	 * @post Crea una jerarquía vacía
+	 */
+	public TransformHierarchy() {
+		this(16);
+	}
+	
+	/**
+	 * @post Devuelve la cantidad de nodos
+	 */
+	public int size() {
+		return this.size;
+	}
+	
+	/**
+	 * @pre El padre tiene que ser un nodo existente, o -1 para crear una raíz
+	 * @post Agrega un nodo hijo del padre especificado, con la transformación local identidad,
+	 * 		 y devuelve su índice
+	 */
+	public int addNode(int parent) {
+		if ( parent != NONE ) {
+			this.checkNode(parent);
+		}
+		
+		if ( this.size == this.parent.length ) {
+			this.grow();
+		}
+		
+		final int node = this.size++;
+		
+		this.parent[node] = parent;
+		this.firstChild[node] = NONE;
+		this.subtreeSize[node] = 1;
+		
+		if ( parent != NONE ) {
+			this.nextSibling[node] = this.firstChild[parent];
+			this.firstChild[parent] = node;
+			
+			for ( int ancestor = parent ; ancestor != NONE ; ancestor = this.parent[ancestor] ) {
+				this.subtreeSize[ancestor]++;
+			}
+		}
+		else {
+			this.nextSibling[node] = NONE;
+		}
+		
+		Matrix4f.IDENTITY.store(this.local, node * 16);
+		this.markDirty(node);
+		
+		return node;
+	}
+	
+	/**
+	 * @post Agrega una raíz con la transformación local identidad, y devuelve su índice
+	 */
+	public int addRoot() {
+		return this.addNode(NONE);
+	}
+	
+	/**
+	 * @post Devuelve el padre del nodo especificado, o -1 si es una raíz
+	 */
+	public int getParent(int node) {
+		this.checkNode(node);
+		return this.parent[node];
+	}
+	
+	/**
+	 * @pre La matriz no puede ser nula
+	 * @post Especifica la transformación local del nodo especificado
+	 */
+	public void setLocal(int node, Matrix4f transform) {
+		this.checkNode(node);
+		
+		if ( transform != null ) {
+			transform.store(this.local, node * 16);
+			this.markDirty(node);
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @pre El array no puede ser nulo, y tiene que tener 16 elementos (Por columnas)
+	 * 		a partir del desplazamiento especificado
+	 * @post Especifica la transformación local del nodo especificado
+	 */
+	public void setLocal(int node, float[] elements, int offset) {
+		this.checkNode(node);
+		
+		if ( elements != null ) {
+			if ( ( offset >= 0 ) && ( offset + 16 <= elements.length ) ) {
+				System.arraycopy(elements, offset, this.local, node * 16, 16);
+				this.markDirty(node);
+			}
+			else {
+				throw new IndexOutOfBoundsException("Invalid offset");
+			}
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @pre Ninguno de los parámetros puede ser nulo, y el cuaternión tiene que ser unitario
+	 * @post Especifica la transformación local del nodo especificado como la que escala,
+	 * 		 rota y translada (En ese orden), sin crear matrices intermedias
+	 */
+	public void setLocal(int node, Vector3f translation, Quaternionf rotation, Vector3f scale) {
+		this.checkNode(node);
+		
+		Matrix4fKernels.trs(translation.getX(), translation.getY(), translation.getZ(),
+				rotation.getX(), rotation.getY(), rotation.getZ(), rotation.getW(),
+				scale.getX(), scale.getY(), scale.getZ(), this.local, node * 16);
+		this.markDirty(node);
+	}
+	
+	/**
+	 * @post Devuelve la transformación local del nodo especificado
+	 */
+	public Matrix4f getLocal(int node) {
+		this.checkNode(node);
+		return Matrix4f.fromArray(this.local, node * 16);
+	}
+	
+	/**
+	 * @pre La jerarquía tiene que estar actualizada
+	 * @post Devuelve la transformación de mundo del nodo especificado
+	 */
+	public Matrix4f getWorld(int node) {
+		this.checkNode(node);
+		return Matrix4f.fromArray(this.world, node * 16);
+	}
+	
+	/**
+	 * @pre La jerarquía tiene que estar actualizada, y el destino no puede ser nulo
+	 * @post Copia la transformación de mundo del nodo especificado en el destino,
+	 * 		 a partir del desplazamiento especificado
+	 */
+	public void getWorld(int node, float[] destination, int offset) {
+		this.checkNode(node);
+		System.arraycopy(this.world, node * 16, destination, offset, 16);
+	}
+	
+	/**
+	 * @post Devuelve el array de transformaciones de mundo (16 floats por nodo, por columnas).
+	 * 		 Es el array interno, que se puede enviar directamente a la GPU, y que
+	 * 		 deja de ser válido si se agregan nodos.
+	 * 		 No debe ser modificado
+	 */
+	public float[] worldMatrices() {
+		return this.world;
+	}
+	
+	/**
+	 * @post Devuelve si hay nodos cuya transformación de mundo está desactualizada
+	 */
+	public boolean isDirty() {
+		return this.dirtyCount != 0;
+	}
+	
+	/**
+	 * @post Recalcula las transformaciones de mundo de los subárboles modificados
+	 */
+	public void update() {
+		final int roots = this.collectDirtyRoots();
+		
+		for ( int i = 0 ; i < roots ; i++ ) {
+			this.updateSubtree(this.dirtyNodes[i]);
+		}
+		
+		this.dirtyCount = 0;
+	}
+	
+	/**
+	 * @pre El pool no puede ser nulo
+	 * @post Recalcula las transformaciones de mundo de los subárboles modificados,
+	 * 		 en paralelo con el pool especificado.
+	 * 		 El resultado es idéntico al de update()
+	 */
+	public void update(ForkJoinPool pool) {
+		if ( pool != null ) {
+			final int roots = this.collectDirtyRoots();
+			
+			if ( roots != 0 ) {
+				pool.invoke(new RootsTask(0, roots));
+			}
+			
+			this.dirtyCount = 0;
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @post Marca el nodo especificado como sucio
+	 */
+	private void markDirty(int node) {
+		if ( !this.dirty[node] ) {
+			this.dirty[node] = true;
+			this.dirtyNodes[this.dirtyCount++] = node;
+		}
+	}
+	
+	/**
+	 * @post Deja al principio de la lista de nodos sucios sólo los que no tienen
+	 * 		 ancestros sucios, limpia las marcas y devuelve la cantidad
+	 */
+	private int collectDirtyRoots() {
+		int roots = 0;
+		
+		for ( int i = 0 ; i < this.dirtyCount ; i++ ) {
+			final int node = this.dirtyNodes[i];
+			
+			boolean hasDirtyAncestor = false;
+			for ( int ancestor = this.parent[node] ; ( ancestor != NONE ) && !hasDirtyAncestor ; ancestor = this.parent[ancestor] ) {
+				hasDirtyAncestor = this.dirty[ancestor];
+			}
+			
+			if ( !hasDirtyAncestor ) {
+				// Se intercambia en lugar de sobreescribir, para que los nodos descartados sigan en el resto del array
+				this.dirtyNodes[i] = this.dirtyNodes[roots];
+				this.dirtyNodes[roots++] = node;
+			}
+		}
+		
+		for ( int i = 0 ; i < this.dirtyCount ; i++ ) {
+			// Hay que limpiar todos, incluyendo los descartados
+			this.dirty[this.dirtyNodes[i]] = false;
+		}
+		
+		return roots;
+	}
+	
+	/**
+	 * @post Recalcula la transformación de mundo del nodo especificado
+	 */
+	private void updateNode(int node) {
+		final int parent = this.parent[node];
+		
+		if ( parent != NONE ) {
+			Matrix4fKernels.mul(this.world, parent * 16, this.local, node * 16, this.world, node * 16);
+		}
+		else {
+			System.arraycopy(this.local, node * 16, this.world, node * 16, 16);
+		}
+	}
+	
+	/**
+	 * @post Recalcula secuencialmente las transformaciones de mundo del subárbol
+	 * 		 con raíz en el nodo especificado
+	 */
+	private void updateSubtree(int root) {
+		this.updateNode(root);
+		
+		// Recorrido en preorden sin pila, usando los enlaces al padre
+		int node = this.firstChild[root];
+		while ( node != NONE ) {
+			this.updateNode(node);
+			
+			if ( this.firstChild[node] != NONE ) {
+				node = this.firstChild[node];
+			}
+			else {
+				while ( ( node != root ) && ( this.nextSibling[node] == NONE ) ) {
+					node = this.parent[node];
+				}
+				
+				node = ( node != root ) ? this.nextSibling[node] : NONE;
+			}
+		}
+	}
+	
+	/**
+	 * @post Verifica que el nodo especificado exista
+	 */
+	private void checkNode(int node) {
+		if ( ( node < 0 ) || ( node >= this.size ) ) {
+			throw new IndexOutOfBoundsException("Invalid node");
+		}
+	}
+	
+	/**
+	 * @post Duplica la capacidad
+	 */
+	private void grow() {
+		final int newCapacity = Math.max(16, this.parent.length * 2);
+		
+		this.parent = Arrays.copyOf(this.parent, newCapacity);
+		this.firstChild = Arrays.copyOf(this.firstChild, newCapacity);
+		this.nextSibling = Arrays.copyOf(this.nextSibling, newCapacity);
+		this.subtreeSize = Arrays.copyOf(this.subtreeSize, newCapacity);
+		
+		this.local = Arrays.copyOf(this.local, newCapacity * 16);
+		this.world = Arrays.copyOf(this.world, newCapacity * 16);
+		
+		this.dirty = Arrays.copyOf(this.dirty, newCapacity);
+		this.dirtyNodes = Arrays.copyOf(this.dirtyNodes, newCapacity);
+	}
+	
+	/**
+	 * Tarea que recalcula los subárboles con raíz en un rango de la lista de raíces sucias
+	 */
+	private final class RootsTask extends RecursiveAction {
+		private static final long serialVersionUID = 6911394883574451021L;
+		
+		private final int from, to;
+		
+		/**
+		 * @post Crea la tarea con el rango especificado
+		 */
+		public RootsTask(int from, int to) {
+			this.from = from;
+			this.to = to;
+		}
+		
+		/* (non-Javadoc)
+		 * @see java.util.concurrent.RecursiveAction#compute()
+		 */
+		@Override
+		protected void compute() {
+			if ( this.to - this.from == 1 ) {
+				new SubtreeTask(TransformHierarchy.this.dirtyNodes[this.from]).compute();
+			}
+			else {
+				final int middle = ( this.from + this.to ) >>> 1;
+				invokeAll(new RootsTask(this.from, middle), new RootsTask(middle, this.to));
+			}
+		}
+	}
+	
+	/**
+	 * Tarea que recalcula un subárbol, separando en otras tareas
+	 * los subárboles hijos grandes
+	 */
+	private final class SubtreeTask extends RecursiveAction {
+		private static final long serialVersionUID = -2271530346853434066L;
+		
+		private final int root;
+		
+		/**
+		 * @post Crea la tarea con la raíz especificada
+		 */
+		public SubtreeTask(int root) {
+			this.root = root;
+		}
+		
+		/* (non-Javadoc)
+		 * @see java.util.concurrent.RecursiveAction#compute()
+		 */
+		@Override
+		protected void compute() {
+			final TransformHierarchy hierarchy = TransformHierarchy.this;
+			
+			if ( hierarchy.subtreeSize[this.root] < PARALLEL_SUBTREE_SIZE ) {
+				hierarchy.updateSubtree(this.root);
+			}
+			else {
+				hierarchy.updateNode(this.root);
+				
+				int forkedChildren = 0;
+				for ( int child = hierarchy.firstChild[this.root] ; child != NONE ; child = hierarchy.nextSibling[child] ) {
+					forkedChildren++;
+				}
+				
+				final SubtreeTask[] tasks = new SubtreeTask[forkedChildren];
+				int i = 0;
+				for ( int child = hierarchy.firstChild[this.root] ; child != NONE ; child = hierarchy.nextSibling[child] ) {
+					tasks[i++] = new SubtreeTask(child);
+				}
+				
+				invokeAll(tasks);
+			}
+		}
+	}
+}
@@ -0,0 +1,399 @@
+/**
+ * Copyright (c) 2017 Ariel Favio Carrizo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'esferixis' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.esferixis.math;
+
+import java.io.Serializable;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+
+public final class Vector2d extends Vectord implements Serializable {
+	/**
+	 * 
+	 */
+	private static final long serialVersionUID = -2630745316019512763L;
+
+	private final double x, y;
+	
+	public static final Vector2d ZERO = new Vector2d(0.0d, 0.0d);
+	
+	/**
+	 * @post Crea un vector con los valores de componente especificados
+	 */
+	public Vector2d(double x, double y) {
+		this.x = x;
+		this.y = y;
+	}
+	
+	/**
+	 * @post Crea un vector con el ángulo especificado
+	 */
+	public static Vector2d unitPolar(double angle) {
+		return new Vector2d(Math.cos( angle), Math.sin( angle));
+	}
+	
+	/**
+	 * @post Crea un vector a partir del array especificado
+	 */
+	public Vector2d(double[] components) {
+		if ( components.length == 2 ) {
+			this.x = components[0];
+			this.y = components[1];
+		}
+		else {
+			throw new IllegalArgumentException("Invalid array length");
+		}
+	}
+	
+	/**
+	 * @pre El vector no puede ser nulo
+	 * @post Crea un vector a partir del vector de precisión simple especificado
+	 */
+	public Vector2d(Vector2f vector) {
+		this(vector.getX(), vector.getY());
+	}
+	
+	/**
+	 * @post Crea un vector leyendo de un DoubleBuffer
+	 */
+	public static Vector2d read(DoubleBuffer buffer) {
+		if ( buffer.capacity() >= 2 ) {
+			return new Vector2d(buffer.get(0), buffer.get(1) );
+		}
+		else {
+			throw new BufferUnderflowException();
+		}
+	}
+	
+	/**
+	 * @pre El array de vectores y el buffer no pueden ser nulos, el paso tiene que ser mayor o igual a 2
+	 * @post Escribe los vectores especificados en el buffer a partir del desplazamiento
+	 * 		 especificado, con el paso especificado entre vectores (Ambos en doubles).
+	 * 		 No altera la posición del buffer ni crea buffers intermedios
+	 */
+	public static void writeAll(Vector2d[] vectors, DoubleBuffer buffer, int offset, int stride) {
+		if ( ( vectors != null ) && ( buffer != null ) ) {
+			if ( ( offset >= 0 ) && ( stride >= 2 ) ) {
+				if ( ( vectors.length == 0 ) || ( (long) offset + (long) stride * (long) (vectors.length - 1) + 2 <= buffer.limit() ) ) {
+					int index = offset;
+					for ( Vector2d eachVector : vectors ) {
+						buffer.put(index, eachVector.x);
+						buffer.put(index + 1, eachVector.y);
+						index += stride;
+					}
+				}
+				else {
+					throw new BufferOverflowException();
+				}
+			}
+			else {
+				throw new IllegalArgumentException("Invalid offset or stride");
+			}
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @pre El array de vectores y el buffer no pueden ser nulos, el paso tiene que ser mayor o igual a 16
+	 * @post Escribe los vectores especificados en el buffer a partir del desplazamiento
+	 * 		 especificado, con el paso especificado entre vectores (Ambos en bytes).
+	 * 		 Usa el orden de bytes del buffer, no altera su posición ni crea buffers intermedios
+	 */
+	public static void writeAll(Vector2d[] vectors, ByteBuffer buffer, int offset, int stride) {
+		if ( ( vectors != null ) && ( buffer != null ) ) {
+			if ( ( offset >= 0 ) && ( stride >= 16 ) ) {
+				if ( ( vectors.length == 0 ) || ( (long) offset + (long) stride * (long) (vectors.length - 1) + 16 <= buffer.limit() ) ) {
+					int index = offset;
+					for ( Vector2d eachVector : vectors ) {
+						buffer.putDouble(index, eachVector.x);
+						buffer.putDouble(index + 8, eachVector.y);
+						index += stride;
+					}
+				}
+				else {
+					throw new BufferOverflowException();
+				}
+			}
+			else {
+				throw new IllegalArgumentException("Invalid offset or stride");
+			}
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @post Devuelve la primer componente
+	 */
+	public double getX() {
+		return this.x;
+	}
+	
+	/**
+	 * @post Devuelve la segunda componente
+	 */
+	public double getY() {
+		return this.y;
+	}
+	
+	/**
+	 * @post Devuelve un vector con sentido opuesto
+	 */
+	public Vector2d opposite() {
+		return new Vector2d(-this.x, -this.y);
+	}
+	
+	/**
+	 * @post Suma el vector con otro y devuelve el resultado
+	 */
+	public Vector2d add(Vector2d other) {
+		return new Vector2d(this.x + other.x, this.y + other.y);
+	}
+	
+	/**
+	 * @post Resta el vector con otro y devuelve el resultado
+	 */
+	public Vector2d sub(Vector2d other) {
+		return new Vector2d(this.x - other.x, this.y - other.y);
+	}
+	
+	/**
+	 * @post Devuelve el producto escalar con el otro vector
+	 */
+	public double dot(Vector2d other) {
+		return this.x * other.x + this.y * other.y;
+	}
+	
+	/**
+	 * @post Devuelve el producto del vector con el escalar especificado
+	 */
+	public Vector2d scale(double b) {
+		return new Vector2d(this.x * b, this.y * b);
+	}
+	
+	/**
+	 * @post Rota el vector 90° en sentido antihorario
+	 */
+	public Vector2d rotate90AnticlockWise() {
+		return new Vector2d(-this.y, this.x);
+	}
+	
+	/**
+	 * @post Rota el vector 90° en sentido horario
+	 */
+	public Vector2d rotate90ClockWise() {
+		return new Vector2d(this.y, -this.x);
+	}
+	
+	/**
+	 * @pre El vector especificado no puede ser nulo
+	 * @post Devuelve si es paralelo
+	 */
+	public boolean isParallel(Vector2d other) {
+		if ( other != null ) {
+			return ( this.dot(other) * this.dot(other) == this.lengthSquared() * other.lengthSquared());
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @post Proyecta el vector especificado sobre éste y devuelve el resultado
+	 */
+	public Vector2d vectorProjection(Vector2d other) {
+		return this.scale( other.dot(this) / this.lengthSquared() );
+	}
+	
+	/**
+	 * @post Calcula la proyección del escalar del vector especificado sobre éste
+	 */
+	public double scalarProjection(Vector2d other) {
+		if ( other != null ) {
+			return this.normalise().dot(other);
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @post Devuelve la longitud elevada al cuadrado
+	 */
+	@Override
+	public double lengthSquared() {
+		return this.x * this.x + this.y * this.y;
+	}
+	
+	/**
+	 * @post Devuelve el vector normalizado
+	 */
+	public Vector2d normalise() {
+		return this.scale( 1.0d / Math.sqrt( this.lengthSquared()) );
+	}
+	
+	/**
+	 * @post Devuelve el vector convertido a precisión simple
+	 */
+	public Vector2f toVector2f() {
+		return new Vector2f( (float) this.x, (float) this.y);
+	}
+	
+	/**
+	 * @pre El origen no puede ser nulo
+	 * @post Devuelve el vector relativo al origen especificado, convertido a precisión simple.
+	 * 		 La resta se efectúa en precisión doble
+	 */
+	public Vector2f toVector2f(Vector2d origin) {
+		return new Vector2f( (float) (this.x - origin.x), (float) (this.y - origin.y));
+	}
+	
+	/**
+	 * @post Devuelve el ángulo formado con el eje X
+	 */
+	public double getAngle() {
+		return Math.atan2(this.y, this.x);
+	}
+	
+	/**
+	 * @post Devuelve el vector unitario con el ángulo que forma con el eje X especificado
+	 */
+	public static Vector2d getUnitVectorWithAngle(double angle) {
+		return new Vector2d(Math.cos(angle), Math.sin(angle));
+	}
+	
+	/**
+	 * @post Devuelve el hash
+	 */
+	public int hashCode() {
+		return doubleHash(this.x) * 31 + doubleHash(this.y);
+	}
+	
+	/**
+	 * @post Devuelve el hash de la componente especificada, sin boxing
+	 * 		 y coherente con la igualdad (0.0d y -0.0d tienen el mismo hash)
+	 */
+	private static int doubleHash(double value) {
+		if ( value == 0.0d ) {
+			return 0;
+		}
+		else {
+			final long bits = Double.doubleToLongBits(value);
+			return (int) ( bits ^ ( bits >>> 32 ) );
+		}
+	}
+	
+	/**
+	 * @post Devuelve si es igual al al otro objeto
+	 */
+	public boolean equals(Object other) {
+		if ( other != null ) {
+			if ( other instanceof Vector2d ) {
+				Vector2d otherVector = (Vector2d) other;
+				return ( this.x == otherVector.x ) && ( this.y == otherVector.y );
+			}
+			else {
+				return false;
+			}
+		}
+		else {
+			return false;
+		}
+	}
+	
+	/**
+	 * @post Parsea el string especificado
+	 */
+	public static Vector2d parse(String valueString) throws NumberFormatException {
+		if ( valueString != null ) {
+			valueString = valueString.trim();
+			
+			if ( ( valueString.charAt(0) == '(' ) && ( valueString.charAt(valueString.length()-1) == ')' ) ) {
+				valueString = valueString.substring(1, valueString.length()-1);
+				
+				String[] coordinates = valueString.split(",");
+				
+				if ( coordinates.length == 2 ) {
+					return new Vector2d(Double.parseDouble(coordinates[0]), Double.parseDouble(coordinates[1]));
+				}
+				else {
+					throw new NumberFormatException("Expected two coordinates");
+				}
+			}
+			else {
+				throw new NumberFormatException("Missing braces");
+			}
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+
+	/**
+	 * @post Devuelve un representación en cadena de carácteres
+	 */
+	@Override
+	public String toString() {
+		return "(" + this.x + ", " + this.y + ")";
+	}
+
+	/* (non-Javadoc)
+	 * @see com.esferixis.math.Vectord#store(java.nio.ByteBuffer)
+	 */
+	@Override
+	public void store(ByteBuffer byteBuffer) {
+		byteBuffer.putDouble(this.x);
+		byteBuffer.putDouble(this.y);
+	}
+
+	/* (non-Javadoc)
+	 * @see com.esferixis.math.Vectord#store(java.nio.DoubleBuffer)
+	 */
+	@Override
+	public void store(DoubleBuffer doubleBuffer) {
+		doubleBuffer.put(this.x);
+		doubleBuffer.put(this.y);
+	}
+
+	/* (non-Javadoc)
+	 * @see com.esferixis.math.Vectord#accept(com.esferixis.math.Vectord.Visitor)
+	 */
+	@Override
+	public <V, T extends Throwable> V accept(Visitor<V, T> visitor) throws T {
+		return visitor.visit(this);
+	}
+}
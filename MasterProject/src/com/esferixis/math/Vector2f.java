@@ -33,6 +33,7 @@
 package com.esferixis.math;
 
 import java.io.Serializable;
+import java.nio.BufferOverflowException;
 import java.nio.BufferUnderflowException;
 import java.nio.ByteBuffer;
 import java.nio.FloatBuffer;
@@ -89,6 +90,126 @@ public final class Vector2f extends Vectorf implements Serializable {
 		}
 	}
 	
+	/**
+	 * @pre El buffer no puede ser nulo, el paso tiene que ser mayor o igual a 2
+	 * @post Lee la cantidad especificada de vectores del buffer a partir del desplazamiento
+	 * 		 especificado, con el paso especificado entre vectores (Ambos en floats).
+	 * 		 No altera la posición del buffer ni crea arrays intermedios
+	 */
+	public static Vector2f[] readAll(FloatBuffer buffer, int offset, int stride, int count) {
+		if ( buffer != null ) {
+			if ( ( offset >= 0 ) && ( stride >= 2 ) && ( count >= 0 ) ) {
+				if ( ( count == 0 ) || ( (long) offset + (long) stride * (long) (count - 1) + 2 <= buffer.limit() ) ) {
+					final Vector2f[] vectors = new Vector2f[count];
+					int index = offset;
+					for ( int i = 0 ; i < count ; i++, index += stride ) {
+						vectors[i] = new Vector2f(buffer.get(index), buffer.get(index + 1));
+					}
+					return vectors;
+				}
+				else {
+					throw new BufferUnderflowException();
+				}
+			}
+			else {
+				throw new IllegalArgumentException("Invalid offset, stride or count");
+			}
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @pre El buffer no puede ser nulo, el paso tiene que ser mayor o igual a 8
+	 * @post Lee la cantidad especificada de vectores del buffer a partir del desplazamiento
+	 * 		 especificado, con el paso especificado entre vectores (Ambos en bytes).
+	 * 		 Usa el orden de bytes del buffer, no altera su posición ni crea arrays intermedios
+	 */
+	public static Vector2f[] readAll(ByteBuffer buffer, int offset, int stride, int count) {
+		if ( buffer != null ) {
+			if ( ( offset >= 0 ) && ( stride >= 8 ) && ( count >= 0 ) ) {
+				if ( ( count == 0 ) || ( (long) offset + (long) stride * (long) (count - 1) + 8 <= buffer.limit() ) ) {
+					final Vector2f[] vectors = new Vector2f[count];
+					int index = offset;
+					for ( int i = 0 ; i < count ; i++, index += stride ) {
+						vectors[i] = new Vector2f(buffer.getFloat(index), buffer.getFloat(index + 4));
+					}
+					return vectors;
+				}
+				else {
+					throw new BufferUnderflowException();
+				}
+			}
+			else {
+				throw new IllegalArgumentException("Invalid offset, stride or count");
+			}
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @pre El array de vectores y el buffer no pueden ser nulos, el paso tiene que ser mayor o igual a 2
+	 * @post Escribe los vectores especificados en el buffer a partir del desplazamiento
+	 * 		 especificado, con el paso especificado entre vectores (Ambos en floats).
+	 * 		 No altera la posición del buffer ni crea buffers intermedios
+	 */
+	public static void writeAll(Vector2f[] vectors, FloatBuffer buffer, int offset, int stride) {
+		if ( ( vectors != null ) && ( buffer != null ) ) {
+			if ( ( offset >= 0 ) && ( stride >= 2 ) ) {
+				if ( ( vectors.length == 0 ) || ( (long) offset + (long) stride * (long) (vectors.length - 1) + 2 <= buffer.limit() ) ) {
+					int index = offset;
+					for ( Vector2f eachVector : vectors ) {
+						buffer.put(index, eachVector.x);
+						buffer.put(index + 1, eachVector.y);
+						index += stride;
+					}
+				}
+				else {
+					throw new BufferOverflowException();
+				}
+			}
+			else {
+				throw new IllegalArgumentException("Invalid offset or stride");
+			}
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @pre El array de vectores y el buffer no pueden ser nulos, el paso tiene que ser mayor o igual a 8
+	 * @post Escribe los vectores especificados en el buffer a partir del desplazamiento
+	 * 		 especificado, con el paso especificado entre vectores (Ambos en bytes).
+	 * 		 Usa el orden de bytes del buffer, no altera su posición ni crea buffers intermedios
+	 */
+	public static void writeAll(Vector2f[] vectors, ByteBuffer buffer, int offset, int stride) {
+		if ( ( vectors != null ) && ( buffer != null ) ) {
+			if ( ( offset >= 0 ) && ( stride >= 8 ) ) {
+				if ( ( vectors.length == 0 ) || ( (long) offset + (long) stride * (long) (vectors.length - 1) + 8 <= buffer.limit() ) ) {
+					int index = offset;
+					for ( Vector2f eachVector : vectors ) {
+						buffer.putFloat(index, eachVector.x);
+						buffer.putFloat(index + 4, eachVector.y);
+						index += stride;
+					}
+				}
+				else {
+					throw new BufferOverflowException();
+				}
+			}
+			else {
+				throw new IllegalArgumentException("Invalid offset or stride");
+			}
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
 	/* (non-Javadoc)
 	 * @see com.esferixis.math.Vectorf#store()
 	 */
@@ -132,7 +253,7 @@ public final class Vector2f extends Vectorf implements Serializable {
 	 * @post Resta el vector con otro y devuelve el resultado
 	 */
 	public Vector2f sub(Vector2f other) {
-		return this.add( other.opposite() );
+		return new Vector2f(this.x - other.x, this.y - other.y);
 	}
 	
 	/**
@@ -210,6 +331,34 @@ public final class Vector2f extends Vectorf implements Serializable {
 		return this.scale( 1.0f / (float) Math.sqrt( this.lengthSquared()) );
 	}
 	
+	/**
+	 * @post Almacena la suma con el vector especificado en el destino y lo devuelve
+	 */
+	public MutableVector2f add(Vector2f other, MutableVector2f destination) {
+		return destination.set(this.x + other.x, this.y + other.y);
+	}
+	
+	/**
+	 * @post Almacena la resta con el vector especificado en el destino y lo devuelve
+	 */
+	public MutableVector2f sub(Vector2f other, MutableVector2f destination) {
+		return destination.set(this.x - other.x, this.y - other.y);
+	}
+	
+	/**
+	 * @post Almacena el producto con el escalar especificado en el destino y lo devuelve
+	 */
+	public MutableVector2f scale(float b, MutableVector2f destination) {
+		return destination.set(this.x * b, this.y * b);
+	}
+	
+	/**
+	 * @post Almacena el vector normalizado en el destino y lo devuelve
+	 */
+	public MutableVector2f normalise(MutableVector2f destination) {
+		return this.scale( 1.0f / (float) Math.sqrt( this.lengthSquared()), destination );
+	}
+	
 	/**
 	 * @post Devuelve el ángulo formado con el eje X
 	 */
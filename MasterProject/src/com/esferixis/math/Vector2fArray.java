@@ -0,0 +1,521 @@
+/**
+ * Copyright (c) 2017 Ariel Favio Carrizo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'esferixis' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.esferixis.math;
+
+import java.io.Serializable;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.util.Collection;
+
+/**
+ * Array de vectores bidimensionales, almacenados en arrays
+ * contiguos por componente (Estructura de arrays).
+ * 
+ * Las operaciones en bloque operan sobre un rango de índices
+ * y escriben el resultado en el array destino especificado, que
+ * puede ser el mismo array
+ * 
+ * @author Ariel Favio Carrizo
+ *
+ */
+public final class Vector2fArray implements Serializable {
+	private static final long serialVersionUID = 4207385216652393541L;
+	
+	private final float[] x, y;
+	
+	/**
+	 * @pre La cantidad de elementos no puede ser negativa
+	 * @post Crea un array de vectores nulos con la cantidad de elementos especificada
+	 */
+	public Vector2fArray(int size) {
+		if ( size >= 0 ) {
+			this.x = new float[size];
+			this.y = new float[size];
+		}
+		else {
+			throw new IllegalArgumentException("Negative size");
+		}
+	}
+	
+	/**
+	 * @pre Los arrays de componentes no pueden ser nulos y tienen que tener
+	 * 		la misma longitud
+	 * @post Crea un array de vectores con los arrays de componentes especificados.
+	 * 		 Los arrays no se copian
+	 */
+	public Vector2fArray(float[] x, float[] y) {
+		if ( ( x != null ) && ( y != null ) ) {
+			if ( x.length == y.length ) {
+				this.x = x;
+				this.y = y;
+			}
+			else {
+				throw new IllegalArgumentException("Components length mismatch");
+			}
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @pre Los vectores no pueden ser nulos
+	 * @post Crea un array con los vectores especificados
+	 */
+	public Vector2fArray(Vector2f... vectors) {
+		this(vectors.length);
+		
+		for ( int i = 0 ; i < vectors.length ; i++ ) {
+			this.set(i, vectors[i]);
+		}
+	}
+	
+	/**
+	 * @pre La colección y sus elementos no pueden ser nulos
+	 * @post Crea un array con los vectores de la colección especificada
+	 */
+	public Vector2fArray(Collection<Vector2f> vectors) {
+		this(vectors.size());
+		
+		int i = 0;
+		for ( Vector2f eachVector : vectors ) {
+			this.set(i++, eachVector);
+		}
+	}
+	
+	/**
+	 * @post Devuelve la cantidad de vectores
+	 */
+	public int size() {
+		return this.x.length;
+	}
+	
+	/**
+	 * @post Devuelve el array de primeras componentes (No es una copia)
+	 */
+	public float[] xComponents() {
+		return this.x;
+	}
+	
+	/**
+	 * @post Devuelve el array de segundas componentes (No es una copia)
+	 */
+	public float[] yComponents() {
+		return this.y;
+	}
+	
+	/**
+	 * @post Devuelve la primer componente del vector con el índice especificado
+	 */
+	public float getX(int index) {
+		return this.x[index];
+	}
+	
+	/**
+	 * @post Devuelve la segunda componente del vector con el índice especificado
+	 */
+	public float getY(int index) {
+		return this.y[index];
+	}
+	
+	/**
+	 * @post Devuelve el vector con el índice especificado
+	 */
+	public Vector2f get(int index) {
+		return new Vector2f(this.x[index], this.y[index]);
+	}
+	
+	/**
+	 * @post Especifica las componentes del vector con el índice especificado
+	 */
+	public void set(int index, float x, float y) {
+		this.x[index] = x;
+		this.y[index] = y;
+	}
+	
+	/**
+	 * @pre El vector no puede ser nulo
+	 * @post Especifica el vector con el índice especificado
+	 */
+	public void set(int index, Vector2f vector) {
+		this.set(index, vector.getX(), vector.getY());
+	}
+	
+	/**
+	 * @post Convierte el array en un array de vectores
+	 */
+	public Vector2f[] toArray() {
+		final Vector2f[] result = new Vector2f[this.size()];
+		
+		for ( int i = 0 ; i < result.length ; i++ ) {
+			result[i] = this.get(i);
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * @post Verifica que el rango especificado sea válido
+	 */
+	private void checkRange(int start, int length) {
+		if ( ( start < 0 ) || ( length < 0 ) || ( start + length > this.size() ) ) {
+			throw new IndexOutOfBoundsException("Invalid range");
+		}
+	}
+	
+	/**
+	 * @post Verifica que el rango especificado sea válido para éste array y
+	 * 		 el array especificado
+	 */
+	private void checkRange(Vector2fArray other, int start, int length) {
+		if ( other != null ) {
+			this.checkRange(start, length);
+			other.checkRange(start, length);
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @post Verifica que el rango especificado sea válido para el array
+	 * 		 de escalares especificado
+	 */
+	private static void checkRange(float[] scalars, int start, int length) {
+		if ( scalars != null ) {
+			if ( start + length > scalars.length ) {
+				throw new IndexOutOfBoundsException("Invalid range");
+			}
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @pre Ninguno de los arrays puede ser nulo
+	 * @post Suma los vectores en el rango especificado con los del otro array,
+	 * 		 y almacena el resultado en el destino
+	 */
+	public void add(Vector2fArray other, Vector2fArray destination, int start, int length) {
+		this.checkRange(other, start, length);
+		this.checkRange(destination, start, length);
+		
+		final int end = start + length;
+		for ( int i = start ; i < end ; i++ ) {
+			destination.x[i] = this.x[i] + other.x[i];
+			destination.y[i] = this.y[i] + other.y[i];
+		}
+	}
+	
+	/**
+	 * @pre El vector y el destino no pueden ser nulos
+	 * @post Suma el vector especificado a los vectores en el rango especificado,
+	 * 		 y almacena el resultado en el destino
+	 */
+	public void add(Vector2f vector, Vector2fArray destination, int start, int length) {
+		if ( vector != null ) {
+			this.checkRange(destination, start, length);
+			
+			final float vx = vector.getX(), vy = vector.getY();
+			final int end = start + length;
+			for ( int i = start ; i < end ; i++ ) {
+				destination.x[i] = this.x[i] + vx;
+				destination.y[i] = this.y[i] + vy;
+			}
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @pre Ninguno de los arrays puede ser nulo
+	 * @post Resta los vectores en el rango especificado con los del otro array,
+	 * 		 y almacena el resultado en el destino
+	 */
+	public void sub(Vector2fArray other, Vector2fArray destination, int start, int length) {
+		this.checkRange(other, start, length);
+		this.checkRange(destination, start, length);
+		
+		final int end = start + length;
+		for ( int i = start ; i < end ; i++ ) {
+			destination.x[i] = this.x[i] - other.x[i];
+			destination.y[i] = this.y[i] - other.y[i];
+		}
+	}
+	
+	/**
+	 * @pre El destino no puede ser nulo
+	 * @post Multiplica los vectores en el rango especificado por el escalar especificado,
+	 * 		 y almacena el resultado en el destino
+	 */
+	public void scale(float scalar, Vector2fArray destination, int start, int length) {
+		this.checkRange(destination, start, length);
+		
+		final int end = start + length;
+		for ( int i = start ; i < end ; i++ ) {
+			destination.x[i] = this.x[i] * scalar;
+			destination.y[i] = this.y[i] * scalar;
+		}
+	}
+	
+	/**
+	 * @pre Ninguno de los arrays puede ser nulo
+	 * @post Calcula el producto escalar de los vectores en el rango especificado con
+	 * 		 los del otro array, y almacena el resultado en el array de escalares
+	 * 		 destino
+	 */
+	public void dot(Vector2fArray other, float[] destination, int start, int length) {
+		this.checkRange(other, start, length);
+		checkRange(destination, start, length);
+		
+		final int end = start + length;
+		for ( int i = start ; i < end ; i++ ) {
+			destination[i] = this.x[i] * other.x[i] + this.y[i] * other.y[i];
+		}
+	}
+	
+	/**
+	 * @pre El array destino no puede ser nulo
+	 * @post Calcula la longitud elevada al cuadrado de los vectores en el rango especificado,
+	 * 		 y almacena el resultado en el array de escalares destino
+	 */
+	public void lengthSquared(float[] destination, int start, int length) {
+		this.checkRange(start, length);
+		checkRange(destination, start, length);
+		
+		final int end = start + length;
+		for ( int i = start ; i < end ; i++ ) {
+			destination[i] = this.x[i] * this.x[i] + this.y[i] * this.y[i];
+		}
+	}
+	
+	/**
+	 * @pre El destino no puede ser nulo
+	 * @post Normaliza los vectores en el rango especificado,
+	 * 		 y almacena el resultado en el destino
+	 */
+	public void normalise(Vector2fArray destination, int start, int length) {
+		this.checkRange(destination, start, length);
+		
+		final int end = start + length;
+		for ( int i = start ; i < end ; i++ ) {
+			final float inverseLength = 1.0f / (float) Math.sqrt( this.x[i] * this.x[i] + this.y[i] * this.y[i] );
+			
+			destination.x[i] = this.x[i] * inverseLength;
+			destination.y[i] = this.y[i] * inverseLength;
+		}
+	}
+	
+	/**
+	 * @pre Ninguno de los arrays puede ser nulo y tienen que tener el mismo tamaño
+	 * @post Suma los vectores con los del otro array, y almacena el resultado en el destino
+	 */
+	public void add(Vector2fArray other, Vector2fArray destination) {
+		this.add(other, destination, 0, this.size());
+	}
+	
+	/**
+	 * @pre Ninguno de los arrays puede ser nulo y tienen que tener el mismo tamaño
+	 * @post Resta los vectores con los del otro array, y almacena el resultado en el destino
+	 */
+	public void sub(Vector2fArray other, Vector2fArray destination) {
+		this.sub(other, destination, 0, this.size());
+	}
+	
+	/**
+	 * @pre El destino no puede ser nulo y tiene que tener el mismo tamaño
+	 * @post Multiplica los vectores por el escalar especificado, y almacena
+	 * 		 el resultado en el destino
+	 */
+	public void scale(float scalar, Vector2fArray destination) {
+		this.scale(scalar, destination, 0, this.size());
+	}
+	
+	/**
+	 * @pre El destino no puede ser nulo y tiene que tener el mismo tamaño
+	 * @post Normaliza los vectores, y almacena el resultado en el destino
+	 */
+	public void normalise(Vector2fArray destination) {
+		this.normalise(destination, 0, this.size());
+	}
+	
+	/**
+	 * @post Verifica que el bloque de vectores especificado entre en el buffer
+	 * 		 de límite especificado, con el desplazamiento, el paso y la cantidad
+	 * 		 especificados (En unidades del buffer)
+	 */
+	private static boolean fitsBuffer(int bufferLimit, int offset, int stride, int vectorSize, int count) {
+		if ( ( offset < 0 ) || ( count < 0 ) || ( stride < vectorSize ) ) {
+			throw new IllegalArgumentException("Invalid offset, stride or count");
+		}
+		return ( count == 0 ) || ( (long) offset + (long) stride * (long) (count - 1) + vectorSize <= bufferLimit );
+	}
+	
+	/**
+	 * @pre El buffer no puede ser nulo, el paso tiene que ser mayor o igual a 2
+	 * @post Lee la cantidad especificada de vectores del buffer a partir del desplazamiento
+	 * 		 especificado, con el paso especificado entre vectores (Ambos en floats), y los almacena
+	 * 		 a partir del índice especificado.
+	 * 		 Usa índices absolutos, de manera que no altera la posición del buffer.
+	 * 		 Permite leer formatos intercalados (Por ejemplo posición, normal y coordenadas de textura)
+	 */
+	public void readAll(FloatBuffer buffer, int offset, int stride, int start, int count) {
+		if ( buffer != null ) {
+			this.checkRange(start, count);
+			if ( fitsBuffer(buffer.limit(), offset, stride, 2, count) ) {
+				int index = offset;
+				final int end = start + count;
+				for ( int i = start ; i < end ; i++, index += stride ) {
+					this.x[i] = buffer.get(index);
+					this.y[i] = buffer.get(index + 1);
+				}
+			}
+			else {
+				throw new BufferUnderflowException();
+			}
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @pre El buffer no puede ser nulo, el paso tiene que ser mayor o igual a 2
+	 * @post Escribe la cantidad especificada de vectores a partir del índice especificado
+	 * 		 en el buffer a partir del desplazamiento especificado, con el paso especificado
+	 * 		 entre vectores (Ambos en floats).
+	 * 		 Usa índices absolutos, de manera que no altera la posición del buffer.
+	 * 		 Los floats entre vectores no se modifican, de manera que permite escribir formatos
+	 * 		 intercalados (Por ejemplo posición, normal y coordenadas de textura)
+	 */
+	public void writeAll(FloatBuffer buffer, int offset, int stride, int start, int count) {
+		if ( buffer != null ) {
+			this.checkRange(start, count);
+			if ( fitsBuffer(buffer.limit(), offset, stride, 2, count) ) {
+				int index = offset;
+				final int end = start + count;
+				for ( int i = start ; i < end ; i++, index += stride ) {
+					buffer.put(index, this.x[i]);
+					buffer.put(index + 1, this.y[i]);
+				}
+			}
+			else {
+				throw new BufferOverflowException();
+			}
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @pre El buffer no puede ser nulo, el paso tiene que ser mayor o igual a 8
+	 * @post Lee la cantidad especificada de vectores del buffer a partir del desplazamiento
+	 * 		 especificado, con el paso especificado entre vectores (Ambos en bytes), y los almacena
+	 * 		 a partir del índice especificado.
+	 * 		 Usa el orden de bytes del buffer e índices absolutos, de manera que no altera
+	 * 		 la posición del buffer
+	 */
+	public void readAll(ByteBuffer buffer, int offset, int stride, int start, int count) {
+		if ( buffer != null ) {
+			this.checkRange(start, count);
+			if ( fitsBuffer(buffer.limit(), offset, stride, 8, count) ) {
+				int index = offset;
+				final int end = start + count;
+				for ( int i = start ; i < end ; i++, index += stride ) {
+					this.x[i] = buffer.getFloat(index);
+					this.y[i] = buffer.getFloat(index + 4);
+				}
+			}
+			else {
+				throw new BufferUnderflowException();
+			}
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @pre El buffer no puede ser nulo, el paso tiene que ser mayor o igual a 8
+	 * @post Escribe la cantidad especificada de vectores a partir del índice especificado
+	 * 		 en el buffer a partir del desplazamiento especificado, con el paso especificado
+	 * 		 entre vectores (Ambos en bytes).
+	 * 		 Usa el orden de bytes del buffer e índices absolutos, de manera que no altera
+	 * 		 la posición del buffer
+	 */
+	public void writeAll(ByteBuffer buffer, int offset, int stride, int start, int count) {
+		if ( buffer != null ) {
+			this.checkRange(start, count);
+			if ( fitsBuffer(buffer.limit(), offset, stride, 8, count) ) {
+				int index = offset;
+				final int end = start + count;
+				for ( int i = start ; i < end ; i++, index += stride ) {
+					buffer.putFloat(index, this.x[i]);
+					buffer.putFloat(index + 4, this.y[i]);
+				}
+			}
+			else {
+				throw new BufferOverflowException();
+			}
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @post Devuelve una copia del array
+	 */
+	public Vector2fArray copy() {
+		return new Vector2fArray(this.x.clone(), this.y.clone());
+	}
+	
+	/**
+	 * @post Devuelve un representación en cadena de carácteres
+	 */
+	@Override
+	public String toString() {
+		final StringBuilder result = new StringBuilder("[");
+		for ( int i = 0 ; i < this.size() ; i++ ) {
+			if ( i != 0 ) {
+				result.append(", ");
+			}
+			result.append("(" + this.x[i] + ", " + this.y[i] + ")");
+		}
+		return result.append("]").toString();
+	}
+}
@@ -0,0 +1,369 @@
+/**
+ * Copyright (c) 2017 Ariel Favio Carrizo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'esferixis' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.esferixis.math;
+
+import java.io.Serializable;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.util.Collection;
+
+/**
+ * Vector tridimensional de precisión doble.
+ * 
+ * Pensado para coordenadas de mundos grandes, que se proyectan a Vector3f
+ * relativas a un origen (Por ejemplo la cámara) en el momento de enviarlas
+ * a la GPU, sin perder precisión en la resta
+ * 
+ * @author Ariel Favio Carrizo
+ *
+ */
+public final class Vector3d extends Vectord implements Serializable {
+	private static final long serialVersionUID = -4370616436522957117L;
+	
+	private final double x, y, z;
+	
+	public static final Vector3d ZERO = new Vector3d(0.0d, 0.0d, 0.0d);
+	
+	/**
+	 * @post Crea un vector con los valores de componente especificados
+	 */
+	public Vector3d(double x, double y, double z) {
+		this.x = x;
+		this.y = y;
+		this.z = z;
+	}
+	
+	/**
+	 * @post Crea un vector a partir del array especificado
+	 */
+	public Vector3d(double[] components) {
+		if ( components.length == 3 ) {
+			this.x = components[0];
+			this.y = components[1];
+			this.z = components[2];
+		}
+		else {
+			throw new IllegalArgumentException("Invalid array length");
+		}
+	}
+	
+	/**
+	 * @pre El vector no puede ser nulo
+	 * @post Crea un vector a partir del vector de precisión simple especificado
+	 */
+	public Vector3d(Vector3f vector) {
+		this(vector.getX(), vector.getY(), vector.getZ());
+	}
+	
+	/**
+	 * @post Crea un vector leyendo de un DoubleBuffer
+	 */
+	public static Vector3d read(DoubleBuffer buffer) {
+		if ( buffer.capacity() >= 3 ) {
+			return new Vector3d(buffer.get(0), buffer.get(1), buffer.get(2) );
+		}
+		else {
+			throw new BufferUnderflowException();
+		}
+	}
+	
+	/**
+	 * @post Devuelve la primer componente
+	 */
+	public double getX() {
+		return this.x;
+	}
+	
+	/**
+	 * @post Devuelve la segunda componente
+	 */
+	public double getY() {
+		return this.y;
+	}
+	
+	/**
+	 * @post Devuelve la tercer componente
+	 */
+	public double getZ() {
+		return this.z;
+	}
+	
+	/**
+	 * @post Devuelve un vector con sentido opuesto
+	 */
+	public Vector3d opposite() {
+		return new Vector3d(-this.x, -this.y, -this.z);
+	}
+	
+	/**
+	 * @post Suma el vector con otro y devuelve el resultado
+	 */
+	public Vector3d add(Vector3d other) {
+		return new Vector3d(this.x + other.x, this.y + other.y, this.z + other.z);
+	}
+	
+	/**
+	 * @post Resta el vector con otro y devuelve el resultado
+	 */
+	public Vector3d sub(Vector3d other) {
+		return new Vector3d(this.x - other.x, this.y - other.y, this.z - other.z);
+	}
+	
+	/**
+	 * @post Devuelve el producto escalar con el otro vector
+	 */
+	public double dot(Vector3d other) {
+		return this.x * other.x + this.y * other.y + this.z * other.z;
+	}
+	
+	/**
+	 * @post Devuelve el producto vectorial con el otro vector
+	 */
+	public Vector3d cross(Vector3d other) {
+		return new Vector3d(this.y * other.z - other.y * this.z, other.x * this.z - this.x * other.z, this.x * other.y - other.x * this.y);
+	}
+	
+	/**
+	 * @post Devuelve el producto del vector con el escalar especificado
+	 */
+	public Vector3d scale(double b) {
+		return new Vector3d(this.x * b, this.y * b, this.z * b);
+	}
+	
+	/**
+	 * @post Proyecta el vector especificado sobre éste y devuelve el resultado
+	 */
+	public Vector3d vectorProjection(Vector3d other) {
+		return this.scale( other.dot(this) / this.lengthSquared() );
+	}
+	
+	/**
+	 * @post Calcula la proyección del escalar del vector especificado sobre éste
+	 */
+	public double scalarProjection(Vector3d other) {
+		return this.normalise().dot(other);
+	}
+	
+	/**
+	 * @post Devuelve la longitud elevada al cuadrado
+	 */
+	@Override
+	public double lengthSquared() {
+		return this.x * this.x + this.y * this.y + this.z * this.z;
+	}
+	
+	/**
+	 * @post Devuelve el vector normalizado
+	 */
+	public Vector3d normalise() {
+		return this.scale( 1.0d / Math.sqrt( this.lengthSquared()) );
+	}
+	
+	/**
+	 * @post Devuelve el vector convertido a precisión simple
+	 */
+	public Vector3f toVector3f() {
+		return new Vector3f( (float) this.x, (float) this.y, (float) this.z);
+	}
+	
+	/**
+	 * @pre El origen no puede ser nulo
+	 * @post Devuelve el vector relativo al origen especificado, convertido a precisión simple.
+	 * 		 La resta se efectúa en precisión doble
+	 */
+	public Vector3f toVector3f(Vector3d origin) {
+		return new Vector3f( (float) (this.x - origin.x), (float) (this.y - origin.y), (float) (this.z - origin.z));
+	}
+	
+	/**
+	 * @pre Ni los vectores, ni el origen, ni el destino pueden ser nulos,
+	 * 		y los vectores tienen que entrar en el destino a partir del índice especificado
+	 * @post Convierte los vectores especificados a precisión simple, relativos al origen
+	 * 		 especificado, y los almacena en el destino a partir del índice especificado
+	 */
+	public static void toVector3fArray(Vector3d[] vectors, Vector3d origin, Vector3fArray destination, int destinationStart) {
+		if ( ( vectors != null ) && ( origin != null ) && ( destination != null ) ) {
+			if ( ( destinationStart >= 0 ) && ( destinationStart + vectors.length <= destination.size() ) ) {
+				final float[] dx = destination.xComponents(), dy = destination.yComponents(), dz = destination.zComponents();
+				final double ox = origin.x, oy = origin.y, oz = origin.z;
+				
+				for ( int i = 0 ; i < vectors.length ; i++ ) {
+					final Vector3d eachVector = vectors[i];
+					dx[destinationStart + i] = (float) (eachVector.x - ox);
+					dy[destinationStart + i] = (float) (eachVector.y - oy);
+					dz[destinationStart + i] = (float) (eachVector.z - oz);
+				}
+			}
+			else {
+				throw new IndexOutOfBoundsException("Invalid destination range");
+			}
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @pre Ni los vectores, ni el origen, ni el buffer pueden ser nulos, y el paso
+	 * 		tiene que ser mayor o igual a 3
+	 * @post Escribe los vectores especificados convertidos a precisión simple, relativos
+	 * 		 al origen especificado, en el buffer a partir del desplazamiento especificado,
+	 * 		 con el paso especificado entre vectores (Ambos en floats).
+	 * 		 No altera la posición del buffer
+	 */
+	public static void writeAll(Vector3d[] vectors, Vector3d origin, FloatBuffer buffer, int offset, int stride) {
+		if ( ( vectors != null ) && ( origin != null ) && ( buffer != null ) ) {
+			if ( ( offset >= 0 ) && ( stride >= 3 ) ) {
+				if ( ( vectors.length == 0 ) || ( (long) offset + (long) stride * (long) (vectors.length - 1) + 3 <= buffer.limit() ) ) {
+					final double ox = origin.x, oy = origin.y, oz = origin.z;
+					
+					int index = offset;
+					for ( Vector3d eachVector : vectors ) {
+						buffer.put(index, (float) (eachVector.x - ox));
+						buffer.put(index + 1, (float) (eachVector.y - oy));
+						buffer.put(index + 2, (float) (eachVector.z - oz));
+						index += stride;
+					}
+				}
+				else {
+					throw new BufferOverflowException();
+				}
+			}
+			else {
+				throw new IllegalArgumentException("Invalid offset or stride");
+			}
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @post Devuelve el hash
+	 */
+	public int hashCode() {
+		return ( doubleHash(this.x) * 31 + doubleHash(this.y) ) * 31 + doubleHash(this.z);
+	}
+	
+	/**
+	 * @post Devuelve el hash de la componente especificada, sin boxing
+	 * 		 y coherente con la igualdad (0.0d y -0.0d tienen el mismo hash)
+	 */
+	private static int doubleHash(double value) {
+		if ( value == 0.0d ) {
+			return 0;
+		}
+		else {
+			final long bits = Double.doubleToLongBits(value);
+			return (int) ( bits ^ ( bits >>> 32 ) );
+		}
+	}
+	
+	/**
+	 * @post Transforma el vector en un array
+	 */
+	public double[] toArray() {
+		return new double[]{this.x, this.y, this.z};
+	}
+	
+	/**
+	 * @post Calcula el centro de la colección de puntos especificada
+	 */
+	public static Vector3d getCenter(Collection<Vector3d> points) {
+		double totalx=0.0d, totaly=0.0d, totalz=0.0d;
+		int totalpoints=0;
+		for ( Vector3d eachPoint : points ) {
+			totalx += eachPoint.x;
+			totaly += eachPoint.y;
+			totalz += eachPoint.z;
+			totalpoints++;
+		}
+		return new Vector3d(totalx / (double) totalpoints, totaly / (double) totalpoints, totalz / (double) totalpoints);
+	}
+	
+	/**
+	 * @post Devuelve si es igual al al otro objeto
+	 */
+	public boolean equals(Object other) {
+		if ( other != null ) {
+			if ( other instanceof Vector3d ) {
+				Vector3d otherVector = (Vector3d) other;
+				return ( this.x == otherVector.x ) && ( this.y == otherVector.y ) && ( this.z == otherVector.z );
+			}
+			else {
+				return false;
+			}
+		}
+		else {
+			return false;
+		}
+	}
+	
+	/**
+	 * @post Devuelve un representación en cadena de carácteres
+	 */
+	@Override
+	public String toString() {
+		return "(" + this.x + ", " + this.y + ", " + this.z + ")";
+	}
+
+	/* (non-Javadoc)
+	 * @see com.esferixis.math.Vectord#store(java.nio.ByteBuffer)
+	 */
+	@Override
+	public void store(ByteBuffer byteBuffer) {
+		byteBuffer.putDouble(this.x);
+		byteBuffer.putDouble(this.y);
+		byteBuffer.putDouble(this.z);
+	}
+
+	/* (non-Javadoc)
+	 * @see com.esferixis.math.Vectord#store(java.nio.DoubleBuffer)
+	 */
+	@Override
+	public void store(DoubleBuffer doubleBuffer) {
+		doubleBuffer.put(this.x);
+		doubleBuffer.put(this.y);
+		doubleBuffer.put(this.z);
+	}
+
+	/* (non-Javadoc)
+	 * @see com.esferixis.math.Vectord#accept(com.esferixis.math.Vectord.Visitor)
+	 */
+	@Override
+	public <V, T extends Throwable> V accept(Visitor<V, T> visitor) throws T {
+		return visitor.visit(this);
+	}
+}
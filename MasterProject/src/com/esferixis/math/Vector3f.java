@@ -33,6 +33,7 @@
 package com.esferixis.math;
 
 import java.io.Serializable;
+import java.nio.BufferOverflowException;
 import java.nio.BufferUnderflowException;
 import java.nio.ByteBuffer;
 import java.nio.FloatBuffer;
@@ -93,6 +94,128 @@ public final class Vector3f extends Vectorf implements Serializable {
 		}
 	}
 	
+	/**
+	 * @pre El buffer no puede ser nulo, el paso tiene que ser mayor o igual a 3
+	 * @post Lee la cantidad especificada de vectores del buffer a partir del desplazamiento
+	 * 		 especificado, con el paso especificado entre vectores (Ambos en floats).
+	 * 		 No altera la posición del buffer ni crea arrays intermedios
+	 */
+	public static Vector3f[] readAll(FloatBuffer buffer, int offset, int stride, int count) {
+		if ( buffer != null ) {
+			if ( ( offset >= 0 ) && ( stride >= 3 ) && ( count >= 0 ) ) {
+				if ( ( count == 0 ) || ( (long) offset + (long) stride * (long) (count - 1) + 3 <= buffer.limit() ) ) {
+					final Vector3f[] vectors = new Vector3f[count];
+					int index = offset;
+					for ( int i = 0 ; i < count ; i++, index += stride ) {
+						vectors[i] = new Vector3f(buffer.get(index), buffer.get(index + 1), buffer.get(index + 2));
+					}
+					return vectors;
+				}
+				else {
+					throw new BufferUnderflowException();
+				}
+			}
+			else {
+				throw new IllegalArgumentException("Invalid offset, stride or count");
+			}
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @pre El buffer no puede ser nulo, el paso tiene que ser mayor o igual a 12
+	 * @post Lee la cantidad especificada de vectores del buffer a partir del desplazamiento
+	 * 		 especificado, con el paso especificado entre vectores (Ambos en bytes).
+	 * 		 Usa el orden de bytes del buffer, no altera su posición ni crea arrays intermedios
+	 */
+	public static Vector3f[] readAll(ByteBuffer buffer, int offset, int stride, int count) {
+		if ( buffer != null ) {
+			if ( ( offset >= 0 ) && ( stride >= 12 ) && ( count >= 0 ) ) {
+				if ( ( count == 0 ) || ( (long) offset + (long) stride * (long) (count - 1) + 12 <= buffer.limit() ) ) {
+					final Vector3f[] vectors = new Vector3f[count];
+					int index = offset;
+					for ( int i = 0 ; i < count ; i++, index += stride ) {
+						vectors[i] = new Vector3f(buffer.getFloat(index), buffer.getFloat(index + 4), buffer.getFloat(index + 8));
+					}
+					return vectors;
+				}
+				else {
+					throw new BufferUnderflowException();
+				}
+			}
+			else {
+				throw new IllegalArgumentException("Invalid offset, stride or count");
+			}
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @pre El array de vectores y el buffer no pueden ser nulos, el paso tiene que ser mayor o igual a 3
+	 * @post Escribe los vectores especificados en el buffer a partir del desplazamiento
+	 * 		 especificado, con el paso especificado entre vectores (Ambos en floats).
+	 * 		 No altera la posición del buffer ni crea buffers intermedios
+	 */
+	public static void writeAll(Vector3f[] vectors, FloatBuffer buffer, int offset, int stride) {
+		if ( ( vectors != null ) && ( buffer != null ) ) {
+			if ( ( offset >= 0 ) && ( stride >= 3 ) ) {
+				if ( ( vectors.length == 0 ) || ( (long) offset + (long) stride * (long) (vectors.length - 1) + 3 <= buffer.limit() ) ) {
+					int index = offset;
+					for ( Vector3f eachVector : vectors ) {
+						buffer.put(index, eachVector.x);
+						buffer.put(index + 1, eachVector.y);
+						buffer.put(index + 2, eachVector.z);
+						index += stride;
+					}
+				}
+				else {
+					throw new BufferOverflowException();
+				}
+			}
+			else {
+				throw new IllegalArgumentException("Invalid offset or stride");
+			}
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @pre El array de vectores y el buffer no pueden ser nulos, el paso tiene que ser mayor o igual a 12
+	 * @post Escribe los vectores especificados en el buffer a partir del desplazamiento
+	 * 		 especificado, con el paso especificado entre vectores (Ambos en bytes).
+	 * 		 Usa el orden de bytes del buffer, no altera su posición ni crea buffers intermedios
+	 */
+	public static void writeAll(Vector3f[] vectors, ByteBuffer buffer, int offset, int stride) {
+		if ( ( vectors != null ) && ( buffer != null ) ) {
+			if ( ( offset >= 0 ) && ( stride >= 12 ) ) {
+				if ( ( vectors.length == 0 ) || ( (long) offset + (long) stride * (long) (vectors.length - 1) + 12 <= buffer.limit() ) ) {
+					int index = offset;
+					for ( Vector3f eachVector : vectors ) {
+						buffer.putFloat(index, eachVector.x);
+						buffer.putFloat(index + 4, eachVector.y);
+						buffer.putFloat(index + 8, eachVector.z);
+						index += stride;
+					}
+				}
+				else {
+					throw new BufferOverflowException();
+				}
+			}
+			else {
+				throw new IllegalArgumentException("Invalid offset or stride");
+			}
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
 	/* (non-Javadoc)
 	 * @see com.esferixis.math.Vectorf#store()
 	 */
@@ -143,7 +266,7 @@ public final class Vector3f extends Vectorf implements Serializable {
 	 * @post Resta el vector con otro y devuelve el resultado
 	 */
 	public Vector3f sub(Vector3f other) {
-		return this.add( other.opposite() );
+		return new Vector3f(this.x - other.x, this.y - other.y, this.z - other.z);
 	}
 	
 	/**
@@ -265,11 +388,54 @@ public final class Vector3f extends Vectorf implements Serializable {
 		return this.scale( 1.0f / (float) Math.sqrt( this.lengthSquared()) );
 	}
 	
+	/**
+	 * @post Almacena la suma con el vector especificado en el destino y lo devuelve
+	 */
+	public MutableVector3f add(Vector3f other, MutableVector3f destination) {
+		return destination.set(this.x + other.x, this.y + other.y, this.z + other.z);
+	}
+	
+	/**
+	 * @post Almacena la resta con el vector especificado en el destino y lo devuelve
+	 */
+	public MutableVector3f sub(Vector3f other, MutableVector3f destination) {
+		return destination.set(this.x - other.x, this.y - other.y, this.z - other.z);
+	}
+	
+	/**
+	 * @post Almacena el producto con el escalar especificado en el destino y lo devuelve
+	 */
+	public MutableVector3f scale(float b, MutableVector3f destination) {
+		return destination.set(this.x * b, this.y * b, this.z * b);
+	}
+	
+	/**
+	 * @post Almacena el producto vectorial con el otro vector en el destino y lo devuelve
+	 */
+	public MutableVector3f cross(Vector3f other, MutableVector3f destination) {
+		return destination.set(this.y * other.z - other.y * this.z, other.x * this.z - this.x * other.z, this.x * other.y - other.x * this.y);
+	}
+	
+	/**
+	 * @post Almacena el vector normalizado en el destino y lo devuelve
+	 */
+	public MutableVector3f normalise(MutableVector3f destination) {
+		return this.scale( 1.0f / (float) Math.sqrt( this.lengthSquared()), destination );
+	}
+	
 	/**
 	 * @post Devuelve el hash
 	 */
 	public int hashCode() {
-		return ( Float.valueOf(this.x).hashCode() + Float.valueOf(this.y).hashCode() + Float.valueOf(this.z).hashCode() );
+		return ( floatHash(this.x) * 31 + floatHash(this.y) ) * 31 + floatHash(this.z);
+	}
+	
+	/**
+	 * @post Devuelve el hash de la componente especificada, sin boxing
+	 * 		 y coherente con la igualdad (0.0f y -0.0f tienen el mismo hash)
+	 */
+	private static int floatHash(float value) {
+		return ( value == 0.0f ) ? 0 : Float.floatToIntBits(value);
 	}
 	
 	/**
@@ -0,0 +1,313 @@
+/**
+ * Copyright (c) 2017 Ariel Favio Carrizo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'esferixis' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.esferixis.math;
+
+import java.io.Serializable;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+
+/**
+ * Vector tetradimensional de precisión doble
+ * 
+ * @author Ariel Favio Carrizo
+ *
+ */
+public final class Vector4d extends Vectord implements Serializable {
+	private static final long serialVersionUID = -7203169834580317731L;
+
+	public static final Vector4d ZERO = new Vector4d(0.0d, 0.0d, 0.0d, 0.0d);
+	
+	private final double x, y, z, w;
+	private Integer hash;
+	
+	/**
+	 * @post Crea un vector de 4 dimensiones
+	 */
+	public Vector4d(double x, double y, double z, double w) {
+		this.x = x;
+		this.y = y;
+		this.z = z;
+		this.w = w;
+		this.hash = null;
+	}
+	
+	/**
+	 * @pre El vector no puede ser nulo
+	 * @post Crea un vector a partir del vector de precisión simple especificado
+	 */
+	public Vector4d(Vector4f vector) {
+		this(vector.getX(), vector.getY(), vector.getZ(), vector.getW());
+	}
+	
+	/**
+	 * @post Devuelve la primer componente
+	 * @return
+	 */
+	public double getX() {
+		return this.x;
+	}
+	
+	/**
+	 * @post Devuelve la segunda componente
+	 * @return
+	 */
+	public double getY() {
+		return this.y;
+	}
+	
+	/**
+	 * @post Devuelve la tercer componente
+	 * @return
+	 */
+	public double getZ() {
+		return this.z;
+	}
+	
+	/**
+	 * @post Devuelve la cuarta componente
+	 * @return
+	 */
+	public double getW() {
+		return this.w;
+	}
+	
+	/**
+	 * @post Crea un vector leyendo de un DoubleBuffer
+	 */
+	public static Vector4d read(DoubleBuffer buffer) {
+		if ( buffer.capacity() >= 4 ) {
+			return new Vector4d(buffer.get(0), buffer.get(1), buffer.get(2), buffer.get(3) );
+		}
+		else {
+			throw new BufferUnderflowException();
+		}
+	}
+	
+	/**
+	 * @pre El array de vectores y el buffer no pueden ser nulos, el paso tiene que ser mayor o igual a 4
+	 * @post Escribe los vectores especificados en el buffer a partir del desplazamiento
+	 * 		 especificado, con el paso especificado entre vectores (Ambos en doubles).
+	 * 		 No altera la posición del buffer ni crea buffers intermedios
+	 */
+	public static void writeAll(Vector4d[] vectors, DoubleBuffer buffer, int offset, int stride) {
+		if ( ( vectors != null ) && ( buffer != null ) ) {
+			if ( ( offset >= 0 ) && ( stride >= 4 ) ) {
+				if ( ( vectors.length == 0 ) || ( (long) offset + (long) stride * (long) (vectors.length - 1) + 4 <= buffer.limit() ) ) {
+					int index = offset;
+					for ( Vector4d eachVector : vectors ) {
+						buffer.put(index, eachVector.x);
+						buffer.put(index + 1, eachVector.y);
+						buffer.put(index + 2, eachVector.z);
+						buffer.put(index + 3, eachVector.w);
+						index += stride;
+					}
+				}
+				else {
+					throw new BufferOverflowException();
+				}
+			}
+			else {
+				throw new IllegalArgumentException("Invalid offset or stride");
+			}
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @pre El array de vectores y el buffer no pueden ser nulos, el paso tiene que ser mayor o igual a 32
+	 * @post Escribe los vectores especificados en el buffer a partir del desplazamiento
+	 * 		 especificado, con el paso especificado entre vectores (Ambos en bytes).
+	 * 		 Usa el orden de bytes del buffer, no altera su posición ni crea buffers intermedios
+	 */
+	public static void writeAll(Vector4d[] vectors, ByteBuffer buffer, int offset, int stride) {
+		if ( ( vectors != null ) && ( buffer != null ) ) {
+			if ( ( offset >= 0 ) && ( stride >= 32 ) ) {
+				if ( ( vectors.length == 0 ) || ( (long) offset + (long) stride * (long) (vectors.length - 1) + 32 <= buffer.limit() ) ) {
+					int index = offset;
+					for ( Vector4d eachVector : vectors ) {
+						buffer.putDouble(index, eachVector.x);
+						buffer.putDouble(index + 8, eachVector.y);
+						buffer.putDouble(index + 16, eachVector.z);
+						buffer.putDouble(index + 24, eachVector.w);
+						index += stride;
+					}
+				}
+				else {
+					throw new BufferOverflowException();
+				}
+			}
+			else {
+				throw new IllegalArgumentException("Invalid offset or stride");
+			}
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @post Devuelve un vector con sentido opuesto
+	 */
+	public Vector4d opposite() {
+		return new Vector4d(-this.x, -this.y, -this.z, -this.w);
+	}
+	
+	/**
+	 * @post Suma el vector con otro y devuelve el resultado
+	 */
+	public Vector4d add(Vector4d other) {
+		return new Vector4d(this.x + other.x, this.y + other.y, this.z + other.z, this.w + other.w);
+	}
+	
+	/**
+	 * @post Resta el vector con otro y devuelve el resultado
+	 */
+	public Vector4d sub(Vector4d other) {
+		return new Vector4d(this.x - other.x, this.y - other.y, this.z - other.z, this.w - other.w);
+	}
+	
+	/**
+	 * @post Devuelve el producto escalar con el otro vector
+	 */
+	public double dot(Vector4d other) {
+		return this.x * other.x + this.y * other.y + this.z * other.z + this.w * other.w;
+	}
+	
+	/**
+	 * @post Devuelve el producto del vector con el escalar especificado
+	 */
+	public Vector4d scale(double b) {
+		return new Vector4d(this.x * b, this.y * b, this.z * b, this.w * b);
+	}
+	
+	/**
+	 * @post Devuelve el vector normalizado
+	 */
+	public Vector4d normalise() {
+		return this.scale( 1.0d / Math.sqrt( this.lengthSquared()) );
+	}
+	
+	/**
+	 * @post Devuelve el vector convertido a precisión simple
+	 */
+	public Vector4f toVector4f() {
+		return new Vector4f( (float) this.x, (float) this.y, (float) this.z, (float) this.w);
+	}
+	
+	@Override
+	public int hashCode() {
+		if ( this.hash == null ) {
+			this.hash = ( ( doubleHash(this.x) * 31 + doubleHash(this.y) ) * 31 + doubleHash(this.z) ) * 31 + doubleHash(this.w);
+		}
+		return this.hash;
+	}
+	
+	/**
+	 * @post Devuelve el hash de la componente especificada, sin boxing
+	 * 		 y coherente con la igualdad (0.0d y -0.0d tienen el mismo hash)
+	 */
+	private static int doubleHash(double value) {
+		if ( value == 0.0d ) {
+			return 0;
+		}
+		else {
+			final long bits = Double.doubleToLongBits(value);
+			return (int) ( bits ^ ( bits >>> 32 ) );
+		}
+	}
+	
+	@Override
+	public boolean equals(Object other) {
+		if ( other != null ) {
+			if ( other instanceof Vector4d ) {
+				Vector4d otherVector = (Vector4d) other;
+				return ( this.x == otherVector.x ) && ( this.y == otherVector.y ) && ( this.z == otherVector.z ) && ( this.w == otherVector.w );
+			}
+			else {
+				return false;
+			}
+		}
+		else {
+			return false;
+		}
+	}
+	
+	/**
+	 * @post Devuelve un representación en cadena de carácteres
+	 */
+	@Override
+	public String toString() {
+		return "(" + this.x + ", " + this.y + ", " + this.z + ", " + this.w + ")";
+	}
+
+	/* (non-Javadoc)
+	 * @see com.esferixis.math.Vectord#lengthSquared()
+	 */
+	@Override
+	public double lengthSquared() {
+		return this.x * this.x + this.y * this.y + this.z * this.z + this.w * this.w;
+	}
+
+	/* (non-Javadoc)
+	 * @see com.esferixis.math.Vectord#store(java.nio.ByteBuffer)
+	 */
+	@Override
+	public void store(ByteBuffer byteBuffer) {
+		byteBuffer.putDouble(this.x);
+		byteBuffer.putDouble(this.y);
+		byteBuffer.putDouble(this.z);
+		byteBuffer.putDouble(this.w);
+	}
+
+	/* (non-Javadoc)
+	 * @see com.esferixis.math.Vectord#store(java.nio.DoubleBuffer)
+	 */
+	@Override
+	public void store(DoubleBuffer doubleBuffer) {
+		doubleBuffer.put(this.x);
+		doubleBuffer.put(this.y);
+		doubleBuffer.put(this.z);
+		doubleBuffer.put(this.w);
+	}
+
+	/* (non-Javadoc)
+	 * @see com.esferixis.math.Vectord#accept(com.esferixis.math.Vectord.Visitor)
+	 */
+	@Override
+	public <V, T extends Throwable> V accept(Visitor<V, T> visitor) throws T {
+		return visitor.visit(this);
+	}
+}
@@ -32,6 +32,7 @@
 package com.esferixis.math;
 
 import java.io.Serializable;
+import java.nio.BufferOverflowException;
 import java.nio.BufferUnderflowException;
 import java.nio.ByteBuffer;
 import java.nio.FloatBuffer;
@@ -63,6 +64,31 @@ public final class Vector4f extends Vectorf implements Serializable {
 		this.hash = null;
 	}
 	
+	/**
+	 * @pre El vector no puede ser nulo
+	 * @post Crea un vector de 4 dimensiones con las componentes del vector
+	 * 		 de 3 dimensiones y la cuarta componente especificados
+	 */
+	public Vector4f(Vector3f vector, float w) {
+		this(vector.getX(), vector.getY(), vector.getZ(), w);
+	}
+	
+	/**
+	 * @post Crea un vector a partir del array especificado
+	 */
+	public Vector4f(float[] components) {
+		if ( components.length == 4 ) {
+			this.x = components[0];
+			this.y = components[1];
+			this.z = components[2];
+			this.w = components[3];
+			this.hash = null;
+		}
+		else {
+			throw new IllegalArgumentException("Invalid array length");
+		}
+	}
+	
 	/**
 	 * @post Devuelve la primer componente
 	 * @return
@@ -107,6 +133,130 @@ public final class Vector4f extends Vectorf implements Serializable {
 		}
 	}
 	
+	/**
+	 * @pre El buffer no puede ser nulo, el paso tiene que ser mayor o igual a 4
+	 * @post Lee la cantidad especificada de vectores del buffer a partir del desplazamiento
+	 * 		 especificado, con el paso especificado entre vectores (Ambos en floats).
+	 * 		 No altera la posición del buffer ni crea arrays intermedios
+	 */
+	public static Vector4f[] readAll(FloatBuffer buffer, int offset, int stride, int count) {
+		if ( buffer != null ) {
+			if ( ( offset >= 0 ) && ( stride >= 4 ) && ( count >= 0 ) ) {
+				if ( ( count == 0 ) || ( (long) offset + (long) stride * (long) (count - 1) + 4 <= buffer.limit() ) ) {
+					final Vector4f[] vectors = new Vector4f[count];
+					int index = offset;
+					for ( int i = 0 ; i < count ; i++, index += stride ) {
+						vectors[i] = new Vector4f(buffer.get(index), buffer.get(index + 1), buffer.get(index + 2), buffer.get(index + 3));
+					}
+					return vectors;
+				}
+				else {
+					throw new BufferUnderflowException();
+				}
+			}
+			else {
+				throw new IllegalArgumentException("Invalid offset, stride or count");
+			}
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @pre El buffer no puede ser nulo, el paso tiene que ser mayor o igual a 16
+	 * @post Lee la cantidad especificada de vectores del buffer a partir del desplazamiento
+	 * 		 especificado, con el paso especificado entre vectores (Ambos en bytes).
+	 * 		 Usa el orden de bytes del buffer, no altera su posición ni crea arrays intermedios
+	 */
+	public static Vector4f[] readAll(ByteBuffer buffer, int offset, int stride, int count) {
+		if ( buffer != null ) {
+			if ( ( offset >= 0 ) && ( stride >= 16 ) && ( count >= 0 ) ) {
+				if ( ( count == 0 ) || ( (long) offset + (long) stride * (long) (count - 1) + 16 <= buffer.limit() ) ) {
+					final Vector4f[] vectors = new Vector4f[count];
+					int index = offset;
+					for ( int i = 0 ; i < count ; i++, index += stride ) {
+						vectors[i] = new Vector4f(buffer.getFloat(index), buffer.getFloat(index + 4), buffer.getFloat(index + 8), buffer.getFloat(index + 12));
+					}
+					return vectors;
+				}
+				else {
+					throw new BufferUnderflowException();
+				}
+			}
+			else {
+				throw new IllegalArgumentException("Invalid offset, stride or count");
+			}
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @pre El array de vectores y el buffer no pueden ser nulos, el paso tiene que ser mayor o igual a 4
+	 * @post Escribe los vectores especificados en el buffer a partir del desplazamiento
+	 * 		 especificado, con el paso especificado entre vectores (Ambos en floats).
+	 * 		 No altera la posición del buffer ni crea buffers intermedios
+	 */
+	public static void writeAll(Vector4f[] vectors, FloatBuffer buffer, int offset, int stride) {
+		if ( ( vectors != null ) && ( buffer != null ) ) {
+			if ( ( offset >= 0 ) && ( stride >= 4 ) ) {
+				if ( ( vectors.length == 0 ) || ( (long) offset + (long) stride * (long) (vectors.length - 1) + 4 <= buffer.limit() ) ) {
+					int index = offset;
+					for ( Vector4f eachVector : vectors ) {
+						buffer.put(index, eachVector.x);
+						buffer.put(index + 1, eachVector.y);
+						buffer.put(index + 2, eachVector.z);
+						buffer.put(index + 3, eachVector.w);
+						index += stride;
+					}
+				}
+				else {
+					throw new BufferOverflowException();
+				}
+			}
+			else {
+				throw new IllegalArgumentException("Invalid offset or stride");
+			}
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @pre El array de vectores y el buffer no pueden ser nulos, el paso tiene que ser mayor o igual a 16
+	 * @post Escribe los vectores especificados en el buffer a partir del desplazamiento
+	 * 		 especificado, con el paso especificado entre vectores (Ambos en bytes).
+	 * 		 Usa el orden de bytes del buffer, no altera su posición ni crea buffers intermedios
+	 */
+	public static void writeAll(Vector4f[] vectors, ByteBuffer buffer, int offset, int stride) {
+		if ( ( vectors != null ) && ( buffer != null ) ) {
+			if ( ( offset >= 0 ) && ( stride >= 16 ) ) {
+				if ( ( vectors.length == 0 ) || ( (long) offset + (long) stride * (long) (vectors.length - 1) + 16 <= buffer.limit() ) ) {
+					int index = offset;
+					for ( Vector4f eachVector : vectors ) {
+						buffer.putFloat(index, eachVector.x);
+						buffer.putFloat(index + 4, eachVector.y);
+						buffer.putFloat(index + 8, eachVector.z);
+						buffer.putFloat(index + 12, eachVector.w);
+						index += stride;
+					}
+				}
+				else {
+					throw new BufferOverflowException();
+				}
+			}
+			else {
+				throw new IllegalArgumentException("Invalid offset or stride");
+			}
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
 	/* (non-Javadoc)
 	 * @see com.esferixis.math.Vectorf#store()
 	 */
@@ -118,6 +268,112 @@ public final class Vector4f extends Vectorf implements Serializable {
 		return buffer;
 	}
 	
+	/**
+	 * @post Devuelve un vector con sentido opuesto
+	 */
+	public Vector4f opposite() {
+		return new Vector4f(-this.x, -this.y, -this.z, -this.w);
+	}
+	
+	/**
+	 * @post Suma el vector con otro y devuelve el resultado
+	 */
+	public Vector4f add(Vector4f other) {
+		return new Vector4f(this.x + other.x, this.y + other.y, this.z + other.z, this.w + other.w);
+	}
+	
+	/**
+	 * @post Resta el vector con otro y devuelve el resultado
+	 */
+	public Vector4f sub(Vector4f other) {
+		return new Vector4f(this.x - other.x, this.y - other.y, this.z - other.z, this.w - other.w);
+	}
+	
+	/**
+	 * @post Devuelve el producto escalar con el otro vector
+	 */
+	public float dot(Vector4f other) {
+		return this.x * other.x + this.y * other.y + this.z * other.z + this.w * other.w;
+	}
+	
+	/**
+	 * @post Devuelve el producto del vector con el escalar especificado
+	 */
+	public Vector4f scale(float b) {
+		return new Vector4f(this.x * b, this.y * b, this.z * b, this.w * b);
+	}
+	
+	/**
+	 * @post Devuelve el vector normalizado
+	 */
+	public Vector4f normalise() {
+		return this.scale( 1.0f / (float) Math.sqrt( this.lengthSquared()) );
+	}
+	
+	/**
+	 * @post Devuelve la interpolación lineal con el vector especificado
+	 */
+	public Vector4f linearInterpolation(Vector4f other, float factor) {
+		return new Vector4f(
+				ExtraMath.linearInterpolation(this.x, other.x, factor),
+				ExtraMath.linearInterpolation(this.y, other.y, factor),
+				ExtraMath.linearInterpolation(this.z, other.z, factor),
+				ExtraMath.linearInterpolation(this.w, other.w, factor)
+		);
+	}
+	
+	/**
+	 * @post Devuelve las tres primeras componentes divididas por la cuarta
+	 * 		 (División de perspectiva)
+	 */
+	public Vector3f perspectiveDivide() {
+		final float inverseW = 1.0f / this.w;
+		return new Vector3f(this.x * inverseW, this.y * inverseW, this.z * inverseW);
+	}
+	
+	/**
+	 * @post Devuelve las tres primeras componentes
+	 */
+	public Vector3f toVector3f() {
+		return new Vector3f(this.x, this.y, this.z);
+	}
+	
+	/**
+	 * @post Almacena la suma con el vector especificado en el destino y lo devuelve
+	 */
+	public MutableVector4f add(Vector4f other, MutableVector4f destination) {
+		return destination.set(this.x + other.x, this.y + other.y, this.z + other.z, this.w + other.w);
+	}
+	
+	/**
+	 * @post Almacena la resta con el vector especificado en el destino y lo devuelve
+	 */
+	public MutableVector4f sub(Vector4f other, MutableVector4f destination) {
+		return destination.set(this.x - other.x, this.y - other.y, this.z - other.z, this.w - other.w);
+	}
+	
+	/**
+	 * @post Almacena el producto con el escalar especificado en el destino y lo devuelve
+	 */
+	public MutableVector4f scale(float b, MutableVector4f destination) {
+		return destination.set(this.x * b, this.y * b, this.z * b, this.w * b);
+	}
+	
+	/**
+	 * @post Almacena el vector normalizado en el destino y lo devuelve
+	 */
+	public MutableVector4f normalise(MutableVector4f destination) {
+		return this.scale( 1.0f / (float) Math.sqrt( this.lengthSquared()), destination );
+	}
+	
+	/**
+	 * @post Almacena el resultado de la división de perspectiva en el destino y lo devuelve
+	 */
+	public MutableVector3f perspectiveDivide(MutableVector3f destination) {
+		final float inverseW = 1.0f / this.w;
+		return destination.set(this.x * inverseW, this.y * inverseW, this.z * inverseW);
+	}
+	
 	@Override
 	public int hashCode() {
 		if ( this.hash == null ) {
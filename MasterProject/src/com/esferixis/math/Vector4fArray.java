@@ -0,0 +1,623 @@
+/**
+ * Copyright (c) 2017 Ariel Favio Carrizo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'esferixis' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.esferixis.math;
+
+import java.io.Serializable;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.util.Collection;
+
+/**
+ * Array de vectores tetradimensionales, almacenados en arrays
+ * contiguos por componente (Estructura de arrays).
+ * 
+ * Las operaciones en bloque operan sobre un rango de índices
+ * y escriben el resultado en el array destino especificado, que
+ * puede ser el mismo array
+ * 
+ * @author Ariel Favio Carrizo
+ *
+ */
+public final class Vector4fArray implements Serializable {
+	private static final long serialVersionUID = 8316904257732201617L;
+	
+	private final float[] x, y, z, w;
+	
+	/**
+	 * @pre La cantidad de elementos no puede ser negativa
+	 * @post Crea un array de vectores nulos con la cantidad de elementos especificada
+	 */
+	public Vector4fArray(int size) {
+		if ( size >= 0 ) {
+			this.x = new float[size];
+			this.y = new float[size];
+			this.z = new float[size];
+			this.w = new float[size];
+		}
+		else {
+			throw new IllegalArgumentException("Negative size");
+		}
+	}
+	
+	/**
+	 * @pre Los arrays de componentes no pueden ser nulos y tienen que tener
+	 * 		la misma longitud
+	 * @post Crea un array de vectores con los arrays de componentes especificados.
+	 * 		 Los arrays no se copian
+	 */
+	public Vector4fArray(float[] x, float[] y, float[] z, float[] w) {
+		if ( ( x != null ) && ( y != null ) && ( z != null ) && ( w != null ) ) {
+			if ( ( x.length == y.length ) && ( x.length == z.length ) && ( x.length == w.length ) ) {
+				this.x = x;
+				this.y = y;
+				this.z = z;
+				this.w = w;
+			}
+			else {
+				throw new IllegalArgumentException("Components length mismatch");
+			}
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @pre Los vectores no pueden ser nulos
+	 * @post Crea un array con los vectores especificados
+	 */
+	public Vector4fArray(Vector4f... vectors) {
+		this(vectors.length);
+		
+		for ( int i = 0 ; i < vectors.length ; i++ ) {
+			this.set(i, vectors[i]);
+		}
+	}
+	
+	/**
+	 * @pre La colección y sus elementos no pueden ser nulos
+	 * @post Crea un array con los vectores de la colección especificada
+	 */
+	public Vector4fArray(Collection<Vector4f> vectors) {
+		this(vectors.size());
+		
+		int i = 0;
+		for ( Vector4f eachVector : vectors ) {
+			this.set(i++, eachVector);
+		}
+	}
+	
+	/**
+	 * @post Devuelve la cantidad de vectores
+	 */
+	public int size() {
+		return this.x.length;
+	}
+	
+	/**
+	 * @post Devuelve el array de primeras componentes (No es una copia)
+	 */
+	public float[] xComponents() {
+		return this.x;
+	}
+	
+	/**
+	 * @post Devuelve el array de segundas componentes (No es una copia)
+	 */
+	public float[] yComponents() {
+		return this.y;
+	}
+	
+	/**
+	 * @post Devuelve el array de terceras componentes (No es una copia)
+	 */
+	public float[] zComponents() {
+		return this.z;
+	}
+	
+	/**
+	 * @post Devuelve el array de cuartas componentes (No es una copia)
+	 */
+	public float[] wComponents() {
+		return this.w;
+	}
+	
+	/**
+	 * @post Devuelve la primer componente del vector con el índice especificado
+	 */
+	public float getX(int index) {
+		return this.x[index];
+	}
+	
+	/**
+	 * @post Devuelve la segunda componente del vector con el índice especificado
+	 */
+	public float getY(int index) {
+		return this.y[index];
+	}
+	
+	/**
+	 * @post Devuelve la tercer componente del vector con el índice especificado
+	 */
+	public float getZ(int index) {
+		return this.z[index];
+	}
+	
+	/**
+	 * @post Devuelve la cuarta componente del vector con el índice especificado
+	 */
+	public float getW(int index) {
+		return this.w[index];
+	}
+	
+	/**
+	 * @post Devuelve el vector con el índice especificado
+	 */
+	public Vector4f get(int index) {
+		return new Vector4f(this.x[index], this.y[index], this.z[index], this.w[index]);
+	}
+	
+	/**
+	 * @post Especifica las componentes del vector con el índice especificado
+	 */
+	public void set(int index, float x, float y, float z, float w) {
+		this.x[index] = x;
+		this.y[index] = y;
+		this.z[index] = z;
+		this.w[index] = w;
+	}
+	
+	/**
+	 * @pre El vector no puede ser nulo
+	 * @post Especifica el vector con el índice especificado
+	 */
+	public void set(int index, Vector4f vector) {
+		this.set(index, vector.getX(), vector.getY(), vector.getZ(), vector.getW());
+	}
+	
+	/**
+	 * @post Convierte el array en un array de vectores
+	 */
+	public Vector4f[] toArray() {
+		final Vector4f[] result = new Vector4f[this.size()];
+		
+		for ( int i = 0 ; i < result.length ; i++ ) {
+			result[i] = this.get(i);
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * @post Verifica que el rango especificado sea válido
+	 */
+	private void checkRange(int start, int length) {
+		if ( ( start < 0 ) || ( length < 0 ) || ( start + length > this.size() ) ) {
+			throw new IndexOutOfBoundsException("Invalid range");
+		}
+	}
+	
+	/**
+	 * @post Verifica que el rango especificado sea válido para éste array y
+	 * 		 el array especificado
+	 */
+	private void checkRange(Vector4fArray other, int start, int length) {
+		if ( other != null ) {
+			this.checkRange(start, length);
+			other.checkRange(start, length);
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @post Verifica que el rango especificado sea válido para el array
+	 * 		 de escalares especificado
+	 */
+	private static void checkRange(float[] scalars, int start, int length) {
+		if ( scalars != null ) {
+			if ( start + length > scalars.length ) {
+				throw new IndexOutOfBoundsException("Invalid range");
+			}
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @pre Ninguno de los arrays puede ser nulo
+	 * @post Suma los vectores en el rango especificado con los del otro array,
+	 * 		 y almacena el resultado en el destino
+	 */
+	public void add(Vector4fArray other, Vector4fArray destination, int start, int length) {
+		this.checkRange(other, start, length);
+		this.checkRange(destination, start, length);
+		
+		final int end = start + length;
+		for ( int i = start ; i < end ; i++ ) {
+			destination.x[i] = this.x[i] + other.x[i];
+			destination.y[i] = this.y[i] + other.y[i];
+			destination.z[i] = this.z[i] + other.z[i];
+			destination.w[i] = this.w[i] + other.w[i];
+		}
+	}
+	
+	/**
+	 * @pre Ninguno de los arrays puede ser nulo
+	 * @post Resta los vectores en el rango especificado con los del otro array,
+	 * 		 y almacena el resultado en el destino
+	 */
+	public void sub(Vector4fArray other, Vector4fArray destination, int start, int length) {
+		this.checkRange(other, start, length);
+		this.checkRange(destination, start, length);
+		
+		final int end = start + length;
+		for ( int i = start ; i < end ; i++ ) {
+			destination.x[i] = this.x[i] - other.x[i];
+			destination.y[i] = this.y[i] - other.y[i];
+			destination.z[i] = this.z[i] - other.z[i];
+			destination.w[i] = this.w[i] - other.w[i];
+		}
+	}
+	
+	/**
+	 * @pre El destino no puede ser nulo
+	 * @post Multiplica los vectores en el rango especificado por el escalar especificado,
+	 * 		 y almacena el resultado en el destino
+	 */
+	public void scale(float scalar, Vector4fArray destination, int start, int length) {
+		this.checkRange(destination, start, length);
+		
+		final int end = start + length;
+		for ( int i = start ; i < end ; i++ ) {
+			destination.x[i] = this.x[i] * scalar;
+			destination.y[i] = this.y[i] * scalar;
+			destination.z[i] = this.z[i] * scalar;
+			destination.w[i] = this.w[i] * scalar;
+		}
+	}
+	
+	/**
+	 * @pre Ninguno de los arrays puede ser nulo
+	 * @post Calcula el producto escalar de los vectores en el rango especificado con
+	 * 		 los del otro array, y almacena el resultado en el array de escalares
+	 * 		 destino
+	 */
+	public void dot(Vector4fArray other, float[] destination, int start, int length) {
+		this.checkRange(other, start, length);
+		checkRange(destination, start, length);
+		
+		final int end = start + length;
+		for ( int i = start ; i < end ; i++ ) {
+			destination[i] = this.x[i] * other.x[i] + this.y[i] * other.y[i] + this.z[i] * other.z[i] + this.w[i] * other.w[i];
+		}
+	}
+	
+	/**
+	 * @pre El array destino no puede ser nulo
+	 * @post Calcula la longitud elevada al cuadrado de los vectores en el rango especificado,
+	 * 		 y almacena el resultado en el array de escalares destino
+	 */
+	public void lengthSquared(float[] destination, int start, int length) {
+		this.checkRange(start, length);
+		checkRange(destination, start, length);
+		
+		final int end = start + length;
+		for ( int i = start ; i < end ; i++ ) {
+			destination[i] = this.x[i] * this.x[i] + this.y[i] * this.y[i] + this.z[i] * this.z[i] + this.w[i] * this.w[i];
+		}
+	}
+	
+	/**
+	 * @pre El destino no puede ser nulo
+	 * @post Normaliza los vectores en el rango especificado,
+	 * 		 y almacena el resultado en el destino
+	 */
+	public void normalise(Vector4fArray destination, int start, int length) {
+		this.checkRange(destination, start, length);
+		
+		final int end = start + length;
+		for ( int i = start ; i < end ; i++ ) {
+			final float inverseLength = 1.0f / (float) Math.sqrt( this.x[i] * this.x[i] + this.y[i] * this.y[i] + this.z[i] * this.z[i] + this.w[i] * this.w[i] );
+			
+			destination.x[i] = this.x[i] * inverseLength;
+			destination.y[i] = this.y[i] * inverseLength;
+			destination.z[i] = this.z[i] * inverseLength;
+			destination.w[i] = this.w[i] * inverseLength;
+		}
+	}
+	
+	/**
+	 * @pre Ni la matriz ni el destino pueden ser nulos
+	 * @post Transforma los vectores homogéneos en el rango especificado con la matriz especificada,
+	 * 		 y almacena el resultado en el destino.
+	 * 		 El destino puede ser éste array
+	 */
+	public void transform(Matrix4f matrix, Vector4fArray destination, int start, int length) {
+		if ( matrix != null ) {
+			this.checkRange(destination, start, length);
+			
+			final float m00 = matrix.m[0], m01 = matrix.m[1], m02 = matrix.m[2], m03 = matrix.m[3];
+			final float m10 = matrix.m[4], m11 = matrix.m[5], m12 = matrix.m[6], m13 = matrix.m[7];
+			final float m20 = matrix.m[8], m21 = matrix.m[9], m22 = matrix.m[10], m23 = matrix.m[11];
+			final float m30 = matrix.m[12], m31 = matrix.m[13], m32 = matrix.m[14], m33 = matrix.m[15];
+			
+			final int end = start + length;
+			for ( int i = start ; i < end ; i++ ) {
+				final float x = this.x[i], y = this.y[i], z = this.z[i], w = this.w[i];
+				
+				destination.x[i] = m00 * x + m10 * y + m20 * z + m30 * w;
+				destination.y[i] = m01 * x + m11 * y + m21 * z + m31 * w;
+				destination.z[i] = m02 * x + m12 * y + m22 * z + m32 * w;
+				destination.w[i] = m03 * x + m13 * y + m23 * z + m33 * w;
+			}
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @pre El destino no puede ser nulo
+	 * @post Divide las tres primeras componentes de los vectores en el rango especificado
+	 * 		 por la cuarta (División de perspectiva), y almacena el resultado en el destino
+	 */
+	public void perspectiveDivide(Vector3fArray destination, int start, int length) {
+		if ( destination != null ) {
+			this.checkRange(start, length);
+			if ( start + length > destination.size() ) {
+				throw new IndexOutOfBoundsException("Invalid range");
+			}
+			
+			final float[] dx = destination.xComponents(), dy = destination.yComponents(), dz = destination.zComponents();
+			
+			final int end = start + length;
+			for ( int i = start ; i < end ; i++ ) {
+				final float inverseW = 1.0f / this.w[i];
+				
+				dx[i] = this.x[i] * inverseW;
+				dy[i] = this.y[i] * inverseW;
+				dz[i] = this.z[i] * inverseW;
+			}
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @pre Ninguno de los arrays puede ser nulo
+	 * @post Interpola linealmente los vectores en el rango especificado con los del otro array,
+	 * 		 con el factor especificado, y almacena el resultado en el destino
+	 */
+	public void linearInterpolation(Vector4fArray other, float factor, Vector4fArray destination, int start, int length) {
+		this.checkRange(other, start, length);
+		this.checkRange(destination, start, length);
+		
+		VectorKernels.linearInterpolation(this.x, other.x, factor, destination.x, start, length);
+		VectorKernels.linearInterpolation(this.y, other.y, factor, destination.y, start, length);
+		VectorKernels.linearInterpolation(this.z, other.z, factor, destination.z, start, length);
+		VectorKernels.linearInterpolation(this.w, other.w, factor, destination.w, start, length);
+	}
+	
+	/**
+	 * @pre Ninguno de los arrays puede ser nulo y tienen que tener el mismo tamaño
+	 * @post Suma los vectores con los del otro array, y almacena el resultado en el destino
+	 */
+	public void add(Vector4fArray other, Vector4fArray destination) {
+		this.add(other, destination, 0, this.size());
+	}
+	
+	/**
+	 * @pre Ninguno de los arrays puede ser nulo y tienen que tener el mismo tamaño
+	 * @post Resta los vectores con los del otro array, y almacena el resultado en el destino
+	 */
+	public void sub(Vector4fArray other, Vector4fArray destination) {
+		this.sub(other, destination, 0, this.size());
+	}
+	
+	/**
+	 * @pre El destino no puede ser nulo y tiene que tener el mismo tamaño
+	 * @post Multiplica los vectores por el escalar especificado, y almacena
+	 * 		 el resultado en el destino
+	 */
+	public void scale(float scalar, Vector4fArray destination) {
+		this.scale(scalar, destination, 0, this.size());
+	}
+	
+	/**
+	 * @pre El destino no puede ser nulo y tiene que tener el mismo tamaño
+	 * @post Normaliza los vectores, y almacena el resultado en el destino
+	 */
+	public void normalise(Vector4fArray destination) {
+		this.normalise(destination, 0, this.size());
+	}
+	
+	/**
+	 * @post Verifica que el bloque de vectores especificado entre en el buffer
+	 * 		 de límite especificado, con el desplazamiento, el paso y la cantidad
+	 * 		 especificados (En unidades del buffer)
+	 */
+	private static boolean fitsBuffer(int bufferLimit, int offset, int stride, int vectorSize, int count) {
+		if ( ( offset < 0 ) || ( count < 0 ) || ( stride < vectorSize ) ) {
+			throw new IllegalArgumentException("Invalid offset, stride or count");
+		}
+		return ( count == 0 ) || ( (long) offset + (long) stride * (long) (count - 1) + vectorSize <= bufferLimit );
+	}
+	
+	/**
+	 * @pre El buffer no puede ser nulo, el paso tiene que ser mayor o igual a 4
+	 * @post Lee la cantidad especificada de vectores del buffer a partir del desplazamiento
+	 * 		 especificado, con el paso especificado entre vectores (Ambos en floats), y los almacena
+	 * 		 a partir del índice especificado.
+	 * 		 Usa índices absolutos, de manera que no altera la posición del buffer.
+	 * 		 Permite leer formatos intercalados (Por ejemplo posición, normal y coordenadas de textura)
+	 */
+	public void readAll(FloatBuffer buffer, int offset, int stride, int start, int count) {
+		if ( buffer != null ) {
+			this.checkRange(start, count);
+			if ( fitsBuffer(buffer.limit(), offset, stride, 4, count) ) {
+				int index = offset;
+				final int end = start + count;
+				for ( int i = start ; i < end ; i++, index += stride ) {
+					this.x[i] = buffer.get(index);
+					this.y[i] = buffer.get(index + 1);
+					this.z[i] = buffer.get(index + 2);
+					this.w[i] = buffer.get(index + 3);
+				}
+			}
+			else {
+				throw new BufferUnderflowException();
+			}
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @pre El buffer no puede ser nulo, el paso tiene que ser mayor o igual a 4
+	 * @post Escribe la cantidad especificada de vectores a partir del índice especificado
+	 * 		 en el buffer a partir del desplazamiento especificado, con el paso especificado
+	 * 		 entre vectores (Ambos en floats).
+	 * 		 Usa índices absolutos, de manera que no altera la posición del buffer.
+	 * 		 Los floats entre vectores no se modifican, de manera que permite escribir formatos
+	 * 		 intercalados (Por ejemplo posición, normal y coordenadas de textura)
+	 */
+	public void writeAll(FloatBuffer buffer, int offset, int stride, int start, int count) {
+		if ( buffer != null ) {
+			this.checkRange(start, count);
+			if ( fitsBuffer(buffer.limit(), offset, stride, 4, count) ) {
+				int index = offset;
+				final int end = start + count;
+				for ( int i = start ; i < end ; i++, index += stride ) {
+					buffer.put(index, this.x[i]);
+					buffer.put(index + 1, this.y[i]);
+					buffer.put(index + 2, this.z[i]);
+					buffer.put(index + 3, this.w[i]);
+				}
+			}
+			else {
+				throw new BufferOverflowException();
+			}
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @pre El buffer no puede ser nulo, el paso tiene que ser mayor o igual a 16
+	 * @post Lee la cantidad especificada de vectores del buffer a partir del desplazamiento
+	 * 		 especificado, con el paso especificado entre vectores (Ambos en bytes), y los almacena
+	 * 		 a partir del índice especificado.
+	 * 		 Usa el orden de bytes del buffer e índices absolutos, de manera que no altera
+	 * 		 la posición del buffer
+	 */
+	public void readAll(ByteBuffer buffer, int offset, int stride, int start, int count) {
+		if ( buffer != null ) {
+			this.checkRange(start, count);
+			if ( fitsBuffer(buffer.limit(), offset, stride, 16, count) ) {
+				int index = offset;
+				final int end = start + count;
+				for ( int i = start ; i < end ; i++, index += stride ) {
+					this.x[i] = buffer.getFloat(index);
+					this.y[i] = buffer.getFloat(index + 4);
+					this.z[i] = buffer.getFloat(index + 8);
+					this.w[i] = buffer.getFloat(index + 12);
+				}
+			}
+			else {
+				throw new BufferUnderflowException();
+			}
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @pre El buffer no puede ser nulo, el paso tiene que ser mayor o igual a 16
+	 * @post Escribe la cantidad especificada de vectores a partir del índice especificado
+	 * 		 en el buffer a partir del desplazamiento especificado, con el paso especificado
+	 * 		 entre vectores (Ambos en bytes).
+	 * 		 Usa el orden de bytes del buffer e índices absolutos, de manera que no altera
+	 * 		 la posición del buffer
+	 */
+	public void writeAll(ByteBuffer buffer, int offset, int stride, int start, int count) {
+		if ( buffer != null ) {
+			this.checkRange(start, count);
+			if ( fitsBuffer(buffer.limit(), offset, stride, 16, count) ) {
+				int index = offset;
+				final int end = start + count;
+				for ( int i = start ; i < end ; i++, index += stride ) {
+					buffer.putFloat(index, this.x[i]);
+					buffer.putFloat(index + 4, this.y[i]);
+					buffer.putFloat(index + 8, this.z[i]);
+					buffer.putFloat(index + 12, this.w[i]);
+				}
+			}
+			else {
+				throw new BufferOverflowException();
+			}
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @post Devuelve una copia del array
+	 */
+	public Vector4fArray copy() {
+		return new Vector4fArray(this.x.clone(), this.y.clone(), this.z.clone(), this.w.clone());
+	}
+	
+	/**
+	 * @post Devuelve un representación en cadena de carácteres
+	 */
+	@Override
+	public String toString() {
+		final StringBuilder result = new StringBuilder("[");
+		for ( int i = 0 ; i < this.size() ; i++ ) {
+			if ( i != 0 ) {
+				result.append(", ");
+			}
+			result.append("(" + this.x[i] + ", " + this.y[i] + ", " + this.z[i] + ", " + this.w[i] + ")");
+		}
+		return result.append("]").toString();
+	}
+}
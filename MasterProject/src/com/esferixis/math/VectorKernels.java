@@ -0,0 +1,257 @@
+/**
+ * Copyright (c) 2017 Ariel Favio Carrizo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'esferixis' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.esferixis.math;
+
+/**
+ * Núcleos de cálculo en bloque sobre arrays de componentes
+ * (Estructura de arrays).
+ * 
+ * Vectorización (Nota común a los núcleos en bloque del paquete, como
+ * Matrix4fKernels, Frustum, FloatNumberPointBatch y FloatClosedIntervalBatch):
+ * El proyecto se compila sin opciones de módulos, por eso el código principal
+ * no depende de jdk.incubator.vector. Los núcleos son bucles contados sin
+ * dependencias entre iteraciones, de manera que el compilador JIT pueda
+ * vectorizarlos (SIMD) en forma automática.
+ * 
+ * Sólo esta clase tiene además un camino opcional con la Vector API
+ * (VectorApiKernels, que se compila aparte). Se usa si al cargar la clase
+ * están disponibles el módulo jdk.incubator.vector y esa implementación,
+ * y si no se usan los bucles escalares.
+ * La ganancia de cualquiera de los dos caminos depende del host y del JIT,
+ * no se garantiza un factor fijo. VectorKernelsBenchmark (En el proyecto de
+ * pruebas) mide la implementación activa contra los bucles escalares.
+ * 
+ * Los resultados son idénticos bit a bit a los de las operaciones
+ * escalares equivalentes (Vector3f.dot, Vector3f.cross, Vector3f.normalise
+ * y ExtraMath.linearInterpolation) en las dos implementaciones, porque se
+ * evalúan las mismas operaciones con redondeo IEEE en el mismo orden
+ * (Sin FMA). El error es de 0 ULP respecto a ellas.
+ * 
+ * Los rangos no se validan, es responsabilidad del llamador
+ * 
+ * @author Ariel Favio Carrizo
+ *
+ */
+public final class VectorKernels {
+	/**
+	 * Implementación de los núcleos
+	 */
+	static abstract class Implementation {
+		/**
+		 * @post Devuelve el nombre de la implementación
+		 */
+		public abstract String getName();
+		
+		public abstract void dot(float[] ax, float[] ay, float[] az, float[] bx, float[] by, float[] bz, float[] destination, int start, int length);
+		
+		public abstract void cross(float[] ax, float[] ay, float[] az, float[] bx, float[] by, float[] bz, float[] dx, float[] dy, float[] dz, int start, int length);
+		
+		public abstract void lengthSquared(float[] x, float[] y, float[] z, float[] destination, int start, int length);
+		
+		public abstract void normalise(float[] x, float[] y, float[] z, float[] dx, float[] dy, float[] dz, int start, int length);
+		
+		public abstract void linearInterpolation(float[] values1, float[] values2, float factor, float[] destination, int start, int length);
+		
+		public abstract void linearInterpolation(float[] values1, float[] values2, float[] factors, float[] destination, int start, int length);
+	}
+	
+	/**
+	 * Implementación con bucles escalares
+	 */
+	static final class ScalarImplementation extends Implementation {
+		@Override
+		public String getName() {
+			return "scalar";
+		}
+		
+		@Override
+		public void dot(float[] ax, float[] ay, float[] az, float[] bx, float[] by, float[] bz, float[] destination, int start, int length) {
+			final int end = start + length;
+			for ( int i = start ; i < end ; i++ ) {
+				destination[i] = ax[i] * bx[i] + ay[i] * by[i] + az[i] * bz[i];
+			}
+		}
+		
+		@Override
+		public void cross(float[] ax, float[] ay, float[] az, float[] bx, float[] by, float[] bz, float[] dx, float[] dy, float[] dz, int start, int length) {
+			final int end = start + length;
+			for ( int i = start ; i < end ; i++ ) {
+				final float ax_i = ax[i], ay_i = ay[i], az_i = az[i];
+				final float bx_i = bx[i], by_i = by[i], bz_i = bz[i];
+				
+				dx[i] = ay_i * bz_i - by_i * az_i;
+				dy[i] = bx_i * az_i - ax_i * bz_i;
+				dz[i] = ax_i * by_i - bx_i * ay_i;
+			}
+		}
+		
+		@Override
+		public void lengthSquared(float[] x, float[] y, float[] z, float[] destination, int start, int length) {
+			final int end = start + length;
+			for ( int i = start ; i < end ; i++ ) {
+				destination[i] = x[i] * x[i] + y[i] * y[i] + z[i] * z[i];
+			}
+		}
+		
+		@Override
+		public void normalise(float[] x, float[] y, float[] z, float[] dx, float[] dy, float[] dz, int start, int length) {
+			final int end = start + length;
+			for ( int i = start ; i < end ; i++ ) {
+				final float x_i = x[i], y_i = y[i], z_i = z[i];
+				final float inverseLength = 1.0f / (float) Math.sqrt( x_i * x_i + y_i * y_i + z_i * z_i );
+				
+				dx[i] = x_i * inverseLength;
+				dy[i] = y_i * inverseLength;
+				dz[i] = z_i * inverseLength;
+			}
+		}
+		
+		@Override
+		public void linearInterpolation(float[] values1, float[] values2, float factor, float[] destination, int start, int length) {
+			final float complementFactor = 1.0f - factor;
+			final int end = start + length;
+			for ( int i = start ; i < end ; i++ ) {
+				destination[i] = values1[i] * complementFactor + values2[i] * factor;
+			}
+		}
+		
+		@Override
+		public void linearInterpolation(float[] values1, float[] values2, float[] factors, float[] destination, int start, int length) {
+			final int end = start + length;
+			for ( int i = start ; i < end ; i++ ) {
+				final float factor = factors[i];
+				destination[i] = values1[i] * (1.0f - factor) + values2[i] * factor;
+			}
+		}
+	}
+	
+	/**
+	 * Nombre de la implementación con la Vector API
+	 */
+	private static final String VECTOR_API_IMPLEMENTATION = "com.esferixis.math.VectorApiKernels";
+	
+	static final Implementation SCALAR = new ScalarImplementation();
+	
+	private static final Implementation IMPLEMENTATION = loadImplementation();
+	
+	private VectorKernels() {}
+	
+	/**
+	 * @post Carga la implementación con la Vector API si el módulo
+	 * 		 jdk.incubator.vector y la clase de la implementación están disponibles,
+	 * 		 si no devuelve la implementación escalar
+	 */
+	private static Implementation loadImplementation() {
+		try {
+			Class.forName("jdk.incubator.vector.FloatVector");
+			return (Implementation) Class.forName(VECTOR_API_IMPLEMENTATION).newInstance();
+		}
+		catch (Exception e) {
+			return SCALAR;
+		}
+		catch (LinkageError e) {
+			return SCALAR;
+		}
+	}
+	
+	/**
+	 * @post Devuelve la implementación en uso
+	 */
+	static Implementation implementation() {
+		return IMPLEMENTATION;
+	}
+	
+	/**
+	 * @post Devuelve el nombre de la implementación en uso ("scalar" o "vector-api")
+	 */
+	public static String getImplementationName() {
+		return IMPLEMENTATION.getName();
+	}
+	
+	/**
+	 * @pre Los arrays no pueden ser nulos y el rango tiene que ser válido
+	 * @post Calcula el producto escalar de los vectores tridimensionales
+	 * 		 en el rango especificado y lo almacena en el destino
+	 */
+	public static void dot(float[] ax, float[] ay, float[] az, float[] bx, float[] by, float[] bz, float[] destination, int start, int length) {
+		IMPLEMENTATION.dot(ax, ay, az, bx, by, bz, destination, start, length);
+	}
+	
+	/**
+	 * @pre Los arrays no pueden ser nulos y el rango tiene que ser válido
+	 * @post Calcula el producto vectorial de los vectores tridimensionales
+	 * 		 en el rango especificado y lo almacena en el destino.
+	 * 		 El destino puede coincidir con alguno de los operandos
+	 */
+	public static void cross(float[] ax, float[] ay, float[] az, float[] bx, float[] by, float[] bz, float[] dx, float[] dy, float[] dz, int start, int length) {
+		IMPLEMENTATION.cross(ax, ay, az, bx, by, bz, dx, dy, dz, start, length);
+	}
+	
+	/**
+	 * @pre Los arrays no pueden ser nulos y el rango tiene que ser válido
+	 * @post Calcula la longitud elevada al cuadrado de los vectores tridimensionales
+	 * 		 en el rango especificado y la almacena en el destino
+	 */
+	public static void lengthSquared(float[] x, float[] y, float[] z, float[] destination, int start, int length) {
+		IMPLEMENTATION.lengthSquared(x, y, z, destination, start, length);
+	}
+	
+	/**
+	 * @pre Los arrays no pueden ser nulos y el rango tiene que ser válido
+	 * @post Normaliza los vectores tridimensionales en el rango especificado y
+	 * 		 almacena el resultado en el destino.
+	 * 		 El destino puede coincidir con el origen
+	 */
+	public static void normalise(float[] x, float[] y, float[] z, float[] dx, float[] dy, float[] dz, int start, int length) {
+		IMPLEMENTATION.normalise(x, y, z, dx, dy, dz, start, length);
+	}
+	
+	/**
+	 * @pre Los arrays no pueden ser nulos y el rango tiene que ser válido
+	 * @post Interpola linealmente los valores en el rango especificado con el
+	 * 		 factor especificado, y almacena el resultado en el destino.
+	 * 		 Se aplica a cada array de componentes por separado
+	 */
+	public static void linearInterpolation(float[] values1, float[] values2, float factor, float[] destination, int start, int length) {
+		IMPLEMENTATION.linearInterpolation(values1, values2, factor, destination, start, length);
+	}
+	
+	/**
+	 * @pre Los arrays no pueden ser nulos y el rango tiene que ser válido
+	 * @post Interpola linealmente los valores en el rango especificado con los
+	 * 		 factores especificados (Uno por elemento), y almacena el resultado en el destino.
+	 * 		 Se aplica a cada array de componentes por separado
+	 */
+	public static void linearInterpolation(float[] values1, float[] values2, float[] factors, float[] destination, int start, int length) {
+		IMPLEMENTATION.linearInterpolation(values1, values2, factors, destination, start, length);
+	}
+}
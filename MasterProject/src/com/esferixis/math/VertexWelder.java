@@ -0,0 +1,424 @@
+/**
+ * Copyright (c) 2017 Ariel Favio Carrizo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'esferixis' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.esferixis.math;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Soldador de vértices con hash espacial.
+ * 
+ * Fusiona los vértices que están a una distancia menor o igual a epsilon
+ * de un vértice anterior, y genera un buffer de índices a los vértices únicos.
+ * 
+ * Usa una tabla hash de direccionamiento abierto sobre arrays primitivos,
+ * cuyas claves son celdas cuantizadas de lado 2 * epsilon. Así cada vértice
+ * sólo tiene que buscar en las 8 celdas que su entorno de radio epsilon toca.
+ * 
+ * Cada vértice se suelda con el primer vértice único (En orden de aparición)
+ * que esté dentro del entorno, de modo que el resultado es determinístico.
+ * Como eso depende de los vértices únicos anteriores, la inserción en la tabla
+ * es secuencial. Las versiones que reciben un ForkJoinPool sólo calculan las
+ * celdas en paralelo, y dan el mismo resultado que las secuenciales
+ * 
+ * @author Ariel Favio Carrizo
+ *
+ */
+public final class VertexWelder {
+	/**
+	 * Cantidad de vértices a partir de la cual el cálculo de celdas se divide
+	 * en tareas
+	 */
+	private static final int CELLS_TASK_THRESHOLD = 16384;
+	
+	/**
+	 * Capacidad máxima de la tabla de celdas.
+	 * Tiene que quedar al menos una ranura vacía, por eso la cantidad de vértices
+	 * tiene que ser menor
+	 */
+	private static final int MAX_TABLE_CAPACITY = 1 << 30;
+	
+	private static final int NONE = -1;
+	
+	/**
+	 * Resultado de la soldadura
+	 * 
+	 * @author Ariel Favio Carrizo
+	 *
+	 */
+	public static final class Result implements Serializable {
+		private static final long serialVersionUID = 1297683305853106127L;
+		
+		private final Vector3fArray vertices;
+		private final int[] indices;
+		
+		/**
+		 * @post Crea el resultado con los vértices únicos y los índices especificados
+		 */
+		private Result(Vector3fArray vertices, int[] indices) {
+			this.vertices = vertices;
+			this.indices = indices;
+		}
+		
+		/**
+		 * @post Devuelve los vértices únicos
+		 */
+		public Vector3fArray getVertices() {
+			return this.vertices;
+		}
+		
+		/**
+		 * @post Devuelve los índices, uno por vértice de entrada, que
+		 * 		 indican el vértice único correspondiente
+		 */
+		public int[] getIndices() {
+			return this.indices;
+		}
+	}
+	
+	private VertexWelder() {}
+	
+	/**
+	 * @pre Los vértices no pueden ser nulos, epsilon tiene que ser positivo
+	 * 		 y la cantidad de vértices tiene que ser menor que 2^30
+	 * @post Suelda los vértices en el rango especificado
+	 */
+	public static Result weld(Vector3fArray vertices, int start, int length, float epsilon) {
+		checkArguments(vertices, start, length, epsilon);
+		
+		final Cells cells = new Cells(length);
+		cells.compute(vertices, start, 0, length, 0.5f / epsilon);
+		
+		return weld(vertices, start, length, epsilon, cells);
+	}
+	
+	/**
+	 * @pre Los vértices no pueden ser nulos, epsilon tiene que ser positivo
+	 * 		 y la cantidad de vértices tiene que ser menor que 2^30
+	 * @post Suelda todos los vértices
+	 */
+	public static Result weld(Vector3fArray vertices, float epsilon) {
+		if ( vertices != null ) {
+			return weld(vertices, 0, vertices.size(), epsilon);
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @pre Ni los vértices ni el pool pueden ser nulos, epsilon tiene que ser positivo
+	 * 		 y la cantidad de vértices tiene que ser menor que 2^30
+	 * @post Suelda los vértices en el rango especificado, calculando las celdas en paralelo
+	 * 		 con el pool especificado (La inserción en la tabla es secuencial).
+	 * 		 El resultado es idéntico al de la versión secuencial
+	 */
+	public static Result weld(Vector3fArray vertices, int start, int length, float epsilon, ForkJoinPool pool) {
+		checkArguments(vertices, start, length, epsilon);
+		
+		if ( pool != null ) {
+			final Cells cells = new Cells(length);
+			pool.invoke(new CellsTask(cells, vertices, start, 0, length, 0.5f / epsilon));
+			
+			return weld(vertices, start, length, epsilon, cells);
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @pre Ni los vértices ni el pool pueden ser nulos, epsilon tiene que ser positivo
+	 * 		 y la cantidad de vértices tiene que ser menor que 2^30
+	 * @post Suelda todos los vértices, calculando las celdas en paralelo con el pool especificado
+	 * 		 (La inserción en la tabla es secuencial)
+	 */
+	public static Result weld(Vector3fArray vertices, float epsilon, ForkJoinPool pool) {
+		if ( vertices != null ) {
+			return weld(vertices, 0, vertices.size(), epsilon, pool);
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @post Verifica los argumentos
+	 */
+	private static void checkArguments(Vector3fArray vertices, int start, int length, float epsilon) {
+		if ( vertices != null ) {
+			if ( ( start < 0 ) || ( length < 0 ) || ( start + length > vertices.size() ) ) {
+				throw new IndexOutOfBoundsException("Invalid range");
+			}
+			
+			if ( !( epsilon > 0.0f ) || Float.isInfinite(epsilon) ) {
+				throw new IllegalArgumentException("Epsilon must be positive and finite");
+			}
+			
+			if ( length >= MAX_TABLE_CAPACITY ) {
+				throw new IllegalArgumentException("Too many vertices");
+			}
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @post Suelda los vértices con las celdas especificadas
+	 */
+	private static Result weld(Vector3fArray vertices, int start, int length, float epsilon, Cells cells) {
+		final float[] x = vertices.xComponents(), y = vertices.yComponents(), z = vertices.zComponents();
+		final float epsilonSquared = epsilon * epsilon;
+		
+		// Vértices únicos
+		float[] uniqueX = new float[Math.max(16, length / 4)];
+		float[] uniqueY = new float[uniqueX.length];
+		float[] uniqueZ = new float[uniqueX.length];
+		int[] nextInCell = new int[uniqueX.length];
+		int uniqueCount = 0;
+		
+		final CellTable table = new CellTable(length);
+		final int[] indices = new int[length];
+		
+		for ( int i = 0 ; i < length ; i++ ) {
+			final float vx = x[start + i], vy = y[start + i], vz = z[start + i];
+			final int cx = cells.x[i], cy = cells.y[i], cz = cells.z[i];
+			final int neighbours = cells.neighbours[i];
+			
+			final int nx = ( ( neighbours & 1 ) != 0 ) ? cx + 1 : cx - 1;
+			final int ny = ( ( neighbours & 2 ) != 0 ) ? cy + 1 : cy - 1;
+			final int nz = ( ( neighbours & 4 ) != 0 ) ? cz + 1 : cz - 1;
+			
+			int found = Integer.MAX_VALUE;
+			for ( int c = 0 ; c < 8 ; c++ ) {
+				final int eachX = ( ( c & 1 ) != 0 ) ? nx : cx;
+				final int eachY = ( ( c & 2 ) != 0 ) ? ny : cy;
+				final int eachZ = ( ( c & 4 ) != 0 ) ? nz : cz;
+				
+				for ( int u = table.head(eachX, eachY, eachZ) ; u != NONE ; u = nextInCell[u] ) {
+					if ( u < found ) {
+						final float dx = uniqueX[u] - vx, dy = uniqueY[u] - vy, dz = uniqueZ[u] - vz;
+						if ( dx * dx + dy * dy + dz * dz <= epsilonSquared ) {
+							found = u;
+						}
+					}
+				}
+			}
+			
+			if ( found != Integer.MAX_VALUE ) {
+				indices[i] = found;
+			}
+			else {
+				if ( uniqueCount == uniqueX.length ) {
+					final int newCapacity = uniqueCount + ( uniqueCount >> 1 ) + 1;
+					uniqueX = Arrays.copyOf(uniqueX, newCapacity);
+					uniqueY = Arrays.copyOf(uniqueY, newCapacity);
+					uniqueZ = Arrays.copyOf(uniqueZ, newCapacity);
+					nextInCell = Arrays.copyOf(nextInCell, newCapacity);
+				}
+				
+				uniqueX[uniqueCount] = vx;
+				uniqueY[uniqueCount] = vy;
+				uniqueZ[uniqueCount] = vz;
+				nextInCell[uniqueCount] = table.push(cx, cy, cz, uniqueCount);
+				
+				indices[i] = uniqueCount;
+				uniqueCount++;
+			}
+		}
+		
+		return new Result(new Vector3fArray(
+				Arrays.copyOf(uniqueX, uniqueCount),
+				Arrays.copyOf(uniqueY, uniqueCount),
+				Arrays.copyOf(uniqueZ, uniqueCount)
+		), indices);
+	}
+	
+	/**
+	 * Celdas de los vértices: Coordenadas enteras de la celda, y para cada eje,
+	 * si la celda vecina a revisar es la siguiente (Bit en 1) o la anterior (Bit en 0)
+	 */
+	private static final class Cells {
+		private final int[] x, y, z;
+		private final byte[] neighbours;
+		
+		/**
+		 * @post Crea las celdas para la cantidad de vértices especificada
+		 */
+		public Cells(int length) {
+			this.x = new int[length];
+			this.y = new int[length];
+			this.z = new int[length];
+			this.neighbours = new byte[length];
+		}
+		
+		/**
+		 * @post Calcula las celdas de los vértices en el rango especificado (Relativo al inicio)
+		 * 		 con la inversa del tamaño de celda especificada
+		 */
+		public void compute(Vector3fArray vertices, int start, int from, int to, float inverseCellSize) {
+			final float[] vx = vertices.xComponents(), vy = vertices.yComponents(), vz = vertices.zComponents();
+			
+			for ( int i = from ; i < to ; i++ ) {
+				final float sx = vx[start + i] * inverseCellSize;
+				final float sy = vy[start + i] * inverseCellSize;
+				final float sz = vz[start + i] * inverseCellSize;
+				
+				final float fx = (float) Math.floor(sx), fy = (float) Math.floor(sy), fz = (float) Math.floor(sz);
+				
+				this.x[i] = (int) fx;
+				this.y[i] = (int) fy;
+				this.z[i] = (int) fz;
+				this.neighbours[i] = (byte) (
+						( ( sx - fx >= 0.5f ) ? 1 : 0 ) |
+						( ( sy - fy >= 0.5f ) ? 2 : 0 ) |
+						( ( sz - fz >= 0.5f ) ? 4 : 0 )
+				);
+			}
+		}
+	}
+	
+	/**
+	 * Tarea de cálculo de celdas en paralelo
+	 */
+	private static final class CellsTask extends RecursiveAction {
+		private static final long serialVersionUID = -7735532384633306417L;
+		
+		private final Cells cells;
+		private final Vector3fArray vertices;
+		private final int start, from, to;
+		private final float inverseCellSize;
+		
+		/**
+		 * @post Crea la tarea
+		 */
+		public CellsTask(Cells cells, Vector3fArray vertices, int start, int from, int to, float inverseCellSize) {
+			this.cells = cells;
+			this.vertices = vertices;
+			this.start = start;
+			this.from = from;
+			this.to = to;
+			this.inverseCellSize = inverseCellSize;
+		}
+		
+		/* (non-Javadoc)
+		 * @see java.util.concurrent.RecursiveAction#compute()
+		 */
+		@Override
+		protected void compute() {
+			if ( this.to - this.from <= CELLS_TASK_THRESHOLD ) {
+				this.cells.compute(this.vertices, this.start, this.from, this.to, this.inverseCellSize);
+			}
+			else {
+				final int middle = ( this.from + this.to ) >>> 1;
+				invokeAll(
+						new CellsTask(this.cells, this.vertices, this.start, this.from, middle, this.inverseCellSize),
+						new CellsTask(this.cells, this.vertices, this.start, middle, this.to, this.inverseCellSize)
+				);
+			}
+		}
+	}
+	
+	/**
+	 * Tabla hash de direccionamiento abierto (Sondeo lineal) de celdas a la cabeza
+	 * de la lista de vértices únicos de la celda
+	 */
+	private static final class CellTable {
+		private final int[] cellX, cellY, cellZ;
+		private final int[] heads;
+		private final int mask;
+		
+		/**
+		 * @pre La cantidad de celdas tiene que ser menor que MAX_TABLE_CAPACITY
+		 * @post Crea la tabla con capacidad para la cantidad de celdas especificada
+		 * 		 (El doble, hasta MAX_TABLE_CAPACITY)
+		 */
+		public CellTable(int maxCells) {
+			int capacity = 16;
+			while ( ( capacity < MAX_TABLE_CAPACITY ) && ( capacity < 2L * maxCells ) ) {
+				capacity <<= 1;
+			}
+			
+			this.cellX = new int[capacity];
+			this.cellY = new int[capacity];
+			this.cellZ = new int[capacity];
+			this.heads = new int[capacity];
+			Arrays.fill(this.heads, NONE);
+			this.mask = capacity - 1;
+		}
+		
+		/**
+		 * @post Devuelve el hash de la celda especificada
+		 */
+		private static int hash(int x, int y, int z) {
+			int h = x * 0x9E3779B1 + y * 0x85EBCA77 + z * 0xC2B2AE3D;
+			return h ^ ( h >>> 15 );
+		}
+		
+		/**
+		 * @post Devuelve la ranura de la celda especificada, o la ranura vacía donde iría
+		 */
+		private int slot(int x, int y, int z) {
+			int slot = hash(x, y, z) & this.mask;
+			while ( ( this.heads[slot] != NONE ) && ( ( this.cellX[slot] != x ) || ( this.cellY[slot] != y ) || ( this.cellZ[slot] != z ) ) ) {
+				slot = ( slot + 1 ) & this.mask;
+			}
+			return slot;
+		}
+		
+		/**
+		 * @post Devuelve la cabeza de la lista de la celda especificada, o NONE si no hay
+		 */
+		public int head(int x, int y, int z) {
+			return this.heads[this.slot(x, y, z)];
+		}
+		
+		/**
+		 * @post Pone el vértice único especificado como cabeza de la lista de la celda
+		 * 		 especificada, y devuelve la cabeza anterior
+		 */
+		public int push(int x, int y, int z, int unique) {
+			final int slot = this.slot(x, y, z);
+			final int previousHead = this.heads[slot];
+			
+			this.cellX[slot] = x;
+			this.cellY[slot] = y;
+			this.cellZ[slot] = z;
+			this.heads[slot] = unique;
+			
+			return previousHead;
+		}
+	}
+}
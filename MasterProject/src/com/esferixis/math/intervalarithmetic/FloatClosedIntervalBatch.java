@@ -0,0 +1,805 @@
+/**
+ * Copyright (c) 2017 Ariel Favio Carrizo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'esferixis' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.esferixis.math.intervalarithmetic;
+
+import java.util.Arrays;
+import java.util.List;
+
+import com.esferixis.math.numberSet.NumberSet;
+import com.esferixis.math.numberSet.NumberSetFactory;
+import com.esferixis.math.numberSet.NumberSetFunction;
+
+/**
+ * Lote de intervalos cerrados.
+ * 
+ * Cada elemento del lote es un carril con un intervalo, los mínimos y los máximos
+ * se guardan en dos arrays contiguos, y la fábrica efectúa cada operación en un
+ * ciclo sobre todos los carriles, seleccionando los extremos con Math.min y Math.max
+ * en lugar de ramificar.
+ * De ésta manera se pueden evaluar todos los hijos de un nivel de un algoritmo
+ * de ramificación y poda con una sola evaluación.
+ * 
+ * A diferencia de FloatClosedIntervalSet, cada carril tiene un solo intervalo.
+ * Cuando el resultado de una operación es una unión de intervalos (Por ejemplo en la
+ * división por un intervalo que contiene el cero en su interior) se devuelve la menor
+ * cota que los contiene.
+ * Los carriles vacíos tienen los extremos en NaN.
+ * 
+ * Las constantes (Las que crea la fábrica con convert) son uniformes, es decir
+ * que tienen un solo intervalo que vale para cualquier cantidad de carriles.
+ * Las operaciones entre lotes no uniformes requieren que tengan la misma cantidad
+ * de carriles.
+ * 
+ * Sobre la vectorización ver la nota de com.esferixis.math.VectorKernels.
+ * 
+ * @author ariel
+ *
+ */
+public final class FloatClosedIntervalBatch extends NumberSet<FloatClosedIntervalBatch> {
+	private final float[] mins;
+	private final float[] maxs;
+	private final boolean uniform;
+	
+	/**
+	 * @pre Los arrays no pueden ser nulos, tienen que tener la misma longitud,
+	 * 		y en cada carril el mínimo tiene que ser inferior o igual al máximo
+	 * @post Crea el lote con los mínimos y los máximos especificados
+	 */
+	public FloatClosedIntervalBatch(float[] mins, float[] maxs) {
+		if ( ( mins != null ) && ( maxs != null ) ) {
+			if ( mins.length != maxs.length ) {
+				throw new IllegalArgumentException("Lane count mismatch");
+			}
+			
+			for ( int i = 0 ; i < mins.length ; i++ ) {
+				if ( !( mins[i] <= maxs[i] ) ) {
+					throw new IllegalArgumentException("Invalid min, max values");
+				}
+			}
+			
+			this.mins = mins.clone();
+			this.maxs = maxs.clone();
+			this.uniform = false;
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @pre La lista no puede ser nula ni contener elementos nulos
+	 * @post Crea el lote con los intervalos especificados
+	 */
+	public FloatClosedIntervalBatch(List<FloatClosedInterval> intervals) {
+		if ( intervals != null ) {
+			this.mins = new float[intervals.size()];
+			this.maxs = new float[intervals.size()];
+			this.uniform = false;
+			
+			for ( int i = 0 ; i < this.mins.length ; i++ ) {
+				final FloatClosedInterval eachInterval = intervals.get(i);
+				this.mins[i] = eachInterval.getMin();
+				this.maxs[i] = eachInterval.getMax();
+			}
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @post Crea el lote con los arrays especificados, sin copiarlos,
+	 * 		 y especificando si es uniforme
+	 */
+	private FloatClosedIntervalBatch(float[] mins, float[] maxs, boolean uniform) {
+		this.mins = mins;
+		this.maxs = maxs;
+		this.uniform = uniform;
+	}
+	
+	/**
+	 * @post Devuelve si es uniforme (Tiene el mismo intervalo en todos los carriles)
+	 */
+	public boolean isUniform() {
+		return this.uniform;
+	}
+	
+	/**
+	 * @post Devuelve la cantidad de carriles.
+	 * 		 Si es uniforme devuelve 1
+	 */
+	public int length() {
+		return this.mins.length;
+	}
+	
+	/**
+	 * @post Devuelve el índice interno del carril especificado
+	 */
+	private int lane(int index) {
+		if ( index < 0 ) {
+			throw new IndexOutOfBoundsException();
+		}
+		return this.uniform ? 0 : index;
+	}
+	
+	/**
+	 * @pre El índice tiene que ser válido.
+	 * 		Si es uniforme cualquier índice no negativo es válido
+	 * @post Devuelve si el carril especificado está vacío
+	 */
+	public boolean isEmpty(int index) {
+		return Float.isNaN(this.mins[this.lane(index)]);
+	}
+	
+	/**
+	 * @pre El índice tiene que ser válido.
+	 * 		Si es uniforme cualquier índice no negativo es válido
+	 * @post Devuelve el mínimo del carril especificado.
+	 * 		 Si está vacío devuelve NaN
+	 */
+	public float getMin(int index) {
+		return this.mins[this.lane(index)];
+	}
+	
+	/**
+	 * @pre El índice tiene que ser válido.
+	 * 		Si es uniforme cualquier índice no negativo es válido
+	 * @post Devuelve el máximo del carril especificado.
+	 * 		 Si está vacío devuelve NaN
+	 */
+	public float getMax(int index) {
+		return this.maxs[this.lane(index)];
+	}
+	
+	/**
+	 * @pre El índice tiene que ser válido.
+	 * 		Si es uniforme cualquier índice no negativo es válido
+	 * @post Devuelve el intervalo del carril especificado.
+	 * 		 Si está vacío devuelve null
+	 */
+	public FloatClosedInterval getInterval(int index) {
+		final int lane = this.lane(index);
+		if ( !Float.isNaN(this.mins[lane]) ) {
+			return new FloatClosedInterval(this.mins[lane], this.maxs[lane]);
+		}
+		else {
+			return null;
+		}
+	}
+	
+	/**
+	 * @pre No puede ser uniforme
+	 * @post Bisecta cada carril en su punto medio, y devuelve un lote
+	 * 		 con el doble de carriles, donde los carriles 2i y 2i+1 son
+	 * 		 la mitad inferior y superior del carril i respectivamente.
+	 * 		 Los carriles vacíos quedan vacíos
+	 */
+	public FloatClosedIntervalBatch bisect() {
+		if ( !this.uniform ) {
+			final float[] rMins = new float[this.mins.length * 2];
+			final float[] rMaxs = new float[this.mins.length * 2];
+			
+			for ( int i = 0 ; i < this.mins.length ; i++ ) {
+				final float min = this.mins[i], max = this.maxs[i];
+				final float midPoint = ( min + max ) / 2.0f;
+				
+				rMins[2*i] = min;
+				rMaxs[2*i] = midPoint;
+				rMins[2*i+1] = midPoint;
+				rMaxs[2*i+1] = max;
+			}
+			
+			return new FloatClosedIntervalBatch(rMins, rMaxs, false);
+		}
+		else {
+			throw new IllegalStateException("Cannot bisect an uniform batch");
+		}
+	}
+	
+	/**
+	 * @pre Los lotes no pueden ser nulos
+	 * @post Devuelve la cantidad de carriles del resultado de una operación
+	 * 		 binaria entre los lotes especificados
+	 */
+	private static int binaryLength(FloatClosedIntervalBatch operand1, FloatClosedIntervalBatch operand2) {
+		if ( operand1.uniform ) {
+			return operand2.mins.length;
+		}
+		else if ( operand2.uniform || ( operand1.mins.length == operand2.mins.length ) ) {
+			return operand1.mins.length;
+		}
+		else {
+			throw new IllegalArgumentException("Lane count mismatch");
+		}
+	}
+	
+	/**
+	 * @post Devuelve la máscara de índice del lote especificado
+	 * 		 (Cero si es uniforme, para que todos los índices se refieran al único carril)
+	 */
+	private static int mask(FloatClosedIntervalBatch batch) {
+		return batch.uniform ? 0 : -1;
+	}
+	
+	/**
+	 * @post Devuelve el producto de los extremos especificados, tomando
+	 * 		 cero por infinito como cero (Es el límite del producto de los intervalos)
+	 */
+	private static float boundProduct(float x, float y) {
+		return ( ( x == 0.0f ) || ( y == 0.0f ) ) ? 0.0f : x * y;
+	}
+	
+	/**
+	 * @post Devuelve el cociente de los extremos especificados, tomando
+	 * 		 cero dividido cero como cero (Igual que boundProduct).
+	 * 		 El signo del cero del divisor indica de qué lado se aproxima
+	 */
+	private static float boundQuotient(float x, float y) {
+		return ( x == 0.0f ) ? 0.0f : x / y;
+	}
+	
+	/**
+	 * @post Devuelve NaN si alguno de los extremos especificados es NaN, y cero si no.
+	 * 		 Sumándolo a un resultado hace que los carriles vacíos sigan vacíos
+	 */
+	private static float emptiness(float x, float y) {
+		return ( Float.isNaN(x) || Float.isNaN(y) ) ? Float.NaN : 0.0f;
+	}
+	
+	/**
+	 * @post Calcula el seno de los carriles del lote especificado desplazados en la fase especificada,
+	 * 		 y escribe los extremos en los arrays especificados
+	 */
+	private static void sin(FloatClosedIntervalBatch angle, double phase, float[] rMins, float[] rMaxs) {
+		final double TWO_PI = 2.0d * Math.PI;
+		final double HALF_PI = 0.5d * Math.PI;
+		final double THREE_HALF_PI = 1.5d * Math.PI;
+		
+		for ( int i = 0 ; i < rMins.length ; i++ ) {
+			final double min = angle.mins[i] + phase, max = angle.maxs[i] + phase;
+			final float minSin = (float) Math.sin(min);
+			final float maxSin = (float) Math.sin(max);
+			
+			// Primer máximo y primer mínimo críticos a partir del mínimo
+			final double firstMaximum = HALF_PI + TWO_PI * Math.ceil( ( min - HALF_PI ) / TWO_PI );
+			final double firstMinimum = THREE_HALF_PI + TWO_PI * Math.ceil( ( min - THREE_HALF_PI ) / TWO_PI );
+			
+			rMaxs[i] = ( firstMaximum <= max ) ? 1.0f : Math.max(minSin, maxSin);
+			rMins[i] = ( firstMinimum <= max ) ? -1.0f : Math.min(minSin, maxSin);
+		}
+	}
+	
+	public static final NumberSetFactory<FloatClosedIntervalBatch> FACTORY = new NumberSetFactory<FloatClosedIntervalBatch>() {
+
+		@Override
+		public Class<FloatClosedIntervalBatch> getNumberSetClass() {
+			return FloatClosedIntervalBatch.class;
+		}
+
+		/**
+		 * @post Devuelve un lote uniforme con el intervalo degenerado del valor especificado
+		 */
+		@Override
+		public FloatClosedIntervalBatch convert(float value) {
+			return new FloatClosedIntervalBatch(new float[]{ value }, new float[]{ value }, true);
+		}
+
+		/**
+		 * @post Devuelve un lote uniforme con el intervalo degenerado del valor especificado
+		 */
+		@Override
+		public FloatClosedIntervalBatch convert(double value) {
+			return this.convert( (float) value );
+		}
+
+		@Override
+		public FloatClosedIntervalBatch add(FloatClosedIntervalBatch operand1, FloatClosedIntervalBatch operand2) {
+			final int n = binaryLength(operand1, operand2);
+			final int m1 = mask(operand1), m2 = mask(operand2);
+			final float[] rMins = new float[n], rMaxs = new float[n];
+			
+			for ( int i = 0 ; i < n ; i++ ) {
+				rMins[i] = operand1.mins[i & m1] + operand2.mins[i & m2];
+				rMaxs[i] = operand1.maxs[i & m1] + operand2.maxs[i & m2];
+			}
+			
+			return new FloatClosedIntervalBatch(rMins, rMaxs, operand1.uniform && operand2.uniform);
+		}
+		
+		/**
+		 * @post Resta los dos conjuntos
+		 */
+		@Override
+		public FloatClosedIntervalBatch sub(FloatClosedIntervalBatch operand1, FloatClosedIntervalBatch operand2) {
+			final int n = binaryLength(operand1, operand2);
+			final int m1 = mask(operand1), m2 = mask(operand2);
+			final float[] rMins = new float[n], rMaxs = new float[n];
+			
+			for ( int i = 0 ; i < n ; i++ ) {
+				rMins[i] = operand1.mins[i & m1] - operand2.maxs[i & m2];
+				rMaxs[i] = operand1.maxs[i & m1] - operand2.mins[i & m2];
+			}
+			
+			return new FloatClosedIntervalBatch(rMins, rMaxs, operand1.uniform && operand2.uniform);
+		}
+
+		/**
+		 * @post Multiplica los dos conjuntos.
+		 * 		 Cero por infinito se toma como cero
+		 */
+		@Override
+		public FloatClosedIntervalBatch multiply(FloatClosedIntervalBatch operand1, FloatClosedIntervalBatch operand2) {
+			final int n = binaryLength(operand1, operand2);
+			final int m1 = mask(operand1), m2 = mask(operand2);
+			final float[] rMins = new float[n], rMaxs = new float[n];
+			
+			for ( int i = 0 ; i < n ; i++ ) {
+				final float a = operand1.mins[i & m1], b = operand1.maxs[i & m1];
+				final float c = operand2.mins[i & m2], d = operand2.maxs[i & m2];
+				
+				final float ac = boundProduct(a, c), ad = boundProduct(a, d), bc = boundProduct(b, c), bd = boundProduct(b, d);
+				final float empty = emptiness(a, c);
+				
+				rMins[i] = Math.min( Math.min(ac, ad), Math.min(bc, bd) ) + empty;
+				rMaxs[i] = Math.max( Math.max(ac, ad), Math.max(bc, bd) ) + empty;
+			}
+			
+			return new FloatClosedIntervalBatch(rMins, rMaxs, operand1.uniform && operand2.uniform);
+		}
+		
+		/**
+		 * @post Calcula la división entre los dos conjuntos.
+		 * 		 Si el divisor tiene el cero en un extremo se toma como el límite
+		 * 		 desde el lado del intervalo (Por ejemplo [1, 2] / [0, 1] = [1, +Inf]).
+		 * 		 Si el divisor contiene el cero en su interior, o es sólo el cero,
+		 * 		 el cociente es la unión de dos intervalos y se devuelve la menor
+		 * 		 cota que los contiene, que es toda la recta.
+		 * 		 Si alguno de los carriles está vacío el resultado también
+		 */
+		@Override
+		public FloatClosedIntervalBatch divide(FloatClosedIntervalBatch dividend, FloatClosedIntervalBatch divisor) {
+			final int n = binaryLength(dividend, divisor);
+			final int m1 = mask(dividend), m2 = mask(divisor);
+			final float[] rMins = new float[n], rMaxs = new float[n];
+			
+			for ( int i = 0 ; i < n ; i++ ) {
+				final float a = dividend.mins[i & m1], b = dividend.maxs[i & m1];
+				final float c = divisor.mins[i & m2], d = divisor.maxs[i & m2];
+				
+				final boolean straddlesZero = ( ( c < 0.0f ) && ( d > 0.0f ) ) || ( ( c == 0.0f ) && ( d == 0.0f ) );
+				
+				// Un cero en el mínimo se aproxima por la derecha y uno en el máximo por la izquierda
+				final float cLimit = ( c == 0.0f ) ? 0.0f : c, dLimit = ( d == 0.0f ) ? -0.0f : d;
+				
+				final float ac = boundQuotient(a, cLimit), ad = boundQuotient(a, dLimit), bc = boundQuotient(b, cLimit), bd = boundQuotient(b, dLimit);
+				final float empty = emptiness(a, c);
+				
+				rMins[i] = ( straddlesZero ? Float.NEGATIVE_INFINITY : Math.min( Math.min(ac, ad), Math.min(bc, bd) ) ) + empty;
+				rMaxs[i] = ( straddlesZero ? Float.POSITIVE_INFINITY : Math.max( Math.max(ac, ad), Math.max(bc, bd) ) ) + empty;
+			}
+			
+			return new FloatClosedIntervalBatch(rMins, rMaxs, dividend.uniform && divisor.uniform);
+		}
+
+		@Override
+		public FloatClosedIntervalBatch opposite(FloatClosedIntervalBatch operand) {
+			final float[] rMins = new float[operand.mins.length], rMaxs = new float[operand.mins.length];
+			
+			for ( int i = 0 ; i < rMins.length ; i++ ) {
+				rMins[i] = -operand.maxs[i];
+				rMaxs[i] = -operand.mins[i];
+			}
+			
+			return new FloatClosedIntervalBatch(rMins, rMaxs, operand.uniform);
+		}
+		
+		@Override
+		public FloatClosedIntervalBatch abs(FloatClosedIntervalBatch operand) {
+			final float[] rMins = new float[operand.mins.length], rMaxs = new float[operand.mins.length];
+			
+			for ( int i = 0 ; i < rMins.length ; i++ ) {
+				final float a = operand.mins[i], b = operand.maxs[i];
+				
+				rMins[i] = Math.max( 0.0f, Math.max(a, -b) );
+				rMaxs[i] = Math.max( -a, b );
+			}
+			
+			return new FloatClosedIntervalBatch(rMins, rMaxs, operand.uniform);
+		}
+
+		/**
+		 * @post Calcula la inversa.
+		 * 		 Si el operando tiene el cero en un extremo el extremo correspondiente
+		 * 		 del resultado es infinito (1 / [0, b] = [1 / b, +Inf] y 1 / [a, 0] = [-Inf, 1 / a]).
+		 * 		 Si el operando contiene el cero en su interior, o es sólo el cero,
+		 * 		 la inversa es la unión de dos intervalos y se devuelve la menor
+		 * 		 cota que los contiene, que es toda la recta.
+		 * 		 Si el carril está vacío el resultado también
+		 */
+		@Override
+		public FloatClosedIntervalBatch inverse(FloatClosedIntervalBatch operand) {
+			final float[] rMins = new float[operand.mins.length], rMaxs = new float[operand.mins.length];
+			
+			for ( int i = 0 ; i < rMins.length ; i++ ) {
+				final float a = operand.mins[i], b = operand.maxs[i];
+				final boolean straddlesZero = ( a < 0.0f ) && ( b > 0.0f );
+				
+				final float empty = emptiness(a, b);
+				
+				rMins[i] = ( ( straddlesZero || ( b == 0.0f ) ) ? Float.NEGATIVE_INFINITY : 1.0f / b ) + empty;
+				rMaxs[i] = ( ( straddlesZero || ( a == 0.0f ) ) ? Float.POSITIVE_INFINITY : 1.0f / a ) + empty;
+			}
+			
+			return new FloatClosedIntervalBatch(rMins, rMaxs, operand.uniform);
+		}
+
+		@Override
+		public FloatClosedIntervalBatch exp(FloatClosedIntervalBatch exponent) {
+			final float[] rMins = new float[exponent.mins.length], rMaxs = new float[exponent.mins.length];
+			
+			for ( int i = 0 ; i < rMins.length ; i++ ) {
+				rMins[i] = (float) Math.exp(exponent.mins[i]);
+				rMaxs[i] = (float) Math.exp(exponent.maxs[i]);
+			}
+			
+			return new FloatClosedIntervalBatch(rMins, rMaxs, exponent.uniform);
+		}
+
+		/**
+		 * @post Devuelve el logaritmo natural.
+		 * 		 Sólo se considera la parte no negativa de cada carril,
+		 * 		 si no tiene devuelve un carril vacío
+		 */
+		@Override
+		public FloatClosedIntervalBatch log(FloatClosedIntervalBatch antilogarithm) {
+			final float[] rMins = new float[antilogarithm.mins.length], rMaxs = new float[antilogarithm.mins.length];
+			
+			for ( int i = 0 ; i < rMins.length ; i++ ) {
+				final float b = antilogarithm.maxs[i];
+				
+				rMins[i] = (float) Math.log( Math.max(antilogarithm.mins[i], 0.0f) ) + ( ( b >= 0.0f ) ? 0.0f : Float.NaN );
+				rMaxs[i] = (float) Math.log( b );
+			}
+			
+			return new FloatClosedIntervalBatch(rMins, rMaxs, antilogarithm.uniform);
+		}
+		
+		/**
+		 * @post Devuelve la base a la potencia especificada
+		 * 
+		 * 		 Si el exponente es un valor uniforme y puntual lo calcula
+		 * 		 carril por carril igual que FloatClosedIntervalSet (Tomando la envolvente),
+		 * 		 si no devuelve exp( log(base) * exponent)
+		 */
+		@Override
+		public FloatClosedIntervalBatch pow(FloatClosedIntervalBatch base, FloatClosedIntervalBatch exponent) {
+			if ( exponent.uniform && ( exponent.mins[0] == exponent.maxs[0] ) ) {
+				float e = exponent.mins[0];
+				
+				if ( e == 0.0f ) {
+					// Uno en cada carril, salvo los vacíos que siguen vacíos
+					final float[] rMins = new float[base.mins.length], rMaxs = new float[base.mins.length];
+					
+					for ( int i = 0 ; i < rMins.length ; i++ ) {
+						final float empty = emptiness(base.mins[i], base.maxs[i]);
+						
+						rMins[i] = 1.0f + empty;
+						rMaxs[i] = 1.0f + empty;
+					}
+					
+					return new FloatClosedIntervalBatch(rMins, rMaxs, base.uniform);
+				}
+				else if ( e < 0.0f ) {
+					base = this.inverse(base);
+					e = -e;
+				}
+				
+				final float[] rMins = new float[base.mins.length], rMaxs = new float[base.mins.length];
+				final boolean integer = ( e == Math.floor(e) );
+				final boolean odd = integer && ( e % 2.0f == 1.0f );
+				
+				for ( int i = 0 ; i < rMins.length ; i++ ) {
+					final float a = base.mins[i], b = base.maxs[i];
+					
+					if ( odd ) {
+						rMins[i] = (float) Math.pow(a, e);
+						rMaxs[i] = (float) Math.pow(b, e);
+					}
+					else if ( integer ) {
+						final float absMin = Math.max( 0.0f, Math.max(a, -b) );
+						final float absMax = Math.max( -a, b );
+						
+						rMins[i] = (float) Math.pow(absMin, e);
+						rMaxs[i] = (float) Math.pow(absMax, e);
+					}
+					else {
+						// Sólo la parte no negativa, si no tiene el resultado es NaN (Vacío)
+						rMins[i] = (float) Math.pow( Math.max(a, 0.0f), e) + ( ( b >= 0.0f ) ? 0.0f : Float.NaN );
+						rMaxs[i] = (float) Math.pow(b, e);
+					}
+				}
+				
+				return new FloatClosedIntervalBatch(rMins, rMaxs, base.uniform);
+			}
+			else {
+				return super.pow(base, exponent);
+			}
+		}
+		
+		@Override
+		public FloatClosedIntervalBatch square(FloatClosedIntervalBatch operand) {
+			final float[] rMins = new float[operand.mins.length], rMaxs = new float[operand.mins.length];
+			
+			for ( int i = 0 ; i < rMins.length ; i++ ) {
+				final float a = operand.mins[i], b = operand.maxs[i];
+				final float absMin = Math.max( 0.0f, Math.max(a, -b) );
+				
+				rMins[i] = absMin * absMin;
+				rMaxs[i] = Math.max( a * a, b * b );
+			}
+			
+			return new FloatClosedIntervalBatch(rMins, rMaxs, operand.uniform);
+		}
+		
+		/**
+		 * @post Devuelve la raíz cuadrada.
+		 * 		 Sólo se considera la parte no negativa de cada carril,
+		 * 		 si no tiene devuelve un carril vacío
+		 */
+		@Override
+		public FloatClosedIntervalBatch sqrt(FloatClosedIntervalBatch operand) {
+			final float[] rMins = new float[operand.mins.length], rMaxs = new float[operand.mins.length];
+			
+			for ( int i = 0 ; i < rMins.length ; i++ ) {
+				final float b = operand.maxs[i];
+				
+				rMins[i] = (float) Math.sqrt( Math.max(operand.mins[i], 0.0f) ) + ( ( b >= 0.0f ) ? 0.0f : Float.NaN );
+				rMaxs[i] = (float) Math.sqrt( b );
+			}
+			
+			return new FloatClosedIntervalBatch(rMins, rMaxs, operand.uniform);
+		}
+
+		@Override
+		public FloatClosedIntervalBatch sin(FloatClosedIntervalBatch angle) {
+			final float[] rMins = new float[angle.mins.length], rMaxs = new float[angle.mins.length];
+			FloatClosedIntervalBatch.sin(angle, 0.0d, rMins, rMaxs);
+			return new FloatClosedIntervalBatch(rMins, rMaxs, angle.uniform);
+		}
+		
+		/**
+		 * @post Devuelve el coseno del ángulo
+		 * 
+		 * 		 Ésta implementación calcula sin(angle + Math.PI/2) en un solo paso
+		 */
+		@Override
+		public FloatClosedIntervalBatch cos(FloatClosedIntervalBatch angle) {
+			final float[] rMins = new float[angle.mins.length], rMaxs = new float[angle.mins.length];
+			FloatClosedIntervalBatch.sin(angle, Math.PI / 2.0d, rMins, rMaxs);
+			return new FloatClosedIntervalBatch(rMins, rMaxs, angle.uniform);
+		}
+
+		/**
+		 * @post Devuelve si en todos los carriles el primero sólo tiene elementos
+		 * 		 mayores al segundo
+		 */
+		@Override
+		public boolean hasOnlyGreaterElements(FloatClosedIntervalBatch operand1, FloatClosedIntervalBatch operand2) {
+			final int n = binaryLength(operand1, operand2);
+			final int m1 = mask(operand1), m2 = mask(operand2);
+			
+			for ( int i = 0 ; i < n ; i++ ) {
+				if ( !( operand1.mins[i & m1] > operand2.maxs[i & m2] ) ) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		/**
+		 * @post Devuelve si en todos los carriles el primero contiene al segundo
+		 */
+		@Override
+		public boolean contains(FloatClosedIntervalBatch container, FloatClosedIntervalBatch contained) {
+			final int n = binaryLength(container, contained);
+			final int m1 = mask(container), m2 = mask(contained);
+			
+			for ( int i = 0 ; i < n ; i++ ) {
+				if ( !( ( container.mins[i & m1] <= contained.mins[i & m2] ) && ( contained.maxs[i & m2] <= container.maxs[i & m1] ) ) ) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		/**
+		 * @post Devuelve el resultado de:
+		 * 		 trueFunction(x) y falseFunction(x) según x
+		 * 		 cumpla o no cumpla la condición especificada con a
+		 * 
+		 * 		 Ésta implementación calcula en cada carril la parte de x que cumple
+		 * 		 y la que no cumple la condición, evalúa cada función una sola vez con
+		 * 		 los carriles no vacíos que le corresponden, y devuelve en cada carril
+		 * 		 la envolvente de los resultados
+		 */
+		@Override
+		public FloatClosedIntervalBatch conditionalEvaluation(FloatClosedIntervalBatch x, ConditionType conditionType, FloatClosedIntervalBatch a, NumberSetFunction trueFunction, NumberSetFunction falseFunction) {
+			if ( ( x != null ) && ( conditionType != null ) && ( a != null ) && ( trueFunction != null ) && ( falseFunction != null ) ) {
+				final int n = binaryLength(x, a);
+				final int xMask = mask(x), aMask = mask(a);
+				
+				final float[] trueMins = new float[n], trueMaxs = new float[n];
+				final float[] falseMins = new float[n], falseMaxs = new float[n];
+				final boolean[] hasTrue = new boolean[n], hasFalse = new boolean[n];
+				int trueCount = 0, falseCount = 0;
+				
+				for ( int i = 0 ; i < n ; i++ ) {
+					final float xMin = x.mins[i & xMask], xMax = x.maxs[i & xMask];
+					final float aMin = a.mins[i & aMask], aMax = a.maxs[i & aMask];
+					final boolean pointEquality = ( aMin == aMax ) && ( xMin == aMin ) && ( xMax == aMax );
+					
+					float trueMin = xMin, trueMax = xMax, falseMin = xMin, falseMax = xMax;
+					
+					switch ( conditionType ) {
+					case GREATER:
+						trueMin = Math.max(xMin, Math.nextUp(aMin));
+						falseMax = Math.min(xMax, aMax);
+						break;
+					case GREATEROREQUALS:
+						trueMin = Math.max(xMin, aMin);
+						falseMax = Math.min(xMax, Math.nextAfter(aMax, Float.NEGATIVE_INFINITY));
+						break;
+					case EQUALS:
+						trueMin = Math.max(xMin, aMin);
+						trueMax = Math.min(xMax, aMax);
+						if ( pointEquality ) {
+							falseMin = Float.NaN;
+						}
+						break;
+					case SMALLEROREQUALS:
+						trueMax = Math.min(xMax, aMax);
+						falseMin = Math.max(xMin, Math.nextUp(aMin));
+						break;
+					case SMALLER:
+						trueMax = Math.min(xMax, Math.nextAfter(aMax, Float.NEGATIVE_INFINITY));
+						falseMin = Math.max(xMin, aMin);
+						break;
+					case NOTEQUALS:
+						if ( pointEquality ) {
+							trueMin = Float.NaN;
+						}
+						falseMin = Math.max(xMin, aMin);
+						falseMax = Math.min(xMax, aMax);
+						break;
+					}
+					
+					// Los carriles vacíos (Incluyendo los que ya lo estaban en x) no se evalúan
+					hasTrue[i] = ( trueMin <= trueMax );
+					if ( hasTrue[i] ) {
+						trueMins[trueCount] = trueMin;
+						trueMaxs[trueCount++] = trueMax;
+					}
+					
+					hasFalse[i] = ( falseMin <= falseMax );
+					if ( hasFalse[i] ) {
+						falseMins[falseCount] = falseMin;
+						falseMaxs[falseCount++] = falseMax;
+					}
+				}
+				
+				final FloatClosedIntervalBatch trueResult = ( trueCount != 0 ) ? trueFunction.evaluate( new FloatClosedIntervalBatch(Arrays.copyOf(trueMins, trueCount), Arrays.copyOf(trueMaxs, trueCount), false) ) : null;
+				final FloatClosedIntervalBatch falseResult = ( falseCount != 0 ) ? falseFunction.evaluate( new FloatClosedIntervalBatch(Arrays.copyOf(falseMins, falseCount), Arrays.copyOf(falseMaxs, falseCount), false) ) : null;
+				final int trueMask = ( trueResult != null ) ? mask(trueResult) : 0;
+				final int falseMask = ( falseResult != null ) ? mask(falseResult) : 0;
+				
+				final float[] rMins = new float[n], rMaxs = new float[n];
+				for ( int i = 0, t = 0, f = 0 ; i < n ; i++ ) {
+					float min = Float.NaN, max = Float.NaN;
+					
+					if ( hasTrue[i] ) {
+						min = trueResult.mins[t & trueMask];
+						max = trueResult.maxs[(t++) & trueMask];
+					}
+					
+					if ( hasFalse[i] ) {
+						final float falseMin = falseResult.mins[f & falseMask];
+						final float falseMax = falseResult.maxs[(f++) & falseMask];
+						
+						if ( Float.isNaN(min) ) {
+							min = falseMin;
+							max = falseMax;
+						}
+						else if ( !Float.isNaN(falseMin) ) {
+							// Envolvente
+							min = Math.min(min, falseMin);
+							max = Math.max(max, falseMax);
+						}
+					}
+					
+					rMins[i] = min;
+					rMaxs[i] = max;
+				}
+				
+				return new FloatClosedIntervalBatch(rMins, rMaxs, false);
+			}
+			else {
+				throw new NullPointerException();
+			}
+		}
+		
+	};
+	
+	/* (non-Javadoc)
+	 * @see com.esferixis.math.numberSet.NumberSet#factory()
+	 */
+	@Override
+	public NumberSetFactory<FloatClosedIntervalBatch> factory() {
+		return FACTORY;
+	}
+	
+	/**
+	 * @post Devuelve el hash
+	 */
+	@Override
+	public int hashCode() {
+		return ( Arrays.hashCode(this.mins) * 31 + Arrays.hashCode(this.maxs) ) * 31 + ( this.uniform ? 1 : 0 );
+	}
+	
+	/**
+	 * @post Devuelve si es igual al objeto especificado
+	 */
+	@Override
+	public boolean equals(Object other) {
+		if ( ( other != null ) && ( other instanceof FloatClosedIntervalBatch ) ) {
+			final FloatClosedIntervalBatch otherBatch = (FloatClosedIntervalBatch) other;
+			return ( otherBatch.uniform == this.uniform ) && Arrays.equals(otherBatch.mins, this.mins) && Arrays.equals(otherBatch.maxs, this.maxs);
+		}
+		else {
+			return false;
+		}
+	}
+	
+	/**
+	 * @post Devuelve una representación en String
+	 */
+	@Override
+	public String toString() {
+		String result = "[ ";
+		for ( int i = 0 ; i < this.mins.length ; i++ ) {
+			if ( i != 0 ) {
+				result = result + ", ";
+			}
+			result = result + ( Float.isNaN(this.mins[i]) ? "{}" : "[" + this.mins[i] + ", " + this.maxs[i] + "]" );
+		}
+		return result + " ]";
+	}
+}
@@ -31,6 +31,9 @@
  */
 package com.esferixis.math.numberSet;
 
+import com.esferixis.math.pointarithmetic.DualNumber;
+import com.esferixis.math.pointarithmetic.FloatNumberPoint;
+
 /**
  * @author ariel
  *
@@ -41,6 +44,51 @@ public abstract class NumberSetFunction {
 	 */
 	public abstract <V extends NumberSet<V>> V evaluate(V operand);
 	
+	/**
+	 * @post Devuelve el evaluador primitivo en precisión simple de la función.
+	 * 		 Si la función implementa FloatEvaluator se devuelve a sí misma, y la evaluación
+	 * 		 no crea objetos. Si no, devuelve un adaptador que evalúa con FloatNumberPoint
+	 */
+	public FloatEvaluator floatEvaluator() {
+		if ( this instanceof FloatEvaluator ) {
+			return (FloatEvaluator) this;
+		}
+		else {
+			return new FloatEvaluator() {
+
+				@Override
+				public float evaluate(float x) {
+					return NumberSetFunction.this.evaluate(new FloatNumberPoint(x)).getValue();
+				}
+				
+			};
+		}
+	}
+	
+	/**
+	 * @post Devuelve el evaluador primitivo en precisión doble de la función.
+	 * 		 Si la función implementa DoubleEvaluator se devuelve a sí misma, y la evaluación
+	 * 		 no crea objetos. Si no, devuelve un adaptador sobre el evaluador en precisión simple
+	 * 		 (Por lo tanto sólo tiene precisión simple)
+	 */
+	public DoubleEvaluator doubleEvaluator() {
+		if ( this instanceof DoubleEvaluator ) {
+			return (DoubleEvaluator) this;
+		}
+		else {
+			final FloatEvaluator floatEvaluator = this.floatEvaluator();
+			
+			return new DoubleEvaluator() {
+
+				@Override
+				public double evaluate(double x) {
+					return floatEvaluator.evaluate( (float) x );
+				}
+				
+			};
+		}
+	}
+	
 	/**
 	 * @pre El valor de dominio no puede ser nulo
 	 * @post Efectúa la aproximación de la derivada
@@ -59,6 +107,36 @@ public abstract class NumberSetFunction {
 		}
 	}
 	
+	/**
+	 * @pre El evaluador no puede ser nulo
+	 * @post Efectúa la aproximación de la derivada en el valor especificado con el evaluador
+	 * 		 primitivo especificado (Obtenido de floatEvaluator()), sin crear objetos.
+	 * 		 Da el mismo resultado que derivateApproximation con FloatNumberPoint
+	 */
+	public static float derivateApproximation(FloatEvaluator evaluator, float domainValue, float domainDelta) {
+		return ( evaluator.evaluate(domainValue + domainDelta) - evaluator.evaluate(domainValue) ) / domainDelta;
+	}
+	
+	/**
+	 * @post Devuelve la evaluación en el valor especificado con la derivada,
+	 * 		 calculada con diferenciación automática (Números duales), en una
+	 * 		 sola pasada
+	 */
+	public DualNumber evaluateWithDerivative(float domainValue) {
+		return this.evaluate(DualNumber.variable(domainValue));
+	}
+	
+	/**
+	 * @post Devuelve la derivada en el valor especificado, calculada con
+	 * 		 diferenciación automática (Números duales)
+	 * 
+	 * 		 Ésta implementación puede ser reemplazada con la evaluación de la
+	 * 		 derivada exacta
+	 */
+	public float derivate(float domainValue) {
+		return this.evaluateWithDerivative(domainValue).getDerivative();
+	}
+	
 	/**
 	 * @pre El límite inferior y superior no pueden ser nulos
 	 * @post Realiza la aproximación de la integral de la función con los límites
@@ -33,6 +33,8 @@ package com.esferixis.math.numberSet;
 
 import java.util.Collections;
 
+import com.esferixis.math.pointarithmetic.GradientTape;
+
 /**
  * @author ariel
  *
@@ -66,4 +68,21 @@ public abstract class NumberSetVectorialScalarFunction extends NumberSetVectoria
 			
 		};
 	}
+	
+	/**
+	 * @pre Los arrays y la cinta no pueden ser nulos, y el array de gradiente
+	 * 		tiene que tener por lo menos la longitud del punto
+	 * @post Calcula el gradiente exacto en el punto especificado con diferenciación
+	 * 		 automática en modo inverso (Una sola evaluación), usando la cinta especificada,
+	 * 		 lo escribe en el array especificado y devuelve el valor de la función.
+	 * 		 La cinta se puede reutilizar entre llamadas para no volver a crear sus arrays
+	 */
+	public float gradient(float[] x, float[] gradient, GradientTape tape) {
+		if ( tape != null ) {
+			return tape.gradient(this, x, gradient);
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
 }
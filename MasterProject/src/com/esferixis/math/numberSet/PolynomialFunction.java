@@ -37,10 +37,15 @@ import java.util.Collections;
 import java.util.List;
 
 /**
+ * Función polinómica, con los coeficientes en orden creciente de grado
+ * (El primero es el término independiente).
+ * 
+ * Implementa los evaluadores primitivos con el esquema de Horner
+ * 
  * @author ariel
  *
  */
-public final class PolynomialFunction extends NumberSetFunction {
+public final class PolynomialFunction extends NumberSetFunction implements FloatEvaluator, DoubleEvaluator {
 	private float[] coeficients;
 	
 	/**
@@ -58,8 +63,34 @@ public final class PolynomialFunction extends NumberSetFunction {
 		final NumberSetFactory<V> factory = operand.factory();
 		V result = factory.convert(0.0f);
 		
-		for ( int i = 0 ; i < this.coeficients.length ; i++ ) {
-			result = factory.add(result, factory.pow(operand, factory.convert(i) ) );
+		for ( int i = this.coeficients.length - 1 ; i >= 0 ; i-- ) {
+			result = factory.add(factory.multiply(result, operand), factory.convert(this.coeficients[i]));
+		}
+		return result;
+	}
+	
+	/* (non-Javadoc)
+	 * @see com.esferixis.math.numberSet.FloatEvaluator#evaluate(float)
+	 */
+	@Override
+	public float evaluate(float x) {
+		float result = 0.0f;
+		
+		for ( int i = this.coeficients.length - 1 ; i >= 0 ; i-- ) {
+			result = result * x + this.coeficients[i];
+		}
+		return result;
+	}
+	
+	/* (non-Javadoc)
+	 * @see com.esferixis.math.numberSet.DoubleEvaluator#evaluate(double)
+	 */
+	@Override
+	public double evaluate(double x) {
+		double result = 0.0d;
+		
+		for ( int i = this.coeficients.length - 1 ; i >= 0 ; i-- ) {
+			result = result * x + this.coeficients[i];
 		}
 		return result;
 	}
@@ -0,0 +1,317 @@
+/**
+ * Copyright (c) 2017 Ariel Favio Carrizo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'esferixis' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.esferixis.math.pointarithmetic;
+
+import com.esferixis.math.numberSet.NumberSetFactory;
+import com.esferixis.math.numberSet.NumberSetFunction;
+
+/**
+ * Número dual (a + b * e, con e^2 = 0).
+ * 
+ * Se usa para la diferenciación automática en modo directo: evaluando
+ * una función genérica con la variable (x, 1) se obtiene el valor y la
+ * derivada exacta (Salvo redondeo) en una sola pasada, sin elegir un delta.
+ * 
+ * @author ariel
+ *
+ */
+public final class DualNumber extends NumberPoint<DualNumber> {
+	private final float value;
+	private final float derivative;
+	
+	/**
+	 * @post Crea el número dual con el valor y la derivada especificados
+	 */
+	public DualNumber(float value, float derivative) {
+		this.value = value;
+		this.derivative = derivative;
+	}
+	
+	/**
+	 * @post Crea la variable independiente con el valor especificado
+	 * 		 (Su derivada es uno)
+	 */
+	public static DualNumber variable(float value) {
+		return new DualNumber(value, 1.0f);
+	}
+	
+	/**
+	 * @post Crea la constante con el valor especificado
+	 * 		 (Su derivada es cero)
+	 */
+	public static DualNumber constant(float value) {
+		return new DualNumber(value, 0.0f);
+	}
+	
+	public static final NumberSetFactory<DualNumber> FACTORY = new NumberSetFactory<DualNumber>() {
+
+		@Override
+		public Class<DualNumber> getNumberSetClass() {
+			return DualNumber.class;
+		}
+
+		@Override
+		public DualNumber convert(float value) {
+			return new DualNumber(value, 0.0f);
+		}
+
+		@Override
+		public DualNumber convert(double value) {
+			return this.convert( (float) value );
+		}
+
+		@Override
+		public DualNumber add(DualNumber operand1, DualNumber operand2) {
+			return new DualNumber(operand1.value + operand2.value, operand1.derivative + operand2.derivative);
+		}
+		
+		/**
+		 * @post Resta los dos conjuntos
+		 */
+		@Override
+		public DualNumber sub(DualNumber operand1, DualNumber operand2) {
+			return new DualNumber(operand1.value - operand2.value, operand1.derivative - operand2.derivative);
+		}
+
+		@Override
+		public DualNumber multiply(DualNumber operand1, DualNumber operand2) {
+			return new DualNumber(operand1.value * operand2.value, operand1.derivative * operand2.value + operand1.value * operand2.derivative);
+		}
+
+		@Override
+		public DualNumber abs(DualNumber operand) {
+			return new DualNumber(Math.abs(operand.value), Math.signum(operand.value) * operand.derivative);
+		}
+
+		@Override
+		public DualNumber opposite(DualNumber operand) {
+			return new DualNumber(-operand.value, -operand.derivative);
+		}
+
+		@Override
+		public DualNumber inverse(DualNumber operand) {
+			final float inverse = 1.0f / operand.value;
+			return new DualNumber(inverse, -operand.derivative * inverse * inverse);
+		}
+		
+		/**
+		 * @post Calcula la división entre los dos conjuntos
+		 */
+		@Override
+		public DualNumber divide(DualNumber dividend, DualNumber divisor) {
+			final float quotient = dividend.value / divisor.value;
+			return new DualNumber(quotient, ( dividend.derivative - quotient * divisor.derivative ) / divisor.value);
+		}
+
+		@Override
+		public DualNumber exp(DualNumber exponent) {
+			final float exp = (float) Math.exp(exponent.value);
+			return new DualNumber(exp, exp * exponent.derivative);
+		}
+
+		@Override
+		public DualNumber log(DualNumber antilogarithm) {
+			return new DualNumber( (float) Math.log(antilogarithm.value), antilogarithm.derivative / antilogarithm.value);
+		}
+		
+		/**
+		 * @post Devuelve la base a la potencia especificada
+		 * 
+		 * 		 Si el exponente es constante usa la regla de la potencia,
+		 * 		 que también vale para bases negativas
+		 */
+		@Override
+		public DualNumber pow(DualNumber base, DualNumber exponent) {
+			final float pow = (float) Math.pow(base.value, exponent.value);
+			
+			if ( exponent.derivative == 0.0f ) {
+				final float derivative = ( exponent.value != 0.0f ) ? exponent.value * (float) Math.pow(base.value, exponent.value - 1.0f) * base.derivative : 0.0f;
+				return new DualNumber(pow, derivative);
+			}
+			else {
+				return new DualNumber(pow, pow * ( exponent.derivative * (float) Math.log(base.value) + exponent.value * base.derivative / base.value ) );
+			}
+		}
+		
+		/**
+		 * @post Devuelve el cuadrado
+		 */
+		@Override
+		public DualNumber square(DualNumber operand) {
+			return new DualNumber(operand.value * operand.value, 2.0f * operand.value * operand.derivative);
+		}
+		
+		/**
+		 * @post Devuelve la raíz cuadrada
+		 */
+		@Override
+		public DualNumber sqrt(DualNumber operand) {
+			final float sqrt = (float) Math.sqrt(operand.value);
+			return new DualNumber(sqrt, operand.derivative / ( 2.0f * sqrt ) );
+		}
+
+		@Override
+		public DualNumber sin(DualNumber angle) {
+			return new DualNumber( (float) Math.sin(angle.value), (float) Math.cos(angle.value) * angle.derivative );
+		}
+		
+		/**
+		 * @post Devuelve el coseno del ángulo
+		 */
+		@Override
+		public DualNumber cos(DualNumber angle) {
+			return new DualNumber( (float) Math.cos(angle.value), - (float) Math.sin(angle.value) * angle.derivative );
+		}
+		
+		/**
+		 * @post Devuelve la tangente del ángulo
+		 */
+		@Override
+		public DualNumber tan(DualNumber angle) {
+			final float tan = (float) Math.tan(angle.value);
+			return new DualNumber( tan, ( 1.0f + tan * tan ) * angle.derivative );
+		}
+
+		/**
+		 * @post Devuelve si el valor del primero es mayor al del segundo
+		 */
+		@Override
+		public boolean hasOnlyGreaterElements(DualNumber operand1, DualNumber operand2) {
+			return operand1.value > operand2.value;
+		}
+
+		/**
+		 * @post Devuelve si los valores son iguales
+		 */
+		@Override
+		public boolean contains(DualNumber container, DualNumber contained) {
+			return container.value == contained.value;
+		}
+
+		/**
+		 * @post Devuelve el resultado de:
+		 * 		 trueFunction(x) y falseFunction(x) según el valor de x
+		 * 		 cumpla o no cumpla la condición especificada con el de a
+		 */
+		@Override
+		public DualNumber conditionalEvaluation(DualNumber x, ConditionType conditionType, DualNumber a, NumberSetFunction trueFunction, NumberSetFunction falseFunction) {
+			if ( (x != null ) && ( conditionType != null ) && ( a != null ) && ( trueFunction != null ) && ( falseFunction != null ) ) {
+				boolean trueCondition = false;
+				switch ( conditionType ) {
+				case GREATER:
+					trueCondition = ( x.value > a.value );
+					break;
+				case GREATEROREQUALS:
+					trueCondition = ( x.value >= a.value );
+					break;
+				case EQUALS:
+					trueCondition = ( x.value == a.value );
+					break;
+				case SMALLEROREQUALS:
+					trueCondition = ( x.value <= a.value );
+					break;
+				case SMALLER:
+					trueCondition = ( x.value < a.value );
+					break;
+				case NOTEQUALS:
+					trueCondition = ( x.value != a.value );
+					break;
+				}
+				return ( trueCondition ? trueFunction : falseFunction ).evaluate(x);
+			}
+			else {
+				throw new NullPointerException();
+			}
+		}
+		
+	};
+	
+	/**
+	 * @post Devuelve el valor
+	 */
+	public float getValue() {
+		return this.value;
+	}
+	
+	/**
+	 * @post Devuelve la derivada
+	 */
+	public float getDerivative() {
+		return this.derivative;
+	}
+	
+	/* (non-Javadoc)
+	 * @see com.esferixis.math.numberSet.NumberSet#factory()
+	 */
+	@Override
+	public NumberSetFactory<DualNumber> factory() {
+		return FACTORY;
+	}
+	
+	/**
+	 * @post Devuelve el hash
+	 */
+	@Override
+	public int hashCode() {
+		return floatHash(this.value) * 31 + floatHash(this.derivative);
+	}
+	
+	/**
+	 * @post Devuelve el hash de la componente especificada, coherente
+	 * 		 con la igualdad (0.0f y -0.0f tienen el mismo hash)
+	 */
+	private static int floatHash(float value) {
+		return ( value == 0.0f ) ? 0 : Float.floatToIntBits(value);
+	}
+	
+	/**
+	 * @post Devuelve si es igual al objeto especificado
+	 */
+	@Override
+	public boolean equals(Object other) {
+		if ( ( other != null ) && ( other instanceof DualNumber ) ) {
+			final DualNumber otherDual = (DualNumber) other;
+			return ( otherDual.value == this.value ) && ( otherDual.derivative == this.derivative );
+		}
+		else {
+			return false;
+		}
+	}
+	
+	/**
+	 * @post Devuelve una representación en String
+	 */
+	@Override
+	public String toString() {
+		return this.value + " + " + this.derivative + "e";
+	}
+}
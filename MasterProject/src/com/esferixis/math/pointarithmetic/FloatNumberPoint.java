@@ -42,6 +42,7 @@ import java.util.Stack;
 import java.util.TreeSet;
 
 import com.esferixis.math.intervalarithmetic.FloatClosedInterval;
+import com.esferixis.math.numberSet.FloatEvaluator;
 import com.esferixis.math.numberSet.NumberSet;
 import com.esferixis.math.numberSet.NumberSetFactory;
 import com.esferixis.math.numberSet.NumberSetFunction;
@@ -88,6 +89,47 @@ public final class FloatNumberPoint extends NumberPoint<FloatNumberPoint> {
 			
 		}
 		
+		/**
+		 * Función con las raíces encontradas eliminadas
+		 * (Cociente entre la función y el producto de (x - raíz) por cada raíz encontrada)
+		 */
+		private static final class RemainingFunction extends NumberSetFunction implements FloatEvaluator {
+			private final NumberSetFunction function;
+			private final FloatEvaluator evaluator;
+			private final List<Float> foundedRoots;
+			
+			/**
+			 * @pre La función y la lista de raíces no pueden ser nulas
+			 * @post Crea la función con la función y la lista de raíces encontradas especificadas
+			 */
+			public RemainingFunction(NumberSetFunction function, List<Float> foundedRoots) {
+				this.function = function;
+				this.evaluator = function.floatEvaluator();
+				this.foundedRoots = foundedRoots;
+			}
+			
+			@Override
+			public <V extends NumberSet<V>> V evaluate(V operand) {
+				final NumberSetFactory<V> factory = operand.factory();
+				V value = this.function.evaluate(operand);
+				V denominator = factory.one();
+				for ( Float eachRoot : this.foundedRoots ) {
+					denominator = factory.multiply(denominator, factory.sub(operand, factory.convert(eachRoot)));
+				}
+				return factory.divide(value, denominator);
+			}
+			
+			@Override
+			public float evaluate(float x) {
+				final float value = this.evaluator.evaluate(x);
+				float denominator = 1.0f;
+				for ( int i = 0 ; i < this.foundedRoots.size() ; i++ ) {
+					denominator *= x - this.foundedRoots.get(i);
+				}
+				return value / denominator;
+			}
+		}
+		
 		public static class Result {
 			private final Float value;
 			private final FloatClosedInterval enclosingInterval;
@@ -174,6 +216,7 @@ public final class FloatNumberPoint extends NumberPoint<FloatNumberPoint> {
 		 */
 		public static Result bisection_minnearest(NumberSetFunction function, FloatClosedInterval domain, float imageError) {
 			if ( ( function != null ) && ( domain != null ) ) {
+				final FloatEvaluator evaluator = function.floatEvaluator();
 				
 				int n=0;
 				Float result = null;
@@ -185,13 +228,13 @@ public final class FloatNumberPoint extends NumberPoint<FloatNumberPoint> {
 					n++;
 					final FloatClosedInterval eachInterval = pendingIntervals.pop();
 					
-					float y1 = function.evaluate(new FloatNumberPoint(eachInterval.getMin())).getValue();
-					float y2 = function.evaluate(new FloatNumberPoint(eachInterval.getMax())).getValue();
+					float y1 = evaluator.evaluate(eachInterval.getMin());
+					float y2 = evaluator.evaluate(eachInterval.getMax());
 					
 					if ( ((y1 >= 0.0f) && (y2 <= 0.0f)) || ( (y1 <= 0.0f) && (y2 >= 0.0f) ) ) {
 						float midPoint = (eachInterval.getMin()+eachInterval.getMax())/2.0f;
 						
-						if ( ( Math.abs( function.evaluate(new FloatNumberPoint(midPoint)).getValue() ) > imageError ) && ( eachInterval.getMin() + Math.ulp(eachInterval.getMin()) < eachInterval.getMax() ) ) {
+						if ( ( Math.abs( evaluator.evaluate(midPoint) ) > imageError ) && ( eachInterval.getMin() + Math.ulp(eachInterval.getMin()) < eachInterval.getMax() ) ) {
 							pendingIntervals.push(new FloatClosedInterval(midPoint, eachInterval.getMax()));
 							pendingIntervals.push(new FloatClosedInterval(eachInterval.getMin(), midPoint));
 						}
@@ -215,18 +258,21 @@ public final class FloatNumberPoint extends NumberPoint<FloatNumberPoint> {
 		 * @post Devuelve la aproximación de la raíz empezando a partir del punto inicial especificado,
 		 * 		 con el delta de dominio de aproximación de derivada, el criterio de aceptación 
 		 * 		 especificado, efectuando el método de Newton-Rawson.
+		 * 		 Si el delta es nulo usa la derivada exacta con números duales (DualNumber),
+		 * 		 que se obtiene junto con el valor en la misma evaluación.
 		 * 		 Si se especifica intervalo de dominio se descartará el resultado si no pertenece
 		 * 		 a dicho intervalo.
 		 * 		 Si no fuera posible hallar la solución devuelve null
 		 */
-		private static Result newton_raphson(NumberSetFunction function, float x0, float xDeltaDerivative, FloatClosedInterval domainInterval, RootAcceptanceCriterium rootAcceptanceCriterium) {
+		private static Result newton_raphson(NumberSetFunction function, float x0, Float xDeltaDerivative, FloatClosedInterval domainInterval, RootAcceptanceCriterium rootAcceptanceCriterium) {
 			
 			final int maxIterations=51;
 			if ( ( function != null ) && ( rootAcceptanceCriterium != null ) ) {
+				final FloatEvaluator evaluator = function.floatEvaluator();
 				float x = x0;
 				Float result = null;
 				
-				Float x_neg=null, x_pos=null;
+				float x_neg=Float.NaN, x_pos=Float.NaN;
 				
 				int n=0;
 				
@@ -234,7 +280,16 @@ public final class FloatNumberPoint extends NumberPoint<FloatNumberPoint> {
 				
 				do {
 					n++;
-					final float y = function.evaluate(new FloatNumberPoint(x)).getValue();
+					final float y, yDerivative;
+					if ( xDeltaDerivative != null ) {
+						y = evaluator.evaluate(x);
+						yDerivative = Float.NaN;
+					}
+					else {
+						final DualNumber dualImage = function.evaluateWithDerivative(x);
+						y = dualImage.getValue();
+						yDerivative = dualImage.getDerivative();
+					}
 					
 					if ( y < 0.0f ) {
 						x_neg = x;
@@ -246,7 +301,12 @@ public final class FloatNumberPoint extends NumberPoint<FloatNumberPoint> {
 					
 					if ( noEnd ) {
 						if ( !rootAcceptanceCriterium.hasSufficientPrecision(x, y) ) {
-							x = x - y / function.derivateApproximation( new FloatNumberPoint(x), xDeltaDerivative).getValue();
+							if ( xDeltaDerivative != null ) {
+								x = x - y / NumberSetFunction.derivateApproximation(evaluator, x, xDeltaDerivative);
+							}
+							else {
+								x = x - y / yDerivative;
+							}
 						}
 						else {
 							result = x;
@@ -256,7 +316,7 @@ public final class FloatNumberPoint extends NumberPoint<FloatNumberPoint> {
 				} while ( noEnd );
 				
 				FloatClosedInterval enclosingInterval;
-				if ( ( x_neg != null ) && ( x_pos != null ) ) {
+				if ( ( !Float.isNaN(x_neg) ) && ( !Float.isNaN(x_pos) ) ) {
 					enclosingInterval = new FloatClosedInterval(Math.min(x_neg, x_pos), Math.max(x_neg, x_pos));
 				}
 				else {
@@ -282,7 +342,21 @@ public final class FloatNumberPoint extends NumberPoint<FloatNumberPoint> {
 		 * 		 Si no fuera posible hallar la solución devuelve null
 		 */
 		public static Result newton_raphson(NumberSetFunction function, float x0, float xDeltaDerivative, FloatClosedInterval domainInterval, float imageError) {
-			return newton_raphson(function, x0, xDeltaDerivative, domainInterval, new ImageErrorRootAcceptanceCriterium(imageError));
+			return newton_raphson(function, x0, Float.valueOf(xDeltaDerivative), domainInterval, new ImageErrorRootAcceptanceCriterium(imageError));
+		}
+		
+		/**
+		 * @pre La función no puede ser nula,
+		 * 		y tiene que especificarse el punto inicial o un intervalo de dominio.
+		 * @post Devuelve la aproximación de la raíz empezando a partir del punto inicial especificado,
+		 * 		 con el error de imagen especificado, efectuando el método de Newton-Rawson
+		 * 		 con la derivada exacta calculada con números duales (DualNumber).
+		 * 		 Si se especifica intervalo de dominio se descartará el resultado si no pertenece
+		 * 		 a dicho intervalo.
+		 * 		 Si no fuera posible hallar la solución devuelve null
+		 */
+		public static Result newton_raphson(NumberSetFunction function, float x0, FloatClosedInterval domainInterval, float imageError) {
+			return newton_raphson(function, x0, null, domainInterval, new ImageErrorRootAcceptanceCriterium(imageError));
 		}
 		
 		/**
@@ -293,7 +367,31 @@ public final class FloatNumberPoint extends NumberPoint<FloatNumberPoint> {
 		 * 		 Si no fuera posible hallar la solución devuelve null
 		 */
 		public static Result bisection_minnearest_N_R(NumberSetFunction function, FloatClosedInterval domain, float xDeltaDerivative, float imageError) {
+			return bisection_minnearest_N_R(function, domain, Float.valueOf(xDeltaDerivative), imageError);
+		}
+		
+		/**
+		 * @pre La función y el dominio no pueden ser nulos.
+		 * @post Devuelve la aproximación de la raíz con el error de imagen especificado,
+		 * 		 usando el método de bisección y el de Newton-Rawson con la derivada
+		 * 		 exacta calculada con números duales (DualNumber).
+		 * 		 Si no fuera posible hallar la solución devuelve null
+		 */
+		public static Result bisection_minnearest_N_R(NumberSetFunction function, FloatClosedInterval domain, float imageError) {
+			return bisection_minnearest_N_R(function, domain, (Float) null, imageError);
+		}
+		
+		/**
+		 * @pre La función y el dominio no pueden ser nulos.
+		 * @post Devuelve la aproximación de la raíz con el delta de aproximación de derivada,
+		 * 		 el error de imagen especificados, usando el método de bisección y el de Newton-Rawson.
+		 * 		 Si el delta es nulo usa la derivada exacta con números duales.
+		 * 		 Si no fuera posible hallar la solución devuelve null
+		 */
+		private static Result bisection_minnearest_N_R(NumberSetFunction function, FloatClosedInterval domain, Float xDeltaDerivative, float imageError) {
 			if ( ( function != null ) && ( domain != null ) ) {
+				final RootAcceptanceCriterium rootAcceptanceCriterium = new ImageErrorRootAcceptanceCriterium(imageError);
+				final FloatEvaluator evaluator = function.floatEvaluator();
 				FloatClosedInterval enclosingInterval=null;
 				boolean first=true;
 				
@@ -306,19 +404,19 @@ public final class FloatNumberPoint extends NumberPoint<FloatNumberPoint> {
 					n++;
 					final FloatClosedInterval eachInterval = pendingIntervals.pop();
 					
-					float y1 = function.evaluate(new FloatNumberPoint(eachInterval.getMin())).getValue();
-					float y2 = function.evaluate(new FloatNumberPoint(eachInterval.getMax())).getValue();
+					float y1 = evaluator.evaluate(eachInterval.getMin());
+					float y2 = evaluator.evaluate(eachInterval.getMax());
 					
 					float midPoint = (eachInterval.getMin()+eachInterval.getMax())/2.0f;
 					
 					if ( ((y1 >= 0.0f) && (y2 <= 0.0f)) || ( (y1 <= 0.0f) && (y2 >= 0.0f) ) ) {
 						
-						Result midPointN_R = newton_raphson(function, midPoint, xDeltaDerivative, eachInterval, imageError);
+						Result midPointN_R = newton_raphson(function, midPoint, xDeltaDerivative, eachInterval, rootAcceptanceCriterium);
 						if ( midPointN_R.getPoint() != null) {
 							midPoint = midPointN_R.getPoint().getValue();
 						}
 						
-						if ( ( Math.abs( function.evaluate(new FloatNumberPoint(midPoint)).getValue() ) > imageError ) && ( eachInterval.getMin() + Math.ulp(eachInterval.getMin()) < eachInterval.getMax() ) ) {
+						if ( ( Math.abs( evaluator.evaluate(midPoint) ) > imageError ) && ( eachInterval.getMin() + Math.ulp(eachInterval.getMin()) < eachInterval.getMax() ) ) {
 							pendingIntervals.push(new FloatClosedInterval(midPoint, eachInterval.getMax()));
 							pendingIntervals.push(new FloatClosedInterval(eachInterval.getMin(), midPoint));
 						}
@@ -328,7 +426,7 @@ public final class FloatNumberPoint extends NumberPoint<FloatNumberPoint> {
 						}
 					}
 					else if ( first ) {
-						Result midPointN_R = newton_raphson(function, midPoint, xDeltaDerivative, eachInterval, imageError);
+						Result midPointN_R = newton_raphson(function, midPoint, xDeltaDerivative, eachInterval, rootAcceptanceCriterium);
 						if ( midPointN_R.getPoint() != null) {
 							if ( midPointN_R.getEnclosingInterval() == null ) {
 								result = midPointN_R.getPoint().getValue();
@@ -353,6 +451,24 @@ public final class FloatNumberPoint extends NumberPoint<FloatNumberPoint> {
 		 * 		 intentos de bisecciones sucesivos empezando desde el menor intervalo
 		 */
 		public static Result bisection_minnearest_N_R_segmented(NumberSetFunction function, FloatClosedInterval domain, float xDeltaDerivative, float imageError, float domainSegmentLength) {
+			return bisection_minnearest_N_R_segmented(function, domain, Float.valueOf(xDeltaDerivative), imageError, domainSegmentLength);
+		}
+		
+		/**
+		 * @post Devuelve una estimación de la raíz más cercana usando
+		 * 		 intentos de bisecciones sucesivos empezando desde el menor intervalo,
+		 * 		 con la derivada exacta calculada con números duales (DualNumber)
+		 */
+		public static Result bisection_minnearest_N_R_segmented(NumberSetFunction function, FloatClosedInterval domain, float imageError, float domainSegmentLength) {
+			return bisection_minnearest_N_R_segmented(function, domain, (Float) null, imageError, domainSegmentLength);
+		}
+		
+		/**
+		 * @post Devuelve una estimación de la raíz más cercana usando
+		 * 		 intentos de bisecciones sucesivos empezando desde el menor intervalo.
+		 * 		 Si el delta es nulo usa la derivada exacta con números duales
+		 */
+		private static Result bisection_minnearest_N_R_segmented(NumberSetFunction function, FloatClosedInterval domain, Float xDeltaDerivative, float imageError, float domainSegmentLength) {
 			Result result = null;
 			int segments = (int) ( Math.floor( domain.length() / domainSegmentLength ) );
 			for ( int i=0 ; (i<segments) && ( ( result == null ) || ( result.getPoint() == null ) ) ;i++ ) {
@@ -482,13 +598,37 @@ public final class FloatNumberPoint extends NumberPoint<FloatNumberPoint> {
 		 * 		 y la cantidad máxima de iteraciones especificada en una búsqueda de una raíz
 		 */
 		public static Result probabilistic_N_R_smallest_rootfinding(final NumberSetFunction function, FloatClosedInterval domainInterval, final float xDeltaDerivative, final float imageError, final int browsingMaxIterations) {
+			return probabilistic_N_R_smallest_rootfinding(function, domainInterval, Float.valueOf(xDeltaDerivative), imageError, browsingMaxIterations);
+		}
+		
+		/**
+		 * @pre La función y los intervalos no pueden ser nulos
+		 * @post Busca la raíz más pequeña en el intervalo especificado en forma probabilística,
+		 * 		 con el método de newton-rawson con la derivada exacta calculada con números
+		 * 		 duales (DualNumber), especificando el error de imagen y la cantidad máxima
+		 * 		 de iteraciones especificada en una búsqueda de una raíz
+		 */
+		public static Result probabilistic_N_R_smallest_rootfinding(final NumberSetFunction function, FloatClosedInterval domainInterval, final float imageError, final int browsingMaxIterations) {
+			return probabilistic_N_R_smallest_rootfinding(function, domainInterval, (Float) null, imageError, browsingMaxIterations);
+		}
+		
+		/**
+		 * @pre La función y los intervalos no pueden ser nulos
+		 * @post Busca la raíz más pequeña en el intervalo especificado en forma probabilística,
+		 * 		 con el método de newton-rawson especificando el error de imagen
+		 * 		 y la cantidad máxima de iteraciones especificada en una búsqueda de una raíz.
+		 * 		 Si el delta es nulo usa la derivada exacta con números duales
+		 */
+		private static Result probabilistic_N_R_smallest_rootfinding(final NumberSetFunction function, FloatClosedInterval domainInterval, final Float xDeltaDerivative, final float imageError, final int browsingMaxIterations) {
 			if ( ( function != null ) && ( domainInterval != null ) ) {
+				final FloatEvaluator evaluator = function.floatEvaluator();
+				
 				RootAcceptanceCriterium rootAcceptanceCriterium = new RootAcceptanceCriterium() {
 					private final RootAcceptanceCriterium targetAcceptanceCriterium = new ImageErrorRootAcceptanceCriterium(imageError);
 					
 					@Override
 					public boolean hasSufficientPrecision(float x, float image) {
-						return targetAcceptanceCriterium.hasSufficientPrecision(x, function.evaluate(new FloatNumberPoint(x)).getValue());
+						return targetAcceptanceCriterium.hasSufficientPrecision(x, evaluator.evaluate(x));
 					}
 					
 				};
@@ -498,20 +638,7 @@ public final class FloatNumberPoint extends NumberPoint<FloatNumberPoint> {
 				final List<Float> foundedRoots = new ArrayList<Float>();
 				Float smallestFoundedRoot = null;
 				
-				NumberSetFunction remainingFunction = new NumberSetFunction() {
-
-					@Override
-					public <V extends NumberSet<V>> V evaluate(V operand) {
-						final NumberSetFactory<V> factory = operand.factory();
-						V value = function.evaluate(operand);
-						V denominator = factory.one();
-						for ( Float eachRoot : foundedRoots ) {
-							denominator = factory.multiply(denominator, factory.sub(operand, factory.convert(eachRoot)));
-						}
-						return factory.divide(value, denominator);
-					}
-					
-				};
+				final NumberSetFunction remainingFunction = new RemainingFunction(function, foundedRoots);
 				
 				boolean foundedRoot;
 				do {
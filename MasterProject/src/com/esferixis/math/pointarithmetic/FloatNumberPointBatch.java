@@ -0,0 +1,681 @@
+/**
+ * Copyright (c) 2017 Ariel Favio Carrizo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'esferixis' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.esferixis.math.pointarithmetic;
+
+import java.util.Arrays;
+
+import com.esferixis.math.intervalarithmetic.FloatClosedInterval;
+import com.esferixis.math.numberSet.NumberSetFactory;
+import com.esferixis.math.numberSet.NumberSetFunction;
+
+/**
+ * Lote de valores numéricos puntuales.
+ * 
+ * Cada elemento del lote es un carril que se evalúa en forma independiente,
+ * los valores se guardan en un array contiguo, y la fábrica efectúa
+ * cada operación en un ciclo sobre todos los carriles.
+ * De ésta manera una función genérica se evalúa en N puntos con una sola
+ * llamada, y el despacho de la fábrica se amortiza entre todos los carriles.
+ * 
+ * Las constantes (Las que crea la fábrica con convert) son uniformes, es decir
+ * que tienen un solo valor que vale para cualquier cantidad de carriles.
+ * Las operaciones entre lotes no uniformes requieren que tengan la misma cantidad
+ * de carriles.
+ * 
+ * Sobre la vectorización ver la nota de com.esferixis.math.VectorKernels.
+ * 
+ * @author ariel
+ *
+ */
+public final class FloatNumberPointBatch extends NumberPoint<FloatNumberPointBatch> {
+	private final float[] values;
+	private final boolean uniform;
+	
+	/**
+	 * @pre El array no puede ser nulo
+	 * @post Crea el lote con los valores especificados
+	 */
+	public FloatNumberPointBatch(float... values) {
+		this(values, 0, values.length);
+	}
+	
+	/**
+	 * @pre El array no puede ser nulo, y el rango tiene que ser válido
+	 * @post Crea el lote con el rango de valores especificado
+	 */
+	public FloatNumberPointBatch(float[] values, int offset, int length) {
+		if ( values != null ) {
+			if ( ( offset < 0 ) || ( length < 0 ) || ( offset + length > values.length ) ) {
+				throw new IndexOutOfBoundsException("Invalid range");
+			}
+			this.values = Arrays.copyOfRange(values, offset, offset + length);
+			this.uniform = false;
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @post Crea el lote con el array especificado, sin copiarlo,
+	 * 		 y especificando si es uniforme
+	 */
+	private FloatNumberPointBatch(float[] values, boolean uniform) {
+		this.values = values;
+		this.uniform = uniform;
+	}
+	
+	/**
+	 * @pre El intervalo no puede ser nulo, y la cantidad de muestras tiene que ser mayor a uno
+	 * @post Crea el lote con la cantidad de muestras equiespaciadas especificada
+	 * 		 en el intervalo especificado (Incluyendo los extremos)
+	 */
+	public static FloatNumberPointBatch grid(FloatClosedInterval domain, int samples) {
+		if ( domain != null ) {
+			if ( samples < 2 ) {
+				throw new IllegalArgumentException("Expected at least two samples");
+			}
+			
+			final float[] values = new float[samples];
+			final float min = domain.getMin();
+			final float step = domain.length() / (samples - 1);
+			
+			for ( int i = 0 ; i < samples - 1 ; i++ ) {
+				values[i] = min + step * i;
+			}
+			values[samples - 1] = domain.getMax();
+			
+			return new FloatNumberPointBatch(values, false);
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @pre La función y los arrays no pueden ser nulos, y el rango tiene que ser válido
+	 * @post Evalúa la función en la cantidad de valores especificada a partir del offset
+	 * 		 especificado del array de entrada, con una sola evaluación, y escribe
+	 * 		 las imágenes en el array de salida en los mismos índices
+	 */
+	public static void evaluate(NumberSetFunction function, float[] in, float[] out, int offset, int count) {
+		if ( ( function != null ) && ( in != null ) && ( out != null ) ) {
+			if ( ( offset < 0 ) || ( count < 0 ) || ( offset + count > in.length ) || ( offset + count > out.length ) ) {
+				throw new IndexOutOfBoundsException("Invalid range");
+			}
+			
+			function.evaluate(new FloatNumberPointBatch(in, offset, count)).getValues(out, offset, count);
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @post Devuelve si es uniforme (Tiene el mismo valor en todos los carriles)
+	 */
+	public boolean isUniform() {
+		return this.uniform;
+	}
+	
+	/**
+	 * @post Devuelve la cantidad de carriles.
+	 * 		 Si es uniforme devuelve 1
+	 */
+	public int length() {
+		return this.values.length;
+	}
+	
+	/**
+	 * @pre El índice tiene que ser válido.
+	 * 		Si es uniforme cualquier índice no negativo es válido
+	 * @post Devuelve el valor del carril especificado
+	 */
+	public float getValue(int index) {
+		if ( this.uniform ) {
+			if ( index < 0 ) {
+				throw new IndexOutOfBoundsException();
+			}
+			return this.values[0];
+		}
+		else {
+			return this.values[index];
+		}
+	}
+	
+	/**
+	 * @post Devuelve una copia de los valores
+	 */
+	public float[] getValues() {
+		return this.values.clone();
+	}
+	
+	/**
+	 * @pre El array no puede ser nulo, el rango tiene que ser válido, y si no es
+	 * 		uniforme la cantidad tiene que ser igual a la cantidad de carriles
+	 * @post Escribe los valores en el array especificado a partir del offset especificado.
+	 * 		 Si es uniforme repite el valor en la cantidad especificada de elementos
+	 */
+	public void getValues(float[] dest, int offset, int count) {
+		if ( dest != null ) {
+			if ( ( offset < 0 ) || ( count < 0 ) || ( offset + count > dest.length ) ) {
+				throw new IndexOutOfBoundsException("Invalid range");
+			}
+			
+			if ( this.uniform ) {
+				Arrays.fill(dest, offset, offset + count, this.values[0]);
+			}
+			else if ( count == this.values.length ) {
+				System.arraycopy(this.values, 0, dest, offset, count);
+			}
+			else {
+				throw new IllegalArgumentException("Lane count mismatch");
+			}
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @pre Los lotes no pueden ser nulos
+	 * @post Devuelve la cantidad de carriles del resultado de una operación
+	 * 		 binaria entre los lotes especificados
+	 */
+	private static int binaryLength(FloatNumberPointBatch operand1, FloatNumberPointBatch operand2) {
+		if ( operand1.uniform ) {
+			return operand2.values.length;
+		}
+		else if ( operand2.uniform || ( operand1.values.length == operand2.values.length ) ) {
+			return operand1.values.length;
+		}
+		else {
+			throw new IllegalArgumentException("Lane count mismatch");
+		}
+	}
+	
+	/**
+	 * @pre Los lotes no pueden ser nulos
+	 * @post Crea el array de resultado para una operación binaria entre los lotes especificados
+	 */
+	private static float[] binaryResult(FloatNumberPointBatch operand1, FloatNumberPointBatch operand2) {
+		return new float[binaryLength(operand1, operand2)];
+	}
+	
+	/**
+	 * @post Crea el lote resultado de una operación binaria entre los lotes especificados
+	 */
+	private static FloatNumberPointBatch binaryResult(FloatNumberPointBatch operand1, FloatNumberPointBatch operand2, float[] result) {
+		return new FloatNumberPointBatch(result, operand1.uniform && operand2.uniform);
+	}
+	
+	public static final NumberSetFactory<FloatNumberPointBatch> FACTORY = new NumberSetFactory<FloatNumberPointBatch>() {
+
+		@Override
+		public Class<FloatNumberPointBatch> getNumberSetClass() {
+			return FloatNumberPointBatch.class;
+		}
+
+		/**
+		 * @post Devuelve un lote uniforme con el valor especificado
+		 */
+		@Override
+		public FloatNumberPointBatch convert(float value) {
+			return new FloatNumberPointBatch(new float[]{ value }, true);
+		}
+
+		/**
+		 * @post Devuelve un lote uniforme con el valor especificado
+		 */
+		@Override
+		public FloatNumberPointBatch convert(double value) {
+			return this.convert( (float) value );
+		}
+
+		@Override
+		public FloatNumberPointBatch add(FloatNumberPointBatch operand1, FloatNumberPointBatch operand2) {
+			final float[] a = operand1.values, b = operand2.values;
+			final float[] r = binaryResult(operand1, operand2);
+			
+			if ( operand1.uniform ) {
+				final float av = a[0];
+				for ( int i = 0 ; i < r.length ; i++ ) {
+					r[i] = av + b[i];
+				}
+			}
+			else if ( operand2.uniform ) {
+				final float bv = b[0];
+				for ( int i = 0 ; i < r.length ; i++ ) {
+					r[i] = a[i] + bv;
+				}
+			}
+			else {
+				for ( int i = 0 ; i < r.length ; i++ ) {
+					r[i] = a[i] + b[i];
+				}
+			}
+			
+			return binaryResult(operand1, operand2, r);
+		}
+		
+		/**
+		 * @post Resta los dos conjuntos
+		 */
+		@Override
+		public FloatNumberPointBatch sub(FloatNumberPointBatch operand1, FloatNumberPointBatch operand2) {
+			final float[] a = operand1.values, b = operand2.values;
+			final float[] r = binaryResult(operand1, operand2);
+			
+			if ( operand1.uniform ) {
+				final float av = a[0];
+				for ( int i = 0 ; i < r.length ; i++ ) {
+					r[i] = av - b[i];
+				}
+			}
+			else if ( operand2.uniform ) {
+				final float bv = b[0];
+				for ( int i = 0 ; i < r.length ; i++ ) {
+					r[i] = a[i] - bv;
+				}
+			}
+			else {
+				for ( int i = 0 ; i < r.length ; i++ ) {
+					r[i] = a[i] - b[i];
+				}
+			}
+			
+			return binaryResult(operand1, operand2, r);
+		}
+
+		@Override
+		public FloatNumberPointBatch multiply(FloatNumberPointBatch operand1, FloatNumberPointBatch operand2) {
+			final float[] a = operand1.values, b = operand2.values;
+			final float[] r = binaryResult(operand1, operand2);
+			
+			if ( operand1.uniform ) {
+				final float av = a[0];
+				for ( int i = 0 ; i < r.length ; i++ ) {
+					r[i] = av * b[i];
+				}
+			}
+			else if ( operand2.uniform ) {
+				final float bv = b[0];
+				for ( int i = 0 ; i < r.length ; i++ ) {
+					r[i] = a[i] * bv;
+				}
+			}
+			else {
+				for ( int i = 0 ; i < r.length ; i++ ) {
+					r[i] = a[i] * b[i];
+				}
+			}
+			
+			return binaryResult(operand1, operand2, r);
+		}
+		
+		/**
+		 * @post Calcula la división entre los dos conjuntos
+		 */
+		@Override
+		public FloatNumberPointBatch divide(FloatNumberPointBatch dividend, FloatNumberPointBatch divisor) {
+			final float[] a = dividend.values, b = divisor.values;
+			final float[] r = binaryResult(dividend, divisor);
+			
+			if ( dividend.uniform ) {
+				final float av = a[0];
+				for ( int i = 0 ; i < r.length ; i++ ) {
+					r[i] = av / b[i];
+				}
+			}
+			else if ( divisor.uniform ) {
+				final float bv = b[0];
+				for ( int i = 0 ; i < r.length ; i++ ) {
+					r[i] = a[i] / bv;
+				}
+			}
+			else {
+				for ( int i = 0 ; i < r.length ; i++ ) {
+					r[i] = a[i] / b[i];
+				}
+			}
+			
+			return binaryResult(dividend, divisor, r);
+		}
+		
+		/**
+		 * @post Devuelve la base a la potencia especificada
+		 */
+		@Override
+		public FloatNumberPointBatch pow(FloatNumberPointBatch base, FloatNumberPointBatch exponent) {
+			final float[] a = base.values, b = exponent.values;
+			final float[] r = binaryResult(base, exponent);
+			
+			if ( base.uniform ) {
+				final float av = a[0];
+				for ( int i = 0 ; i < r.length ; i++ ) {
+					r[i] = (float) Math.pow(av, b[i]);
+				}
+			}
+			else if ( exponent.uniform ) {
+				final float bv = b[0];
+				for ( int i = 0 ; i < r.length ; i++ ) {
+					r[i] = (float) Math.pow(a[i], bv);
+				}
+			}
+			else {
+				for ( int i = 0 ; i < r.length ; i++ ) {
+					r[i] = (float) Math.pow(a[i], b[i]);
+				}
+			}
+			
+			return binaryResult(base, exponent, r);
+		}
+
+		@Override
+		public FloatNumberPointBatch abs(FloatNumberPointBatch operand) {
+			final float[] a = operand.values;
+			final float[] r = new float[a.length];
+			for ( int i = 0 ; i < r.length ; i++ ) {
+				r[i] = Math.abs(a[i]);
+			}
+			return new FloatNumberPointBatch(r, operand.uniform);
+		}
+
+		@Override
+		public FloatNumberPointBatch opposite(FloatNumberPointBatch operand) {
+			final float[] a = operand.values;
+			final float[] r = new float[a.length];
+			for ( int i = 0 ; i < r.length ; i++ ) {
+				r[i] = -a[i];
+			}
+			return new FloatNumberPointBatch(r, operand.uniform);
+		}
+
+		@Override
+		public FloatNumberPointBatch inverse(FloatNumberPointBatch operand) {
+			final float[] a = operand.values;
+			final float[] r = new float[a.length];
+			for ( int i = 0 ; i < r.length ; i++ ) {
+				r[i] = 1.0f / a[i];
+			}
+			return new FloatNumberPointBatch(r, operand.uniform);
+		}
+
+		@Override
+		public FloatNumberPointBatch exp(FloatNumberPointBatch exponent) {
+			final float[] a = exponent.values;
+			final float[] r = new float[a.length];
+			for ( int i = 0 ; i < r.length ; i++ ) {
+				r[i] = (float) Math.exp(a[i]);
+			}
+			return new FloatNumberPointBatch(r, exponent.uniform);
+		}
+
+		@Override
+		public FloatNumberPointBatch log(FloatNumberPointBatch antilogarithm) {
+			final float[] a = antilogarithm.values;
+			final float[] r = new float[a.length];
+			for ( int i = 0 ; i < r.length ; i++ ) {
+				r[i] = (float) Math.log(a[i]);
+			}
+			return new FloatNumberPointBatch(r, antilogarithm.uniform);
+		}
+		
+		/**
+		 * @post Devuelve el cuadrado
+		 */
+		@Override
+		public FloatNumberPointBatch square(FloatNumberPointBatch operand) {
+			final float[] a = operand.values;
+			final float[] r = new float[a.length];
+			for ( int i = 0 ; i < r.length ; i++ ) {
+				r[i] = a[i] * a[i];
+			}
+			return new FloatNumberPointBatch(r, operand.uniform);
+		}
+		
+		/**
+		 * @post Devuelve la raíz cuadrada
+		 */
+		@Override
+		public FloatNumberPointBatch sqrt(FloatNumberPointBatch operand) {
+			final float[] a = operand.values;
+			final float[] r = new float[a.length];
+			for ( int i = 0 ; i < r.length ; i++ ) {
+				r[i] = (float) Math.sqrt(a[i]);
+			}
+			return new FloatNumberPointBatch(r, operand.uniform);
+		}
+
+		@Override
+		public FloatNumberPointBatch sin(FloatNumberPointBatch angle) {
+			final float[] a = angle.values;
+			final float[] r = new float[a.length];
+			for ( int i = 0 ; i < r.length ; i++ ) {
+				r[i] = (float) Math.sin(a[i]);
+			}
+			return new FloatNumberPointBatch(r, angle.uniform);
+		}
+		
+		/**
+		 * @post Devuelve el coseno del ángulo
+		 */
+		@Override
+		public FloatNumberPointBatch cos(FloatNumberPointBatch angle) {
+			final float[] a = angle.values;
+			final float[] r = new float[a.length];
+			for ( int i = 0 ; i < r.length ; i++ ) {
+				r[i] = (float) Math.cos(a[i]);
+			}
+			return new FloatNumberPointBatch(r, angle.uniform);
+		}
+		
+		/**
+		 * @post Devuelve la tangente del ángulo
+		 */
+		@Override
+		public FloatNumberPointBatch tan(FloatNumberPointBatch angle) {
+			final float[] a = angle.values;
+			final float[] r = new float[a.length];
+			for ( int i = 0 ; i < r.length ; i++ ) {
+				r[i] = (float) Math.tan(a[i]);
+			}
+			return new FloatNumberPointBatch(r, angle.uniform);
+		}
+
+		/**
+		 * @post Devuelve si en todos los carriles el primero es mayor al segundo
+		 */
+		@Override
+		public boolean hasOnlyGreaterElements(FloatNumberPointBatch operand1, FloatNumberPointBatch operand2) {
+			final float[] a = operand1.values, b = operand2.values;
+			final int n = binaryLength(operand1, operand2);
+			final int aMask = operand1.uniform ? 0 : -1;
+			final int bMask = operand2.uniform ? 0 : -1;
+			
+			for ( int i = 0 ; i < n ; i++ ) {
+				if ( !( a[i & aMask] > b[i & bMask] ) ) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		/**
+		 * @post Devuelve si en todos los carriles los valores son iguales
+		 */
+		@Override
+		public boolean contains(FloatNumberPointBatch container, FloatNumberPointBatch contained) {
+			final float[] a = container.values, b = contained.values;
+			final int n = binaryLength(container, contained);
+			final int aMask = container.uniform ? 0 : -1;
+			final int bMask = contained.uniform ? 0 : -1;
+			
+			for ( int i = 0 ; i < n ; i++ ) {
+				if ( a[i & aMask] != b[i & bMask] ) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		/**
+		 * @post Devuelve el resultado de:
+		 * 		 trueFunction(x) y falseFunction(x) según x
+		 * 		 cumpla o no cumpla la condición especificada con a
+		 * 
+		 * 		 Ésta implementación separa los carriles según la condición,
+		 * 		 evalúa cada función una sola vez con los carriles que le corresponden
+		 * 		 y los vuelve a juntar
+		 */
+		@Override
+		public FloatNumberPointBatch conditionalEvaluation(FloatNumberPointBatch x, ConditionType conditionType, FloatNumberPointBatch a, NumberSetFunction trueFunction, NumberSetFunction falseFunction) {
+			if ( (x != null ) && ( conditionType != null ) && ( a != null ) && ( trueFunction != null ) && ( falseFunction != null ) ) {
+				final float[] xv = x.values, av = a.values;
+				final int n = binaryLength(x, a);
+				final int xMask = x.uniform ? 0 : -1;
+				final int aMask = a.uniform ? 0 : -1;
+				
+				final boolean[] condition = new boolean[n];
+				int trueCount = 0;
+				
+				for ( int i = 0 ; i < n ; i++ ) {
+					final float xi = xv[i & xMask], ai = av[i & aMask];
+					boolean trueCondition = false;
+					switch ( conditionType ) {
+					case GREATER:
+						trueCondition = ( xi > ai );
+						break;
+					case GREATEROREQUALS:
+						trueCondition = ( xi >= ai );
+						break;
+					case EQUALS:
+						trueCondition = ( xi == ai );
+						break;
+					case SMALLEROREQUALS:
+						trueCondition = ( xi <= ai );
+						break;
+					case SMALLER:
+						trueCondition = ( xi < ai );
+						break;
+					case NOTEQUALS:
+						trueCondition = ( xi != ai );
+						break;
+					}
+					condition[i] = trueCondition;
+					if ( trueCondition ) {
+						trueCount++;
+					}
+				}
+				
+				if ( trueCount == n ) {
+					return trueFunction.evaluate(x);
+				}
+				else if ( trueCount == 0 ) {
+					return falseFunction.evaluate(x);
+				}
+				else {
+					final float[] trueLanes = new float[trueCount];
+					final float[] falseLanes = new float[n - trueCount];
+					
+					for ( int i = 0, t = 0, f = 0 ; i < n ; i++ ) {
+						if ( condition[i] ) {
+							trueLanes[t++] = xv[i & xMask];
+						}
+						else {
+							falseLanes[f++] = xv[i & xMask];
+						}
+					}
+					
+					final FloatNumberPointBatch trueResult = trueFunction.evaluate(new FloatNumberPointBatch(trueLanes, false));
+					final FloatNumberPointBatch falseResult = falseFunction.evaluate(new FloatNumberPointBatch(falseLanes, false));
+					final int trueMask = trueResult.uniform ? 0 : -1;
+					final int falseMask = falseResult.uniform ? 0 : -1;
+					
+					final float[] r = new float[n];
+					for ( int i = 0, t = 0, f = 0 ; i < n ; i++ ) {
+						if ( condition[i] ) {
+							r[i] = trueResult.values[(t++) & trueMask];
+						}
+						else {
+							r[i] = falseResult.values[(f++) & falseMask];
+						}
+					}
+					
+					return new FloatNumberPointBatch(r, false);
+				}
+			}
+			else {
+				throw new NullPointerException();
+			}
+		}
+		
+	};
+	
+	/* (non-Javadoc)
+	 * @see com.esferixis.math.numberSet.NumberSet#factory()
+	 */
+	@Override
+	public NumberSetFactory<FloatNumberPointBatch> factory() {
+		return FACTORY;
+	}
+	
+	/**
+	 * @post Devuelve el hash
+	 */
+	@Override
+	public int hashCode() {
+		return Arrays.hashCode(this.values) + ( this.uniform ? 1 : 0 );
+	}
+	
+	/**
+	 * @post Devuelve si es igual al objeto especificado
+	 */
+	@Override
+	public boolean equals(Object other) {
+		if ( ( other != null ) && ( other instanceof FloatNumberPointBatch ) ) {
+			final FloatNumberPointBatch otherBatch = (FloatNumberPointBatch) other;
+			return ( otherBatch.uniform == this.uniform ) && Arrays.equals(otherBatch.values, this.values);
+		}
+		else {
+			return false;
+		}
+	}
+	
+	/**
+	 * @post Devuelve una representación en String
+	 */
+	@Override
+	public String toString() {
+		return Arrays.toString(this.values);
+	}
+}
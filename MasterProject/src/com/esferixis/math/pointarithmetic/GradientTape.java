@@ -0,0 +1,227 @@
+/**
+ * Copyright (c) 2017 Ariel Favio Carrizo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'esferixis' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.esferixis.math.pointarithmetic;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.esferixis.math.numberSet.NumberSetVector;
+import com.esferixis.math.numberSet.NumberSetVectorialScalarFunction;
+
+/**
+ * Cinta de diferenciación automática en modo inverso.
+ * 
+ * Registra las operaciones de una evaluación con TapeNumber (El valor de cada nodo,
+ * sus padres y las derivadas parciales respecto de ellos) en arrays contiguos, y
+ * luego propaga las adjuntas hacia atrás en un solo recorrido, obteniendo el
+ * gradiente completo con una sola evaluación de la función, cualquiera sea la
+ * cantidad de variables.
+ * 
+ * Los arrays se conservan entre evaluaciones (Sólo crecen), de modo que usando
+ * la misma cinta para evaluaciones sucesivas no se vuelven a crear.
+ * Al empezar una nueva evaluación los TapeNumber de la anterior dejan de ser válidos.
+ * 
+ * No es segura para hilos, cada hilo tiene que usar su propia cinta.
+ * 
+ * @author ariel
+ *
+ */
+public final class GradientTape {
+	private static final int INITIAL_CAPACITY = 256;
+	
+	private float[] values;
+	private int[] parents1;
+	private int[] parents2;
+	private float[] partials1;
+	private float[] partials2;
+	private float[] adjoints;
+	
+	private int size;
+	
+	/**
+	 * @post Crea la cinta
+	 */
+	public GradientTape() {
+		this.values = new float[INITIAL_CAPACITY];
+		this.parents1 = new int[INITIAL_CAPACITY];
+		this.parents2 = new int[INITIAL_CAPACITY];
+		this.partials1 = new float[INITIAL_CAPACITY];
+		this.partials2 = new float[INITIAL_CAPACITY];
+		this.adjoints = new float[INITIAL_CAPACITY];
+		this.size = 0;
+	}
+	
+	/**
+	 * @post Devuelve la cantidad de nodos registrados
+	 */
+	public int size() {
+		return this.size;
+	}
+	
+	/**
+	 * @post Vacía la cinta, conservando los arrays
+	 */
+	public void reset() {
+		this.size = 0;
+	}
+	
+	/**
+	 * @post Asegura la capacidad para un nodo más
+	 */
+	private void ensureCapacity() {
+		if ( this.size == this.values.length ) {
+			final int capacity = this.values.length * 2;
+			this.values = Arrays.copyOf(this.values, capacity);
+			this.parents1 = Arrays.copyOf(this.parents1, capacity);
+			this.parents2 = Arrays.copyOf(this.parents2, capacity);
+			this.partials1 = Arrays.copyOf(this.partials1, capacity);
+			this.partials2 = Arrays.copyOf(this.partials2, capacity);
+			this.adjoints = Arrays.copyOf(this.adjoints, capacity);
+		}
+	}
+	
+	/**
+	 * @post Registra un nodo con el valor, los padres y las derivadas parciales especificados.
+	 * 		 Los padres negativos son constantes (No se propagan).
+	 * 		 Devuelve el número que lo representa
+	 */
+	TapeNumber record(float value, int parent1, float partial1, int parent2, float partial2) {
+		this.ensureCapacity();
+		
+		final int index = this.size++;
+		this.values[index] = value;
+		this.parents1[index] = parent1;
+		this.partials1[index] = partial1;
+		this.parents2[index] = parent2;
+		this.partials2[index] = partial2;
+		
+		return new TapeNumber(this, index, value);
+	}
+	
+	/**
+	 * @post Registra una variable independiente con el valor especificado
+	 * 		 y devuelve el número que la representa
+	 */
+	public TapeNumber variable(float value) {
+		return this.record(value, -1, 0.0f, -1, 0.0f);
+	}
+	
+	/**
+	 * @pre El número tiene que haber sido registrado en ésta cinta o ser constante
+	 * @post Propaga las adjuntas hacia atrás desde el número especificado.
+	 * 		 Después la adjunta de cada nodo es la derivada del número especificado
+	 * 		 respecto del nodo
+	 */
+	public void backpropagate(TapeNumber output) {
+		if ( output != null ) {
+			Arrays.fill(this.adjoints, 0, this.size, 0.0f);
+			
+			if ( output.getTape() != null ) {
+				if ( output.getTape() != this ) {
+					throw new IllegalArgumentException("Number recorded on another tape");
+				}
+				
+				this.adjoints[output.getIndex()] = 1.0f;
+				
+				for ( int i = output.getIndex() ; i >= 0 ; i-- ) {
+					final float adjoint = this.adjoints[i];
+					
+					if ( adjoint != 0.0f ) {
+						final int parent1 = this.parents1[i];
+						final int parent2 = this.parents2[i];
+						
+						if ( parent1 >= 0 ) {
+							this.adjoints[parent1] += this.partials1[i] * adjoint;
+						}
+						if ( parent2 >= 0 ) {
+							this.adjoints[parent2] += this.partials2[i] * adjoint;
+						}
+					}
+				}
+			}
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @pre El número tiene que haber sido registrado en ésta cinta,
+	 * 		y tiene que haberse propagado un número
+	 * @post Devuelve la adjunta del número especificado
+	 */
+	public float getAdjoint(TapeNumber number) {
+		if ( number != null ) {
+			if ( number.getTape() != this ) {
+				throw new IllegalArgumentException("Number recorded on another tape");
+			}
+			return this.adjoints[number.getIndex()];
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+	
+	/**
+	 * @pre La función y los arrays no pueden ser nulos, y el array de gradiente
+	 * 		tiene que tener por lo menos la longitud del punto
+	 * @post Vacía la cinta, evalúa la función en el punto especificado registrando
+	 * 		 las operaciones, propaga las adjuntas, escribe el gradiente en el array
+	 * 		 especificado y devuelve el valor de la función
+	 */
+	public float gradient(NumberSetVectorialScalarFunction function, float[] x, float[] gradient) {
+		if ( ( function != null ) && ( x != null ) && ( gradient != null ) ) {
+			if ( gradient.length < x.length ) {
+				throw new IllegalArgumentException("Gradient array too small");
+			}
+			
+			this.reset();
+			
+			final List<TapeNumber> variables = new ArrayList<TapeNumber>(x.length);
+			for ( float eachValue : x ) {
+				variables.add(this.variable(eachValue));
+			}
+			
+			final TapeNumber result = function.evaluate_scalar(new NumberSetVector<TapeNumber>(variables));
+			this.backpropagate(result);
+			
+			// Las variables son los primeros nodos
+			System.arraycopy(this.adjoints, 0, gradient, 0, x.length);
+			
+			return result.getValue();
+		}
+		else {
+			throw new NullPointerException();
+		}
+	}
+}
@@ -0,0 +1,329 @@
+/**
+ * Copyright (c) 2017 Ariel Favio Carrizo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'esferixis' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.esferixis.math.pointarithmetic;
+
+import com.esferixis.math.numberSet.NumberSetFactory;
+import com.esferixis.math.numberSet.NumberSetFunction;
+
+/**
+ * Número registrado en una cinta de diferenciación automática en modo inverso
+ * (Ver GradientTape).
+ * 
+ * Cada operación de la fábrica calcula el valor y registra en la cinta las
+ * derivadas parciales respecto de los operandos.
+ * Las constantes (Las que crea la fábrica con convert) no pertenecen a ninguna
+ * cinta y no se registran.
+ * 
+ * @author ariel
+ *
+ */
+public final class TapeNumber extends NumberPoint<TapeNumber> {
+	private final GradientTape tape;
+	private final int index;
+	private final float value;
+	
+	/**
+	 * @post Crea el número con la cinta, el índice y el valor especificados
+	 * 		 (Si la cinta es nula es una constante)
+	 */
+	TapeNumber(GradientTape tape, int index, float value) {
+		this.tape = tape;
+		this.index = index;
+		this.value = value;
+	}
+	
+	/**
+	 * @post Devuelve la cinta en la que está registrado,
+	 * 		 si es constante devuelve null
+	 */
+	public GradientTape getTape() {
+		return this.tape;
+	}
+	
+	/**
+	 * @post Devuelve el índice del nodo en la cinta,
+	 * 		 si es constante devuelve -1
+	 */
+	int getIndex() {
+		return this.index;
+	}
+	
+	/**
+	 * @post Devuelve el valor
+	 */
+	public float getValue() {
+		return this.value;
+	}
+	
+	/**
+	 * @post Registra el resultado de una operación unaria con el valor y
+	 * 		 la derivada parcial especificados
+	 */
+	private static TapeNumber unary(TapeNumber operand, float value, float partial) {
+		if ( operand.tape != null ) {
+			return operand.tape.record(value, operand.index, partial, -1, 0.0f);
+		}
+		else {
+			return new TapeNumber(null, -1, value);
+		}
+	}
+	
+	/**
+	 * @post Registra el resultado de una operación binaria con el valor y
+	 * 		 las derivadas parciales especificados
+	 */
+	private static TapeNumber binary(TapeNumber operand1, TapeNumber operand2, float value, float partial1, float partial2) {
+		final GradientTape tape;
+		
+		if ( operand1.tape == null ) {
+			tape = operand2.tape;
+		}
+		else if ( ( operand2.tape == null ) || ( operand1.tape == operand2.tape ) ) {
+			tape = operand1.tape;
+		}
+		else {
+			throw new IllegalArgumentException("Numbers recorded on different tapes");
+		}
+		
+		if ( tape != null ) {
+			return tape.record(value, operand1.index, partial1, operand2.index, partial2);
+		}
+		else {
+			return new TapeNumber(null, -1, value);
+		}
+	}
+	
+	public static final NumberSetFactory<TapeNumber> FACTORY = new NumberSetFactory<TapeNumber>() {
+
+		@Override
+		public Class<TapeNumber> getNumberSetClass() {
+			return TapeNumber.class;
+		}
+
+		/**
+		 * @post Devuelve la constante con el valor especificado
+		 */
+		@Override
+		public TapeNumber convert(float value) {
+			return new TapeNumber(null, -1, value);
+		}
+
+		/**
+		 * @post Devuelve la constante con el valor especificado
+		 */
+		@Override
+		public TapeNumber convert(double value) {
+			return this.convert( (float) value );
+		}
+
+		@Override
+		public TapeNumber add(TapeNumber operand1, TapeNumber operand2) {
+			return binary(operand1, operand2, operand1.value + operand2.value, 1.0f, 1.0f);
+		}
+		
+		/**
+		 * @post Resta los dos conjuntos
+		 */
+		@Override
+		public TapeNumber sub(TapeNumber operand1, TapeNumber operand2) {
+			return binary(operand1, operand2, operand1.value - operand2.value, 1.0f, -1.0f);
+		}
+
+		@Override
+		public TapeNumber multiply(TapeNumber operand1, TapeNumber operand2) {
+			return binary(operand1, operand2, operand1.value * operand2.value, operand2.value, operand1.value);
+		}
+		
+		/**
+		 * @post Calcula la división entre los dos conjuntos
+		 */
+		@Override
+		public TapeNumber divide(TapeNumber dividend, TapeNumber divisor) {
+			final float quotient = dividend.value / divisor.value;
+			return binary(dividend, divisor, quotient, 1.0f / divisor.value, -quotient / divisor.value);
+		}
+
+		@Override
+		public TapeNumber abs(TapeNumber operand) {
+			return unary(operand, Math.abs(operand.value), Math.signum(operand.value));
+		}
+
+		@Override
+		public TapeNumber opposite(TapeNumber operand) {
+			return unary(operand, -operand.value, -1.0f);
+		}
+
+		@Override
+		public TapeNumber inverse(TapeNumber operand) {
+			final float inverse = 1.0f / operand.value;
+			return unary(operand, inverse, -inverse * inverse);
+		}
+
+		@Override
+		public TapeNumber exp(TapeNumber exponent) {
+			final float exp = (float) Math.exp(exponent.value);
+			return unary(exponent, exp, exp);
+		}
+
+		@Override
+		public TapeNumber log(TapeNumber antilogarithm) {
+			return unary(antilogarithm, (float) Math.log(antilogarithm.value), 1.0f / antilogarithm.value);
+		}
+		
+		/**
+		 * @post Devuelve la base a la potencia especificada
+		 * 
+		 * 		 Si el exponente es constante usa la regla de la potencia,
+		 * 		 que también vale para bases negativas
+		 */
+		@Override
+		public TapeNumber pow(TapeNumber base, TapeNumber exponent) {
+			final float pow = (float) Math.pow(base.value, exponent.value);
+			final float basePartial = ( exponent.value != 0.0f ) ? exponent.value * (float) Math.pow(base.value, exponent.value - 1.0f) : 0.0f;
+			
+			if ( exponent.tape == null ) {
+				return unary(base, pow, basePartial);
+			}
+			else {
+				return binary(base, exponent, pow, basePartial, pow * (float) Math.log(base.value));
+			}
+		}
+		
+		/**
+		 * @post Devuelve el cuadrado
+		 */
+		@Override
+		public TapeNumber square(TapeNumber operand) {
+			return unary(operand, operand.value * operand.value, 2.0f * operand.value);
+		}
+		
+		/**
+		 * @post Devuelve la raíz cuadrada
+		 */
+		@Override
+		public TapeNumber sqrt(TapeNumber operand) {
+			final float sqrt = (float) Math.sqrt(operand.value);
+			return unary(operand, sqrt, 0.5f / sqrt);
+		}
+
+		@Override
+		public TapeNumber sin(TapeNumber angle) {
+			return unary(angle, (float) Math.sin(angle.value), (float) Math.cos(angle.value));
+		}
+		
+		/**
+		 * @post Devuelve el coseno del ángulo
+		 */
+		@Override
+		public TapeNumber cos(TapeNumber angle) {
+			return unary(angle, (float) Math.cos(angle.value), - (float) Math.sin(angle.value));
+		}
+		
+		/**
+		 * @post Devuelve la tangente del ángulo
+		 */
+		@Override
+		public TapeNumber tan(TapeNumber angle) {
+			final float tan = (float) Math.tan(angle.value);
+			return unary(angle, tan, 1.0f + tan * tan);
+		}
+
+		/**
+		 * @post Devuelve si el valor del primero es mayor al del segundo
+		 */
+		@Override
+		public boolean hasOnlyGreaterElements(TapeNumber operand1, TapeNumber operand2) {
+			return operand1.value > operand2.value;
+		}
+
+		/**
+		 * @post Devuelve si los valores son iguales
+		 */
+		@Override
+		public boolean contains(TapeNumber container, TapeNumber contained) {
+			return container.value == contained.value;
+		}
+
+		/**
+		 * @post Devuelve el resultado de:
+		 * 		 trueFunction(x) y falseFunction(x) según el valor de x
+		 * 		 cumpla o no cumpla la condición especificada con el de a
+		 */
+		@Override
+		public TapeNumber conditionalEvaluation(TapeNumber x, ConditionType conditionType, TapeNumber a, NumberSetFunction trueFunction, NumberSetFunction falseFunction) {
+			if ( (x != null ) && ( conditionType != null ) && ( a != null ) && ( trueFunction != null ) && ( falseFunction != null ) ) {
+				boolean trueCondition = false;
+				switch ( conditionType ) {
+				case GREATER:
+					trueCondition = ( x.value > a.value );
+					break;
+				case GREATEROREQUALS:
+					trueCondition = ( x.value >= a.value );
+					break;
+				case EQUALS:
+					trueCondition = ( x.value == a.value );
+					break;
+				case SMALLEROREQUALS:
+					trueCondition = ( x.value <= a.value );
+					break;
+				case SMALLER:
+					trueCondition = ( x.value < a.value );
+					break;
+				case NOTEQUALS:
+					trueCondition = ( x.value != a.value );
+					break;
+				}
+				return ( trueCondition ? trueFunction : falseFunction ).evaluate(x);
+			}
+			else {
+				throw new NullPointerException();
+			}
+		}
+		
+	};
+	
+	/* (non-Javadoc)
+	 * @see com.esferixis.math.numberSet.NumberSet#factory()
+	 */
+	@Override
+	public NumberSetFactory<TapeNumber> factory() {
+		return FACTORY;
+	}
+	
+	/**
+	 * @post Devuelve una representación en String
+	 */
+	@Override
+	public String toString() {
+		return Float.toString(this.value);
+	}
+}
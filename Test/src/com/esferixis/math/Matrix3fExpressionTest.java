@@ -0,0 +1,116 @@
+/**
+ * Copyright (c) 2017 Ariel Favio Carrizo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'esferixis' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.esferixis.math;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+
+import org.junit.Test;
+
+/**
+ * @author ariel
+ *
+ */
+public class Matrix3fExpressionTest {
+	private static final float tolerance = 0.0001f;
+	
+	private static void assertEqualsMatrix(Matrix3f expected, Matrix3f actual) {
+		for ( int i = 0 ; i < 3 ; i++ ) {
+			for ( int j = 0 ; j < 3 ; j++ ) {
+				Assert.assertEquals(expected.get(i, j), actual.get(i, j), tolerance);
+			}
+		}
+	}
+	
+	/**
+	 * Compara con lo que calculaba el parser anterior (ExpressionParser),
+	 * que pasaba cada argumento escalar por Float.parseFloat y cada vector por Vector2f.parse
+	 */
+	@Test
+	public void baselineTest() {
+		assertEqualsMatrix(Matrix3f.IDENTITY.rotate(Float.parseFloat("0.5")), Matrix3f.parse("rotate(IDENTITY, 0.5)"));
+		assertEqualsMatrix(Matrix3f.IDENTITY.rotate(Float.parseFloat("NaN")), Matrix3f.parse("rotate(IDENTITY, NaN)"));
+		assertEqualsMatrix(Matrix3f.IDENTITY.scale(Vector2f.parse("(Infinity, -Infinity)")), Matrix3f.parse("scale(IDENTITY, (Infinity, -Infinity))"));
+		assertEqualsMatrix(Matrix3f.IDENTITY.translate(Vector2f.parse("(1.5f, 2d)")), Matrix3f.parse("translate(IDENTITY, (1.5f, 2d))"));
+		assertEqualsMatrix(Matrix3f.IDENTITY.translate(Vector2f.parse("( 1e3 , -2.5E-1 )")), Matrix3f.parse("translate(IDENTITY, ( 1e3 , -2.5E-1 ))"));
+		
+		final Matrix3f first = Matrix3f.IDENTITY.translate(Vector2f.parse("(1, 2)")).rotate(Float.parseFloat("0.25"));
+		final Matrix3f second = Matrix3f.IDENTITY.scale(Vector2f.parse("(2, 3)")).transpose();
+		assertEqualsMatrix(first.mul(second).invert(), Matrix3f.parse("invert(mul(rotate(translate(IDENTITY, (1, 2)), 0.25), transpose(scale(IDENTITY, (2, 3)))))"));
+		assertEqualsMatrix(first.add(Matrix3f.ZERO), Matrix3f.parse("add(rotate(translate(IDENTITY, (1, 2)), 0.25), ZERO)"));
+		
+		assertEqualsMatrix(Matrix3f.IDENTITY.scale(Float.parseFloat("2.5f")).rotate(Float.parseFloat("-Infinity")), ProportionalMatrix3f.parse("rotate(scale(IDENTITY, 2.5f), -Infinity)"));
+	}
+	
+	@Test(expected = NumberFormatException.class)
+	public void invalidScalarTest() {
+		Matrix3f.parse("rotate(IDENTITY, 1.2.3)");
+	}
+	
+	@Test(expected = NumberFormatException.class)
+	public void invalidVectorComponentTest() {
+		Matrix3f.parse("translate(IDENTITY, (1 2, 3))");
+	}
+	
+	@Test
+	public void variablesTest() {
+		final Matrix3fExpression<Matrix3f> expression = Matrix3fExpression.compile("mul(rotate(IDENTITY, 0.5), translate(IDENTITY, ($x, NaN)))");
+		
+		Assert.assertEquals(1, expression.getVariables().size());
+		Assert.assertTrue(expression == Matrix3fExpression.compile("mul(rotate(IDENTITY, 0.5), translate(IDENTITY, ($x, NaN)))"));
+		
+		assertEqualsMatrix(Matrix3f.IDENTITY.rotate(0.5f).mul(Matrix3f.IDENTITY.translate(new Vector2f(3.0f, Float.NaN))), expression.evaluate(3.0f));
+	}
+	
+	@Test
+	public void parseAllTest() throws IOException {
+		final List<Matrix3f> values = new ArrayList<Matrix3f>();
+		
+		Matrix3fExpression.parseAll(new StringReader("rotate(IDENTITY, 0.5)\n\n  scale(IDENTITY, (2, NaN))\nrotate(IDENTITY, 0.5)\n"), new Matrix3fExpression.Handler<Matrix3f, RuntimeException>() {
+
+			@Override
+			public void handle(Matrix3f value) {
+				values.add(value);
+			}
+			
+		});
+		
+		Assert.assertEquals(3, values.size());
+		assertEqualsMatrix(Matrix3f.IDENTITY.rotate(0.5f), values.get(0));
+		assertEqualsMatrix(Matrix3f.IDENTITY.scale(new Vector2f(2.0f, Float.NaN)), values.get(1));
+		assertEqualsMatrix(values.get(0), values.get(2));
+	}
+}
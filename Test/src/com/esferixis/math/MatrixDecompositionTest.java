@@ -0,0 +1,190 @@
+/**
+ * Copyright (c) 2017 Ariel Favio Carrizo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'esferixis' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.esferixis.math;
+
+import org.junit.Assert;
+
+import org.junit.Test;
+
+/**
+ * @author ariel
+ *
+ */
+public class MatrixDecompositionTest {
+	private static final float tolerance = 0.0001f;
+	
+	private static final Matrix4f sheared = new Matrix4f( new float[][]{
+		new float[]{ 1.0f, 0.0f, 0.0f, 0.0f },
+		new float[]{ 0.7f, 1.0f, 0.0f, 0.0f },
+		new float[]{ 0.0f, 0.3f, 2.0f, 0.0f },
+		new float[]{ 1.0f, 2.0f, 3.0f, 1.0f }
+	}).rotate(0.4f, new Vector3f(0.6f, 0.0f, 0.8f));
+	
+	private static final Matrix4f mirroredSheared = new Matrix4f( new float[][]{
+		new float[]{ 1.0f, 0.0f, 0.0f, 0.0f },
+		new float[]{ 0.7f, 1.0f, 0.0f, 0.0f },
+		new float[]{ 0.0f, 0.3f, -2.0f, 0.0f },
+		new float[]{ 1.0f, 2.0f, 3.0f, 1.0f }
+	}).rotate(0.4f, new Vector3f(0.6f, 0.0f, 0.8f));
+	
+	private static void assertEqualsMatrix(Matrix4f expected, Matrix4f actual) {
+		for ( int i = 0 ; i < 4 ; i++ ) {
+			for ( int j = 0 ; j < 4 ; j++ ) {
+				Assert.assertEquals(expected.get(i, j), actual.get(i, j), tolerance);
+			}
+		}
+	}
+	
+	private static void assertEqualsMatrix(Matrix3f expected, Matrix3f actual) {
+		for ( int i = 0 ; i < 3 ; i++ ) {
+			for ( int j = 0 ; j < 3 ; j++ ) {
+				Assert.assertEquals(expected.get(i, j), actual.get(i, j), tolerance);
+			}
+		}
+	}
+	
+	@Test
+	public void shearedRoundTripTest() {
+		assertEqualsMatrix(sheared, Matrix4fDecomposition.of(sheared).toMatrix4f());
+	}
+	
+	@Test
+	public void mirroredRoundTripTest() {
+		assertEqualsMatrix(mirroredSheared, Matrix4fDecomposition.of(mirroredSheared).toMatrix4f());
+		
+		final Matrix4f mirrored = Matrix4f.IDENTITY.scale(new Vector3f(2.0f, 1.5f, -3.0f)).translate(new Vector3f(1.0f, 2.0f, 3.0f));
+		final Matrix4fDecomposition decomposition = Matrix4fDecomposition.of(mirrored);
+		
+		// Sólo se niega el eje de menor estiramiento
+		Assert.assertEquals(2.0f, decomposition.getScale().getX(), tolerance);
+		Assert.assertEquals(-1.5f, decomposition.getScale().getY(), tolerance);
+		Assert.assertEquals(3.0f, decomposition.getScale().getZ(), tolerance);
+		assertEqualsMatrix(mirrored, decomposition.toMatrix4f());
+	}
+	
+	@Test
+	public void mirroredAgreesWithMatrix3fDecompositionTest() {
+		final Matrix4fDecomposition decomposition = Matrix4fDecomposition.of( Matrix4f.IDENTITY.scale(new Vector3f(2.0f, -3.0f, 5.0f)) );
+		final Matrix3fDecomposition decomposition2d = Matrix3fDecomposition.of( Matrix3f.IDENTITY.scale(new Vector2f(2.0f, -3.0f)) );
+		
+		Assert.assertEquals(-2.0f, decomposition.getScale().getX(), tolerance);
+		Assert.assertEquals(3.0f, decomposition.getScale().getY(), tolerance);
+		Assert.assertEquals(5.0f, decomposition.getScale().getZ(), tolerance);
+		
+		Assert.assertEquals(decomposition2d.getScale().getX(), decomposition.getScale().getX(), tolerance);
+		Assert.assertEquals(decomposition2d.getScale().getY(), decomposition.getScale().getY(), tolerance);
+	}
+	
+	@Test
+	public void decomposeAllTest() {
+		final float[] matrices = new float[16 * 3];
+		sheared.store(matrices, 0);
+		mirroredSheared.store(matrices, 16);
+		Matrix4f.ZERO.store(matrices, 32);
+		
+		final float[] decompositions = new float[Matrix4fDecomposition.PACKED_SIZE * 3];
+		Assert.assertEquals(1, Matrix4fDecomposition.decomposeAll(matrices, 0, decompositions, 0, 3));
+		
+		for ( int k = 0 ; k < 2 ; k++ ) {
+			final Matrix4fDecomposition expected = Matrix4fDecomposition.of( Matrix4f.fromArray(matrices, k * 16) );
+			final int offset = k * Matrix4fDecomposition.PACKED_SIZE;
+			final Quaternionf rotation = new Quaternionf(decompositions[offset + 3], decompositions[offset + 4], decompositions[offset + 5], decompositions[offset + 6]);
+			
+			Assert.assertEquals(1.0f, rotation.lengthSquared(), tolerance);
+			Assert.assertEquals(expected.getRotation(), rotation);
+			Assert.assertEquals(expected.getScale().getX(), decompositions[offset + 7], 0.0f);
+			Assert.assertEquals(expected.getScale().getY(), decompositions[offset + 8], 0.0f);
+			Assert.assertEquals(expected.getScale().getZ(), decompositions[offset + 9], 0.0f);
+		}
+	}
+	
+	@Test
+	public void matrix3fShearedRoundTripTest() {
+		final Matrix3f matrix = new Matrix3f( new float[][]{
+			new float[]{ 1.0f, 0.0f, 0.0f },
+			new float[]{ 0.6f, 2.0f, 0.0f },
+			new float[]{ 3.0f, -1.0f, 1.0f }
+		}).rotate(0.8f);
+		
+		assertEqualsMatrix(matrix, Matrix3fDecomposition.of(matrix).toMatrix3f());
+	}
+	
+	@Test
+	public void matrix3fDecomposeAllTest() {
+		final Matrix3f[] matrices = new Matrix3f[]{
+			new Matrix3f( new float[][]{
+				new float[]{ 1.0f, 0.0f, 0.0f },
+				new float[]{ 0.6f, 2.0f, 0.0f },
+				new float[]{ 3.0f, -1.0f, 1.0f }
+			}).rotate(0.8f),
+			Matrix3f.IDENTITY.scale(new Vector2f(-1.5f, 4.0f)).translate(new Vector2f(2.0f, 1.0f))
+		};
+		
+		final int offset = 2;
+		final float[] packedMatrices = new float[matrices.length * 9];
+		for ( int i = 0 ; i < matrices.length ; i++ ) {
+			matrices[i].store(packedMatrices, i * 9);
+		}
+		
+		final float[] decompositions = new float[offset + matrices.length * Matrix3fDecomposition.PACKED_SIZE];
+		Matrix3fDecomposition.decomposeAll(packedMatrices, 0, decompositions, offset, matrices.length);
+		
+		for ( int i = 0 ; i < matrices.length ; i++ ) {
+			final Matrix3fDecomposition expected = Matrix3fDecomposition.of(matrices[i]);
+			final int eachOffset = offset + i * Matrix3fDecomposition.PACKED_SIZE;
+			
+			Assert.assertEquals(expected.getTranslation().getX(), decompositions[eachOffset], 0.0f);
+			Assert.assertEquals(expected.getTranslation().getY(), decompositions[eachOffset + 1], 0.0f);
+			Assert.assertEquals(expected.getAngle(), decompositions[eachOffset + 2], 0.0f);
+			Assert.assertEquals(expected.getScale().getX(), decompositions[eachOffset + 3], 0.0f);
+			Assert.assertEquals(expected.getScale().getY(), decompositions[eachOffset + 4], 0.0f);
+			Assert.assertEquals(expected.getShear(), decompositions[eachOffset + 5], 0.0f);
+		}
+		
+		// El primero tiene cizallamiento
+		Assert.assertTrue( Math.abs(decompositions[offset + 5]) > 0.1f );
+	}
+	
+	@Test
+	public void matrix3fMirroredRoundTripTest() {
+		final Matrix3f matrix = new Matrix3f( new float[][]{
+			new float[]{ 1.0f, 0.0f, 0.0f },
+			new float[]{ 0.6f, -2.0f, 0.0f },
+			new float[]{ 3.0f, -1.0f, 1.0f }
+		}).rotate(0.8f);
+		
+		assertEqualsMatrix(matrix, Matrix3fDecomposition.of(matrix).toMatrix3f());
+		
+		final Matrix3f mirrored = Matrix3f.IDENTITY.scale(new Vector2f(-1.5f, 4.0f)).translate(new Vector2f(2.0f, 1.0f));
+		assertEqualsMatrix(mirrored, Matrix3fDecomposition.of(mirrored).toMatrix3f());
+	}
+}
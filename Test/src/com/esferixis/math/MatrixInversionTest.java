@@ -0,0 +1,164 @@
+/**
+ * Copyright (c) 2017 Ariel Favio Carrizo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'esferixis' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.esferixis.math;
+
+import org.junit.Assert;
+
+import org.junit.Test;
+
+/**
+ * @author ariel
+ *
+ */
+public class MatrixInversionTest {
+	private static final float tolerance = 0.0001f;
+	
+	private static final Matrix4f projective = new Matrix4f( new float[][]{
+		new float[]{ 2.0f, 0.5f, 0.0f, 0.1f },
+		new float[]{ -1.0f, 3.0f, 0.25f, 0.0f },
+		new float[]{ 0.0f, 1.0f, 1.5f, -0.2f },
+		new float[]{ 4.0f, -2.0f, 1.0f, 1.0f }
+	});
+	
+	private static final Matrix4f affine = Matrix4f.IDENTITY.translate(new Vector3f(1.0f, -2.0f, 3.0f)).rotate(0.7f, new Vector3f(0.0f, 0.6f, 0.8f)).scale(new Vector3f(2.0f, 0.5f, 3.0f));
+	
+	private static void assertEqualsMatrix(Matrix4f expected, Matrix4f actual) {
+		for ( int i = 0 ; i < 4 ; i++ ) {
+			for ( int j = 0 ; j < 4 ; j++ ) {
+				Assert.assertEquals(expected.get(i, j), actual.get(i, j), tolerance);
+			}
+		}
+	}
+	
+	private static void assertEqualsMatrix(Matrix3f expected, Matrix3f actual) {
+		for ( int i = 0 ; i < 3 ; i++ ) {
+			for ( int j = 0 ; j < 3 ; j++ ) {
+				Assert.assertEquals(expected.get(i, j), actual.get(i, j), tolerance);
+			}
+		}
+	}
+	
+	private static void assertEqualsMatrix(Matrix4d expected, Matrix4d actual) {
+		for ( int i = 0 ; i < 4 ; i++ ) {
+			for ( int j = 0 ; j < 4 ; j++ ) {
+				Assert.assertEquals(expected.get(i, j), actual.get(i, j), tolerance);
+			}
+		}
+	}
+	
+	private static void assertEqualsMatrix(Matrix3d expected, Matrix3d actual) {
+		for ( int i = 0 ; i < 3 ; i++ ) {
+			for ( int j = 0 ; j < 3 ; j++ ) {
+				Assert.assertEquals(expected.get(i, j), actual.get(i, j), tolerance);
+			}
+		}
+	}
+	
+	@Test
+	public void projectiveInverseTest() {
+		assertEqualsMatrix(Matrix4f.IDENTITY, projective.mul(projective.invert()));
+		assertEqualsMatrix(Matrix4f.IDENTITY, projective.invert().mul(projective));
+	}
+	
+	@Test
+	public void affineInverseTest() {
+		assertEqualsMatrix(Matrix4f.IDENTITY, affine.mul(affine.invert()));
+	}
+	
+	@Test
+	public void matrix3fInverseTest() {
+		final Matrix3f matrix = Matrix3f.IDENTITY.translate(new Vector2f(3.0f, -1.0f)).rotate(0.3f).scale(new Vector2f(2.0f, 4.0f));
+		assertEqualsMatrix(Matrix3f.IDENTITY, matrix.mul(matrix.invert()));
+	}
+	
+	@Test
+	public void invertAllTest() {
+		final float[] matrices = new float[16 * 3 + 2];
+		projective.store(matrices, 2);
+		affine.store(matrices, 18);
+		Matrix4f.ZERO.store(matrices, 34);
+		
+		final float[] determinants = new float[3];
+		Matrix4f.invertAll(matrices, matrices, determinants, 2, 3);
+		
+		assertEqualsMatrix(projective.invert(), Matrix4f.fromArray(matrices, 2));
+		assertEqualsMatrix(affine.invert(), Matrix4f.fromArray(matrices, 18));
+		Assert.assertEquals(Matrix4f.ZERO, Matrix4f.fromArray(matrices, 34));
+		
+		Assert.assertEquals(projective.determinant(), determinants[0], tolerance);
+		Assert.assertEquals(affine.determinant(), determinants[1], tolerance);
+		Assert.assertEquals(0.0f, determinants[2], 0.0f);
+	}
+	
+	@Test
+	public void matrix3fInvertAllTest() {
+		final Matrix3f matrix = Matrix3f.IDENTITY.rotate(1.1f).translate(new Vector2f(0.5f, 2.0f));
+		final float[] matrices = new float[9];
+		final float[] inverses = new float[9];
+		final float[] determinants = new float[1];
+		matrix.store(matrices, 0);
+		
+		Matrix3f.invertAll(matrices, inverses, determinants, 0, 1);
+		
+		assertEqualsMatrix(matrix.invert(), Matrix3f.fromArray(inverses, 0));
+		Assert.assertEquals(matrix.determinant(), determinants[0], tolerance);
+	}
+	
+	@Test
+	public void matrix4dInverseTest() {
+		final Matrix4d matrix = new Matrix4d(projective);
+		Assert.assertTrue( Math.abs(matrix.determinant() - 1.0d) > 0.1d );
+		
+		assertEqualsMatrix(Matrix4d.IDENTITY, matrix.mul(matrix.invert()));
+		assertEqualsMatrix(Matrix4d.IDENTITY, matrix.invert().mul(matrix));
+		assertEqualsMatrix(new Matrix4d(projective.invert()), matrix.invert());
+	}
+	
+	@Test
+	public void matrix4dAffineInverseTest() {
+		final Matrix4d matrix = Matrix4d.IDENTITY.translate(new Vector3d(1.0d, -2.0d, 3.0d)).scale(new Vector3d(2.0d, 0.5d, 3.0d));
+		assertEqualsMatrix(Matrix4d.IDENTITY, matrix.mul(matrix.invert()));
+	}
+	
+	@Test
+	public void matrix3dInverseTest() {
+		final Matrix3d matrix = new Matrix3d( new double[][]{
+			new double[]{ 2.0d, 0.5d, 0.25d },
+			new double[]{ -1.0d, 3.0d, 0.0d },
+			new double[]{ 4.0d, -2.0d, 1.5d }
+		});
+		Assert.assertTrue( Math.abs(matrix.determinant() - 1.0d) > 0.1d );
+		
+		assertEqualsMatrix(Matrix3d.IDENTITY, matrix.mul(matrix.invert()));
+		assertEqualsMatrix(Matrix3d.IDENTITY, matrix.invert().mul(matrix));
+	}
+}
@@ -0,0 +1,118 @@
+/**
+ * Copyright (c) 2017 Ariel Favio Carrizo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'esferixis' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.esferixis.math;
+
+import org.junit.Assert;
+
+import org.junit.Test;
+
+/**
+ * @author ariel
+ *
+ */
+public class SimilarityTransformTest {
+	private static final float tolerance = 0.0001f;
+	
+	private static final SimilarityTransform transform1 = new SimilarityTransform(new Vector3f(1.0f, -2.0f, 3.0f), Quaternionf.rotation(0.7f, new Vector3f(0.0f, 0.6f, 0.8f)), 2.5f);
+	private static final SimilarityTransform transform2 = new SimilarityTransform(new Vector3f(-0.5f, 4.0f, 0.25f), Quaternionf.rotation(-1.2f, new Vector3f(0.8f, 0.0f, 0.6f)), 0.4f);
+	private static final SimilarityTransform mirrored = new SimilarityTransform(new Vector3f(2.0f, 0.0f, -1.0f), Quaternionf.rotation(2.1f, new Vector3f(0.0f, 1.0f, 0.0f)), -1.5f);
+	
+	private static final Vector3f point = new Vector3f(0.3f, -1.7f, 2.2f);
+	
+	private static void assertEqualsMatrix(Matrix4f expected, Matrix4f actual) {
+		for ( int i = 0 ; i < 4 ; i++ ) {
+			for ( int j = 0 ; j < 4 ; j++ ) {
+				Assert.assertEquals(expected.get(i, j), actual.get(i, j), tolerance);
+			}
+		}
+	}
+	
+	private static void assertEqualsVector(Vector3f expected, Vector3f actual) {
+		Assert.assertEquals(expected.getX(), actual.getX(), tolerance);
+		Assert.assertEquals(expected.getY(), actual.getY(), tolerance);
+		Assert.assertEquals(expected.getZ(), actual.getZ(), tolerance);
+	}
+	
+	@Test
+	public void mulTest() {
+		assertEqualsMatrix(transform1.toMatrix4f().mul(transform2.toMatrix4f()), transform1.mul(transform2).toMatrix4f());
+		assertEqualsMatrix(transform2.toMatrix4f().mul(transform1.toMatrix4f()), transform2.mul(transform1).toMatrix4f());
+		assertEqualsMatrix(mirrored.toMatrix4f().mul(transform1.toMatrix4f()), mirrored.mul(transform1).toMatrix4f());
+	}
+	
+	@Test
+	public void invertTest() {
+		for ( SimilarityTransform eachTransform : new SimilarityTransform[]{ transform1, transform2, mirrored } ) {
+			assertEqualsMatrix(eachTransform.toMatrix4f().invert(), eachTransform.invert().toMatrix4f());
+			assertEqualsMatrix(Matrix4f.IDENTITY, eachTransform.mul(eachTransform.invert()).toMatrix4f());
+		}
+	}
+	
+	@Test
+	public void transformPointTest() {
+		for ( SimilarityTransform eachTransform : new SimilarityTransform[]{ transform1, transform2, mirrored } ) {
+			assertEqualsVector(eachTransform.toMatrix4f().transformPoint(point), eachTransform.transformPoint(point));
+			assertEqualsVector(eachTransform.toMatrix4f().transformDirection(point), eachTransform.transformDirection(point));
+		}
+	}
+	
+	@Test
+	public void fromMatrixTest() {
+		for ( SimilarityTransform eachTransform : new SimilarityTransform[]{ transform1, transform2, mirrored } ) {
+			assertEqualsMatrix(eachTransform.toMatrix4f(), SimilarityTransform.fromMatrix(eachTransform.toMatrix4f()).toMatrix4f());
+		}
+	}
+	
+	@Test
+	public void transformScalarTest() {
+		// Con rotación la suma de la primera columna no es la escala
+		final ProportionalMatrix4f matrix = ProportionalMatrix4f.fromTRS(new Vector3f(1.0f, 2.0f, 3.0f), Quaternionf.rotation(0.9f, new Vector3f(0.6f, 0.8f, 0.0f)), 2.5f);
+		Assert.assertEquals(5.0f, matrix.transformScalar(2.0f), tolerance);
+		
+		Assert.assertEquals(5.0f, transform1.transformScalar(2.0f), tolerance);
+		Assert.assertEquals(3.0f, mirrored.transformScalar(2.0f), tolerance);
+		Assert.assertEquals(mirrored.transformScalar(2.0f), mirrored.toMatrix4f().transformScalar(2.0f), tolerance);
+	}
+	
+	@Test
+	public void signedZeroHashTest() {
+		final Quaternionf rotation = new Quaternionf(0.0f, 0.0f, 0.0f, 1.0f);
+		final Quaternionf negativeZeroRotation = new Quaternionf(-0.0f, -0.0f, -0.0f, 1.0f);
+		Assert.assertEquals(rotation, negativeZeroRotation);
+		Assert.assertEquals(rotation.hashCode(), negativeZeroRotation.hashCode());
+		
+		final SimilarityTransform transform = new SimilarityTransform(new Vector3f(0.0f, 1.0f, 0.0f), rotation, 2.0f);
+		final SimilarityTransform negativeZeroTransform = new SimilarityTransform(new Vector3f(-0.0f, 1.0f, -0.0f), negativeZeroRotation, 2.0f);
+		Assert.assertEquals(transform, negativeZeroTransform);
+		Assert.assertEquals(transform.hashCode(), negativeZeroTransform.hashCode());
+	}
+}
@@ -0,0 +1,114 @@
+/**
+ * Copyright (c) 2017 Ariel Favio Carrizo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'esferixis' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.esferixis.math;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Assert;
+
+import org.junit.Test;
+
+/**
+ * @author ariel
+ *
+ */
+public class TransformHierarchyTest {
+	private static final float tolerance = 0.0001f;
+	
+	private static void assertEqualsMatrix(Matrix4f expected, Matrix4f actual) {
+		for ( int i = 0 ; i < 4 ; i++ ) {
+			for ( int j = 0 ; j < 4 ; j++ ) {
+				Assert.assertEquals(expected.get(i, j), actual.get(i, j), tolerance);
+			}
+		}
+	}
+	
+	/**
+	 * @post Actualiza con el pool especificado, o secuencialmente si es nulo
+	 */
+	private static void update(TransformHierarchy hierarchy, ForkJoinPool pool) {
+		if ( pool != null ) {
+			hierarchy.update(pool);
+		}
+		else {
+			hierarchy.update();
+		}
+	}
+	
+	/**
+	 * @post Modifica el padre y sus descendientes en una actualización (Marcando los descendientes
+	 * 		 antes que el padre), y luego sólo los descendientes en otra, verificando que los
+	 * 		 últimos cambios se propaguen
+	 */
+	private static void descendantChangeAfterAncestorChange(ForkJoinPool pool) {
+		final TransformHierarchy hierarchy = new TransformHierarchy();
+		final int root = hierarchy.addRoot();
+		final int child = hierarchy.addNode(root);
+		final int grandChild = hierarchy.addNode(child);
+		update(hierarchy, pool);
+		
+		final Matrix4f rootTransform = Matrix4f.IDENTITY.translate(new Vector3f(1.0f, 2.0f, 3.0f));
+		hierarchy.setLocal(grandChild, Matrix4f.IDENTITY.rotate(0.5f, new Vector3f(0.0f, 0.0f, 1.0f)));
+		hierarchy.setLocal(child, Matrix4f.IDENTITY.scale(new Vector3f(2.0f, 2.0f, 2.0f)));
+		hierarchy.setLocal(root, rootTransform);
+		update(hierarchy, pool);
+		
+		final Matrix4f childTransform = Matrix4f.IDENTITY.translate(new Vector3f(-4.0f, 0.0f, 1.0f));
+		hierarchy.setLocal(child, childTransform);
+		update(hierarchy, pool);
+		
+		Assert.assertFalse(hierarchy.isDirty());
+		assertEqualsMatrix(rootTransform.mul(childTransform), hierarchy.getWorld(child));
+		
+		final Matrix4f grandChildTransform = Matrix4f.IDENTITY.scale(new Vector3f(0.5f, 3.0f, 1.0f));
+		hierarchy.setLocal(grandChild, grandChildTransform);
+		update(hierarchy, pool);
+		
+		assertEqualsMatrix(rootTransform.mul(childTransform).mul(grandChildTransform), hierarchy.getWorld(grandChild));
+	}
+	
+	@Test
+	public void sequentialUpdateTest() {
+		descendantChangeAfterAncestorChange(null);
+	}
+	
+	@Test
+	public void parallelUpdateTest() {
+		final ForkJoinPool pool = new ForkJoinPool(2);
+		try {
+			descendantChangeAfterAncestorChange(pool);
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+}
@@ -0,0 +1,118 @@
+/**
+ * Copyright (c) 2017 Ariel Favio Carrizo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'esferixis' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.esferixis.math;
+
+/**
+ * Medición simple del rendimiento de VectorKernels: compara la implementación
+ * activa (Escalar o Vector API, ver VectorKernels) con los bucles escalares.
+ * 
+ * No es una prueba unitaria. Para medir la implementación con la Vector API
+ * hay que ejecutarlo con "--add-modules jdk.incubator.vector" y con VectorApiKernels
+ * en el classpath. Los resultados dependen del host y del JIT
+ * 
+ * @author ariel
+ *
+ */
+public class VectorKernelsBenchmark {
+	private static final int length = 4096;
+	private static final int warmupIterations = 20000;
+	private static final int iterations = 50000;
+	
+	private static final float[] ax = new float[length], ay = new float[length], az = new float[length];
+	private static final float[] bx = new float[length], by = new float[length], bz = new float[length];
+	private static final float[] dx = new float[length], dy = new float[length], dz = new float[length];
+	
+	private static float sink;
+	
+	/**
+	 * @post Ejecuta el núcleo especificado con la implementación especificada
+	 */
+	private static void run(VectorKernels.Implementation implementation, int kernel) {
+		switch ( kernel ) {
+		case 0:
+			implementation.dot(ax, ay, az, bx, by, bz, dx, 0, length);
+			break;
+		case 1:
+			implementation.cross(ax, ay, az, bx, by, bz, dx, dy, dz, 0, length);
+			break;
+		case 2:
+			implementation.normalise(ax, ay, az, dx, dy, dz, 0, length);
+			break;
+		default:
+			implementation.linearInterpolation(ax, bx, 0.25f, dx, 0, length);
+		}
+		
+		sink += dx[kernel];
+	}
+	
+	/**
+	 * @post Devuelve los nanosegundos por elemento del núcleo especificado con la implementación especificada
+	 */
+	private static double measure(VectorKernels.Implementation implementation, int kernel) {
+		for ( int i = 0 ; i < warmupIterations ; i++ ) {
+			run(implementation, kernel);
+		}
+		
+		final long startTime = System.nanoTime();
+		for ( int i = 0 ; i < iterations ; i++ ) {
+			run(implementation, kernel);
+		}
+		
+		return (double) ( System.nanoTime() - startTime ) / ( (double) iterations * length );
+	}
+	
+	public static void main(String[] args) {
+		for ( int i = 0 ; i < length ; i++ ) {
+			ax[i] = i * 0.5f + 1.0f;
+			ay[i] = -i * 0.25f;
+			az[i] = 3.0f - i;
+			bx[i] = 0.75f * i;
+			by[i] = 2.0f;
+			bz[i] = i * -0.125f + 4.0f;
+		}
+		
+		final VectorKernels.Implementation active = VectorKernels.implementation();
+		final String[] kernels = new String[]{ "dot", "cross", "normalise", "linearInterpolation" };
+		
+		System.out.println("Implementación activa: " + active.getName());
+		for ( int kernel = 0 ; kernel < kernels.length ; kernel++ ) {
+			final double scalarTime = measure(VectorKernels.SCALAR, kernel);
+			final double activeTime = measure(active, kernel);
+			
+			System.out.printf("%s: escalar %.3f ns/elemento, %s %.3f ns/elemento (x%.2f)%n", kernels[kernel], scalarTime, active.getName(), activeTime, scalarTime / activeTime);
+		}
+		
+		if ( sink == 0.123f ) {
+			System.out.println();
+		}
+	}
+}
@@ -0,0 +1,130 @@
+/**
+ * Copyright (c) 2017 Ariel Favio Carrizo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'esferixis' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.esferixis.math;
+
+import java.util.Random;
+
+import org.junit.Assert;
+
+import org.junit.Test;
+
+/**
+ * Compara la implementación activa de VectorKernels (Escalar o Vector API)
+ * con las operaciones escalares de Vector3f y ExtraMath, bit a bit
+ * 
+ * @author ariel
+ *
+ */
+public class VectorKernelsTest {
+	private static final int start = 3;
+	private static final int length = 101;
+	
+	private static final float[] specialValues = new float[]{ 0.0f, -0.0f, Float.NaN, Float.POSITIVE_INFINITY, Float.NEGATIVE_INFINITY, Float.MIN_VALUE, Float.MAX_VALUE, 1.0f };
+	
+	private static float[] values(Random random) {
+		final float[] values = new float[start + length + 5];
+		for ( int i = 0 ; i < values.length ; i++ ) {
+			values[i] = ( random.nextInt(8) == 0 ) ? specialValues[random.nextInt(specialValues.length)] : ( random.nextFloat() - 0.5f ) * 100.0f;
+		}
+		return values;
+	}
+	
+	private static void assertBits(float expected, float actual) {
+		Assert.assertEquals(Float.floatToIntBits(expected), Float.floatToIntBits(actual));
+	}
+	
+	@Test
+	public void scalarEquivalenceTest() {
+		final Random random = new Random(17);
+		final float[] ax = values(random), ay = values(random), az = values(random);
+		final float[] bx = values(random), by = values(random), bz = values(random);
+		final float[] factors = values(random);
+		final float[] d = new float[ax.length], dx = new float[ax.length], dy = new float[ax.length], dz = new float[ax.length];
+		
+		VectorKernels.dot(ax, ay, az, bx, by, bz, d, start, length);
+		for ( int i = start ; i < start + length ; i++ ) {
+			assertBits(new Vector3f(ax[i], ay[i], az[i]).dot(new Vector3f(bx[i], by[i], bz[i])), d[i]);
+		}
+		
+		VectorKernels.lengthSquared(ax, ay, az, d, start, length);
+		for ( int i = start ; i < start + length ; i++ ) {
+			assertBits(new Vector3f(ax[i], ay[i], az[i]).lengthSquared(), d[i]);
+		}
+		
+		VectorKernels.cross(ax, ay, az, bx, by, bz, dx, dy, dz, start, length);
+		for ( int i = start ; i < start + length ; i++ ) {
+			final Vector3f expected = new Vector3f(ax[i], ay[i], az[i]).cross(new Vector3f(bx[i], by[i], bz[i]));
+			assertBits(expected.getX(), dx[i]);
+			assertBits(expected.getY(), dy[i]);
+			assertBits(expected.getZ(), dz[i]);
+		}
+		
+		VectorKernels.normalise(ax, ay, az, dx, dy, dz, start, length);
+		for ( int i = start ; i < start + length ; i++ ) {
+			final Vector3f expected = new Vector3f(ax[i], ay[i], az[i]).normalise();
+			assertBits(expected.getX(), dx[i]);
+			assertBits(expected.getY(), dy[i]);
+			assertBits(expected.getZ(), dz[i]);
+		}
+		
+		VectorKernels.linearInterpolation(ax, bx, 0.3f, d, start, length);
+		for ( int i = start ; i < start + length ; i++ ) {
+			assertBits(ExtraMath.linearInterpolation(ax[i], bx[i], 0.3f), d[i]);
+		}
+		
+		VectorKernels.linearInterpolation(ax, bx, factors, d, start, length);
+		for ( int i = start ; i < start + length ; i++ ) {
+			assertBits(ExtraMath.linearInterpolation(ax[i], bx[i], factors[i]), d[i]);
+		}
+		
+		// Fuera del rango no se escribe
+		Assert.assertEquals(0, Float.floatToIntBits(d[start - 1]));
+		Assert.assertEquals(0, Float.floatToIntBits(d[start + length]));
+	}
+	
+	@Test
+	public void aliasingTest() {
+		final Random random = new Random(5);
+		final float[] ax = values(random), ay = values(random), az = values(random);
+		final float[] bx = values(random), by = values(random), bz = values(random);
+		final float[] ex = new float[ax.length], ey = new float[ax.length], ez = new float[ax.length];
+		
+		VectorKernels.cross(ax, ay, az, bx, by, bz, ex, ey, ez, start, length);
+		VectorKernels.cross(ax, ay, az, bx, by, bz, ax, ay, az, start, length);
+		
+		for ( int i = start ; i < start + length ; i++ ) {
+			assertBits(ex[i], ax[i]);
+			assertBits(ey[i], ay[i]);
+			assertBits(ez[i], az[i]);
+		}
+	}
+}
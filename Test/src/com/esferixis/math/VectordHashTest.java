@@ -0,0 +1,61 @@
+/**
+ * Copyright (c) 2017 Ariel Favio Carrizo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'esferixis' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.esferixis.math;
+
+import org.junit.Assert;
+
+import org.junit.Test;
+
+/**
+ * @author ariel
+ *
+ */
+public class VectordHashTest {
+	@Test
+	public void signedZeroTest() {
+		Assert.assertEquals(new Vector2d(0.0d, 1.0d), new Vector2d(-0.0d, 1.0d));
+		Assert.assertEquals(new Vector2d(0.0d, 1.0d).hashCode(), new Vector2d(-0.0d, 1.0d).hashCode());
+		
+		Assert.assertEquals(new Vector3d(0.0d, 0.0d, 0.0d), new Vector3d(-0.0d, 0.0d, -0.0d));
+		Assert.assertEquals(new Vector3d(0.0d, 0.0d, 0.0d).hashCode(), new Vector3d(-0.0d, 0.0d, -0.0d).hashCode());
+		
+		Assert.assertEquals(new Vector4d(0.0d, 2.0d, 0.0d, 1.0d), new Vector4d(-0.0d, 2.0d, -0.0d, 1.0d));
+		Assert.assertEquals(new Vector4d(0.0d, 2.0d, 0.0d, 1.0d).hashCode(), new Vector4d(-0.0d, 2.0d, -0.0d, 1.0d).hashCode());
+	}
+	
+	@Test
+	public void permutationTest() {
+		Assert.assertFalse( new Vector2d(1.0d, 2.0d).hashCode() == new Vector2d(2.0d, 1.0d).hashCode() );
+		Assert.assertFalse( new Vector3d(1.0d, 2.0d, 3.0d).hashCode() == new Vector3d(3.0d, 2.0d, 1.0d).hashCode() );
+		Assert.assertFalse( new Vector4d(1.0d, 2.0d, 3.0d, 4.0d).hashCode() == new Vector4d(4.0d, 3.0d, 2.0d, 1.0d).hashCode() );
+	}
+}
@@ -0,0 +1,107 @@
+/**
+ * Copyright (c) 2017 Ariel Favio Carrizo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'esferixis' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.esferixis.math;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Assert;
+
+import org.junit.Test;
+
+/**
+ * @author ariel
+ *
+ */
+public class VertexWelderTest {
+	private static final float epsilon = 0.1f;
+	
+	private static void assertIndices(int[] expected, int[] actual) {
+		Assert.assertEquals(expected.length, actual.length);
+		for ( int i = 0 ; i < expected.length ; i++ ) {
+			Assert.assertEquals(expected[i], actual[i]);
+		}
+	}
+	
+	/**
+	 * Las celdas tienen lado 2 * epsilon, los pares están en celdas distintas
+	 */
+	@Test
+	public void cellBoundaryTest() {
+		final VertexWelder.Result result = VertexWelder.weld(new Vector3fArray(
+				new Vector3f(0.19f, 0.0f, 0.0f), new Vector3f(0.21f, 0.0f, 0.0f),
+				new Vector3f(-0.01f, 1.0f, 0.0f), new Vector3f(0.01f, 1.0f, 0.0f),
+				new Vector3f(0.199f, 2.199f, 0.199f), new Vector3f(0.201f, 2.201f, 0.201f),
+				new Vector3f(0.0f, 3.0f, 0.0f), new Vector3f(0.15f, 3.0f, 0.0f)
+		), epsilon);
+		
+		assertIndices(new int[]{ 0, 0, 1, 1, 2, 2, 3, 4 }, result.getIndices());
+		Assert.assertEquals(5, result.getVertices().size());
+		Assert.assertEquals(0.19f, result.getVertices().getX(0), 0.0f);
+		Assert.assertEquals(-0.01f, result.getVertices().getX(1), 0.0f);
+	}
+	
+	/**
+	 * Cada vértice se suelda con el primer vértice único dentro del entorno,
+	 * no con el más cercano, y no se encadenan las soldaduras
+	 */
+	@Test
+	public void indexStabilityTest() {
+		final Vector3fArray vertices = new Vector3fArray(
+				new Vector3f(0.0f, 0.0f, 0.0f), new Vector3f(0.15f, 0.0f, 0.0f), new Vector3f(0.08f, 0.0f, 0.0f),
+				new Vector3f(5.0f, 0.0f, 0.0f), new Vector3f(5.08f, 0.0f, 0.0f), new Vector3f(5.16f, 0.0f, 0.0f),
+				new Vector3f(0.0f, 0.0f, 0.0f)
+		);
+		
+		final int[] expected = new int[]{ 0, 1, 0, 2, 2, 3, 0 };
+		assertIndices(expected, VertexWelder.weld(vertices, epsilon).getIndices());
+		assertIndices(expected, VertexWelder.weld(vertices, epsilon).getIndices());
+		
+		// En un rango los índices son relativos a los vértices únicos del rango
+		assertIndices(new int[]{ 0, 0, 1 }, VertexWelder.weld(vertices, 3, 3, epsilon).getIndices());
+	}
+	
+	@Test
+	public void poolTest() {
+		final int n = 50000;
+		final Vector3fArray vertices = new Vector3fArray(n);
+		for ( int i = 0 ; i < n ; i++ ) {
+			final int cell = ( i * 7919 ) % 1000;
+			vertices.set(i, ( cell % 10 ) * 0.19f + ( i % 3 ) * 0.03f, ( ( cell / 10 ) % 10 ) * 0.19f, ( cell / 100 ) * 0.19f);
+		}
+		
+		final VertexWelder.Result sequential = VertexWelder.weld(vertices, epsilon);
+		final VertexWelder.Result parallel = VertexWelder.weld(vertices, epsilon, new ForkJoinPool(4));
+		
+		assertIndices(sequential.getIndices(), parallel.getIndices());
+		Assert.assertEquals(sequential.getVertices().size(), parallel.getVertices().size());
+	}
+}
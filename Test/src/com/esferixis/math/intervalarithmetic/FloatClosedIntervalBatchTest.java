@@ -0,0 +1,216 @@
+/**
+ * Copyright (c) 2017 Ariel Favio Carrizo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'esferixis' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.esferixis.math.intervalarithmetic;
+
+import org.junit.Assert;
+
+import org.junit.Test;
+
+import com.esferixis.math.numberSet.NumberSetFactory;
+
+/**
+ * @author ariel
+ *
+ */
+public class FloatClosedIntervalBatchTest {
+	private static final float tolerance = 0.0001f;
+	
+	private static final NumberSetFactory<FloatClosedIntervalBatch> batchFactory = FloatClosedIntervalBatch.FACTORY;
+	private static final NumberSetFactory<FloatClosedIntervalSet> setFactory = FloatClosedIntervalSet.FACTORY;
+	
+	private static final float INF = Float.POSITIVE_INFINITY;
+	
+	/**
+	 * @post Crea un lote con los extremos especificados, de a pares.
+	 * 		 Los pares con el mínimo en NaN son carriles vacíos
+	 */
+	private static FloatClosedIntervalBatch batch(float... bounds) {
+		final float[] mins = new float[bounds.length / 2], maxs = new float[bounds.length / 2];
+		final float[] emptyMins = new float[mins.length];
+		
+		for ( int i = 0 ; i < mins.length ; i++ ) {
+			if ( Float.isNaN(bounds[2*i]) ) {
+				emptyMins[i] = -1.0f;
+			}
+			else {
+				mins[i] = bounds[2*i];
+				maxs[i] = bounds[2*i+1];
+			}
+		}
+		
+		// El constructor no admite carriles vacíos, se obtienen sumando la raíz cuadrada de un negativo
+		return batchFactory.add(new FloatClosedIntervalBatch(mins, maxs), batchFactory.sqrt(new FloatClosedIntervalBatch(emptyMins, emptyMins)));
+	}
+	
+	/**
+	 * @post Devuelve el conjunto del carril especificado
+	 */
+	private static FloatClosedIntervalSet set(FloatClosedIntervalBatch batch, int lane) {
+		if ( batch.isEmpty(lane) ) {
+			return FloatClosedIntervalSet.EMPTY;
+		}
+		else {
+			return new FloatClosedIntervalSet(batch.getInterval(lane));
+		}
+	}
+	
+	/**
+	 * @post Verifica que el carril especificado sea la envolvente del conjunto especificado
+	 */
+	private static void assertHull(FloatClosedIntervalSet expected, FloatClosedIntervalBatch actual, int lane) {
+		if ( expected.isEmpty() ) {
+			Assert.assertTrue( actual.isEmpty(lane) );
+		}
+		else {
+			Assert.assertFalse( actual.isEmpty(lane) );
+			Assert.assertEquals(expected.getMin(), actual.getMin(lane), tolerance);
+			Assert.assertEquals(expected.getMax(), actual.getMax(lane), tolerance);
+		}
+	}
+	
+	private static void assertLane(float expectedMin, float expectedMax, FloatClosedIntervalBatch actual, int lane) {
+		Assert.assertFalse( actual.isEmpty(lane) );
+		Assert.assertEquals(expectedMin, actual.getMin(lane), tolerance);
+		Assert.assertEquals(expectedMax, actual.getMax(lane), tolerance);
+	}
+	
+	private static final FloatClosedIntervalBatch operand1 = batch( 1.0f, 2.0f, -3.0f, -1.0f, -1.0f, 2.0f, 2.0f, INF, -INF, -2.0f, Float.NaN, Float.NaN, 0.5f, 1.5f );
+	private static final FloatClosedIntervalBatch operand2 = batch( 0.5f, 4.0f, -2.0f, -0.5f, 1.0f, 3.0f, 1.0f, 2.0f, 0.5f, 1.0f, 1.0f, 2.0f, Float.NaN, Float.NaN );
+	
+	@Test
+	public void binaryOperationsTest() {
+		final FloatClosedIntervalBatch sum = batchFactory.add(operand1, operand2);
+		final FloatClosedIntervalBatch difference = batchFactory.sub(operand1, operand2);
+		final FloatClosedIntervalBatch product = batchFactory.multiply(operand1, operand2);
+		final FloatClosedIntervalBatch quotient = batchFactory.divide(operand1, operand2);
+		
+		for ( int i = 0 ; i < operand1.length() ; i++ ) {
+			final FloatClosedIntervalSet set1 = set(operand1, i), set2 = set(operand2, i);
+			
+			assertHull(setFactory.add(set1, set2), sum, i);
+			assertHull(setFactory.sub(set1, set2), difference, i);
+			assertHull(setFactory.multiply(set1, set2), product, i);
+			assertHull(setFactory.divide(set1, set2), quotient, i);
+		}
+	}
+	
+	@Test
+	public void unaryOperationsTest() {
+		final FloatClosedIntervalBatch operand = batch( 1.0f, 2.0f, 0.5f, 4.0f, 2.0f, INF, -3.0f, -1.0f, Float.NaN, Float.NaN );
+		final FloatClosedIntervalBatch inverse = batchFactory.inverse(operand);
+		final FloatClosedIntervalBatch exp = batchFactory.exp(operand);
+		final FloatClosedIntervalBatch opposite = batchFactory.opposite(operand);
+		
+		for ( int i = 0 ; i < operand.length() ; i++ ) {
+			final FloatClosedIntervalSet set = set(operand, i);
+			
+			assertHull(setFactory.inverse(set), inverse, i);
+			assertHull(setFactory.exp(set), exp, i);
+			assertHull(setFactory.opposite(set), opposite, i);
+		}
+		
+		// Sólo los carriles positivos y el vacío, el conjunto no admite logaritmos de negativos
+		final FloatClosedIntervalBatch log = batchFactory.log(operand);
+		for ( int i : new int[]{ 0, 1, 2, 4 } ) {
+			assertHull(setFactory.log(set(operand, i)), log, i);
+		}
+	}
+	
+	@Test
+	public void multiplyZeroByInfinityTest() {
+		final FloatClosedIntervalBatch product = batchFactory.multiply(
+				batch( 0.0f, 1.0f, -1.0f, 0.0f, -INF, 0.0f, Float.NaN, Float.NaN ),
+				batch( 1.0f, INF, -INF, 2.0f, 0.0f, 0.0f, 0.0f, 0.0f )
+		);
+		
+		assertLane(0.0f, INF, product, 0);
+		assertLane(-2.0f, INF, product, 1);
+		assertLane(0.0f, 0.0f, product, 2);
+		Assert.assertTrue( product.isEmpty(3) );
+	}
+	
+	@Test
+	public void emptyLanesTest() {
+		final FloatClosedIntervalBatch empty = batch( Float.NaN, Float.NaN );
+		final FloatClosedIntervalBatch zero = batchFactory.zero();
+		final FloatClosedIntervalBatch aroundZero = batch( -1.0f, 1.0f );
+		
+		Assert.assertTrue( batchFactory.divide(empty, aroundZero).isEmpty(0) );
+		Assert.assertTrue( batchFactory.divide(aroundZero, empty).isEmpty(0) );
+		Assert.assertTrue( batchFactory.multiply(empty, zero).isEmpty(0) );
+		Assert.assertTrue( batchFactory.multiply(zero, empty).isEmpty(0) );
+		Assert.assertTrue( batchFactory.inverse(empty).isEmpty(0) );
+		Assert.assertTrue( batchFactory.log(empty).isEmpty(0) );
+		
+		// Los que no están vacíos y contienen el cero siguen siendo todo el rango
+		assertLane(-INF, INF, batchFactory.divide(batch( 1.0f, 2.0f ), aroundZero), 0);
+		assertLane(-INF, INF, batchFactory.inverse(aroundZero), 0);
+	}
+	
+	@Test
+	public void zeroEndpointDivisorTest() {
+		final FloatClosedIntervalBatch divisor = batch( 0.0f, 1.0f, -2.0f, 0.0f, 0.0f, 2.0f, -1.0f, -0.0f, 0.0f, 0.0f );
+		final FloatClosedIntervalBatch quotient = batchFactory.divide(batch( 1.0f, 2.0f, 1.0f, 2.0f, -1.0f, 2.0f, 0.0f, 1.0f, 1.0f, 2.0f ), divisor);
+		
+		assertLane(1.0f, INF, quotient, 0);
+		assertLane(-INF, -0.5f, quotient, 1);
+		assertLane(-INF, INF, quotient, 2);
+		assertLane(-INF, 0.0f, quotient, 3);
+		assertLane(-INF, INF, quotient, 4);
+		
+		final FloatClosedIntervalBatch inverse = batchFactory.inverse(divisor);
+		
+		assertLane(1.0f, INF, inverse, 0);
+		assertLane(-INF, -0.5f, inverse, 1);
+		assertLane(0.5f, INF, inverse, 2);
+		assertLane(-INF, -1.0f, inverse, 3);
+		assertLane(-INF, INF, inverse, 4);
+	}
+	
+	@Test
+	public void powZeroExponentTest() {
+		final FloatClosedIntervalBatch pow = batchFactory.pow(batch( -2.0f, 3.0f, Float.NaN, Float.NaN, 0.0f, INF ), batchFactory.zero());
+		
+		assertLane(1.0f, 1.0f, pow, 0);
+		Assert.assertTrue( pow.isEmpty(1) );
+		assertLane(1.0f, 1.0f, pow, 2);
+	}
+	
+	@Test
+	public void logTest() {
+		final FloatClosedIntervalBatch log = batchFactory.log( batch( -2.0f, -1.0f, -1.0f, (float) Math.E, 0.0f, INF ) );
+		
+		Assert.assertTrue( log.isEmpty(0) );
+		assertLane(-INF, 1.0f, log, 1);
+		assertLane(-INF, INF, log, 2);
+	}
+}
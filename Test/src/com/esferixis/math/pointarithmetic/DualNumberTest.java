@@ -0,0 +1,127 @@
+/**
+ * Copyright (c) 2017 Ariel Favio Carrizo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'esferixis' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.esferixis.math.pointarithmetic;
+
+import org.junit.Assert;
+
+import org.junit.Test;
+
+import com.esferixis.math.intervalarithmetic.FloatClosedInterval;
+import com.esferixis.math.numberSet.NumberSet;
+import com.esferixis.math.numberSet.NumberSetFactory;
+import com.esferixis.math.numberSet.NumberSetFunction;
+import com.esferixis.math.numberSet.PolynomialFunction;
+
+/**
+ * @author ariel
+ *
+ */
+public class DualNumberTest {
+	private static final float tolerance = 0.0001f;
+	
+	/**
+	 * f(x) = sin(x) * exp(x) / (1 + x^2) + sqrt(x)
+	 */
+	private static final NumberSetFunction function = new NumberSetFunction() {
+
+		@Override
+		public <V extends NumberSet<V>> V evaluate(V operand) {
+			final NumberSetFactory<V> factory = operand.factory();
+			return factory.add(factory.divide(factory.multiply(factory.sin(operand), factory.exp(operand)), factory.add(factory.one(), factory.square(operand))), factory.sqrt(operand));
+		}
+		
+	};
+	
+	/**
+	 * @post Devuelve la derivada analítica de la función de prueba
+	 */
+	private static double expectedDerivative(double x) {
+		final double q = 1.0d + x * x;
+		final double numerator = Math.sin(x) * Math.exp(x);
+		final double numeratorDerivative = ( Math.cos(x) + Math.sin(x) ) * Math.exp(x);
+		return ( numeratorDerivative * q - numerator * 2.0d * x ) / ( q * q ) + 0.5d / Math.sqrt(x);
+	}
+	
+	@Test
+	public void derivativeTest() {
+		for ( float x = 0.25f ; x < 3.0f ; x += 0.25f ) {
+			final DualNumber result = function.evaluateWithDerivative(x);
+			
+			Assert.assertEquals(function.evaluate(new FloatNumberPoint(x)).getValue(), result.getValue(), 0.0f);
+			Assert.assertEquals(expectedDerivative(x), result.getDerivative(), tolerance * Math.abs(expectedDerivative(x)));
+		}
+	}
+	
+	@Test
+	public void powTest() {
+		final NumberSetFactory<DualNumber> factory = DualNumber.FACTORY;
+		
+		final DualNumber cube = factory.pow(DualNumber.variable(-2.0f), factory.convert(3.0f));
+		Assert.assertEquals(-8.0f, cube.getValue(), tolerance);
+		Assert.assertEquals(12.0f, cube.getDerivative(), tolerance);
+		
+		final DualNumber exponential = factory.pow(factory.convert(2.0f), DualNumber.variable(3.0f));
+		Assert.assertEquals(8.0f, exponential.getValue(), tolerance);
+		Assert.assertEquals(8.0f * (float) Math.log(2.0d), exponential.getDerivative(), tolerance);
+	}
+	
+	@Test
+	public void polynomialTest() {
+		final PolynomialFunction polynomial = new PolynomialFunction(1.0f, -3.0f, 0.0f, 2.0f);
+		
+		Assert.assertEquals(polynomial.evaluate(1.5f), polynomial.evaluateWithDerivative(1.5f).getValue(), tolerance);
+		Assert.assertEquals(-3.0f + 6.0f * 1.5f * 1.5f, polynomial.derivate(1.5f), tolerance);
+	}
+	
+	@Test
+	public void newtonRaphsonTest() {
+		final PolynomialFunction polynomial = new PolynomialFunction(-2.0f, 0.0f, 1.0f);
+		final float imageError = 0.00001f;
+		
+		final FloatNumberPoint.NumericalMethods.Result result = FloatNumberPoint.NumericalMethods.newton_raphson(polynomial, 1.0f, null, imageError);
+		Assert.assertNotNull(result.getPoint());
+		Assert.assertEquals( (float) Math.sqrt(2.0d), result.getPoint().getValue(), tolerance);
+		
+		final FloatNumberPoint.NumericalMethods.Result bisectionResult = FloatNumberPoint.NumericalMethods.bisection_minnearest_N_R(polynomial, new FloatClosedInterval(0.0f, 3.0f), imageError);
+		Assert.assertNotNull(bisectionResult.getPoint());
+		Assert.assertEquals( (float) Math.sqrt(2.0d), bisectionResult.getPoint().getValue(), tolerance);
+	}
+	
+	@Test
+	public void signedZeroHashTest() {
+		final DualNumber constant = DualNumber.constant(-3.0f);
+		final DualNumber opposite = DualNumber.FACTORY.opposite(DualNumber.constant(3.0f));
+		
+		Assert.assertTrue( constant.equals(opposite) );
+		Assert.assertEquals( constant.hashCode(), opposite.hashCode() );
+	}
+}
@@ -0,0 +1,165 @@
+/**
+ * Copyright (c) 2017 Ariel Favio Carrizo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'esferixis' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.esferixis.math.pointarithmetic;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+
+import org.junit.Test;
+
+import com.esferixis.math.numberSet.NumberSet;
+import com.esferixis.math.numberSet.NumberSetFactory;
+import com.esferixis.math.numberSet.NumberSetFactory.ConditionType;
+import com.esferixis.math.numberSet.NumberSetFunction;
+
+/**
+ * @author ariel
+ *
+ */
+public class FloatNumberPointBatchTest {
+	private static final float tolerance = 0.0001f;
+	
+	private static final NumberSetFactory<FloatNumberPointBatch> factory = FloatNumberPointBatch.FACTORY;
+	
+	/**
+	 * Función que registra la cantidad de carriles con la que se evalúa
+	 */
+	private static final class RecordingFunction extends NumberSetFunction {
+		private final List<Integer> laneCounts = new ArrayList<Integer>();
+		private final boolean square;
+		
+		public RecordingFunction(boolean square) {
+			this.square = square;
+		}
+		
+		@Override
+		public <V extends NumberSet<V>> V evaluate(V operand) {
+			this.laneCounts.add( ((FloatNumberPointBatch) (Object) operand).length() );
+			
+			if ( this.square ) {
+				return operand.factory().square(operand);
+			}
+			else {
+				// Constante, de manera que el resultado es uniforme
+				return operand.factory().convert(-1.0f);
+			}
+		}
+	}
+	
+	@Test
+	public void uniformBroadcastingTest() {
+		final FloatNumberPointBatch batch = new FloatNumberPointBatch(1.0f, 2.0f, 3.0f);
+		final FloatNumberPointBatch constant = factory.convert(10.0f);
+		
+		final FloatNumberPointBatch sum = factory.add(constant, batch);
+		Assert.assertFalse( sum.isUniform() );
+		Assert.assertEquals(3, sum.length());
+		Assert.assertArrayEquals(new float[]{ 11.0f, 12.0f, 13.0f }, sum.getValues(), 0.0f);
+		
+		final FloatNumberPointBatch quotient = factory.divide(batch, constant);
+		Assert.assertArrayEquals(new float[]{ 0.1f, 0.2f, 0.3f }, quotient.getValues(), tolerance);
+		
+		final FloatNumberPointBatch constantProduct = factory.multiply(constant, factory.convert(2.0f));
+		Assert.assertTrue( constantProduct.isUniform() );
+		Assert.assertEquals(1, constantProduct.length());
+		Assert.assertEquals(20.0f, constantProduct.getValue(7), 0.0f);
+		
+		final float[] values = new float[4];
+		constantProduct.getValues(values, 1, 3);
+		Assert.assertArrayEquals(new float[]{ 0.0f, 20.0f, 20.0f, 20.0f }, values, 0.0f);
+	}
+	
+	@Test
+	public void nonUniformLanesTest() {
+		final FloatNumberPointBatch difference = factory.sub(new FloatNumberPointBatch(5.0f, 6.0f), new FloatNumberPointBatch(1.0f, 4.0f));
+		Assert.assertFalse( difference.isUniform() );
+		Assert.assertArrayEquals(new float[]{ 4.0f, 2.0f }, difference.getValues(), 0.0f);
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void laneCountMismatchTest() {
+		factory.add(new FloatNumberPointBatch(1.0f, 2.0f), new FloatNumberPointBatch(1.0f, 2.0f, 3.0f));
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void comparisonLaneCountMismatchTest() {
+		factory.hasOnlyGreaterElements(new FloatNumberPointBatch(1.0f, 2.0f), new FloatNumberPointBatch(0.0f, 0.0f, 0.0f));
+	}
+	
+	@Test
+	public void comparisonTest() {
+		final FloatNumberPointBatch batch = new FloatNumberPointBatch(1.0f, 2.0f, 3.0f);
+		
+		Assert.assertTrue( factory.hasOnlyGreaterElements(batch, factory.convert(0.5f)) );
+		Assert.assertFalse( factory.hasOnlyGreaterElements(batch, factory.convert(1.0f)) );
+		Assert.assertTrue( factory.hasOnlyGreaterElements(factory.convert(4.0f), batch) );
+		Assert.assertTrue( factory.hasOnlyGreaterElements(batch, new FloatNumberPointBatch(0.0f, 1.0f, 2.0f)) );
+		
+		Assert.assertTrue( factory.contains(batch, new FloatNumberPointBatch(1.0f, 2.0f, 3.0f)) );
+		Assert.assertFalse( factory.contains(batch, factory.convert(2.0f)) );
+		Assert.assertTrue( factory.contains(factory.convert(2.0f), new FloatNumberPointBatch(2.0f, 2.0f)) );
+	}
+	
+	@Test
+	public void conditionalEvaluationTest() {
+		final FloatNumberPointBatch x = new FloatNumberPointBatch(-2.0f, 3.0f, 0.0f, 4.0f, -1.0f);
+		final RecordingFunction trueFunction = new RecordingFunction(true);
+		final RecordingFunction falseFunction = new RecordingFunction(false);
+		
+		final FloatNumberPointBatch result = factory.conditionalEvaluation(x, ConditionType.GREATER, factory.zero(), trueFunction, falseFunction);
+		
+		// Cada función se evalúa una sola vez, con los carriles que le corresponden
+		Assert.assertEquals(1, trueFunction.laneCounts.size());
+		Assert.assertEquals(2, trueFunction.laneCounts.get(0).intValue());
+		Assert.assertEquals(1, falseFunction.laneCounts.size());
+		Assert.assertEquals(3, falseFunction.laneCounts.get(0).intValue());
+		
+		// El resultado uniforme de la función falsa se reparte en sus carriles
+		Assert.assertArrayEquals(new float[]{ -1.0f, 9.0f, -1.0f, 16.0f, -1.0f }, result.getValues(), 0.0f);
+	}
+	
+	@Test
+	public void conditionalEvaluationSingleBranchTest() {
+		final FloatNumberPointBatch x = new FloatNumberPointBatch(1.0f, 2.0f);
+		final RecordingFunction trueFunction = new RecordingFunction(true);
+		final RecordingFunction falseFunction = new RecordingFunction(false);
+		
+		final FloatNumberPointBatch result = factory.conditionalEvaluation(x, ConditionType.SMALLEROREQUALS, new FloatNumberPointBatch(1.0f, 2.0f), trueFunction, falseFunction);
+		
+		Assert.assertEquals(1, trueFunction.laneCounts.size());
+		Assert.assertEquals(2, trueFunction.laneCounts.get(0).intValue());
+		Assert.assertEquals(0, falseFunction.laneCounts.size());
+		Assert.assertArrayEquals(new float[]{ 1.0f, 4.0f }, result.getValues(), 0.0f);
+	}
+}
@@ -0,0 +1,140 @@
+/**
+ * Copyright (c) 2017 Ariel Favio Carrizo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'esferixis' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.esferixis.math.pointarithmetic;
+
+import java.util.List;
+
+import org.junit.Assert;
+
+import org.junit.Test;
+
+import com.esferixis.math.numberSet.NumberSet;
+import com.esferixis.math.numberSet.NumberSetFactory;
+import com.esferixis.math.numberSet.NumberSetVector;
+import com.esferixis.math.numberSet.NumberSetVectorialScalarFunction;
+
+/**
+ * @author ariel
+ *
+ */
+public class GradientTapeTest {
+	private static final float tolerance = 0.001f;
+	
+	/**
+	 * Función de Rosenbrock generalizada
+	 */
+	private static final NumberSetVectorialScalarFunction rosenbrock = new NumberSetVectorialScalarFunction() {
+
+		@Override
+		public <V extends NumberSet<V>> V evaluate_scalar(NumberSetVector<V> operand) {
+			final NumberSetFactory<V> factory = operand.elementsFactory();
+			final List<V> x = operand.components();
+			
+			V result = factory.zero();
+			for ( int i = 0 ; i < x.size() - 1 ; i++ ) {
+				final V a = factory.sub(x.get(i+1), factory.square(x.get(i)));
+				final V b = factory.sub(factory.one(), x.get(i));
+				result = factory.add(result, factory.add(factory.multiply(factory.convert(100.0f), factory.square(a)), factory.square(b)));
+			}
+			return result;
+		}
+		
+	};
+	
+	/**
+	 * f(x, y) = exp(x) * sin(y) / y + log(x)
+	 */
+	private static final NumberSetVectorialScalarFunction mixed = new NumberSetVectorialScalarFunction() {
+
+		@Override
+		public <V extends NumberSet<V>> V evaluate_scalar(NumberSetVector<V> operand) {
+			final NumberSetFactory<V> factory = operand.elementsFactory();
+			final V x = operand.components().get(0);
+			final V y = operand.components().get(1);
+			
+			return factory.add(factory.divide(factory.multiply(factory.exp(x), factory.sin(y)), y), factory.log(x));
+		}
+		
+	};
+	
+	@Test
+	public void rosenbrockTest() {
+		final int n = 500;
+		final float[] x = new float[n];
+		final float[] gradient = new float[n];
+		final GradientTape tape = new GradientTape();
+		
+		for ( int k = 0 ; k < 3 ; k++ ) {
+			for ( int i = 0 ; i < n ; i++ ) {
+				x[i] = (float) Math.sin(i + k) * 0.5f;
+			}
+			
+			final float value = rosenbrock.gradient(x, gradient, tape);
+			Assert.assertEquals(rosenbrock.evaluate_scalar(new NumberSetVector<FloatNumberPoint>(FloatNumberPoint.FACTORY, x)).getValue(), value, 0.0f);
+			
+			for ( int i = 0 ; i < n ; i++ ) {
+				double expected = 0.0d;
+				if ( i < n - 1 ) {
+					expected += -400.0d * x[i] * ( x[i+1] - x[i] * x[i] ) - 2.0d * ( 1.0d - x[i] );
+				}
+				if ( i > 0 ) {
+					expected += 200.0d * ( x[i] - x[i-1] * x[i-1] );
+				}
+				Assert.assertEquals(expected, gradient[i], tolerance * Math.max(1.0d, Math.abs(expected)));
+			}
+		}
+	}
+	
+	@Test
+	public void mixedTest() {
+		final float x = 0.7f, y = 1.3f;
+		final float[] gradient = new float[2];
+		
+		mixed.gradient(new float[]{ x, y }, gradient, new GradientTape());
+		
+		Assert.assertEquals(Math.exp(x) * Math.sin(y) / y + 1.0d / x, gradient[0], tolerance);
+		Assert.assertEquals(Math.exp(x) * ( Math.cos(y) * y - Math.sin(y) ) / ( y * y ), gradient[1], tolerance);
+	}
+	
+	@Test
+	public void constantTest() {
+		final GradientTape tape = new GradientTape();
+		final TapeNumber variable = tape.variable(2.0f);
+		final NumberSetFactory<TapeNumber> factory = TapeNumber.FACTORY;
+		
+		final TapeNumber constant = factory.multiply(factory.convert(3.0f), factory.convert(4.0f));
+		Assert.assertEquals(null, constant.getTape());
+		
+		tape.backpropagate(factory.pow(variable, factory.convert(3.0f)));
+		Assert.assertEquals(12.0f, tape.getAdjoint(variable), tolerance);
+	}
+}